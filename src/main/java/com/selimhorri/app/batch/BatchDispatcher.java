@@ -0,0 +1,227 @@
+package com.selimhorri.app.batch;
+
+import java.io.IOException;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Locale;
+
+import javax.servlet.Filter;
+import javax.servlet.ServletConfig;
+import javax.servlet.ServletContext;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcProperties;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.firewall.RequestRejectedException;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.filter.CompositeFilter;
+import org.springframework.web.servlet.DispatcherServlet;
+import org.springframework.web.util.UrlPathHelper;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.selimhorri.app.batch.model.BatchOperation;
+import com.selimhorri.app.batch.model.BatchResult;
+import com.selimhorri.app.cache.service.ResponseCacheService;
+import com.selimhorri.app.config.filter.CacheInvalidationFilter;
+import com.selimhorri.app.exception.payload.ExceptionMsg;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs one batch operation through the security filter chain, the cache invalidation
+ * filter and the DispatcherServlet, so it is authorized, handled and announced exactly
+ * like the request it stands for. The caller's authentication travels as a request
+ * attribute that {@link com.selimhorri.app.config.filter.JwtRequestFilter} adopts instead
+ * of validating the token again. Rate limiting runs per operation, as part of the chain.
+ * The response cache filter is not part of it, a successful write drops the cached
+ * responses of its route group here instead.
+ */
+@Component
+@Slf4j
+public class BatchDispatcher {
+
+	public static final String AUTHENTICATION_ATTRIBUTE = BatchDispatcher.class.getName() + ".AUTHENTICATION";
+	public static final String USER_ID_ATTRIBUTE = "userId";
+	public static final String BATCH_PATH = "/api/batch";
+
+	private static final String API_PREFIX = "/api/";
+
+	private final ObjectProvider<Filter> securityFilterChain;
+	private final CacheInvalidationFilter cacheInvalidationFilter;
+	private final ResponseCacheService responseCacheService;
+	private final UrlPathHelper urlPathHelper = new UrlPathHelper();
+	private final WebMvcProperties webMvcProperties;
+	private final WebApplicationContext webApplicationContext;
+	private final ObjectMapper objectMapper;
+	private volatile DispatcherServlet dispatcherServlet;
+	private volatile CompositeFilter filters;
+
+	public BatchDispatcher(@Qualifier("springSecurityFilterChain") final ObjectProvider<Filter> securityFilterChain,
+			final CacheInvalidationFilter cacheInvalidationFilter,
+			final ResponseCacheService responseCacheService,
+			final WebMvcProperties webMvcProperties,
+			final WebApplicationContext webApplicationContext, final ObjectMapper objectMapper) {
+		this.securityFilterChain = securityFilterChain;
+		this.cacheInvalidationFilter = cacheInvalidationFilter;
+		this.responseCacheService = responseCacheService;
+		this.webMvcProperties = webMvcProperties;
+		this.webApplicationContext = webApplicationContext;
+		this.objectMapper = objectMapper;
+	}
+
+	public BatchResult dispatch(final HttpServletRequest request, final HttpServletResponse response,
+			final Authentication authentication, final BatchOperation operation) {
+		final String rejection = this.validate(operation);
+		if (rejection != null)
+			return this.error(HttpStatus.BAD_REQUEST, rejection);
+
+		try {
+			final byte[] body = (operation.getBody() != null && !operation.getBody().isNull())
+					? this.objectMapper.writeValueAsBytes(operation.getBody()) : null;
+			final BatchSubRequest subRequest = new BatchSubRequest(request,
+					operation.getMethod().toUpperCase(Locale.ROOT), operation.getPath(), operation.getHeaders(), body);
+			if (authentication != null)
+				subRequest.setAttribute(AUTHENTICATION_ATTRIBUTE, authentication);
+			subRequest.setAttribute(USER_ID_ATTRIBUTE, request.getAttribute(USER_ID_ATTRIBUTE));
+			final BatchSubResponse subResponse = new BatchSubResponse(response);
+
+			final DispatcherServlet servlet = this.dispatcherServlet(request.getServletContext());
+			this.filters().doFilter(subRequest, subResponse, servlet::service);
+			this.invalidateCachedResponses(subRequest, subResponse);
+			return this.result(subResponse);
+		}
+		catch (RequestRejectedException e) {
+			return this.error(HttpStatus.BAD_REQUEST, e.getMessage());
+		}
+		catch (IOException | ServletException | RuntimeException e) {
+			log.warn("**BatchDispatcher, {} {} failed: {}*\n", operation.getMethod(), operation.getPath(), e.getMessage());
+			return this.error(HttpStatus.INTERNAL_SERVER_ERROR, "Operation failed");
+		}
+	}
+
+	private String validate(final BatchOperation operation) {
+		if (operation == null || operation.getMethod() == null || operation.getPath() == null)
+			return "An operation needs a method and a path";
+		if (HttpMethod.resolve(operation.getMethod().toUpperCase(Locale.ROOT)) == null)
+			return "Unsupported method " + operation.getMethod();
+		if (!operation.getPath().startsWith(API_PREFIX))
+			return "Only " + API_PREFIX + "** paths can be batched";
+		if (operation.getPath().equals(BATCH_PATH) || operation.getPath().startsWith(BATCH_PATH + "/")
+				|| operation.getPath().startsWith(BATCH_PATH + "?"))
+			return "Batches cannot be nested";
+		return null;
+	}
+
+	private void invalidateCachedResponses(final HttpServletRequest subRequest, final HttpServletResponse subResponse) {
+		if (!this.responseCacheService.isEnabled() || !CacheInvalidationFilter.isWrite(subRequest)
+				|| !HttpStatus.valueOf(subResponse.getStatus()).is2xxSuccessful())
+			return;
+		final String group = this.responseCacheService.resolveGroup(this.urlPathHelper.getPathWithinApplication(subRequest));
+		if (group != null)
+			this.responseCacheService.invalidateGroup(group);
+	}
+
+	private BatchResult result(final BatchSubResponse subResponse) throws IOException {
+		final byte[] body = subResponse.getBody();
+		final HttpStatus status = HttpStatus.resolve(subResponse.getStatus());
+		JsonNode content = null;
+		if (body.length > 0) {
+			final String contentType = subResponse.getContentType();
+			content = (contentType != null && MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.APPLICATION_JSON))
+					? this.objectMapper.readTree(body)
+					: this.objectMapper.getNodeFactory().textNode(new String(body, subResponse.getCharacterEncoding()));
+		}
+		else if (status != null && status.isError()) {
+			content = this.objectMapper.valueToTree(ExceptionMsg.builder()
+					.msg((subResponse.getErrorMessage() != null) ? subResponse.getErrorMessage() : status.getReasonPhrase())
+					.httpStatus(status)
+					.timestamp(ZonedDateTime.now(ZoneId.systemDefault()))
+					.build());
+		}
+		return BatchResult.builder()
+				.status(subResponse.getStatus())
+				.headers(subResponse.getHeaderValues())
+				.body(content)
+				.build();
+	}
+
+	private BatchResult error(final HttpStatus status, final String message) {
+		return BatchResult.builder()
+				.status(status.value())
+				.body(this.objectMapper.valueToTree(ExceptionMsg.builder()
+						.msg(message)
+						.httpStatus(status)
+						.timestamp(ZonedDateTime.now(ZoneId.systemDefault()))
+						.build()))
+				.build();
+	}
+
+	private CompositeFilter filters() {
+		if (this.filters == null) {
+			final CompositeFilter compositeFilter = new CompositeFilter();
+			compositeFilter.setFilters(List.of(this.securityFilterChain.getObject(), this.cacheInvalidationFilter));
+			this.filters = compositeFilter;
+		}
+		return this.filters;
+	}
+
+	/**
+	 * A DispatcherServlet of our own over the application context, so it sees the same
+	 * handlers, advices and converters, set up like the one Spring Boot registers.
+	 */
+	private DispatcherServlet dispatcherServlet(final ServletContext servletContext) throws ServletException {
+		DispatcherServlet servlet = this.dispatcherServlet;
+		if (servlet != null)
+			return servlet;
+		synchronized (this) {
+			if (this.dispatcherServlet == null) {
+				servlet = new DispatcherServlet(this.webApplicationContext);
+				servlet.setDispatchOptionsRequest(this.webMvcProperties.isDispatchOptionsRequest());
+				servlet.setDispatchTraceRequest(this.webMvcProperties.isDispatchTraceRequest());
+				servlet.setThrowExceptionIfNoHandlerFound(this.webMvcProperties.isThrowExceptionIfNoHandlerFound());
+				servlet.setPublishEvents(this.webMvcProperties.isPublishRequestHandledEvents());
+				servlet.init(servletConfig(servletContext));
+				this.dispatcherServlet = servlet;
+			}
+			return this.dispatcherServlet;
+		}
+	}
+
+	private static ServletConfig servletConfig(final ServletContext servletContext) {
+		return new ServletConfig() {
+
+			@Override
+			public String getServletName() {
+				return "batchDispatcherServlet";
+			}
+
+			@Override
+			public ServletContext getServletContext() {
+				return servletContext;
+			}
+
+			@Override
+			public String getInitParameter(final String name) {
+				return null;
+			}
+
+			@Override
+			public Enumeration<String> getInitParameterNames() {
+				return Collections.emptyEnumeration();
+			}
+		};
+	}
+
+}
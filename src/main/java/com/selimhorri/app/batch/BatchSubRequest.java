@@ -0,0 +1,267 @@
+package com.selimhorri.app.batch;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.ReadListener;
+import javax.servlet.ServletInputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletRequestWrapper;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.web.util.UriUtils;
+
+/**
+ * A batch operation seen as a request of its own. Method, path, parameters, body and
+ * attributes belong to the operation; headers are those of the enclosing request
+ * overridden by the operation's, and everything else (session, remote address, locale)
+ * is the enclosing request's.
+ */
+final class BatchSubRequest extends HttpServletRequestWrapper {
+
+	private final String method;
+	private final String path;
+	private final String queryString;
+	private final Map<String, String[]> parameters;
+	private final Map<String, List<String>> headers;
+	private final byte[] body;
+	private final Map<String, Object> attributes = new ConcurrentHashMap<>();
+
+	BatchSubRequest(final HttpServletRequest request, final String method, final String pathAndQuery,
+			final Map<String, String> headers, final byte[] body) {
+		super(request);
+		this.method = method;
+		final int query = pathAndQuery.indexOf('?');
+		this.path = (query >= 0) ? pathAndQuery.substring(0, query) : pathAndQuery;
+		this.queryString = (query >= 0 && query < pathAndQuery.length() - 1) ? pathAndQuery.substring(query + 1) : null;
+		this.parameters = parseParameters(this.queryString);
+		this.body = body;
+
+		this.headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+		for (final String name : Collections.list(request.getHeaderNames()))
+			this.headers.put(name, Collections.list(request.getHeaders(name)));
+		this.headers.remove(HttpHeaders.CONTENT_TYPE);
+		this.headers.remove(HttpHeaders.CONTENT_LENGTH);
+		if (headers != null)
+			headers.forEach((name, value) -> this.headers.put(name, List.of(value)));
+		if (body != null) {
+			this.headers.putIfAbsent(HttpHeaders.CONTENT_TYPE, List.of("application/json"));
+			this.headers.put(HttpHeaders.CONTENT_LENGTH, List.of(String.valueOf(body.length)));
+		}
+	}
+
+	private static Map<String, String[]> parseParameters(final String queryString) {
+		final Map<String, String[]> parameters = new LinkedHashMap<>();
+		if (queryString == null)
+			return parameters;
+		final MultiValueMap<String, String> query = UriComponentsBuilder.newInstance().query(queryString).build().getQueryParams();
+		query.forEach((name, values) -> {
+			final List<String> decoded = new ArrayList<>();
+			values.forEach(value -> decoded.add((value != null) ? UriUtils.decode(value, StandardCharsets.UTF_8) : ""));
+			parameters.put(UriUtils.decode(name, StandardCharsets.UTF_8), decoded.toArray(String[]::new));
+		});
+		return parameters;
+	}
+
+	@Override
+	public String getMethod() {
+		return this.method;
+	}
+
+	@Override
+	public String getRequestURI() {
+		return this.getContextPath() + this.path;
+	}
+
+	@Override
+	public StringBuffer getRequestURL() {
+		final StringBuffer url = new StringBuffer();
+		url.append(this.getScheme()).append("://").append(this.getServerName()).append(':').append(this.getServerPort());
+		return url.append(this.getRequestURI());
+	}
+
+	@Override
+	public String getServletPath() {
+		return this.path;
+	}
+
+	@Override
+	public String getPathInfo() {
+		return null;
+	}
+
+	@Override
+	public String getPathTranslated() {
+		return null;
+	}
+
+	@Override
+	public String getQueryString() {
+		return this.queryString;
+	}
+
+	@Override
+	public String getParameter(final String name) {
+		final String[] values = this.parameters.get(name);
+		return (values != null && values.length > 0) ? values[0] : null;
+	}
+
+	@Override
+	public Map<String, String[]> getParameterMap() {
+		return Collections.unmodifiableMap(this.parameters);
+	}
+
+	@Override
+	public Enumeration<String> getParameterNames() {
+		return Collections.enumeration(this.parameters.keySet());
+	}
+
+	@Override
+	public String[] getParameterValues(final String name) {
+		return this.parameters.get(name);
+	}
+
+	@Override
+	public String getHeader(final String name) {
+		final List<String> values = this.headers.get(name);
+		return (values != null && !values.isEmpty()) ? values.get(0) : null;
+	}
+
+	@Override
+	public Enumeration<String> getHeaders(final String name) {
+		return Collections.enumeration(this.headers.getOrDefault(name, List.of()));
+	}
+
+	@Override
+	public Enumeration<String> getHeaderNames() {
+		final Set<String> names = new LinkedHashSet<>(this.headers.keySet());
+		return Collections.enumeration(names);
+	}
+
+	@Override
+	public int getIntHeader(final String name) {
+		final String value = this.getHeader(name);
+		return (value != null) ? Integer.parseInt(value) : -1;
+	}
+
+	@Override
+	public long getDateHeader(final String name) {
+		final String value = this.getHeader(name);
+		if (value == null)
+			return -1L;
+		final HttpHeaders parsed = new HttpHeaders();
+		parsed.set(name, value);
+		return parsed.getFirstDate(name);
+	}
+
+	@Override
+	public String getContentType() {
+		return this.getHeader(HttpHeaders.CONTENT_TYPE);
+	}
+
+	@Override
+	public int getContentLength() {
+		return (this.body != null) ? this.body.length : -1;
+	}
+
+	@Override
+	public long getContentLengthLong() {
+		return this.getContentLength();
+	}
+
+	@Override
+	public String getCharacterEncoding() {
+		return (this.body != null) ? StandardCharsets.UTF_8.name() : null;
+	}
+
+	@Override
+	public ServletInputStream getInputStream() {
+		final ByteArrayInputStream input = new ByteArrayInputStream((this.body != null) ? this.body : new byte[0]);
+		return new ServletInputStream() {
+
+			@Override
+			public int read() {
+				return input.read();
+			}
+
+			@Override
+			public int read(final byte[] buffer, final int offset, final int length) {
+				return input.read(buffer, offset, length);
+			}
+
+			@Override
+			public boolean isFinished() {
+				return input.available() == 0;
+			}
+
+			@Override
+			public boolean isReady() {
+				return true;
+			}
+
+			@Override
+			public void setReadListener(final ReadListener readListener) {
+				throw new UnsupportedOperationException("Batch operations are read synchronously");
+			}
+		};
+	}
+
+	@Override
+	public BufferedReader getReader() {
+		return new BufferedReader(new InputStreamReader(this.getInputStream(), StandardCharsets.UTF_8));
+	}
+
+	@Override
+	public Object getAttribute(final String name) {
+		return this.attributes.get(name);
+	}
+
+	@Override
+	public Enumeration<String> getAttributeNames() {
+		return Collections.enumeration(new ArrayList<>(this.attributes.keySet()));
+	}
+
+	@Override
+	public void setAttribute(final String name, final Object value) {
+		if (value == null)
+			this.attributes.remove(name);
+		else
+			this.attributes.put(name, value);
+	}
+
+	@Override
+	public void removeAttribute(final String name) {
+		this.attributes.remove(name);
+	}
+
+	@Override
+	public DispatcherType getDispatcherType() {
+		return DispatcherType.REQUEST;
+	}
+
+	@Override
+	public boolean isAsyncSupported() {
+		return false;
+	}
+
+	@Override
+	public boolean isAsyncStarted() {
+		return false;
+	}
+
+}
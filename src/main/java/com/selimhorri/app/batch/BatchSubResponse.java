@@ -0,0 +1,286 @@
+package com.selimhorri.app.batch;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+
+/**
+ * Captures what a batch operation answers. Nothing reaches the enclosing response, which
+ * is only wrapped for the URL encoding methods.
+ */
+final class BatchSubResponse extends HttpServletResponseWrapper {
+
+	private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+	private final Map<String, List<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+	private int status = HttpStatus.OK.value();
+	private String errorMessage;
+	private boolean committed;
+	private Charset charset = StandardCharsets.ISO_8859_1;
+	private Locale locale = Locale.getDefault();
+	private ServletOutputStream outputStream;
+	private PrintWriter writer;
+
+	BatchSubResponse(final HttpServletResponse response) {
+		super(response);
+	}
+
+	byte[] getBody() {
+		if (this.writer != null)
+			this.writer.flush();
+		return this.body.toByteArray();
+	}
+
+	String getErrorMessage() {
+		return this.errorMessage;
+	}
+
+	Map<String, String> getHeaderValues() {
+		final Map<String, String> values = new LinkedHashMap<>();
+		this.headers.forEach((name, list) -> values.put(name, String.join(", ", list)));
+		return values;
+	}
+
+	@Override
+	public int getStatus() {
+		return this.status;
+	}
+
+	@Override
+	public void setStatus(final int status) {
+		if (!this.committed)
+			this.status = status;
+	}
+
+	@Override
+	@Deprecated
+	public void setStatus(final int status, final String message) {
+		this.setStatus(status);
+	}
+
+	@Override
+	public void sendError(final int status, final String message) {
+		this.resetBuffer();
+		this.status = status;
+		this.errorMessage = message;
+		this.committed = true;
+	}
+
+	@Override
+	public void sendError(final int status) {
+		this.sendError(status, null);
+	}
+
+	@Override
+	public void sendRedirect(final String location) {
+		this.resetBuffer();
+		this.setHeader(HttpHeaders.LOCATION, location);
+		this.status = HttpStatus.FOUND.value();
+		this.committed = true;
+	}
+
+	@Override
+	public boolean containsHeader(final String name) {
+		return this.headers.containsKey(name);
+	}
+
+	@Override
+	public String getHeader(final String name) {
+		final List<String> values = this.headers.get(name);
+		return (values != null && !values.isEmpty()) ? values.get(0) : null;
+	}
+
+	@Override
+	public Collection<String> getHeaders(final String name) {
+		return new ArrayList<>(this.headers.getOrDefault(name, List.of()));
+	}
+
+	@Override
+	public Collection<String> getHeaderNames() {
+		return new ArrayList<>(this.headers.keySet());
+	}
+
+	@Override
+	public void setHeader(final String name, final String value) {
+		if (HttpHeaders.CONTENT_TYPE.equalsIgnoreCase(name)) {
+			this.setContentType(value);
+			return;
+		}
+		if (value == null)
+			this.headers.remove(name);
+		else
+			this.headers.put(name, new ArrayList<>(List.of(value)));
+	}
+
+	@Override
+	public void addHeader(final String name, final String value) {
+		if (HttpHeaders.CONTENT_TYPE.equalsIgnoreCase(name)) {
+			this.setContentType(value);
+			return;
+		}
+		if (value != null)
+			this.headers.computeIfAbsent(name, key -> new ArrayList<>()).add(value);
+	}
+
+	@Override
+	public void setIntHeader(final String name, final int value) {
+		this.setHeader(name, String.valueOf(value));
+	}
+
+	@Override
+	public void addIntHeader(final String name, final int value) {
+		this.addHeader(name, String.valueOf(value));
+	}
+
+	@Override
+	public void setDateHeader(final String name, final long date) {
+		final HttpHeaders formatted = new HttpHeaders();
+		formatted.setDate(name, date);
+		this.setHeader(name, formatted.getFirst(name));
+	}
+
+	@Override
+	public void addDateHeader(final String name, final long date) {
+		final HttpHeaders formatted = new HttpHeaders();
+		formatted.setDate(name, date);
+		this.addHeader(name, formatted.getFirst(name));
+	}
+
+	@Override
+	public String getContentType() {
+		return this.getHeader(HttpHeaders.CONTENT_TYPE);
+	}
+
+	@Override
+	public void setContentType(final String contentType) {
+		if (contentType == null) {
+			this.headers.remove(HttpHeaders.CONTENT_TYPE);
+			return;
+		}
+		final MediaType mediaType = MediaType.parseMediaType(contentType);
+		if (mediaType.getCharset() != null)
+			this.charset = mediaType.getCharset();
+		this.headers.put(HttpHeaders.CONTENT_TYPE, new ArrayList<>(List.of(contentType)));
+	}
+
+	@Override
+	public String getCharacterEncoding() {
+		return this.charset.name();
+	}
+
+	@Override
+	public void setCharacterEncoding(final String charset) {
+		if (charset != null)
+			this.charset = Charset.forName(charset);
+	}
+
+	@Override
+	public void setContentLength(final int length) {
+		this.setContentLengthLong(length);
+	}
+
+	@Override
+	public void setContentLengthLong(final long length) {
+		this.setHeader(HttpHeaders.CONTENT_LENGTH, String.valueOf(length));
+	}
+
+	@Override
+	public Locale getLocale() {
+		return this.locale;
+	}
+
+	@Override
+	public void setLocale(final Locale locale) {
+		if (locale != null)
+			this.locale = locale;
+	}
+
+	@Override
+	public ServletOutputStream getOutputStream() {
+		if (this.outputStream == null) {
+			this.outputStream = new ServletOutputStream() {
+
+				@Override
+				public void write(final int b) {
+					BatchSubResponse.this.body.write(b);
+				}
+
+				@Override
+				public void write(final byte[] bytes, final int offset, final int length) {
+					BatchSubResponse.this.body.write(bytes, offset, length);
+				}
+
+				@Override
+				public boolean isReady() {
+					return true;
+				}
+
+				@Override
+				public void setWriteListener(final WriteListener writeListener) {
+					throw new UnsupportedOperationException("Batch operations are written synchronously");
+				}
+			};
+		}
+		return this.outputStream;
+	}
+
+	@Override
+	public PrintWriter getWriter() {
+		if (this.writer == null)
+			this.writer = new PrintWriter(new OutputStreamWriter(this.body, this.charset), true);
+		return this.writer;
+	}
+
+	@Override
+	public void setBufferSize(final int size) {
+	}
+
+	@Override
+	public int getBufferSize() {
+		return Integer.MAX_VALUE;
+	}
+
+	@Override
+	public void flushBuffer() {
+		if (this.writer != null)
+			this.writer.flush();
+		this.committed = true;
+	}
+
+	@Override
+	public boolean isCommitted() {
+		return this.committed;
+	}
+
+	@Override
+	public void reset() {
+		this.resetBuffer();
+		this.headers.clear();
+		this.status = HttpStatus.OK.value();
+	}
+
+	@Override
+	public void resetBuffer() {
+		if (this.writer != null)
+			this.writer.flush();
+		this.body.reset();
+	}
+
+}
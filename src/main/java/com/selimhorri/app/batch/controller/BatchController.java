@@ -0,0 +1,32 @@
+package com.selimhorri.app.batch.controller;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.selimhorri.app.batch.BatchDispatcher;
+import com.selimhorri.app.batch.model.BatchRequest;
+import com.selimhorri.app.batch.model.BatchResponse;
+import com.selimhorri.app.batch.service.BatchService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping(BatchDispatcher.BATCH_PATH)
+@RequiredArgsConstructor
+public class BatchController {
+	
+	private final BatchService batchService;
+	
+	@PostMapping
+	public ResponseEntity<BatchResponse> execute(@RequestBody final BatchRequest batchRequest, 
+			final HttpServletRequest request, final HttpServletResponse response) {
+		return ResponseEntity.ok(this.batchService.execute(batchRequest, request, response));
+	}
+	
+}
@@ -0,0 +1,30 @@
+package com.selimhorri.app.batch.model;
+
+import java.io.Serializable;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One call of a batch, as it would have been sent on its own. The path may carry a
+ * query string; the body, when present, is sent as JSON.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class BatchOperation implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	private String method;
+	private String path;
+	private Map<String, String> headers;
+	private JsonNode body;
+	
+}
@@ -0,0 +1,24 @@
+package com.selimhorri.app.batch.model;
+
+import java.io.Serializable;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Results in the order of the operations.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class BatchResponse implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	private List<BatchResult> results;
+	
+}
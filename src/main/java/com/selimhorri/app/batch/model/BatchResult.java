@@ -0,0 +1,34 @@
+package com.selimhorri.app.batch.model;
+
+import java.io.Serializable;
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of one operation: the status, headers and body it would have answered with.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class BatchResult implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	private int status;
+	
+	@JsonInclude(value = Include.NON_EMPTY)
+	private Map<String, String> headers;
+	
+	@JsonInclude(value = Include.NON_NULL)
+	private JsonNode body;
+	
+}
@@ -0,0 +1,14 @@
+package com.selimhorri.app.batch.service;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import com.selimhorri.app.batch.model.BatchRequest;
+import com.selimhorri.app.batch.model.BatchResponse;
+
+public interface BatchService {
+	
+	BatchResponse execute(final BatchRequest batchRequest, final HttpServletRequest request, 
+			final HttpServletResponse response);
+	
+}
@@ -0,0 +1,93 @@
+package com.selimhorri.app.batch.service.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import com.selimhorri.app.batch.BatchDispatcher;
+import com.selimhorri.app.batch.model.BatchOperation;
+import com.selimhorri.app.batch.model.BatchRequest;
+import com.selimhorri.app.batch.model.BatchResponse;
+import com.selimhorri.app.batch.model.BatchResult;
+import com.selimhorri.app.batch.service.BatchService;
+import com.selimhorri.app.config.executor.ExecutorConfig;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs the operations of a batch with at most {@code parallelism} workers taking the next
+ * operation in turn, the request thread being one of them. Operations are independent:
+ * one failing does not stop the others, and no ordering between them is guaranteed. The
+ * helper workers have a pool of their own, apart from the pools the operations fan out on.
+ */
+@Service
+@Slf4j
+public class BatchServiceImpl implements BatchService {
+	
+	private final BatchDispatcher batchDispatcher;
+	private final Executor executor;
+	private final int parallelism;
+	private final int maxOperations;
+	
+	public BatchServiceImpl(final BatchDispatcher batchDispatcher, 
+			@Qualifier(ExecutorConfig.BATCH_EXECUTOR) final Executor executor, 
+			@Value("${app.batch.parallelism:4}") final int parallelism, 
+			@Value("${app.batch.max-operations:200}") final int maxOperations) {
+		this.batchDispatcher = batchDispatcher;
+		this.executor = executor;
+		this.parallelism = Math.max(1, parallelism);
+		this.maxOperations = maxOperations;
+	}
+	
+	@Override
+	public BatchResponse execute(final BatchRequest batchRequest, final HttpServletRequest request, 
+			final HttpServletResponse response) {
+		final List<BatchOperation> operations = (batchRequest != null) ? batchRequest.getOperations() : null;
+		if (operations == null || operations.isEmpty())
+			throw new IllegalStateException("A batch needs at least one operation");
+		if (operations.size() > this.maxOperations)
+			throw new IllegalStateException("At most " + this.maxOperations + " operations can be batched at once");
+		log.info("**BatchService, execute {} operations*\n", operations.size());
+		
+		final Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+		final BatchResult[] results = new BatchResult[operations.size()];
+		final AtomicInteger next = new AtomicInteger();
+		final Runnable worker = () -> {
+			int index;
+			while ((index = next.getAndIncrement()) < results.length)
+				results[index] = this.batchDispatcher.dispatch(request, response, authentication, operations.get(index));
+		};
+		
+		final int workers = Math.min(this.parallelism, operations.size());
+		final List<CompletableFuture<Void>> forked = new ArrayList<>();
+		for (int i = 1; i < workers; i++)
+			forked.add(CompletableFuture.runAsync(worker, this.executor));
+		// the operations replace and then clear the security context of the thread running them
+		final SecurityContext securityContext = SecurityContextHolder.getContext();
+		try {
+			worker.run();
+		}
+		finally {
+			SecurityContextHolder.setContext(securityContext);
+		}
+		CompletableFuture.allOf(forked.toArray(CompletableFuture[]::new)).join();
+		
+		return BatchResponse.builder()
+				.results(Arrays.asList(results))
+				.build();
+	}
+	
+}
@@ -4,14 +4,14 @@ import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
 
 import org.springframework.http.ResponseEntity;
-import org.springframework.web.bind.annotation.GetMapping;
-import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.selimhorri.app.business.auth.model.request.AuthenticationRequest;
+import com.selimhorri.app.business.auth.model.request.RefreshTokenRequest;
 import com.selimhorri.app.business.auth.model.response.AuthenticationResponse;
 import com.selimhorri.app.business.auth.service.AuthenticationService;
 
@@ -35,6 +35,28 @@ public class AuthenticationController {
 		return ResponseEntity.ok(this.authenticationService.authenticate(authenticationRequest));
 	}
 	
+	@PostMapping("/refresh")
+	public ResponseEntity<AuthenticationResponse> refresh(
+			@RequestBody 
+			@NotNull(message = "") 
+			@Valid final RefreshTokenRequest refreshTokenRequest) {
+		log.info("**Authentication controller, refresh tokens*\n");
+		return ResponseEntity.ok(this.authenticationService.refresh(refreshTokenRequest));
+	}
+	
+	@PostMapping("/logout")
+	public ResponseEntity<Boolean> logout(
+			@RequestBody 
+			@NotNull(message = "") 
+			@Valid final RefreshTokenRequest refreshTokenRequest, 
+			@RequestHeader(name = "Authorization", required = false) final String authorization) {
+		log.info("**Authentication controller, revoke tokens*\n");
+		final String accessToken = (authorization != null && authorization.startsWith("Bearer ")) 
+				? authorization.substring(7) : null;
+		this.authenticationService.logout(refreshTokenRequest, accessToken);
+		return ResponseEntity.ok(true);
+	}
+	
 }
 
 
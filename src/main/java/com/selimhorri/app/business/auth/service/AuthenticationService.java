@@ -1,10 +1,13 @@
 package com.selimhorri.app.business.auth.service;
 
 import com.selimhorri.app.business.auth.model.request.AuthenticationRequest;
+import com.selimhorri.app.business.auth.model.request.RefreshTokenRequest;
 import com.selimhorri.app.business.auth.model.response.AuthenticationResponse;
 
 public interface AuthenticationService {
 	
 	AuthenticationResponse authenticate(final AuthenticationRequest authenticationRequest);
+	AuthenticationResponse refresh(final RefreshTokenRequest refreshTokenRequest);
+	void logout(final RefreshTokenRequest refreshTokenRequest, final String accessToken);
 	
 }
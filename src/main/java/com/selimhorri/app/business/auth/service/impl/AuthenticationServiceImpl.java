@@ -1,5 +1,7 @@
 package com.selimhorri.app.business.auth.service.impl;
 
+import java.util.function.Function;
+
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -9,13 +11,19 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
 import com.selimhorri.app.business.auth.model.request.AuthenticationRequest;
+import com.selimhorri.app.business.auth.model.request.RefreshTokenRequest;
 import com.selimhorri.app.business.auth.model.response.AuthenticationResponse;
 import com.selimhorri.app.business.auth.service.AuthenticationService;
 import com.selimhorri.app.business.user.model.CredentialDto;
 import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.exception.wrapper.IllegalAuthenticationCredentialsException;
+import com.selimhorri.app.exception.wrapper.InvalidTokenException;
 import com.selimhorri.app.jwt.service.JwtService;
+import com.selimhorri.app.jwt.service.TokenRevocationService;
+import com.selimhorri.app.jwt.util.JwtUtil;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -30,6 +38,7 @@ public class AuthenticationServiceImpl implements AuthenticationService {
 	private final UserDetailsService userDetailsService;
 	private final JwtService jwtService;
 	private final RestTemplate restTemplate;
+	private final TokenRevocationService tokenRevocationService;
 
 	@Override
 	public AuthenticationResponse authenticate(final AuthenticationRequest authenticationRequest) {
@@ -44,12 +53,63 @@ public class AuthenticationServiceImpl implements AuthenticationService {
 		}
 		CredentialDto credentialDto = this.restTemplate.getForObject(API_URL + "/username/" + authenticationRequest.getUsername(),
 				CredentialDto.class);
-				System.out.println(credentialDto.getPassword());
-				System.out.println(credentialDto.getUsername());
-				System.out.println("++++++++++++++");
 
-		return new AuthenticationResponse(this.jwtService.generateToken(this.userDetailsService
-				.loadUserByUsername(authenticationRequest.getUsername()), credentialDto.getUserDto().getUserId().toString()));
+		return this.issueTokens(this.userDetailsService.loadUserByUsername(authenticationRequest.getUsername()),
+				credentialDto.getUserDto().getUserId().toString());
+	}
+
+	@Override
+	public AuthenticationResponse refresh(final RefreshTokenRequest refreshTokenRequest) {
+
+		log.info("** AuthenticationResponse, refresh tokens user service*\n");
+
+		final Claims claims = this.parseRefreshToken(refreshTokenRequest.getRefreshToken());
+		// a concurrent refresh with the same token may have passed the check above, only one may rotate it
+		if (!this.tokenRevocationService.revoke(claims.getId(), claims.getExpiration()))
+			throw new InvalidTokenException("#### Invalid refresh token! ####");
+
+		final UserDetails userDetails = this.userDetailsService.loadUserByUsername(claims.getSubject());
+		if (!userDetails.isEnabled() || !userDetails.isAccountNonLocked())
+			throw new InvalidTokenException("#### Account is disabled or locked! ####");
+
+		return this.issueTokens(userDetails, claims.get(JwtUtil.USER_ID_CLAIM, String.class));
+	}
+
+	@Override
+	public void logout(final RefreshTokenRequest refreshTokenRequest, final String accessToken) {
+
+		log.info("** Void, logout user service*\n");
+
+		final Claims claims = this.parseRefreshToken(refreshTokenRequest.getRefreshToken());
+		this.tokenRevocationService.revoke(claims.getId(), claims.getExpiration());
+
+		if (accessToken != null) {
+			try {
+				final Claims accessClaims = this.jwtService.extractClaims(accessToken, Function.identity());
+				if (claims.getSubject().equals(accessClaims.getSubject()))
+					this.tokenRevocationService.revoke(accessClaims.getId(), accessClaims.getExpiration());
+			} catch (JwtException | IllegalArgumentException e) {
+				log.info("** Access token already unusable: {}*\n", e.getMessage());
+			}
+		}
+	}
+
+	private AuthenticationResponse issueTokens(final UserDetails userDetails, final String userId) {
+		return new AuthenticationResponse(this.jwtService.generateToken(userDetails, userId),
+				this.jwtService.generateRefreshToken(userDetails, userId));
+	}
+
+	private Claims parseRefreshToken(final String refreshToken) {
+		final Claims claims;
+		try {
+			claims = this.jwtService.extractClaims(refreshToken, Function.identity());
+		} catch (JwtException | IllegalArgumentException e) {
+			throw new InvalidTokenException("#### Invalid refresh token! ####", e);
+		}
+		if (!JwtUtil.REFRESH_TOKEN_TYPE.equals(claims.get(JwtUtil.TOKEN_TYPE_CLAIM))
+				|| this.tokenRevocationService.isRevoked(claims.getId()))
+			throw new InvalidTokenException("#### Invalid refresh token! ####");
+		return claims;
 	}
 
 }
@@ -10,25 +10,35 @@ import org.springframework.web.client.RestTemplate;
 
 import com.selimhorri.app.business.user.model.CredentialDto;
 import com.selimhorri.app.business.user.model.UserDetailsImpl;
+import com.selimhorri.app.cache.CacheProperties;
+import com.selimhorri.app.cache.invalidation.CacheInvalidationListener;
+import com.selimhorri.app.cache.invalidation.InvalidationEvent;
+import com.selimhorri.app.cache.spi.CacheRegion;
+import com.selimhorri.app.cache.spi.CacheRegions;
 import com.selimhorri.app.constant.AppConstant;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 @Service
 @Slf4j
-@RequiredArgsConstructor
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, CacheInvalidationListener {
 
 	private static final String API_URL = AppConstant.DiscoveredDomainsApi.USER_SERVICE_HOST + "/api/credentials";
 	private final RestTemplate restTemplate;
+	private final CacheRegion<CredentialDto> credentials;
+	
+	public UserDetailsServiceImpl(final RestTemplate restTemplate, final CacheRegions cacheRegions, 
+			final CacheProperties cacheProperties) {
+		this.restTemplate = restTemplate;
+		this.credentials = cacheRegions.localRegion("credentials", cacheProperties.getCredentials(), CredentialDto.class);
+	}
 
 	@Override
 	public UserDetails loadUserByUsername(final String username) throws UsernameNotFoundException {
 		log.info("**UserDetails, load user by username*\n");
 		try {
-			CredentialDto credentialDto = this.restTemplate.getForObject(API_URL + "/username/" + username,
-					CredentialDto.class);
+			final CredentialDto credentialDto = this.credentials.get(String.valueOf(username), 
+					() -> this.restTemplate.getForObject(API_URL + "/username/" + username, CredentialDto.class));
 			if (credentialDto == null) {
 				log.error("User not found with username: {}", username);
 				throw new UsernameNotFoundException("User not found with username: " + username);
@@ -39,5 +49,16 @@ public class UserDetailsServiceImpl implements UserDetailsService {
 			throw new UsernameNotFoundException("Failed to load user with username: " + username, e);
 		}
 	}
+	
+	/**
+	 * Credentials are cached by username while writes are addressed by id, so any write to
+	 * users or credentials drops the whole region. It is never kept in the shared tier, which
+	 * an announced write cannot reach by username.
+	 */
+	@Override
+	public void onInvalidation(final InvalidationEvent event) {
+		if (event.concerns("credentials") || event.concerns("users"))
+			this.credentials.clearLocal();
+	}
 
 }
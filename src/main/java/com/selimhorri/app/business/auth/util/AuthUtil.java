@@ -14,6 +14,9 @@ import com.selimhorri.app.business.order.model.OrderDto;
 import com.selimhorri.app.business.payment.model.PaymentDto;
 import com.selimhorri.app.business.user.model.AddressDto;
 import com.selimhorri.app.business.user.model.CredentialDto;
+import com.selimhorri.app.cache.CacheProperties;
+import com.selimhorri.app.cache.spi.CacheRegion;
+import com.selimhorri.app.cache.spi.CacheRegions;
 import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.exception.wrapper.UnauthorizedException;
 
@@ -21,9 +24,11 @@ import com.selimhorri.app.exception.wrapper.UnauthorizedException;
 public class AuthUtil {
 
     private final RestTemplate restTemplate;
+    private final CacheRegion<String> owners;
 
-    public AuthUtil(RestTemplate restTemplate) {
+    public AuthUtil(RestTemplate restTemplate, CacheRegions cacheRegions, CacheProperties cacheProperties) {
         this.restTemplate = restTemplate;
+        this.owners = cacheRegions.region("ownership", cacheProperties.getOwnership(), String.class);
     }
 
     public void canActivate(HttpServletRequest request, String userId, UserDetails userDetails) {
@@ -36,7 +41,14 @@ public class AuthUtil {
         }
     }
 
+    /**
+     * A resource never changes owner, so resolved owners are cached and shared between replicas.
+     */
     public String getOwner(String id, ResourceType resourceType) {
+        return this.owners.get(resourceType + ":" + id, () -> this.resolveOwner(id, resourceType));
+    }
+
+    private String resolveOwner(String id, ResourceType resourceType) {
         String apiUrl = "";
         try {
             switch (resourceType) {
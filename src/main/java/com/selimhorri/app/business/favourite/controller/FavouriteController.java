@@ -13,6 +13,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.selimhorri.app.business.auth.util.AuthUtil;
@@ -20,6 +21,9 @@ import com.selimhorri.app.business.favourite.model.FavouriteDto;
 import com.selimhorri.app.business.favourite.model.FavouriteId;
 import com.selimhorri.app.business.favourite.model.response.FavouriteFavouriteServiceCollectionDtoResponse;
 import com.selimhorri.app.business.favourite.service.FavouriteClientService;
+import com.selimhorri.app.business.favourite.service.FavouriteWriteBehindService;
+import com.selimhorri.app.pagination.CursorPage;
+import com.selimhorri.app.pagination.CursorPaginator;
 
 import lombok.RequiredArgsConstructor;
 
@@ -30,6 +34,10 @@ public class FavouriteController {
 
 	@Autowired
 	private AuthUtil authUtil;
+	@Autowired
+	private CursorPaginator cursorPaginator;
+	@Autowired
+	private FavouriteWriteBehindService favouriteWriteBehindService;
 	private final FavouriteClientService favouriteClientService;
 
 	@GetMapping
@@ -37,20 +45,27 @@ public class FavouriteController {
 		return ResponseEntity.ok(this.favouriteClientService.findAll().getBody());
 	}
 
+	@GetMapping(params = CursorPaginator.LIMIT_PARAMETER)
+	public ResponseEntity<CursorPage<FavouriteDto>> findPage(@RequestParam(CursorPaginator.LIMIT_PARAMETER) final int limit,
+			@RequestParam(name = CursorPaginator.CURSOR_PARAMETER, required = false) final String cursor) {
+		return ResponseEntity.ok(this.cursorPaginator.page(this.favouriteClientService::streamAll, FavouriteDto.class,
+				favouriteDto -> favouriteDto.getUserId() + "-" + favouriteDto.getProductId() + "-" + favouriteDto.getLikeDate(), limit, cursor));
+	}
+
 	@GetMapping("/{userId}/{productId}")
 	public ResponseEntity<FavouriteDto> findById(
 			@PathVariable("userId") final String userId,
 			@PathVariable("productId") final String productId,
 			HttpServletRequest request, @AuthenticationPrincipal UserDetails userDetails) {
 		authUtil.canActivate(request, userId, userDetails);
-		return ResponseEntity.ok(this.favouriteClientService.findById(userId, productId).getBody());
+		return ResponseEntity.ok(this.favouriteWriteBehindService.findById(userId, productId));
 	}
 
 	@PostMapping
 	public ResponseEntity<FavouriteDto> save(@RequestBody final FavouriteDto favouriteDto, HttpServletRequest request,
 			@AuthenticationPrincipal UserDetails userDetails) {
 		authUtil.canActivate(request, favouriteDto.getUserId().toString(), userDetails);
-		return ResponseEntity.ok(this.favouriteClientService.save(favouriteDto).getBody());
+		return ResponseEntity.ok(this.favouriteWriteBehindService.save(favouriteDto));
 	}
 
 	@DeleteMapping("/{userId}/{productId}")
@@ -59,7 +74,7 @@ public class FavouriteController {
 			@PathVariable("productId") final String productId, HttpServletRequest request,
 			@AuthenticationPrincipal UserDetails userDetails) {
 		authUtil.canActivate(request, userId, userDetails);
-		this.favouriteClientService.deleteById(userId, productId).getBody();
+		this.favouriteWriteBehindService.deleteById(userId, productId);
 		return ResponseEntity.ok(true);
 	}
 
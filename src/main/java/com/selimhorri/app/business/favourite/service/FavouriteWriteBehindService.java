@@ -0,0 +1,12 @@
+package com.selimhorri.app.business.favourite.service;
+
+import com.selimhorri.app.business.favourite.model.FavouriteDto;
+
+public interface FavouriteWriteBehindService {
+
+	FavouriteDto findById(final String userId, final String productId);
+	FavouriteDto save(final FavouriteDto favouriteDto);
+	void deleteById(final String userId, final String productId);
+	int flush();
+
+}
@@ -0,0 +1,391 @@
+package com.selimhorri.app.business.favourite.service.impl;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.selimhorri.app.business.favourite.model.FavouriteDto;
+import com.selimhorri.app.business.favourite.service.FavouriteClientService;
+import com.selimhorri.app.business.favourite.service.FavouriteWriteBehindService;
+import com.selimhorri.app.cache.invalidation.CacheInvalidationBus;
+import com.selimhorri.app.cache.invalidation.CacheInvalidationListener;
+import com.selimhorri.app.cache.invalidation.InvalidationEvent;
+import com.selimhorri.app.exception.wrapper.FavouriteNotFoundException;
+
+import feign.FeignException;
+import feign.RetryableException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Buffers favourite toggles per user and product and sends only the last state of each
+ * pair to FAVOURITE-SERVICE once it has been pending for {@code window}, so a user tapping
+ * the button back and forth costs one downstream write. Due writes go out in batches of
+ * {@code max-batch} with at most {@code parallelism} calls in flight, FAVOURITE-SERVICE
+ * having no bulk endpoint. Reads on this replica see the pending state; writes not yet
+ * flushed are lost with the replica, which is the trade-off of write-behind. Calls not
+ * handled downstream (429, 502, 503, 504 or no connection) are kept for the next flush up
+ * to {@code max-attempts} times, others are dropped. Past {@code max-pending} pairs and
+ * when disabled, toggles are written through. The state last confirmed downstream, by a
+ * flushed write or a read, is remembered per pair for {@code confirmed-ttl}, so toggles that
+ * end where they started send nothing at all; a read racing a flushed write never overrides
+ * it, and writes announced by other replicas forget it.
+ */
+@Service
+@Slf4j
+public class FavouriteWriteBehindServiceImpl implements FavouriteWriteBehindService, CacheInvalidationListener,
+		MeterBinder, Closeable {
+
+	private static final String FAVOURITES_RESOURCE = "favourites";
+	private static final Set<Integer> RETRYABLE_STATUSES = Set.of(
+			HttpStatus.TOO_MANY_REQUESTS.value(), HttpStatus.BAD_GATEWAY.value(),
+			HttpStatus.SERVICE_UNAVAILABLE.value(), HttpStatus.GATEWAY_TIMEOUT.value());
+
+	private final FavouriteClientService favouriteClientService;
+	private final CacheInvalidationBus cacheInvalidationBus;
+	private final Executor executor;
+	private final boolean enabled;
+	private final Duration window;
+	private final int maxBatch;
+	private final int parallelism;
+	private final int maxAttempts;
+	private final int maxPending;
+	private final Map<String, PendingWrite> pending = new ConcurrentHashMap<>();
+	private final Cache<String, Confirmation> confirmed;
+	private final AtomicLong confirmations = new AtomicLong();
+	private final LongAdder toggles = new LongAdder();
+	private final LongAdder writes = new LongAdder();
+	private final LongAdder cancelled = new LongAdder();
+	private final LongAdder dropped = new LongAdder();
+	private volatile ScheduledExecutorService flusher;
+	private volatile boolean closed;
+
+	public FavouriteWriteBehindServiceImpl(final FavouriteClientService favouriteClientService,
+			final CacheInvalidationBus cacheInvalidationBus,
+			@Qualifier("applicationTaskExecutor") final Executor executor,
+			@Value("${app.favourites.write-behind.enabled:true}") final boolean enabled,
+			@Value("${app.favourites.write-behind.window:2s}") final Duration window,
+			@Value("${app.favourites.write-behind.max-batch:500}") final int maxBatch,
+			@Value("${app.favourites.write-behind.parallelism:4}") final int parallelism,
+			@Value("${app.favourites.write-behind.max-attempts:3}") final int maxAttempts,
+			@Value("${app.favourites.write-behind.max-pending:100000}") final int maxPending,
+			@Value("${app.favourites.write-behind.confirmed-ttl:10m}") final Duration confirmedTtl) {
+		this.favouriteClientService = favouriteClientService;
+		this.cacheInvalidationBus = cacheInvalidationBus;
+		this.executor = executor;
+		this.enabled = enabled;
+		this.window = window;
+		this.maxBatch = Math.max(1, maxBatch);
+		this.parallelism = Math.max(1, parallelism);
+		this.maxAttempts = Math.max(1, maxAttempts);
+		this.maxPending = maxPending;
+		this.confirmed = Caffeine.newBuilder()
+				.maximumSize(Math.max(1, maxPending))
+				.expireAfterWrite(confirmedTtl)
+				.build();
+	}
+
+	/**
+	 * Starts flushing, at the latest on the first buffered toggle.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public synchronized void start() {
+		if (!this.enabled || this.closed || this.flusher != null)
+			return;
+		this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			final Thread thread = new Thread(runnable, "favourite-write-behind");
+			thread.setDaemon(true);
+			return thread;
+		});
+		final long period = Math.max(10L, this.window.toMillis() / 2);
+		this.flusher.scheduleWithFixedDelay(this::flushDue, period, period, TimeUnit.MILLISECONDS);
+	}
+
+	@Override
+	public FavouriteDto findById(final String userId, final String productId) {
+		final String key = key(userId, productId);
+		final PendingWrite write = this.pending.get(key);
+		if (write == null) {
+			final long readFrom = this.confirmations.get();
+			try {
+				final FavouriteDto favouriteDto = this.favouriteClientService.findById(userId, productId).getBody();
+				this.confirmRead(key, favouriteDto != null, readFrom);
+				return favouriteDto;
+			}
+			catch (FeignException.NotFound e) {
+				this.confirmRead(key, false, readFrom);
+				throw e;
+			}
+		}
+		if (write.favouriteDto == null)
+			throw new FavouriteNotFoundException(String.format("Favourite with userId: %s and productId: %s not found",
+					userId, productId));
+		return write.favouriteDto;
+	}
+
+	@Override
+	public FavouriteDto save(final FavouriteDto favouriteDto) {
+		if (favouriteDto.getUserId() == null || favouriteDto.getProductId() == null)
+			return this.favouriteClientService.save(favouriteDto).getBody();
+		final FavouriteDto buffered = (favouriteDto.getLikeDate() != null) ? favouriteDto : FavouriteDto.builder()
+				.userId(favouriteDto.getUserId())
+				.productId(favouriteDto.getProductId())
+				.likeDate(LocalDateTime.now())
+				.userDto(favouriteDto.getUserDto())
+				.productDto(favouriteDto.getProductDto())
+				.build();
+		if (!this.buffer(favouriteDto.getUserId().toString(), favouriteDto.getProductId().toString(), buffered))
+			return this.favouriteClientService.save(favouriteDto).getBody();
+		return buffered;
+	}
+
+	@Override
+	public void deleteById(final String userId, final String productId) {
+		if (!this.buffer(userId, productId, null))
+			this.favouriteClientService.deleteById(userId, productId);
+	}
+
+	/**
+	 * Keeps the toggle as the state to write, its window starting with the first toggle of the pair.
+	 *
+	 * @return false when the toggle has to be written through
+	 */
+	private boolean buffer(final String userId, final String productId, final FavouriteDto favouriteDto) {
+		if (!this.enabled || this.closed)
+			return false;
+		final String key = key(userId, productId);
+		if (this.pending.size() >= this.maxPending && !this.pending.containsKey(key))
+			return false;
+		if (this.flusher == null)
+			this.start();
+		this.pending.compute(key, (k, previous) -> new PendingWrite(key, userId, productId, favouriteDto,
+				(previous != null) ? previous.bufferedAt : System.nanoTime()));
+		this.toggles.increment();
+		return true;
+	}
+
+	/**
+	 * Writes every pending toggle now.
+	 *
+	 * @return the number of pairs written downstream
+	 */
+	@Override
+	public int flush() {
+		return this.flush(false);
+	}
+
+	private void flushDue() {
+		try {
+			this.flush(true);
+		}
+		catch (RuntimeException e) {
+			log.error("**FavouriteWriteBehindService, flush failed: {}*\n", e.getMessage());
+		}
+	}
+
+	/**
+	 * A write replaced by a newer toggle while in flight stays pending and goes out with the
+	 * next flush, after the one it replaced since flushes do not overlap.
+	 */
+	private synchronized int flush(final boolean dueOnly) {
+		final long bufferedBefore = System.nanoTime() - this.window.toNanos();
+		final List<PendingWrite> due = this.pending.values().stream()
+				.filter(write -> !dueOnly || write.bufferedAt - bufferedBefore <= 0)
+				.collect(Collectors.toList());
+		if (due.isEmpty())
+			return 0;
+		final AtomicInteger written = new AtomicInteger();
+		for (int from = 0; from < due.size(); from += this.maxBatch) {
+			final List<PendingWrite> batch = due.subList(from, Math.min(due.size(), from + this.maxBatch));
+			final AtomicInteger next = new AtomicInteger();
+			final Runnable worker = () -> {
+				int index;
+				while ((index = next.getAndIncrement()) < batch.size())
+					if (this.write(batch.get(index)))
+						written.incrementAndGet();
+			};
+			final int workers = Math.min(this.parallelism, batch.size());
+			final List<CompletableFuture<Void>> forked = new ArrayList<>();
+			for (int i = 1; i < workers; i++)
+				forked.add(CompletableFuture.runAsync(worker, this.executor));
+			worker.run();
+			CompletableFuture.allOf(forked.toArray(CompletableFuture[]::new)).join();
+		}
+		log.info("**FavouriteWriteBehindService, flushed {} of {} pending favourites*\n", written.get(), due.size());
+		return written.get();
+	}
+
+	private boolean write(final PendingWrite write) {
+		// flushes do not overlap, so what is confirmed now includes every earlier write of the pair
+		final Confirmation confirmation = this.confirmed.getIfPresent(write.key);
+		if (confirmation != null && confirmation.liked == (write.favouriteDto != null)) {
+			this.pending.remove(write.key, write);
+			this.cancelled.increment();
+			return false;
+		}
+		try {
+			if (write.favouriteDto != null)
+				this.favouriteClientService.save(write.favouriteDto);
+			else
+				this.favouriteClientService.deleteById(write.userId, write.productId);
+		}
+		catch (FeignException.NotFound e) {
+			if (write.favouriteDto != null) {
+				this.drop(write, e.getMessage());
+				return false;
+			}
+			// unliking what was never liked leaves the pair as wanted
+			this.confirmWrite(write.key, false);
+			this.pending.remove(write.key, write);
+			return false;
+		}
+		catch (FeignException e) {
+			final boolean retryable = e instanceof RetryableException || RETRYABLE_STATUSES.contains(e.status());
+			if (retryable && write.attempts.incrementAndGet() < this.maxAttempts)
+				return false;
+			this.drop(write, e.getMessage());
+			return false;
+		}
+		catch (RuntimeException e) {
+			this.drop(write, e.getMessage());
+			return false;
+		}
+		this.confirmWrite(write.key, write.favouriteDto != null);
+		this.pending.remove(write.key, write);
+		this.writes.increment();
+		// the request announced the write before it reached FAVOURITE-SERVICE
+		this.cacheInvalidationBus.publish(FAVOURITES_RESOURCE, write.userId);
+		return true;
+	}
+
+	private void confirmWrite(final String key, final boolean liked) {
+		this.confirmed.put(key, new Confirmation(liked, this.confirmations.incrementAndGet()));
+	}
+
+	/**
+	 * Keeps a write of the pair confirmed after the read started, the read may have been answered before it.
+	 */
+	private void confirmRead(final String key, final boolean liked, final long readFrom) {
+		this.confirmed.asMap().compute(key, (k, current) -> 
+				(current != null && current.sequence > readFrom) ? current : new Confirmation(liked, readFrom));
+	}
+
+	private void drop(final PendingWrite write, final String msg) {
+		this.confirmed.invalidate(write.key);
+		this.pending.remove(write.key, write);
+		this.dropped.increment();
+		log.warn("**FavouriteWriteBehindService, dropping {} of product {} for user {}: {}*\n",
+				(write.favouriteDto != null) ? "like" : "unlike", write.productId, write.userId, msg);
+	}
+
+	private static String key(final String userId, final String productId) {
+		return userId + "/" + productId;
+	}
+
+	/**
+	 * Another replica wrote favourites of the user, what this one saw confirmed may be stale.
+	 */
+	@Override
+	public void onInvalidation(final InvalidationEvent event) {
+		if (!event.concerns(FAVOURITES_RESOURCE))
+			return;
+		if (event.isWholeResource())
+			this.confirmed.invalidateAll();
+		else
+			this.confirmed.asMap().keySet().removeIf(key -> key.startsWith(event.getId() + "/"));
+	}
+
+	@Override
+	public void bindTo(final MeterRegistry registry) {
+		FunctionCounter.builder("gateway.favourites.write-behind.toggles", this.toggles, LongAdder::doubleValue)
+				.description("Favourite toggles buffered instead of written through")
+				.register(registry);
+		FunctionCounter.builder("gateway.favourites.write-behind.writes", this.writes, LongAdder::doubleValue)
+				.description("Favourite writes flushed to FAVOURITE-SERVICE")
+				.register(registry);
+		FunctionCounter.builder("gateway.favourites.write-behind.cancelled", this.cancelled, LongAdder::doubleValue)
+				.description("Favourite toggles that ended in the confirmed state and needed no write")
+				.register(registry);
+		FunctionCounter.builder("gateway.favourites.write-behind.dropped", this.dropped, LongAdder::doubleValue)
+				.description("Favourite writes given up on")
+				.register(registry);
+		Gauge.builder("gateway.favourites.write-behind.pending", this.pending, Map::size)
+				.description("Favourite toggles waiting to be flushed")
+				.register(registry);
+	}
+
+	/**
+	 * Stops the flusher and writes what is still pending.
+	 */
+	@Override
+	public synchronized void close() {
+		this.closed = true;
+		if (this.flusher == null)
+			return;
+		this.flusher.shutdownNow();
+		this.flusher = null;
+		final int size = this.pending.size();
+		if (size > 0)
+			log.info("**FavouriteWriteBehindService, flushing {} pending favourites on shutdown*\n", size);
+		this.flush();
+	}
+
+	private static final class Confirmation {
+
+		private final boolean liked;
+		private final long sequence;
+
+		private Confirmation(final boolean liked, final long sequence) {
+			this.liked = liked;
+			this.sequence = sequence;
+		}
+
+	}
+
+	private static final class PendingWrite {
+
+		private final String key;
+		private final String userId;
+		private final String productId;
+		private final FavouriteDto favouriteDto;
+		private final long bufferedAt;
+		private final AtomicInteger attempts = new AtomicInteger();
+
+		private PendingWrite(final String key, final String userId, final String productId,
+				final FavouriteDto favouriteDto, final long bufferedAt) {
+			this.key = key;
+			this.userId = userId;
+			this.productId = productId;
+			this.favouriteDto = favouriteDto;
+			this.bufferedAt = bufferedAt;
+		}
+
+	}
+
+}
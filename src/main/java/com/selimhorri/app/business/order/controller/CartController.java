@@ -15,6 +15,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.selimhorri.app.business.auth.enums.ResourceType;
@@ -22,6 +23,8 @@ import com.selimhorri.app.business.auth.util.AuthUtil;
 import com.selimhorri.app.business.order.model.CartDto;
 import com.selimhorri.app.business.order.model.response.CartOrderServiceDtoCollectionResponse;
 import com.selimhorri.app.business.order.service.CartClientService;
+import com.selimhorri.app.pagination.CursorPage;
+import com.selimhorri.app.pagination.CursorPaginator;
 
 import lombok.RequiredArgsConstructor;
 
@@ -32,6 +35,8 @@ public class CartController {
 
 	@Autowired
 	private AuthUtil authUtil;
+	@Autowired
+	private CursorPaginator cursorPaginator;
 	private final CartClientService cartClientService;
 
 	@GetMapping
@@ -39,6 +44,13 @@ public class CartController {
 		return ResponseEntity.ok(this.cartClientService.findAll().getBody());
 	}
 
+	@GetMapping(params = CursorPaginator.LIMIT_PARAMETER)
+	public ResponseEntity<CursorPage<CartDto>> findPage(@RequestParam(CursorPaginator.LIMIT_PARAMETER) final int limit,
+			@RequestParam(name = CursorPaginator.CURSOR_PARAMETER, required = false) final String cursor) {
+		return ResponseEntity.ok(this.cursorPaginator.page(this.cartClientService::streamAll, CartDto.class,
+				CartDto::getCartId, limit, cursor));
+	}
+
 	@GetMapping("/{cartId}")
 	public ResponseEntity<CartDto> findById(
 			@PathVariable("cartId") @NotBlank(message = "Input must not be blank!") @Valid final String cartId,
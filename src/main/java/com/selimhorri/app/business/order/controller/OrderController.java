@@ -1,11 +1,16 @@
 package com.selimhorri.app.business.order.controller;
 
+import java.io.IOException;
+import java.net.URI;
+
 import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -17,13 +22,29 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import com.selimhorri.app.business.auth.enums.ResourceType;
 import com.selimhorri.app.business.auth.util.AuthUtil;
 import com.selimhorri.app.business.order.model.OrderDto;
+import com.selimhorri.app.business.order.model.OrderPlacement;
+import com.selimhorri.app.business.order.model.request.OrderStatusBulkRequest;
+import com.selimhorri.app.business.order.model.response.OrderDetailsResponse;
 import com.selimhorri.app.business.order.model.response.OrderOrderServiceDtoCollectionResponse;
+import com.selimhorri.app.business.order.model.response.OrderStatusBulkResponse;
 import com.selimhorri.app.business.order.service.OrderClientService;
+import com.selimhorri.app.business.order.service.OrderDetailsService;
+import com.selimhorri.app.business.order.service.OrderPlacementService;
+import com.selimhorri.app.business.order.service.OrderStatusBulkService;
+import com.selimhorri.app.config.filter.CacheInvalidationFilter;
+import com.selimhorri.app.config.web.RespondAsync;
+import com.selimhorri.app.config.web.RespondAsyncConfig;
+import com.selimhorri.app.exception.wrapper.OrderPlacementNotFoundException;
+import com.selimhorri.app.pagination.CursorPage;
+import com.selimhorri.app.pagination.CursorPaginator;
+import com.selimhorri.app.streaming.NdjsonExporter;
 
 import lombok.RequiredArgsConstructor;
 
@@ -34,13 +55,34 @@ public class OrderController {
 
 	@Autowired
 	private AuthUtil authUtil;
+	@Autowired
+	private CursorPaginator cursorPaginator;
+	@Autowired
+	private NdjsonExporter ndjsonExporter;
+	@Autowired
+	private OrderStatusBulkService orderStatusBulkService;
+	@Autowired
+	private OrderPlacementService orderPlacementService;
 	private final OrderClientService orderClientService;
+	private final OrderDetailsService orderDetailsService;
 
 	@GetMapping
 	public ResponseEntity<OrderOrderServiceDtoCollectionResponse> findAll() {
 		return ResponseEntity.ok(this.orderClientService.findAll().getBody());
 	}
 
+	@GetMapping(params = CursorPaginator.LIMIT_PARAMETER)
+	public ResponseEntity<CursorPage<OrderDto>> findPage(@RequestParam(CursorPaginator.LIMIT_PARAMETER) final int limit,
+			@RequestParam(name = CursorPaginator.CURSOR_PARAMETER, required = false) final String cursor) {
+		return ResponseEntity.ok(this.cursorPaginator.page(this.orderClientService::streamAll, OrderDto.class,
+				OrderDto::getOrderId, limit, cursor));
+	}
+
+	@GetMapping(produces = NdjsonExporter.APPLICATION_NDJSON_VALUE)
+	public void exportAll(HttpServletRequest request, HttpServletResponse response) throws IOException {
+		this.ndjsonExporter.export(this.orderClientService::streamAll, OrderDto.class, request, response);
+	}
+
 	@GetMapping("/{orderId}")
 	public ResponseEntity<OrderDto> findById(
 			@PathVariable("orderId") @NotBlank(message = "Input must not be blank!") @Valid final String orderId,
@@ -50,6 +92,15 @@ public class OrderController {
 		return ResponseEntity.ok(this.orderClientService.findById(orderId).getBody());
 	}
 
+	@GetMapping("/{orderId}/details")
+	public ResponseEntity<OrderDetailsResponse> findDetailsById(
+			@PathVariable("orderId") @NotBlank(message = "Input must not be blank!") @Valid final String orderId,
+			HttpServletRequest request, @AuthenticationPrincipal UserDetails userDetails) {
+		String userId = authUtil.getOwner(orderId, ResourceType.ORDERS);
+		authUtil.canActivate(request, userId, userDetails);
+		return ResponseEntity.ok(this.orderDetailsService.findDetails(orderId));
+	}
+
 	@PostMapping
 	public ResponseEntity<OrderDto> save(
 			@RequestBody @NotNull(message = "Input must not be NULL!") @Valid final OrderDto orderDto,
@@ -59,6 +110,35 @@ public class OrderController {
 		return ResponseEntity.ok(this.orderClientService.save(orderDto).getBody());
 	}
 
+	@RespondAsync
+	@PostMapping
+	public ResponseEntity<OrderPlacement> placeAsync(
+			@RequestBody @NotNull(message = "Input must not be NULL!") @Valid final OrderDto orderDto,
+			HttpServletRequest request, @AuthenticationPrincipal UserDetails userDetails) {
+		String userId = authUtil.getOwner(orderDto.getCartDto().getCartId().toString(), ResourceType.CARTS);
+		authUtil.canActivate(request, userId, userDetails);
+		OrderPlacement orderPlacement = this.orderPlacementService.submit(orderDto, userId);
+		URI location = ServletUriComponentsBuilder.fromCurrentContextPath()
+				.path("/api/orders/placements/{placementId}")
+				.buildAndExpand(orderPlacement.getPlacementId())
+				.toUri();
+		return ResponseEntity.status(HttpStatus.ACCEPTED)
+				.location(location)
+				.header(RespondAsyncConfig.PREFERENCE_APPLIED, RespondAsyncConfig.RESPOND_ASYNC)
+				.body(orderPlacement);
+	}
+
+	@GetMapping("/placements/{placementId}")
+	public ResponseEntity<OrderPlacement> findPlacementById(
+			@PathVariable("placementId") @NotBlank(message = "Input must not be blank!") @Valid final String placementId,
+			HttpServletRequest request, @AuthenticationPrincipal UserDetails userDetails) {
+		OrderPlacement orderPlacement = this.orderPlacementService.findById(placementId);
+		if (orderPlacement == null)
+			throw new OrderPlacementNotFoundException(String.format("Order placement with id: %s not found", placementId));
+		authUtil.canActivate(request, orderPlacement.getUserId(), userDetails);
+		return ResponseEntity.ok(orderPlacement);
+	}
+
 	@PatchMapping("/{orderId}/status")
 	public ResponseEntity<OrderDto> update(
 			@PathVariable("orderId") @NotBlank(message = "Input must not be blank") @Valid final int orderId) {
@@ -66,6 +146,14 @@ public class OrderController {
 		return ResponseEntity.ok(this.orderClientService.updateStatus(orderId).getBody());
 	}
 
+	@PatchMapping("/status")
+	public ResponseEntity<OrderStatusBulkResponse> updateStatuses(
+			@RequestBody @NotNull(message = "Input must not be NULL!") @Valid final OrderStatusBulkRequest orderStatusBulkRequest,
+			HttpServletRequest request) {
+		request.setAttribute(CacheInvalidationFilter.WHOLE_RESOURCE_ATTRIBUTE, Boolean.TRUE);
+		return ResponseEntity.ok(this.orderStatusBulkService.updateStatuses(orderStatusBulkRequest.getOrderIds()));
+	}
+
 	@PutMapping("/{orderId}")
 	public ResponseEntity<OrderDto> update(
 			@PathVariable("orderId") @NotBlank(message = "Input must not be blank!") @Valid final String orderId,
@@ -0,0 +1,5 @@
+package com.selimhorri.app.business.order.enums;
+
+public enum PlacementStatus {
+	PENDING, PLACED, FAILED
+}
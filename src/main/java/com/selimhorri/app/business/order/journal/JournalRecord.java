@@ -0,0 +1,36 @@
+package com.selimhorri.app.business.order.journal;
+
+import java.io.Serializable;
+
+import com.selimhorri.app.business.order.enums.PlacementStatus;
+import com.selimhorri.app.business.order.model.OrderDto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One line of the order journal: a submitted order with what to send downstream, or the
+ * outcome of a placement with the order it produced.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class JournalRecord implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	public enum Type { SUBMITTED, COMPLETED }
+	
+	private Type type;
+	private String placementId;
+	private String userId;
+	private PlacementStatus status;
+	private OrderDto orderDto;
+	private String msg;
+	private int attempts;
+	private long timestamp;
+	
+}
@@ -0,0 +1,269 @@
+package com.selimhorri.app.business.order.journal;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Supplier;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Append-only journal of order placements, one JSON record per line. Appends are handed
+ * to a single writer thread that writes whatever has queued up meanwhile and forces it to
+ * disk once for the whole batch, so concurrent submitters share an fsync. Replaying keeps
+ * the last record of every placement and skips a torn last line; once the file outgrows
+ * the threshold it is rewritten with the records still live.
+ */
+@Slf4j
+public class OrderJournal implements Closeable {
+
+	static final String FILE_NAME = "orders.journal";
+	private static final int MAX_BATCH = 512;
+	private static final Append CLOSE = new Append(null);
+
+	private final Path directory;
+	private final Path file;
+	private final long compactThreshold;
+	private final ObjectWriter writer;
+	private final ObjectReader reader;
+	private final BlockingQueue<Append> appends = new LinkedBlockingQueue<>();
+	private Supplier<Collection<JournalRecord>> liveRecords;
+	private FileChannel channel;
+	private long size;
+	private long compactAt;
+	private Thread writerThread;
+	private volatile boolean open;
+
+	public OrderJournal(final Path directory, final ObjectMapper objectMapper, final long compactThreshold) {
+		this.directory = directory;
+		this.file = directory.resolve(FILE_NAME);
+		this.compactThreshold = compactThreshold;
+		this.writer = objectMapper.writerFor(JournalRecord.class).without(SerializationFeature.INDENT_OUTPUT);
+		this.reader = objectMapper.readerFor(JournalRecord.class);
+	}
+
+	/**
+	 * Replays the journal and starts accepting appends.
+	 *
+	 * @param liveRecords what a compaction keeps, asked for on the writer thread
+	 * @return the last record of every placement, in first-seen order
+	 */
+	public synchronized List<JournalRecord> open(final Supplier<Collection<JournalRecord>> liveRecords) throws IOException {
+		if (this.open)
+			throw new IllegalStateException("Journal " + this.file + " is already open");
+		this.liveRecords = liveRecords;
+		Files.createDirectories(this.directory);
+		final List<JournalRecord> records = this.replay();
+		this.channel = FileChannel.open(this.file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+		this.size = this.channel.size();
+		this.terminateTornLine();
+		this.compactAt = Math.max(this.compactThreshold, 2 * this.size);
+		this.open = true;
+		this.writerThread = new Thread(this::write, "order-journal-writer");
+		this.writerThread.setDaemon(true);
+		this.writerThread.start();
+		log.info("**OrderJournal, opened {} with {} placements*\n", this.file, records.size());
+		return records;
+	}
+
+	/**
+	 * @return completed once the record is on disk
+	 */
+	public CompletableFuture<Void> append(final JournalRecord record) {
+		final Append append;
+		try {
+			append = new Append(this.encode(record));
+		}
+		catch (JsonProcessingException e) {
+			return CompletableFuture.failedFuture(e);
+		}
+		synchronized (this.appends) {
+			if (!this.open)
+				return CompletableFuture.failedFuture(new IOException("Journal " + this.file + " is closed"));
+			this.appends.add(append);
+		}
+		return append.written;
+	}
+
+	private List<JournalRecord> replay() throws IOException {
+		final Map<String, JournalRecord> records = new LinkedHashMap<>();
+		if (!Files.exists(this.file))
+			return new ArrayList<>();
+		try (BufferedReader lines = Files.newBufferedReader(this.file, StandardCharsets.UTF_8)) {
+			String line;
+			int number = 0;
+			while ((line = lines.readLine()) != null) {
+				number++;
+				if (line.isBlank())
+					continue;
+				try {
+					final JournalRecord record = this.reader.readValue(line);
+					if (record.getPlacementId() != null)
+						records.put(record.getPlacementId(), record);
+				}
+				catch (JsonProcessingException e) {
+					log.warn("**OrderJournal, skipping unreadable line {} of {}*\n", number, this.file);
+				}
+			}
+		}
+		return new ArrayList<>(records.values());
+	}
+
+	/**
+	 * Ends a line torn by a crash, so the next record starts on a line of its own.
+	 */
+	private void terminateTornLine() throws IOException {
+		if (this.size == 0)
+			return;
+		final ByteBuffer last = ByteBuffer.allocate(1);
+		try (FileChannel reader = FileChannel.open(this.file, StandardOpenOption.READ)) {
+			reader.read(last, this.size - 1);
+		}
+		if (last.get(0) != '\n') {
+			this.writeFully(ByteBuffer.wrap(new byte[] { '\n' }));
+			this.channel.force(false);
+		}
+	}
+
+	private void write() {
+		final List<Append> batch = new ArrayList<>(MAX_BATCH);
+		boolean closing = false;
+		while (!closing) {
+			try {
+				batch.add(this.appends.take());
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				break;
+			}
+			this.appends.drainTo(batch, MAX_BATCH - 1);
+			closing = batch.remove(CLOSE);
+			try {
+				for (final Append append : batch)
+					this.writeFully(ByteBuffer.wrap(append.bytes));
+				this.channel.force(false);
+				batch.forEach(append -> append.written.complete(null));
+			}
+			catch (IOException e) {
+				log.error("**OrderJournal, could not write {}: {}*\n", this.file, e.getMessage());
+				batch.forEach(append -> append.written.completeExceptionally(e));
+			}
+			batch.clear();
+			if (this.size > this.compactAt)
+				this.compact();
+		}
+		final List<Append> abandoned = new ArrayList<>();
+		this.appends.drainTo(abandoned);
+		abandoned.forEach(append -> append.written.completeExceptionally(new IOException("Journal " + this.file + " closed")));
+	}
+
+	private void writeFully(final ByteBuffer buffer) throws IOException {
+		while (buffer.hasRemaining())
+			this.size += this.channel.write(buffer);
+	}
+
+	/**
+	 * Writes the live records next to the journal and swaps it in, a crash leaving either file
+	 * whole. The next compaction waits for the journal to double, so a large live set is not
+	 * rewritten after every batch.
+	 */
+	private void compact() {
+		final Path compacted = this.directory.resolve(FILE_NAME + ".compact");
+		final long before = this.size;
+		try {
+			try (FileChannel target = FileChannel.open(compacted, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+					StandardOpenOption.TRUNCATE_EXISTING)) {
+				for (final JournalRecord record : this.liveRecords.get()) {
+					final ByteBuffer buffer = ByteBuffer.wrap(this.encode(record));
+					while (buffer.hasRemaining())
+						target.write(buffer);
+				}
+				target.force(true);
+			}
+			this.channel.close();
+			Files.move(compacted, this.file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		}
+		catch (IOException | RuntimeException e) {
+			log.warn("**OrderJournal, could not compact {}: {}*\n", this.file, e.getMessage());
+		}
+		try {
+			if (!this.channel.isOpen())
+				this.channel = FileChannel.open(this.file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+						StandardOpenOption.APPEND);
+			this.size = this.channel.size();
+		}
+		catch (IOException e) {
+			log.error("**OrderJournal, could not reopen {}: {}*\n", this.file, e.getMessage());
+			return;
+		}
+		finally {
+			this.compactAt = Math.max(this.compactThreshold, 2 * this.size);
+		}
+		log.info("**OrderJournal, compacted {} from {} to {} bytes*\n", this.file, before, this.size);
+	}
+
+	private byte[] encode(final JournalRecord record) throws JsonProcessingException {
+		final byte[] json = this.writer.writeValueAsBytes(record);
+		final byte[] line = Arrays.copyOf(json, json.length + 1);
+		line[json.length] = '\n';
+		return line;
+	}
+
+	long size() {
+		return this.size;
+	}
+
+	/**
+	 * Writes what was appended so far and closes the file.
+	 */
+	@Override
+	public synchronized void close() throws IOException {
+		synchronized (this.appends) {
+			if (!this.open)
+				return;
+			this.open = false;
+			this.appends.add(CLOSE);
+		}
+		try {
+			this.writerThread.join();
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		this.channel.close();
+	}
+
+	private static final class Append {
+
+		private final byte[] bytes;
+		private final CompletableFuture<Void> written = new CompletableFuture<>();
+
+		private Append(final byte[] bytes) {
+			this.bytes = bytes;
+		}
+
+	}
+
+}
@@ -0,0 +1,42 @@
+package com.selimhorri.app.business.order.model;
+
+import java.io.Serializable;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.selimhorri.app.business.order.enums.PlacementStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Where an asynchronously submitted order stands. The order is set once placed, the
+ * message once placing it failed for good.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class OrderPlacement implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	private String placementId;
+	private PlacementStatus status;
+	private int attempts;
+	
+	@JsonProperty("order")
+	@JsonInclude(Include.NON_NULL)
+	private OrderDto orderDto;
+	
+	@JsonInclude(Include.NON_NULL)
+	private String msg;
+	
+	@JsonIgnore
+	private String userId;
+	
+}
@@ -0,0 +1,24 @@
+package com.selimhorri.app.business.order.model.request;
+
+import java.io.Serializable;
+import java.util.List;
+
+import javax.validation.constraints.NotEmpty;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class OrderStatusBulkRequest implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	@NotEmpty(message = "*OrderIds must not be empty!**")
+	private List<Integer> orderIds;
+	
+}
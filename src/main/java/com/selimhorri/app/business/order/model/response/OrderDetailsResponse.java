@@ -0,0 +1,50 @@
+package com.selimhorri.app.business.order.model.response;
+
+import java.io.Serializable;
+import java.util.Collection;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.selimhorri.app.business.order.model.CartDto;
+import com.selimhorri.app.business.order.model.OrderDto;
+import com.selimhorri.app.business.orderItem.model.OrderItemDto;
+import com.selimhorri.app.business.payment.model.PaymentDto;
+import com.selimhorri.app.business.product.model.ProductDto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Everything needed to render one order. A section that could not be fetched is left null
+ * and named in {@code unavailable}.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class OrderDetailsResponse implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	@JsonProperty("order")
+	private OrderDto orderDto;
+	
+	@JsonProperty("cart")
+	private CartDto cartDto;
+	
+	@JsonProperty("orderItems")
+	private Collection<OrderItemDto> orderItemDtos;
+	
+	@JsonProperty("payment")
+	private PaymentDto paymentDto;
+	
+	@JsonProperty("products")
+	private Collection<ProductDto> productDtos;
+	
+	@JsonInclude(value = Include.NON_EMPTY)
+	private Collection<String> unavailable;
+	
+}
@@ -0,0 +1,34 @@
+package com.selimhorri.app.business.order.model.response;
+
+import java.io.Serializable;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.selimhorri.app.business.order.model.OrderDto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Summary of a bulk status update, updated orders and failures both in request order.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class OrderStatusBulkResponse implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	private int requested;
+	private int succeeded;
+	private int failed;
+	
+	@JsonProperty("updated")
+	private List<OrderDto> orderDtos;
+	
+	private List<OrderStatusFailure> failures;
+	
+}
@@ -0,0 +1,27 @@
+package com.selimhorri.app.business.order.model.response;
+
+import java.io.Serializable;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * An order whose status could not be advanced, with the last downstream answer and the
+ * number of calls made for it.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class OrderStatusFailure implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	private Integer orderId;
+	private int status;
+	private String msg;
+	private int attempts;
+	
+}
@@ -16,12 +16,17 @@ import org.springframework.web.bind.annotation.RequestBody;
 import com.selimhorri.app.business.order.model.CartDto;
 import com.selimhorri.app.business.order.model.response.CartOrderServiceDtoCollectionResponse;
 
+import feign.Response;
+
 @FeignClient(name = "ORDER-SERVICE", contextId = "cartClientService", path = "/order-service/api/carts")
 public interface CartClientService {
 	
 	@GetMapping
 	public ResponseEntity<CartOrderServiceDtoCollectionResponse> findAll();
 	
+	@GetMapping
+	public Response streamAll();
+	
 	@GetMapping("/{cartId}")
 	public ResponseEntity<CartDto> findById(
 			@PathVariable("cartId") 
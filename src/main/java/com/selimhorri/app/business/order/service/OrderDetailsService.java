@@ -0,0 +1,9 @@
+package com.selimhorri.app.business.order.service;
+
+import com.selimhorri.app.business.order.model.response.OrderDetailsResponse;
+
+public interface OrderDetailsService {
+	
+	OrderDetailsResponse findDetails(final String orderId);
+	
+}
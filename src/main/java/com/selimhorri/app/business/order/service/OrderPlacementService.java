@@ -0,0 +1,11 @@
+package com.selimhorri.app.business.order.service;
+
+import com.selimhorri.app.business.order.model.OrderDto;
+import com.selimhorri.app.business.order.model.OrderPlacement;
+
+public interface OrderPlacementService {
+	
+	OrderPlacement submit(final OrderDto orderDto, final String userId);
+	OrderPlacement findById(final String placementId);
+	
+}
@@ -0,0 +1,11 @@
+package com.selimhorri.app.business.order.service;
+
+import java.util.List;
+
+import com.selimhorri.app.business.order.model.response.OrderStatusBulkResponse;
+
+public interface OrderStatusBulkService {
+	
+	OrderStatusBulkResponse updateStatuses(final List<Integer> orderIds);
+	
+}
@@ -0,0 +1,185 @@
+package com.selimhorri.app.business.order.service.impl;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.selimhorri.app.business.order.model.CartDto;
+import com.selimhorri.app.business.order.model.OrderDto;
+import com.selimhorri.app.business.order.model.response.OrderDetailsResponse;
+import com.selimhorri.app.business.order.service.CartClientService;
+import com.selimhorri.app.business.order.service.OrderClientService;
+import com.selimhorri.app.business.order.service.OrderDetailsService;
+import com.selimhorri.app.business.orderItem.model.OrderItemDto;
+import com.selimhorri.app.business.orderItem.service.OrderItemClientService;
+import com.selimhorri.app.business.payment.model.PaymentDto;
+import com.selimhorri.app.business.payment.service.PaymentClientService;
+import com.selimhorri.app.business.product.model.ProductDto;
+import com.selimhorri.app.business.product.service.ProductLookupService;
+import com.selimhorri.app.config.executor.ExecutorConfig;
+import com.selimhorri.app.streaming.DownstreamCollection;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Fetches the order, its items and its payment concurrently, the latter two filtered off the
+ * downstream listings as they stream in; the cart follows the order and the products follow
+ * the items, so the whole document costs about as much as its slowest dependency chain.
+ * Ownership is checked by the caller before any of this runs. Sections run on their own
+ * bounded pool; one that cannot be queued, or that only starts after the deadline, is
+ * reported as unavailable instead of running for nobody, and one still running at the
+ * deadline is interrupted.
+ */
+@Service
+@Slf4j
+public class OrderDetailsServiceImpl implements OrderDetailsService {
+	
+	private final OrderClientService orderClientService;
+	private final CartClientService cartClientService;
+	private final OrderItemClientService orderItemClientService;
+	private final PaymentClientService paymentClientService;
+	private final ProductLookupService productLookupService;
+	private final ObjectMapper objectMapper;
+	private final Executor executor;
+	private final Duration timeout;
+	
+	public OrderDetailsServiceImpl(final OrderClientService orderClientService, 
+			final CartClientService cartClientService, 
+			final OrderItemClientService orderItemClientService, 
+			final PaymentClientService paymentClientService, 
+			final ProductLookupService productLookupService, 
+			final ObjectMapper objectMapper, 
+			@Qualifier(ExecutorConfig.ORDER_DETAILS_EXECUTOR) final Executor executor, 
+			@Value("${app.orders.details.timeout:5s}") final Duration timeout) {
+		this.orderClientService = orderClientService;
+		this.cartClientService = cartClientService;
+		this.orderItemClientService = orderItemClientService;
+		this.paymentClientService = paymentClientService;
+		this.productLookupService = productLookupService;
+		this.objectMapper = objectMapper;
+		this.executor = executor;
+		this.timeout = timeout;
+	}
+	
+	@Override
+	public OrderDetailsResponse findDetails(final String orderId) {
+		log.info("**OrderDetailsService, find details of order {}*\n", orderId);
+		
+		final long deadline = System.nanoTime() + this.timeout.toNanos();
+		final Set<String> unavailable = Collections.synchronizedSet(new LinkedHashSet<>());
+		final CompletableFuture<OrderDto> order = this.fetch(deadline, "order", unavailable, 
+				() -> this.orderClientService.findById(orderId).getBody());
+		final CompletableFuture<List<OrderItemDto>> items = this.fetch(deadline, "orderItems", unavailable, 
+				() -> this.findOrderItems(orderId));
+		final CompletableFuture<PaymentDto> payment = this.fetch(deadline, "payment", unavailable, 
+				() -> this.findPayment(orderId));
+		final CompletableFuture<CartDto> cart = order.thenCompose(orderDto -> 
+				(orderDto == null || orderDto.getCartDto() == null || orderDto.getCartDto().getCartId() == null) 
+						? CompletableFuture.completedFuture(null) 
+						: this.fetch(deadline, "cart", unavailable, () -> this.cartClientService
+								.findById(orderDto.getCartDto().getCartId().toString()).getBody()));
+		final CompletableFuture<Collection<ProductDto>> products = items.thenCompose(orderItemDtos -> 
+				(orderItemDtos == null || orderItemDtos.isEmpty()) 
+						? CompletableFuture.completedFuture(null) 
+						: this.fetch(deadline, "products", unavailable, () -> this.findProducts(orderItemDtos)));
+		
+		// every section gives up at the deadline, so this waits no longer than that
+		CompletableFuture.allOf(order, items, payment, cart, products).join();
+		final OrderDetailsResponse response = OrderDetailsResponse.builder()
+				.orderDto(order.join())
+				.orderItemDtos(items.join())
+				.paymentDto(payment.join())
+				.cartDto(cart.join())
+				.productDtos(products.join())
+				.build();
+		synchronized (unavailable) {
+			response.setUnavailable(new ArrayList<>(unavailable));
+		}
+		if (!response.getUnavailable().isEmpty())
+			log.warn("**OrderDetailsService, order {} served without {}*\n", orderId, response.getUnavailable());
+		return response;
+	}
+	
+	private List<OrderItemDto> findOrderItems(final String orderId) {
+		return DownstreamCollection.filter(this.orderItemClientService.streamAll(), this.objectMapper, 
+				OrderItemDto.class, orderItemDto -> orderId.equals(String.valueOf(orderItemDto.getOrderId())), 
+				Integer.MAX_VALUE);
+	}
+	
+	private PaymentDto findPayment(final String orderId) {
+		final List<PaymentDto> payments = DownstreamCollection.filter(this.paymentClientService.streamAll(), 
+				this.objectMapper, PaymentDto.class, paymentDto -> paymentDto.getOrderDto() != null 
+						&& orderId.equals(String.valueOf(paymentDto.getOrderDto().getOrderId())), 1);
+		return payments.isEmpty() ? null : payments.get(0);
+	}
+	
+	private Collection<ProductDto> findProducts(final List<OrderItemDto> orderItemDtos) {
+		final List<String> productIds = orderItemDtos.stream()
+				.map(OrderItemDto::getProductId)
+				.filter(Objects::nonNull)
+				.map(String::valueOf)
+				.collect(Collectors.toList());
+		return this.productLookupService.findAllByIds(productIds).getCollection();
+	}
+	
+	/**
+	 * Runs the section as a {@link FutureTask} so that timing out interrupts the thread
+	 * blocked in the downstream call; cancelling the returned future would not.
+	 */
+	private <T> CompletableFuture<T> fetch(final long deadline, final String section, 
+			final Set<String> unavailable, final Supplier<T> supplier) {
+		final CompletableFuture<T> future = new CompletableFuture<>();
+		final FutureTask<Void> task = new FutureTask<>(() -> {
+			try {
+				if (System.nanoTime() - deadline >= 0L)
+					throw new CancellationException("deadline passed before the section started");
+				future.complete(supplier.get());
+			}
+			catch (RuntimeException e) {
+				future.completeExceptionally(e);
+			}
+		}, null);
+		try {
+			this.executor.execute(task);
+		}
+		catch (RejectedExecutionException e) {
+			future.completeExceptionally(e);
+		}
+		return future
+				.orTimeout(Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)
+				.whenComplete((value, e) -> {
+					if (e instanceof TimeoutException)
+						task.cancel(true);
+				})
+				.exceptionally(e -> {
+					final Throwable cause = (e instanceof CompletionException && e.getCause() != null) ? e.getCause() : e;
+					if (cause instanceof TimeoutException)
+						log.warn("**OrderDetailsService, {} not ready within {}*\n", section, this.timeout);
+					else
+						log.warn("**OrderDetailsService, {} could not be fetched: {}*\n", section, cause.getMessage());
+					unavailable.add(section);
+					return null;
+				});
+	}
+	
+}
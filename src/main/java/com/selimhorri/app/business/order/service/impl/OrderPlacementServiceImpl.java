@@ -0,0 +1,371 @@
+package com.selimhorri.app.business.order.service.impl;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ConnectException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.selimhorri.app.business.order.enums.PlacementStatus;
+import com.selimhorri.app.business.order.journal.JournalRecord;
+import com.selimhorri.app.business.order.journal.OrderJournal;
+import com.selimhorri.app.business.order.model.OrderDto;
+import com.selimhorri.app.business.order.model.OrderPlacement;
+import com.selimhorri.app.business.order.service.OrderClientService;
+import com.selimhorri.app.business.order.service.OrderPlacementService;
+import com.selimhorri.app.cache.invalidation.CacheInvalidationBus;
+import com.selimhorri.app.cache.service.ResponseCacheService;
+import com.selimhorri.app.cache.spi.CacheRegion;
+import com.selimhorri.app.cache.spi.CacheRegions;
+
+import feign.FeignException;
+import feign.RetryableException;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Accepts orders once they are journaled and places them on ORDER-SERVICE from a pool of
+ * workers, so checkout latency is an fsync instead of the downstream write. A submission
+ * is acknowledged only after its journal batch is on disk, and the journal is replayed on
+ * startup so accepted orders survive a restart. Only calls ORDER-SERVICE certainly did not
+ * act on, a refused connection, 429 or 503, are retried with a doubling backoff; a read
+ * timeout or a 502 or 504 from a proxy fails the placement, since placing it again could
+ * duplicate the order. Delivery is still at least once across crashes, an order placed right
+ * before one may be placed again when its completion was not yet journaled. Outcomes are
+ * kept for {@code result-ttl}, and published to the shared cache tier so that any replica
+ * can answer a poll; without a shared tier, polls must be routed to the accepting replica.
+ */
+@Service
+@Slf4j
+public class OrderPlacementServiceImpl implements OrderPlacementService, Closeable {
+
+	private static final String ORDERS_RESOURCE = "orders";
+	private static final String ORDERS_PATH = "/api/orders";
+	private static final String PLACEMENTS_REGION = "order-placements";
+	private static final Set<Integer> RETRYABLE_STATUSES = Set.of(
+			HttpStatus.TOO_MANY_REQUESTS.value(), HttpStatus.SERVICE_UNAVAILABLE.value());
+
+	private final OrderClientService orderClientService;
+	private final ResponseCacheService responseCacheService;
+	private final CacheInvalidationBus cacheInvalidationBus;
+	private final OrderJournal journal;
+	private final int workers;
+	private final int maxAttempts;
+	private final Duration backoff;
+	private final Duration maxBackoff;
+	private final Map<String, Pending> pending = new ConcurrentHashMap<>();
+	private final Cache<String, OrderPlacement> completed;
+	private final CacheRegion<JournalRecord> shared;
+	private final DelayQueue<Pending> queue = new DelayQueue<>();
+	private ExecutorService workerPool;
+	private volatile boolean started;
+
+	public OrderPlacementServiceImpl(final OrderClientService orderClientService,
+			final ResponseCacheService responseCacheService,
+			final CacheInvalidationBus cacheInvalidationBus,
+			final CacheRegions cacheRegions,
+			final ObjectMapper objectMapper,
+			@Value("${app.orders.async.journal-dir:data/order-journal}") final Path journalDir,
+			@Value("${app.orders.async.compact-threshold:16MB}") final DataSize compactThreshold,
+			@Value("${app.orders.async.workers:4}") final int workers,
+			@Value("${app.orders.async.max-attempts:8}") final int maxAttempts,
+			@Value("${app.orders.async.backoff:500ms}") final Duration backoff,
+			@Value("${app.orders.async.max-backoff:30s}") final Duration maxBackoff,
+			@Value("${app.orders.async.result-ttl:1h}") final Duration resultTtl) {
+		this.orderClientService = orderClientService;
+		this.responseCacheService = responseCacheService;
+		this.cacheInvalidationBus = cacheInvalidationBus;
+		this.journal = new OrderJournal(journalDir, objectMapper, compactThreshold.toBytes());
+		this.workers = Math.max(1, workers);
+		this.maxAttempts = Math.max(1, maxAttempts);
+		this.backoff = backoff;
+		this.maxBackoff = maxBackoff;
+		this.completed = Caffeine.newBuilder()
+				.expireAfterWrite(resultTtl)
+				.build();
+		this.shared = cacheRegions.sharedRegion(PLACEMENTS_REGION, resultTtl, JournalRecord.class);
+	}
+
+	/**
+	 * Replays the journal and starts the workers, at the latest on the first submission.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public synchronized void start() {
+		if (this.started)
+			return;
+		final List<JournalRecord> records;
+		try {
+			records = this.journal.open(this::liveRecords);
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException("Order journal could not be opened", e);
+		}
+		for (final JournalRecord record : records) {
+			if (record.getType() == JournalRecord.Type.SUBMITTED)
+				this.enqueue(new Pending(record.getPlacementId(), record.getUserId(), record.getOrderDto()));
+			else
+				this.completed.put(record.getPlacementId(), placement(record));
+		}
+		final AtomicInteger threads = new AtomicInteger();
+		this.workerPool = Executors.newFixedThreadPool(this.workers, runnable -> {
+			final Thread thread = new Thread(runnable, "order-placement-" + threads.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+		for (int i = 0; i < this.workers; i++)
+			this.workerPool.execute(this::work);
+		this.started = true;
+		log.info("**OrderPlacementService, started with {} pending orders*\n", this.pending.size());
+	}
+
+	@Override
+	public OrderPlacement submit(final OrderDto orderDto, final String userId) {
+		if (!this.started)
+			this.start();
+		final Pending submission = new Pending(UUID.randomUUID().toString(), userId, orderDto);
+		final JournalRecord record = JournalRecord.builder()
+				.type(JournalRecord.Type.SUBMITTED)
+				.placementId(submission.placementId)
+				.userId(userId)
+				.orderDto(orderDto)
+				.timestamp(System.currentTimeMillis())
+				.build();
+		// live before the append, so a compaction running between the append and the enqueue keeps it
+		this.pending.put(submission.placementId, submission);
+		try {
+			this.journal.append(record).join();
+		}
+		catch (CompletionException e) {
+			this.pending.remove(submission.placementId);
+			throw new UncheckedIOException("Order could not be journaled",
+					(e.getCause() instanceof IOException) ? (IOException) e.getCause() : new IOException(e.getCause()));
+		}
+		// only the placement is shared, the order to send downstream stays in the journal
+		this.shared.put(submission.placementId, JournalRecord.builder()
+				.type(JournalRecord.Type.SUBMITTED)
+				.placementId(submission.placementId)
+				.userId(userId)
+				.status(PlacementStatus.PENDING)
+				.timestamp(record.getTimestamp())
+				.build());
+		this.queue.add(submission);
+		log.info("**OrderPlacementService, accepted placement {}*\n", submission.placementId);
+		return submission.placement();
+	}
+
+	/**
+	 * Placements accepted here are answered from memory, those accepted by another replica from the shared tier.
+	 */
+	@Override
+	public OrderPlacement findById(final String placementId) {
+		final Pending submission = this.pending.get(placementId);
+		if (submission != null)
+			return submission.placement();
+		final OrderPlacement placement = this.completed.getIfPresent(placementId);
+		if (placement != null)
+			return placement;
+		final JournalRecord record = this.shared.get(placementId);
+		return (record != null) ? placement(record) : null;
+	}
+
+	private void enqueue(final Pending submission) {
+		this.pending.put(submission.placementId, submission);
+		this.queue.add(submission);
+	}
+
+	private void work() {
+		while (!Thread.currentThread().isInterrupted()) {
+			try {
+				this.place(this.queue.take());
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			catch (RuntimeException e) {
+				log.error("**OrderPlacementService, worker failed: {}*\n", e.getMessage());
+			}
+		}
+	}
+
+	private void place(final Pending submission) {
+		final int attempt = submission.attempts.incrementAndGet();
+		try {
+			final OrderDto orderDto = this.orderClientService.save(submission.orderDto).getBody();
+			// purged before the outcome shows, so whoever sees PLACED also sees the order
+			this.invalidateOrders();
+			this.complete(submission, PlacementStatus.PLACED, orderDto, null);
+		}
+		catch (FeignException e) {
+			if (isUnhandled(e) && attempt < this.maxAttempts) {
+				final long delay = Math.min(this.maxBackoff.toMillis(), this.backoff.toMillis() << Math.min(attempt - 1, 20));
+				log.info("**OrderPlacementService, placement {} retried in {} ms: {}*\n",
+						submission.placementId, delay, e.getMessage());
+				submission.readyAt = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delay);
+				this.queue.add(submission);
+				return;
+			}
+			this.complete(submission, PlacementStatus.FAILED, null, e.getMessage());
+		}
+		catch (RuntimeException e) {
+			this.complete(submission, PlacementStatus.FAILED, null, e.getMessage());
+		}
+	}
+
+	/**
+	 * Whether ORDER-SERVICE certainly did not act on the call.
+	 */
+	private static boolean isUnhandled(final FeignException e) {
+		return (e instanceof RetryableException && e.getCause() instanceof ConnectException)
+				|| RETRYABLE_STATUSES.contains(e.status());
+	}
+
+	private void complete(final Pending submission, final PlacementStatus status, final OrderDto orderDto,
+			final String msg) {
+		final JournalRecord record = JournalRecord.builder()
+				.type(JournalRecord.Type.COMPLETED)
+				.placementId(submission.placementId)
+				.userId(submission.userId)
+				.status(status)
+				.orderDto(orderDto)
+				.msg(msg)
+				.attempts(submission.attempts.get())
+				.timestamp(System.currentTimeMillis())
+				.build();
+		this.completed.put(submission.placementId, placement(record));
+		this.pending.remove(submission.placementId);
+		this.shared.put(submission.placementId, record);
+		this.journal.append(record).exceptionally(e -> {
+			log.warn("**OrderPlacementService, completion of {} not journaled: {}*\n", submission.placementId, e.getMessage());
+			return null;
+		});
+		if (status == PlacementStatus.FAILED)
+			log.warn("**OrderPlacementService, placement {} failed after {} attempts: {}*\n",
+					submission.placementId, record.getAttempts(), msg);
+	}
+
+	/**
+	 * The order was created after its request was answered, so the purge done for that request came too early.
+	 */
+	private void invalidateOrders() {
+		try {
+			final String group = this.responseCacheService.resolveGroup(ORDERS_PATH);
+			if (group != null)
+				this.responseCacheService.invalidateGroup(group);
+			this.cacheInvalidationBus.publish(ORDERS_RESOURCE, null);
+		}
+		catch (RuntimeException e) {
+			log.warn("**OrderPlacementService, orders not invalidated: {}*\n", e.getMessage());
+		}
+	}
+
+	private Collection<JournalRecord> liveRecords() {
+		final List<JournalRecord> records = new ArrayList<>();
+		this.pending.values().forEach(submission -> records.add(JournalRecord.builder()
+				.type(JournalRecord.Type.SUBMITTED)
+				.placementId(submission.placementId)
+				.userId(submission.userId)
+				.orderDto(submission.orderDto)
+				.timestamp(System.currentTimeMillis())
+				.build()));
+		this.completed.asMap().values().forEach(placement -> records.add(JournalRecord.builder()
+				.type(JournalRecord.Type.COMPLETED)
+				.placementId(placement.getPlacementId())
+				.userId(placement.getUserId())
+				.status(placement.getStatus())
+				.orderDto(placement.getOrderDto())
+				.msg(placement.getMsg())
+				.attempts(placement.getAttempts())
+				.timestamp(System.currentTimeMillis())
+				.build()));
+		return records;
+	}
+
+	private static OrderPlacement placement(final JournalRecord record) {
+		return OrderPlacement.builder()
+				.placementId(record.getPlacementId())
+				.status(record.getStatus())
+				.attempts(record.getAttempts())
+				.orderDto(record.getOrderDto())
+				.msg(record.getMsg())
+				.userId(record.getUserId())
+				.build();
+	}
+
+	/**
+	 * Stops the workers, an order being placed is placed again after the restart, and closes the journal.
+	 */
+	@Override
+	public synchronized void close() throws IOException {
+		if (!this.started)
+			return;
+		this.started = false;
+		this.workerPool.shutdownNow();
+		try {
+			this.workerPool.awaitTermination(5, TimeUnit.SECONDS);
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		this.journal.close();
+	}
+
+	private static final class Pending implements Delayed {
+
+		private final String placementId;
+		private final String userId;
+		private final OrderDto orderDto;
+		private final AtomicInteger attempts = new AtomicInteger();
+		private volatile long readyAt = System.nanoTime();
+
+		private Pending(final String placementId, final String userId, final OrderDto orderDto) {
+			this.placementId = placementId;
+			this.userId = userId;
+			this.orderDto = orderDto;
+		}
+
+		private OrderPlacement placement() {
+			return OrderPlacement.builder()
+					.placementId(this.placementId)
+					.status(PlacementStatus.PENDING)
+					.attempts(this.attempts.get())
+					.userId(this.userId)
+					.build();
+		}
+
+		@Override
+		public long getDelay(final TimeUnit unit) {
+			return unit.convert(this.readyAt - System.nanoTime(), TimeUnit.NANOSECONDS);
+		}
+
+		@Override
+		public int compareTo(final Delayed other) {
+			return Long.compare(this.getDelay(TimeUnit.NANOSECONDS), other.getDelay(TimeUnit.NANOSECONDS));
+		}
+
+	}
+
+}
@@ -0,0 +1,163 @@
+package com.selimhorri.app.business.order.service.impl;
+
+import java.net.ConnectException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import com.selimhorri.app.business.order.model.OrderDto;
+import com.selimhorri.app.business.order.model.response.OrderStatusBulkResponse;
+import com.selimhorri.app.business.order.model.response.OrderStatusFailure;
+import com.selimhorri.app.business.order.service.OrderClientService;
+import com.selimhorri.app.business.order.service.OrderStatusBulkService;
+import com.selimhorri.app.config.executor.ExecutorConfig;
+
+import feign.FeignException;
+import feign.RetryableException;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Advances the status of many orders with at most {@code parallelism} calls in flight, the
+ * request thread running one of the workers. Each order is tried up to {@code max-attempts}
+ * times with a doubling backoff, but only after failures proving the call was never handled:
+ * a refused connection, 429 or 503. Advancing a status is not idempotent, so everything else,
+ * read timeouts and 502 or 504 from a proxy included, is reported rather than retried, since
+ * the order may have been advanced already. Duplicate ids are advanced once.
+ */
+@Service
+@Slf4j
+public class OrderStatusBulkServiceImpl implements OrderStatusBulkService {
+
+	private static final Set<Integer> RETRYABLE_STATUSES = Set.of(
+			HttpStatus.TOO_MANY_REQUESTS.value(), HttpStatus.SERVICE_UNAVAILABLE.value());
+
+	private final OrderClientService orderClientService;
+	private final Executor executor;
+	private final int parallelism;
+	private final int maxOrders;
+	private final int maxAttempts;
+	private final Duration backoff;
+
+	public OrderStatusBulkServiceImpl(final OrderClientService orderClientService,
+			@Qualifier(ExecutorConfig.ORDER_STATUS_BULK_EXECUTOR) final Executor executor,
+			@Value("${app.orders.status-bulk.parallelism:8}") final int parallelism,
+			@Value("${app.orders.status-bulk.max-orders:1000}") final int maxOrders,
+			@Value("${app.orders.status-bulk.max-attempts:3}") final int maxAttempts,
+			@Value("${app.orders.status-bulk.backoff:100ms}") final Duration backoff) {
+		this.orderClientService = orderClientService;
+		this.executor = executor;
+		this.parallelism = Math.max(1, parallelism);
+		this.maxOrders = maxOrders;
+		this.maxAttempts = Math.max(1, maxAttempts);
+		this.backoff = backoff;
+	}
+
+	@Override
+	public OrderStatusBulkResponse updateStatuses(final List<Integer> orderIds) {
+		if (orderIds == null || orderIds.isEmpty())
+			throw new IllegalStateException("At least one orderId is needed");
+		final List<Integer> distinctIds = new ArrayList<>(new LinkedHashSet<>(orderIds));
+		distinctIds.removeIf(Objects::isNull);
+		if (distinctIds.isEmpty())
+			throw new IllegalStateException("At least one orderId is needed");
+		if (distinctIds.size() > this.maxOrders)
+			throw new IllegalStateException("At most " + this.maxOrders + " orders can be updated at once");
+		log.info("**OrderStatusBulkService, advance status of {} orders*\n", distinctIds.size());
+
+		final Object[] outcomes = new Object[distinctIds.size()];
+		final AtomicInteger next = new AtomicInteger();
+		final Runnable worker = () -> {
+			int index;
+			while ((index = next.getAndIncrement()) < outcomes.length)
+				outcomes[index] = this.updateStatus(distinctIds.get(index));
+		};
+
+		final int workers = Math.min(this.parallelism, distinctIds.size());
+		final List<CompletableFuture<Void>> forked = new ArrayList<>();
+		for (int i = 1; i < workers; i++)
+			forked.add(CompletableFuture.runAsync(worker, this.executor));
+		worker.run();
+		CompletableFuture.allOf(forked.toArray(CompletableFuture[]::new)).join();
+
+		final List<OrderDto> orderDtos = new ArrayList<>();
+		final List<OrderStatusFailure> failures = new ArrayList<>();
+		for (final Object outcome : outcomes) {
+			if (outcome instanceof OrderStatusFailure)
+				failures.add((OrderStatusFailure) outcome);
+			else
+				orderDtos.add((OrderDto) outcome);
+		}
+		if (!failures.isEmpty())
+			log.warn("**OrderStatusBulkService, {} of {} orders not advanced*\n", failures.size(), distinctIds.size());
+		return OrderStatusBulkResponse.builder()
+				.requested(distinctIds.size())
+				.succeeded(orderDtos.size())
+				.failed(failures.size())
+				.orderDtos(orderDtos)
+				.failures(failures)
+				.build();
+	}
+
+	/**
+	 * The updated order, or an {@link OrderStatusFailure} once the attempts are exhausted.
+	 */
+	private Object updateStatus(final Integer orderId) {
+		long delayMillis = this.backoff.toMillis();
+		for (int attempt = 1; ; attempt++) {
+			try {
+				final OrderDto orderDto = this.orderClientService.updateStatus(orderId).getBody();
+				return (orderDto != null) ? orderDto : OrderDto.builder().orderId(orderId).build();
+			}
+			catch (FeignException e) {
+				final int status = (e.status() > 0) ? e.status() : HttpStatus.SERVICE_UNAVAILABLE.value();
+				if (!isUnhandled(e) || attempt >= this.maxAttempts || !this.sleep(delayMillis))
+					return failure(orderId, status, e.getMessage(), attempt);
+				delayMillis *= 2;
+			}
+			catch (RuntimeException e) {
+				return failure(orderId, HttpStatus.INTERNAL_SERVER_ERROR.value(), e.getMessage(), attempt);
+			}
+		}
+	}
+
+	/**
+	 * Whether the order service certainly did not act on the call.
+	 */
+	private static boolean isUnhandled(final FeignException e) {
+		return (e instanceof RetryableException && e.getCause() instanceof ConnectException)
+				|| RETRYABLE_STATUSES.contains(e.status());
+	}
+
+	private boolean sleep(final long millis) {
+		try {
+			Thread.sleep(millis);
+			return true;
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+
+	private static OrderStatusFailure failure(final Integer orderId, final int status, final String msg,
+			final int attempts) {
+		return OrderStatusFailure.builder()
+				.orderId(orderId)
+				.status(status)
+				.msg(msg)
+				.attempts(attempts)
+				.build();
+	}
+
+}
@@ -13,13 +13,17 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.selimhorri.app.business.auth.enums.ResourceType;
 import com.selimhorri.app.business.auth.util.AuthUtil;
 import com.selimhorri.app.business.orderItem.model.OrderItemDto;
-import com.selimhorri.app.business.orderItem.model.response.OrderItemOrderItemServiceDtoCollectionResponse;
 import com.selimhorri.app.business.orderItem.service.OrderItemClientService;
+import com.selimhorri.app.pagination.CursorPage;
+import com.selimhorri.app.pagination.CursorPaginator;
+import com.selimhorri.app.streaming.DownstreamRelay;
+import com.selimhorri.app.streaming.RelayedBody;
 
 import lombok.RequiredArgsConstructor;
 
@@ -30,11 +34,22 @@ public class OrderItemController {
 
 	@Autowired
 	private AuthUtil authUtil;
+	@Autowired
+	private CursorPaginator cursorPaginator;
+	@Autowired
+	private DownstreamRelay downstreamRelay;
 	private final OrderItemClientService orderItemClientService;
 
 	@GetMapping
-	public ResponseEntity<OrderItemOrderItemServiceDtoCollectionResponse> findAll() {
-		return ResponseEntity.ok(this.orderItemClientService.findAll().getBody());
+	public ResponseEntity<RelayedBody> findAll(final HttpServletRequest request) {
+		return this.downstreamRelay.relay(request, this.orderItemClientService.streamAll());
+	}
+
+	@GetMapping(params = CursorPaginator.LIMIT_PARAMETER)
+	public ResponseEntity<CursorPage<OrderItemDto>> findPage(@RequestParam(CursorPaginator.LIMIT_PARAMETER) final int limit,
+			@RequestParam(name = CursorPaginator.CURSOR_PARAMETER, required = false) final String cursor) {
+		return ResponseEntity.ok(this.cursorPaginator.page(this.orderItemClientService::streamAll, OrderItemDto.class,
+				orderItemDto -> orderItemDto.getOrderId() + "-" + orderItemDto.getProductId(), limit, cursor));
 	}
 
 	@GetMapping("/{orderId}")
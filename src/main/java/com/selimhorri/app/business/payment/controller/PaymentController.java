@@ -1,6 +1,9 @@
 package com.selimhorri.app.business.payment.controller;
 
+import java.io.IOException;
+
 import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
 import javax.validation.constraints.NotBlank;
 
@@ -15,6 +18,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.selimhorri.app.business.auth.enums.ResourceType;
@@ -22,6 +26,9 @@ import com.selimhorri.app.business.auth.util.AuthUtil;
 import com.selimhorri.app.business.payment.model.PaymentDto;
 import com.selimhorri.app.business.payment.model.response.PaymentPaymentServiceDtoCollectionResponse;
 import com.selimhorri.app.business.payment.service.PaymentClientService;
+import com.selimhorri.app.pagination.CursorPage;
+import com.selimhorri.app.pagination.CursorPaginator;
+import com.selimhorri.app.streaming.NdjsonExporter;
 
 import lombok.RequiredArgsConstructor;
 
@@ -32,6 +39,10 @@ public class PaymentController {
 
 	@Autowired
 	private AuthUtil authUtil;
+	@Autowired
+	private CursorPaginator cursorPaginator;
+	@Autowired
+	private NdjsonExporter ndjsonExporter;
 	private final PaymentClientService paymentClientService;
 
 	@GetMapping
@@ -39,6 +50,18 @@ public class PaymentController {
 		return ResponseEntity.ok(this.paymentClientService.findAll().getBody());
 	}
 
+	@GetMapping(params = CursorPaginator.LIMIT_PARAMETER)
+	public ResponseEntity<CursorPage<PaymentDto>> findPage(@RequestParam(CursorPaginator.LIMIT_PARAMETER) final int limit,
+			@RequestParam(name = CursorPaginator.CURSOR_PARAMETER, required = false) final String cursor) {
+		return ResponseEntity.ok(this.cursorPaginator.page(this.paymentClientService::streamAll, PaymentDto.class,
+				PaymentDto::getPaymentId, limit, cursor));
+	}
+
+	@GetMapping(produces = NdjsonExporter.APPLICATION_NDJSON_VALUE)
+	public void exportAll(HttpServletRequest request, HttpServletResponse response) throws IOException {
+		this.ndjsonExporter.export(this.paymentClientService::streamAll, PaymentDto.class, request, response);
+	}
+
 	@GetMapping("/{paymentId}")
 	public ResponseEntity<PaymentDto> findById(@PathVariable("paymentId") final String paymentId,
 			HttpServletRequest request, @AuthenticationPrincipal UserDetails userDetails) {
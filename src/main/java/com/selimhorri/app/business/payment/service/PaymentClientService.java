@@ -17,11 +17,16 @@ import org.springframework.web.bind.annotation.RequestBody;
 import com.selimhorri.app.business.payment.model.PaymentDto;
 import com.selimhorri.app.business.payment.model.response.PaymentPaymentServiceDtoCollectionResponse;
 
+import feign.Response;
+
 @FeignClient(name = "PAYMENT-SERVICE", contextId = "paymentClientService", path = "/payment-service/api/payments")
 public interface PaymentClientService {
 
 	@GetMapping
 	public ResponseEntity<PaymentPaymentServiceDtoCollectionResponse> findAll();
+	
+	@GetMapping
+	public Response streamAll();
 
 	@GetMapping("/{paymentId}")
 	public ResponseEntity<PaymentDto> findById(
@@ -0,0 +1,66 @@
+package com.selimhorri.app.business.product.cache;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.selimhorri.app.business.product.model.CategoryDto;
+import com.selimhorri.app.business.product.model.response.CategoryProductServiceCollectionDtoResponse;
+import com.selimhorri.app.cache.SerializedBody;
+
+import lombok.Getter;
+
+/**
+ * Immutable view of every category, kept as the JSON bodies the gateway answers with, and
+ * their ETags, so that a read is a map lookup and a byte copy.
+ */
+@Getter
+public final class CategorySnapshot {
+	
+	private final SerializedBody collectionBody;
+	private final Map<String, SerializedBody> categoryBodies;
+	private final long builtAtMillis;
+	private final long sizeInBytes;
+	
+	private CategorySnapshot(final SerializedBody collectionBody, final Map<String, SerializedBody> categoryBodies, 
+			final long builtAtMillis) {
+		this.collectionBody = collectionBody;
+		this.categoryBodies = Collections.unmodifiableMap(categoryBodies);
+		this.builtAtMillis = builtAtMillis;
+		this.sizeInBytes = collectionBody.length() 
+				+ categoryBodies.values().stream().mapToLong(SerializedBody::length).sum();
+	}
+	
+	public static CategorySnapshot of(final CategoryProductServiceCollectionDtoResponse response, 
+			final ObjectMapper objectMapper) {
+		final Collection<CategoryDto> categories = (response.getCollection() != null) 
+				? response.getCollection() : Collections.emptyList();
+		final Map<String, SerializedBody> categoryBodies = new HashMap<>(categories.size() * 2);
+		categories.stream()
+				.filter(categoryDto -> categoryDto.getCategoryId() != null)
+				.forEach(categoryDto -> categoryBodies.put(categoryDto.getCategoryId().toString(), 
+						serialize(objectMapper, categoryDto)));
+		return new CategorySnapshot(serialize(objectMapper, response), categoryBodies, System.currentTimeMillis());
+	}
+	
+	public static SerializedBody serialize(final ObjectMapper objectMapper, final Object value) {
+		try {
+			return SerializedBody.of(objectMapper.writeValueAsBytes(value));
+		}
+		catch (JsonProcessingException e) {
+			throw new IllegalStateException("Could not serialize category snapshot", e);
+		}
+	}
+	
+	public SerializedBody findById(final String categoryId) {
+		return this.categoryBodies.get(categoryId);
+	}
+	
+	public int size() {
+		return this.categoryBodies.size();
+	}
+	
+}
@@ -0,0 +1,217 @@
+package com.selimhorri.app.business.product.cache;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToDoubleFunction;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.selimhorri.app.business.product.model.CategoryDto;
+import com.selimhorri.app.business.product.model.response.CategoryProductServiceCollectionDtoResponse;
+import com.selimhorri.app.business.product.service.CategoryClientService;
+import com.selimhorri.app.cache.CacheProperties;
+import com.selimhorri.app.cache.LoadLatency;
+import com.selimhorri.app.cache.SerializedBody;
+import com.selimhorri.app.cache.admin.CacheStatistics;
+import com.selimhorri.app.cache.admin.ManagedCache;
+import com.selimhorri.app.cache.admin.ManagedCacheSource;
+import com.selimhorri.app.cache.invalidation.CacheInvalidationListener;
+import com.selimhorri.app.cache.invalidation.InvalidationEvent;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Holds the current {@link CategorySnapshot}. It is built once the application is ready,
+ * rebuilt on a schedule and after every admin write, and swapped in with a single volatile
+ * write so readers never see a half built tree and never wait on PRODUCT-SERVICE.
+ */
+@Component
+@Slf4j
+public class CategorySnapshotCache implements CacheInvalidationListener, ManagedCacheSource, MeterBinder {
+	
+	private final CategoryClientService categoryClientService;
+	private final ObjectMapper objectMapper;
+	private final boolean enabled;
+	private volatile CategorySnapshot snapshot;
+	private final LoadLatency rebuildLatency = new LoadLatency();
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder rebuildFailures = new LongAdder();
+	
+	public CategorySnapshotCache(final CategoryClientService categoryClientService, final ObjectMapper objectMapper, 
+			final CacheProperties cacheProperties) {
+		this.categoryClientService = categoryClientService;
+		this.objectMapper = objectMapper;
+		this.enabled = cacheProperties.getCategories().isEnabled();
+	}
+	
+	public SerializedBody findAll() {
+		if (!this.enabled)
+			return CategorySnapshot.serialize(this.objectMapper, this.categoryClientService.findAll().getBody());
+		this.hits.increment();
+		return this.current().getCollectionBody();
+	}
+	
+	/**
+	 * Categories created since the last rebuild are not in the snapshot yet, those are
+	 * still answered by PRODUCT-SERVICE.
+	 */
+	public SerializedBody findById(final String categoryId) {
+		final SerializedBody body = this.enabled ? this.current().findById(categoryId) : null;
+		if (body != null) {
+			this.hits.increment();
+			return body;
+		}
+		this.misses.increment();
+		final CategoryDto categoryDto = this.categoryClientService.findById(categoryId).getBody();
+		return (categoryDto != null) ? CategorySnapshot.serialize(this.objectMapper, categoryDto) : null;
+	}
+	
+	/**
+	 * The categories decoded from the snapshot, for requests that shape the body themselves.
+	 */
+	public CategoryProductServiceCollectionDtoResponse findAllDtos() {
+		return decode(this.findAll(), CategoryProductServiceCollectionDtoResponse.class);
+	}
+	
+	public CategoryDto findDtoById(final String categoryId) {
+		return decode(this.findById(categoryId), CategoryDto.class);
+	}
+	
+	private <T> T decode(final SerializedBody body, final Class<T> type) {
+		if (body == null)
+			return null;
+		try {
+			return this.objectMapper.readValue(body.getBytes(), type);
+		}
+		catch (IOException e) {
+			throw new IllegalStateException("Could not read category snapshot", e);
+		}
+	}
+	
+	@EventListener(ApplicationReadyEvent.class)
+	public void warmUp() {
+		if (this.enabled)
+			this.refreshQuietly();
+	}
+	
+	@Scheduled(fixedDelayString = "${app.cache.categories.refresh-interval:PT10M}", 
+			initialDelayString = "${app.cache.categories.refresh-interval:PT10M}")
+	public void scheduledRefresh() {
+		if (this.enabled && this.snapshot != null)
+			this.refreshQuietly();
+	}
+	
+	/**
+	 * Called after admin writes. If the rebuild fails the snapshot is dropped, the next
+	 * read then rebuilds it rather than serving the tree from before the write.
+	 */
+	public void refreshAfterWrite() {
+		if (this.enabled && !this.refreshQuietly())
+			this.snapshot = null;
+	}
+	
+	public void invalidate() {
+		this.snapshot = null;
+	}
+	
+	/**
+	 * A write on another replica drops the snapshot instead of rebuilding it here, so that
+	 * the replicas do not all hit PRODUCT-SERVICE at the same moment.
+	 */
+	@Override
+	public void onInvalidation(final InvalidationEvent event) {
+		if (event.concerns("categories"))
+			this.invalidate();
+	}
+	
+	public synchronized CategorySnapshot refresh() {
+		final CategorySnapshot rebuilt;
+		try {
+			rebuilt = this.rebuildLatency.time(() -> {
+				final CategoryProductServiceCollectionDtoResponse response = this.categoryClientService.findAll().getBody();
+				if (response == null)
+					throw new IllegalStateException("PRODUCT-SERVICE returned no categories");
+				return CategorySnapshot.of(response, this.objectMapper);
+			});
+		}
+		catch (RuntimeException e) {
+			this.rebuildFailures.increment();
+			throw e;
+		}
+		this.snapshot = rebuilt;
+		log.info("**CategorySnapshotCache, snapshot rebuilt with {} categories, {} bytes*\n", 
+				rebuilt.size(), rebuilt.getSizeInBytes());
+		return rebuilt;
+	}
+	
+	private boolean refreshQuietly() {
+		try {
+			this.refresh();
+			return true;
+		}
+		catch (RuntimeException e) {
+			log.warn("**CategorySnapshotCache, could not rebuild snapshot: {}*\n", e.getMessage());
+			return false;
+		}
+	}
+	
+	private CategorySnapshot current() {
+		final CategorySnapshot current = this.snapshot;
+		if (current != null)
+			return current;
+		synchronized (this) {
+			return (this.snapshot != null) ? this.snapshot : this.refresh();
+		}
+	}
+	
+	@Override
+	public List<ManagedCache> getManagedCaches() {
+		return List.of(new ManagedCache("categories", this::statistics, this::invalidate, key -> this.invalidate()));
+	}
+	
+	private CacheStatistics statistics() {
+		final CategorySnapshot current = this.snapshot;
+		return CacheStatistics.builder()
+				.name("categories")
+				.size((current != null) ? (long) current.size() : 0L)
+				.weightBytes((current != null) ? current.getSizeInBytes() : 0L)
+				.hits(this.hits.sum())
+				.misses(this.misses.sum())
+				.loads(this.rebuildLatency.count())
+				.loadFailures(this.rebuildFailures.sum())
+				.loadTimeP99Millis(CacheStatistics.orNull(this.rebuildLatency.percentileMillis(0.99)))
+				.build();
+	}
+	
+	@Override
+	public void bindTo(final MeterRegistry registry) {
+		Gauge.builder("gateway.categories.snapshot.size", this, cache -> cache.gauge(CategorySnapshot::size))
+				.description("Categories held in the in-memory snapshot")
+				.register(registry);
+		Gauge.builder("gateway.categories.snapshot.bytes", this, cache -> cache.gauge(CategorySnapshot::getSizeInBytes))
+				.description("Serialized size of the in-memory category snapshot")
+				.baseUnit(BaseUnits.BYTES)
+				.register(registry);
+		Gauge.builder("gateway.categories.snapshot.age", this, 
+				cache -> cache.gauge(current -> (System.currentTimeMillis() - current.getBuiltAtMillis()) / 1000.0))
+				.description("Seconds since the category snapshot was rebuilt")
+				.baseUnit("seconds")
+				.register(registry);
+	}
+	
+	private double gauge(final ToDoubleFunction<CategorySnapshot> metric) {
+		final CategorySnapshot current = this.snapshot;
+		return (current != null) ? metric.applyAsDouble(current) : Double.NaN;
+	}
+	
+}
@@ -0,0 +1,126 @@
+package com.selimhorri.app.business.product.cache;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Sorted list of product ids kept in a primitive array, one per term of an index. Lists are
+ * combined by merging, so the cost follows the number of ids, never their values.
+ */
+final class IntPostings {
+	
+	private int[] ids = new int[4];
+	private int size;
+	
+	void add(final int id) {
+		final int position = Arrays.binarySearch(this.ids, 0, this.size, id);
+		if (position >= 0)
+			return;
+		final int insertion = -position - 1;
+		if (this.size == this.ids.length)
+			this.ids = Arrays.copyOf(this.ids, this.size * 2);
+		System.arraycopy(this.ids, insertion, this.ids, insertion + 1, this.size - insertion);
+		this.ids[insertion] = id;
+		this.size++;
+	}
+	
+	void remove(final int id) {
+		final int position = Arrays.binarySearch(this.ids, 0, this.size, id);
+		if (position < 0)
+			return;
+		System.arraycopy(this.ids, position + 1, this.ids, position, this.size - position - 1);
+		this.size--;
+	}
+	
+	boolean isEmpty() {
+		return this.size == 0;
+	}
+	
+	int size() {
+		return this.size;
+	}
+	
+	/**
+	 * The ids in ascending order.
+	 */
+	int[] toArray() {
+		return Arrays.copyOf(this.ids, this.size);
+	}
+	
+	/**
+	 * Ids of this list also found in the ascending {@code others}, merged in one pass.
+	 */
+	int[] retainAll(final int[] others) {
+		return intersect(this.ids, this.size, others, others.length);
+	}
+	
+	static int[] intersect(final int[] left, final int[] right) {
+		return intersect(left, left.length, right, right.length);
+	}
+	
+	/**
+	 * Ids in either ascending array, ascending and without duplicates.
+	 */
+	static int[] union(final int[] left, final int[] right) {
+		final int[] result = new int[left.length + right.length];
+		int i = 0;
+		int j = 0;
+		int size = 0;
+		while (i < left.length || j < right.length) {
+			final int next;
+			if (j == right.length || (i < left.length && left[i] < right[j]))
+				next = left[i++];
+			else if (i == left.length || right[j] < left[i])
+				next = right[j++];
+			else {
+				next = left[i++];
+				j++;
+			}
+			result[size++] = next;
+		}
+		return (size == result.length) ? result : Arrays.copyOf(result, size);
+	}
+	
+	/**
+	 * Ids in any of the lists, ascending and without duplicates.
+	 */
+	static int[] union(final Collection<IntPostings> postings) {
+		int total = 0;
+		for (final IntPostings list : postings)
+			total += list.size;
+		final int[] all = new int[total];
+		int offset = 0;
+		for (final IntPostings list : postings) {
+			System.arraycopy(list.ids, 0, all, offset, list.size);
+			offset += list.size;
+		}
+		if (postings.size() < 2)
+			return all;
+		Arrays.sort(all);
+		int size = 0;
+		for (int i = 0; i < all.length; i++)
+			if (size == 0 || all[size - 1] != all[i])
+				all[size++] = all[i];
+		return (size == all.length) ? all : Arrays.copyOf(all, size);
+	}
+	
+	private static int[] intersect(final int[] left, final int leftSize, final int[] right, final int rightSize) {
+		final int[] result = new int[Math.min(leftSize, rightSize)];
+		int i = 0;
+		int j = 0;
+		int size = 0;
+		while (i < leftSize && j < rightSize) {
+			if (left[i] < right[j])
+				i++;
+			else if (right[j] < left[i])
+				j++;
+			else {
+				result[size++] = left[i];
+				i++;
+				j++;
+			}
+		}
+		return (size == result.length) ? result : Arrays.copyOf(result, size);
+	}
+	
+}
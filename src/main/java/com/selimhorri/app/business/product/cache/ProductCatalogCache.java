@@ -0,0 +1,206 @@
+package com.selimhorri.app.business.product.cache;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import com.selimhorri.app.business.product.model.CategoryDto;
+import com.selimhorri.app.business.product.model.ProductDto;
+import com.selimhorri.app.business.product.model.ProductSearchQuery;
+import com.selimhorri.app.business.product.model.response.ProductProductServiceCollectionDtoResponse;
+import com.selimhorri.app.cache.CacheProperties;
+import com.selimhorri.app.cache.RefreshingCache;
+import com.selimhorri.app.cache.RefreshingCacheMetrics;
+import com.selimhorri.app.cache.admin.ManagedCache;
+import com.selimhorri.app.cache.admin.ManagedCacheSource;
+import com.selimhorri.app.cache.invalidation.CacheInvalidationListener;
+import com.selimhorri.app.cache.invalidation.InvalidationEvent;
+import com.selimhorri.app.cache.spi.CacheRegion;
+import com.selimhorri.app.cache.spi.CacheRegions;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Keeps PRODUCT-SERVICE catalog reads in the gateway. Every full catalog load also
+ * warms the per-product entries, and admin writes update or evict them right away.
+ * Loads go through the shared tier first when one is configured, so a replica picks up
+ * what another one already fetched. Catalog loads also rebuild the search and typeahead
+ * indexes, which local writes then keep current row by row.
+ */
+@Component
+public class ProductCatalogCache implements CacheInvalidationListener, ManagedCacheSource, MeterBinder {
+	
+	private static final String CATALOG_KEY = "all";
+	
+	private final RefreshingCache<String, ProductProductServiceCollectionDtoResponse> catalog;
+	private final RefreshingCache<String, ProductDto> products;
+	private final CacheRegion<ProductProductServiceCollectionDtoResponse> sharedCatalog;
+	private final CacheRegion<ProductDto> sharedProducts;
+	private final ProductIndex index = new ProductIndex();
+	private final ProductTypeahead typeahead = new ProductTypeahead();
+	private final boolean catalogEnabled;
+	private final long catalogTtlNanos;
+	
+	@Autowired
+	public ProductCatalogCache(final CacheProperties cacheProperties, final CacheRegions cacheRegions, 
+			@Qualifier("applicationTaskExecutor") final Executor refreshExecutor) {
+		this.catalog = new RefreshingCache<>("product-catalog", cacheProperties.getCatalog(), 
+				ProductCatalogCache::weigh, refreshExecutor);
+		this.products = new RefreshingCache<>("products", cacheProperties.getProducts(), 
+				ProductCatalogCache::weigh, refreshExecutor);
+		this.sharedCatalog = cacheRegions.sharedRegion("product-catalog", cacheProperties.getCatalog().getTtl(), 
+				ProductProductServiceCollectionDtoResponse.class);
+		this.sharedProducts = cacheRegions.sharedRegion("products", cacheProperties.getProducts().getTtl(), 
+				ProductDto.class);
+		this.catalogEnabled = cacheProperties.getCatalog().isEnabled();
+		this.catalogTtlNanos = cacheProperties.getCatalog().getTtl().toNanos();
+	}
+	
+	public ProductProductServiceCollectionDtoResponse findAll(final Supplier<ProductProductServiceCollectionDtoResponse> loader) {
+		return this.catalog.get(CATALOG_KEY, () -> {
+			final ProductProductServiceCollectionDtoResponse response = this.sharedCatalog.get(CATALOG_KEY, loader);
+			if (response != null && response.getCollection() != null)
+				response.getCollection().forEach(this::index);
+			if (response != null) {
+				this.index.rebuild(response.getCollection());
+				this.typeahead.rebuild(response.getCollection());
+			}
+			return response;
+		});
+	}
+	
+	public ProductProductServiceCollectionDtoResponse search(final ProductSearchQuery query, 
+			final Supplier<ProductProductServiceCollectionDtoResponse> loader) {
+		this.ensureIndexed(loader);
+		return this.index.search(query);
+	}
+	
+	/**
+	 * Best matches of a search box query on titles and SKUs, see {@link ProductTypeahead}.
+	 */
+	public List<ProductDto> suggest(final String query, final int limit, 
+			final Supplier<ProductProductServiceCollectionDtoResponse> loader) {
+		this.ensureIndexed(loader);
+		return this.typeahead.suggest(query, limit);
+	}
+	
+	/**
+	 * Loads the catalog when the indexes were never built, have outlived the catalog ttl or
+	 * were marked stale. A cached catalog is read anyway so that its stale-while-revalidate
+	 * refresh keeps the indexes current.
+	 */
+	private void ensureIndexed(final Supplier<ProductProductServiceCollectionDtoResponse> loader) {
+		if (!this.catalogEnabled || !this.index.isLoadedWithin(this.catalogTtlNanos) 
+				|| this.catalog.getIfPresent(CATALOG_KEY) != null)
+			this.findAll(loader);
+	}
+	
+	public ProductDto findById(final String productId, final Supplier<ProductDto> loader) {
+		return this.products.get(productId, () -> this.sharedProducts.get(productId, loader));
+	}
+	
+	public ProductDto getIfPresent(final String productId) {
+		return this.products.getIfPresent(productId);
+	}
+	
+	public void put(final ProductDto productDto) {
+		this.index(productDto);
+		this.index.upsert(productDto);
+		this.typeahead.upsert(productDto);
+		if (productDto != null && productDto.getProductId() != null)
+			this.sharedProducts.put(productDto.getProductId().toString(), productDto);
+		this.sharedCatalog.evict(CATALOG_KEY);
+		this.catalog.invalidate(CATALOG_KEY);
+	}
+	
+	public void evict(final String productId) {
+		this.index.remove(productId);
+		this.typeahead.remove(productId);
+		this.sharedProducts.evict(productId);
+		this.sharedCatalog.evict(CATALOG_KEY);
+		this.products.invalidate(productId);
+		this.catalog.invalidate(CATALOG_KEY);
+	}
+	
+	public void evictAll() {
+		this.index.clear();
+		this.typeahead.clear();
+		this.sharedProducts.clear();
+		this.sharedCatalog.clear();
+		this.products.invalidateAll();
+		this.catalog.invalidateAll();
+	}
+	
+	@Override
+	public void onInvalidation(final InvalidationEvent event) {
+		if (!event.concerns("products"))
+			return;
+		if (event.isWholeResource())
+			this.products.invalidateAll();
+		else
+			this.products.invalidate(event.getId());
+		this.catalog.invalidate(CATALOG_KEY);
+		this.index.markStale();
+	}
+	
+	/**
+	 * Purges also drop the shared tier, otherwise the next load would bring the same entries back.
+	 */
+	@Override
+	public List<ManagedCache> getManagedCaches() {
+		return List.of(
+				new ManagedCache(this.catalog.getName(), this.catalog::statistics, 
+						() -> {
+							this.sharedCatalog.clear();
+							this.catalog.invalidateAll();
+							this.index.markStale();
+						}, 
+						key -> {
+							this.sharedCatalog.evict(key);
+							this.catalog.invalidate(key);
+							this.index.markStale();
+						}),
+				new ManagedCache(this.products.getName(), this.products::statistics, 
+						() -> {
+							this.sharedProducts.clear();
+							this.products.invalidateAll();
+						}, 
+						this::evict));
+	}
+	
+	private void index(final ProductDto productDto) {
+		if (productDto != null && productDto.getProductId() != null)
+			this.products.put(productDto.getProductId().toString(), productDto);
+	}
+	
+	@Override
+	public void bindTo(final MeterRegistry registry) {
+		new RefreshingCacheMetrics(this.catalog).bindTo(registry);
+		new RefreshingCacheMetrics(this.products).bindTo(registry);
+	}
+	
+	private static int weigh(final ProductProductServiceCollectionDtoResponse response) {
+		return (response.getCollection() == null) ? 16 
+				: 16 + response.getCollection().stream().mapToInt(ProductCatalogCache::weigh).sum();
+	}
+	
+	private static int weigh(final ProductDto productDto) {
+		return 64 + weigh(productDto.getProductTitle()) + weigh(productDto.getImageUrl()) 
+				+ weigh(productDto.getSku()) + weigh(productDto.getCategoryDto());
+	}
+	
+	private static int weigh(final CategoryDto categoryDto) {
+		return (categoryDto == null) ? 0 
+				: 48 + weigh(categoryDto.getCategoryTitle()) + weigh(categoryDto.getImageUrl());
+	}
+	
+	private static int weigh(final String value) {
+		return (value == null) ? 0 : 40 + value.length();
+	}
+	
+}
@@ -0,0 +1,330 @@
+package com.selimhorri.app.business.product.cache;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntBinaryOperator;
+
+import com.selimhorri.app.business.product.model.CategoryDto;
+import com.selimhorri.app.business.product.model.CategoryFacet;
+import com.selimhorri.app.business.product.model.ProductDto;
+import com.selimhorri.app.business.product.model.ProductFacets;
+import com.selimhorri.app.business.product.model.ProductSearchQuery;
+import com.selimhorri.app.business.product.model.response.ProductProductServiceCollectionDtoResponse;
+
+/**
+ * Column store of the catalog answering searches by scanning primitive arrays, the DTOs are
+ * only touched to collect the matching rows. Every product owns a slot across the columns
+ * and freed slots are reused, so a product update rewrites one row and drops the sort
+ * orders, which are rebuilt by the next search needing them.
+ */
+class ProductIndex {
+
+	private static final int INITIAL_CAPACITY = 1024;
+	private static final int NO_CATEGORY = -1;
+	private static final int UNKNOWN_CATEGORY = -2;
+	private static final int ANY_CATEGORY = Integer.MIN_VALUE;
+	private static final String DESCENDING = "-";
+
+	private enum Sort { ID, PRICE, QUANTITY, SKU, TITLE }
+
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+	private final Map<Integer, Integer> slots = new HashMap<>();
+	private final Deque<Integer> freeSlots = new ArrayDeque<>();
+	private final Map<Integer, Integer> categoryOrdinals = new HashMap<>();
+	private final Map<String, Integer> categoryTitles = new HashMap<>();
+	private final List<CategoryDto> categories = new ArrayList<>();
+	private final Map<Sort, int[]> sortedSlots = new ConcurrentHashMap<>();
+
+	private ProductDto[] rows = new ProductDto[INITIAL_CAPACITY];
+	private int[] productIds = new int[INITIAL_CAPACITY];
+	private double[] prices = new double[INITIAL_CAPACITY];
+	private int[] quantities = new int[INITIAL_CAPACITY];
+	private int[] categoryColumn = new int[INITIAL_CAPACITY];
+	private String[] skus = new String[INITIAL_CAPACITY];
+	private String[] titles = new String[INITIAL_CAPACITY];
+	private int length;
+	private volatile long loadedAtNanos;
+	private volatile boolean loaded;
+
+	public void rebuild(final Collection<ProductDto> productDtos) {
+		this.lock.writeLock().lock();
+		try {
+			this.clearLocked();
+			if (productDtos != null)
+				productDtos.forEach(this::upsertLocked);
+			this.loadedAtNanos = System.nanoTime();
+			this.loaded = true;
+		}
+		finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+
+	public void upsert(final ProductDto productDto) {
+		this.lock.writeLock().lock();
+		try {
+			this.upsertLocked(productDto);
+		}
+		finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+
+	public void remove(final String productId) {
+		final Integer id;
+		try {
+			id = Integer.valueOf(productId);
+		}
+		catch (NumberFormatException e) {
+			return;
+		}
+		this.lock.writeLock().lock();
+		try {
+			final Integer slot = this.slots.remove(id);
+			if (slot != null) {
+				this.rows[slot] = null;
+				this.skus[slot] = null;
+				this.titles[slot] = null;
+				this.freeSlots.push(slot);
+				this.sortedSlots.clear();
+			}
+		}
+		finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+
+	public void clear() {
+		this.lock.writeLock().lock();
+		try {
+			this.clearLocked();
+		}
+		finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Keeps the rows but have the next search reload the catalog, for changes made elsewhere.
+	 */
+	public void markStale() {
+		this.loaded = false;
+	}
+
+	public boolean isLoadedWithin(final long nanos) {
+		return this.loaded && System.nanoTime() - this.loadedAtNanos <= nanos;
+	}
+
+	public int size() {
+		this.lock.readLock().lock();
+		try {
+			return this.slots.size();
+		}
+		finally {
+			this.lock.readLock().unlock();
+		}
+	}
+
+	public ProductProductServiceCollectionDtoResponse search(final ProductSearchQuery query) {
+		final String sortExpression = (query.getSort() != null) ? query.getSort().trim() : "";
+		final boolean descending = sortExpression.startsWith(DESCENDING);
+		final Sort sort = parseSort(descending ? sortExpression.substring(1) : sortExpression);
+		final double minPrice = (query.getMinPrice() != null) ? query.getMinPrice() : Double.NEGATIVE_INFINITY;
+		final double maxPrice = (query.getMaxPrice() != null) ? query.getMaxPrice() : Double.POSITIVE_INFINITY;
+		final boolean priceFiltered = query.getMinPrice() != null || query.getMaxPrice() != null;
+		final Boolean inStock = query.getInStock();
+
+		this.lock.readLock().lock();
+		try {
+			final int category = this.resolveCategory(query.getCategory());
+			final int[] order = this.sortedSlots.computeIfAbsent(sort, this::sortSlots);
+			final long[] categoryCounts = new long[this.categories.size()];
+			long inStockCount = 0;
+			long outOfStockCount = 0;
+			final List<ProductDto> matches = new ArrayList<>();
+
+			for (int i = 0; i < order.length; i++) {
+				final int slot = descending ? order[order.length - 1 - i] : order[i];
+				final double price = this.prices[slot];
+				if (priceFiltered && (Double.isNaN(price) || price < minPrice || price > maxPrice))
+					continue;
+				final boolean available = this.quantities[slot] > 0;
+				final boolean stockMatches = inStock == null || available == inStock;
+				final int productCategory = this.categoryColumn[slot];
+				final boolean categoryMatches = category == ANY_CATEGORY || productCategory == category;
+				if (stockMatches && productCategory >= 0)
+					categoryCounts[productCategory]++;
+				if (categoryMatches) {
+					if (available)
+						inStockCount++;
+					else
+						outOfStockCount++;
+				}
+				if (stockMatches && categoryMatches)
+					matches.add(this.rows[slot]);
+			}
+
+			return ProductProductServiceCollectionDtoResponse.builder()
+					.collection(matches)
+					.total(matches.size())
+					.facets(ProductFacets.builder()
+							.categories(this.categoryFacets(categoryCounts))
+							.inStock(inStockCount)
+							.outOfStock(outOfStockCount)
+							.build())
+					.build();
+		}
+		finally {
+			this.lock.readLock().unlock();
+		}
+	}
+
+	private static Sort parseSort(final String sort) {
+		if (sort.isEmpty())
+			return Sort.ID;
+		try {
+			return Sort.valueOf(sort.toUpperCase(Locale.ROOT));
+		}
+		catch (IllegalArgumentException e) {
+			throw new IllegalStateException("Unsupported sort " + sort + ", expected one of price, quantity, sku, title");
+		}
+	}
+
+	private int resolveCategory(final String category) {
+		if (category == null || category.isBlank())
+			return ANY_CATEGORY;
+		try {
+			return this.categoryOrdinals.getOrDefault(Integer.valueOf(category.trim()), UNKNOWN_CATEGORY);
+		}
+		catch (NumberFormatException e) {
+			return this.categoryTitles.getOrDefault(category.trim().toLowerCase(Locale.ROOT), UNKNOWN_CATEGORY);
+		}
+	}
+
+	private List<CategoryFacet> categoryFacets(final long[] categoryCounts) {
+		final List<CategoryFacet> facets = new ArrayList<>();
+		for (int ordinal = 0; ordinal < categoryCounts.length; ordinal++) {
+			if (categoryCounts[ordinal] > 0) {
+				final CategoryDto categoryDto = this.categories.get(ordinal);
+				facets.add(new CategoryFacet(categoryDto.getCategoryId(), categoryDto.getCategoryTitle(),
+						categoryCounts[ordinal]));
+			}
+		}
+		facets.sort(Comparator.comparingLong(CategoryFacet::getCount).reversed()
+				.thenComparing(CategoryFacet::getCategoryId));
+		return facets;
+	}
+
+	/**
+	 * Runs under the read lock, the columns cannot change while the order is computed.
+	 */
+	private int[] sortSlots(final Sort sort) {
+		final IntBinaryOperator byId = (a, b) -> Integer.compare(this.productIds[a], this.productIds[b]);
+		final IntBinaryOperator byKey;
+		switch (sort) {
+			case PRICE:
+				byKey = (a, b) -> Double.compare(this.prices[a], this.prices[b]);
+				break;
+			case QUANTITY:
+				byKey = (a, b) -> Integer.compare(this.quantities[a], this.quantities[b]);
+				break;
+			case SKU:
+				byKey = (a, b) -> compareNullsLast(this.skus[a], this.skus[b]);
+				break;
+			case TITLE:
+				byKey = (a, b) -> compareNullsLast(this.titles[a], this.titles[b]);
+				break;
+			default:
+				byKey = byId;
+		}
+		return this.slots.values().stream()
+				.sorted((a, b) -> {
+					final int compared = byKey.applyAsInt(a, b);
+					return (compared != 0) ? compared : byId.applyAsInt(a, b);
+				})
+				.mapToInt(Integer::intValue)
+				.toArray();
+	}
+
+	private static int compareNullsLast(final String a, final String b) {
+		if (a == null || b == null)
+			return (a == null) ? ((b == null) ? 0 : 1) : -1;
+		return a.compareTo(b);
+	}
+
+	private void upsertLocked(final ProductDto productDto) {
+		if (productDto == null || productDto.getProductId() == null)
+			return;
+		Integer slot = this.slots.get(productDto.getProductId());
+		if (slot == null) {
+			slot = this.freeSlots.isEmpty() ? this.length++ : this.freeSlots.pop();
+			this.ensureCapacity(this.length);
+			this.slots.put(productDto.getProductId(), slot);
+		}
+		this.rows[slot] = productDto;
+		this.productIds[slot] = productDto.getProductId();
+		this.prices[slot] = (productDto.getPriceUnit() != null) ? productDto.getPriceUnit() : Double.NaN;
+		this.quantities[slot] = (productDto.getQuantity() != null) ? productDto.getQuantity() : 0;
+		this.categoryColumn[slot] = this.categoryOrdinal(productDto.getCategoryDto());
+		this.skus[slot] = productDto.getSku();
+		this.titles[slot] = (productDto.getProductTitle() != null)
+				? productDto.getProductTitle().toLowerCase(Locale.ROOT) : null;
+		this.sortedSlots.clear();
+	}
+
+	private int categoryOrdinal(final CategoryDto categoryDto) {
+		if (categoryDto == null || categoryDto.getCategoryId() == null)
+			return NO_CATEGORY;
+		Integer ordinal = this.categoryOrdinals.get(categoryDto.getCategoryId());
+		if (ordinal == null) {
+			ordinal = this.categories.size();
+			this.categories.add(categoryDto);
+			this.categoryOrdinals.put(categoryDto.getCategoryId(), ordinal);
+		}
+		else {
+			this.categories.set(ordinal, categoryDto);
+		}
+		if (categoryDto.getCategoryTitle() != null)
+			this.categoryTitles.put(categoryDto.getCategoryTitle().toLowerCase(Locale.ROOT), ordinal);
+		return ordinal;
+	}
+
+	private void ensureCapacity(final int capacity) {
+		if (capacity <= this.rows.length)
+			return;
+		final int grown = Math.max(capacity, this.rows.length * 2);
+		this.rows = Arrays.copyOf(this.rows, grown);
+		this.productIds = Arrays.copyOf(this.productIds, grown);
+		this.prices = Arrays.copyOf(this.prices, grown);
+		this.quantities = Arrays.copyOf(this.quantities, grown);
+		this.categoryColumn = Arrays.copyOf(this.categoryColumn, grown);
+		this.skus = Arrays.copyOf(this.skus, grown);
+		this.titles = Arrays.copyOf(this.titles, grown);
+	}
+
+	private void clearLocked() {
+		this.slots.clear();
+		this.freeSlots.clear();
+		this.categoryOrdinals.clear();
+		this.categoryTitles.clear();
+		this.categories.clear();
+		this.sortedSlots.clear();
+		Arrays.fill(this.rows, 0, this.length, null);
+		Arrays.fill(this.skus, 0, this.length, null);
+		Arrays.fill(this.titles, 0, this.length, null);
+		this.length = 0;
+		this.loaded = false;
+	}
+
+}
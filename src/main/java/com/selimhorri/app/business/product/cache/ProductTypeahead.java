@@ -0,0 +1,275 @@
+package com.selimhorri.app.business.product.cache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+import com.selimhorri.app.business.product.model.ProductDto;
+
+/**
+ * Typeahead over product titles and SKUs. Title words, SKU parts and whole SKUs are kept
+ * in a sorted term dictionary so a prefix is one range lookup, and their trigrams in an
+ * inverted index so a fragment from the middle of a word matches too. Every query word
+ * has to match; exact words rank above prefixes, prefixes above fragments.
+ */
+class ProductTypeahead {
+
+	static final int MAX_SUGGESTIONS = 50;
+
+	private static final int GRAM = 3;
+	private static final int EXACT = 4;
+	private static final int PREFIX = 2;
+	private static final int INFIX = 1;
+	private static final int SKU_MATCH = 8;
+	private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+	private final NavigableMap<String, IntPostings> terms = new TreeMap<>();
+	private final Map<String, IntPostings> grams = new HashMap<>();
+	private final Map<Integer, Entry> entries = new HashMap<>();
+
+	public void rebuild(final Collection<ProductDto> productDtos) {
+		this.lock.writeLock().lock();
+		try {
+			this.clearLocked();
+			if (productDtos != null)
+				productDtos.forEach(this::upsertLocked);
+		}
+		finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+
+	public void upsert(final ProductDto productDto) {
+		this.lock.writeLock().lock();
+		try {
+			this.upsertLocked(productDto);
+		}
+		finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+
+	public void remove(final String productId) {
+		final Integer id;
+		try {
+			id = Integer.valueOf(productId);
+		}
+		catch (NumberFormatException e) {
+			return;
+		}
+		this.lock.writeLock().lock();
+		try {
+			this.removeLocked(id);
+		}
+		finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+
+	public void clear() {
+		this.lock.writeLock().lock();
+		try {
+			this.clearLocked();
+		}
+		finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+
+	public List<ProductDto> suggest(final String query, final int limit) {
+		final String normalized = normalize(query);
+		final Set<String> words = tokenize(normalized);
+		if (words.isEmpty())
+			return List.of();
+
+		this.lock.readLock().lock();
+		try {
+			int[] candidates = null;
+			for (final String word : words) {
+				final int[] matches = this.matches(word);
+				candidates = (candidates == null) ? matches : IntPostings.intersect(candidates, matches);
+				if (candidates.length == 0)
+					return List.of();
+			}
+
+			final List<Scored> scored = new ArrayList<>(candidates.length);
+			for (final int id : candidates) {
+				final Entry entry = this.entries.get(id);
+				final int score = entry.score(words, normalized);
+				if (score > 0)
+					scored.add(new Scored(entry, score));
+			}
+			scored.sort(Comparator.comparingInt(Scored::getScore).reversed()
+					.thenComparingInt(candidate -> candidate.entry.title.length())
+					.thenComparingInt(candidate -> candidate.entry.productDto.getProductId()));
+
+			final int size = Math.min(scored.size(), Math.max(1, Math.min(limit, MAX_SUGGESTIONS)));
+			final List<ProductDto> suggestions = new ArrayList<>(size);
+			for (int i = 0; i < size; i++)
+				suggestions.add(scored.get(i).entry.productDto);
+			return suggestions;
+		}
+		finally {
+			this.lock.readLock().unlock();
+		}
+	}
+
+	int termCount() {
+		this.lock.readLock().lock();
+		try {
+			return this.terms.size();
+		}
+		finally {
+			this.lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Ids having a word that starts with, or for words of a trigram or longer contains, the given one.
+	 * Trigram hits are candidates only, {@link Entry#score} drops those not really containing it.
+	 */
+	private int[] matches(final String word) {
+		final int[] prefixed = IntPostings.union(this.terms.subMap(word, true, word + Character.MAX_VALUE, false).values());
+		if (word.length() < GRAM)
+			return prefixed;
+		final List<IntPostings> gramPostings = new ArrayList<>(word.length() - GRAM + 1);
+		for (int i = 0; i + GRAM <= word.length(); i++) {
+			final IntPostings postings = this.grams.get(word.substring(i, i + GRAM));
+			if (postings == null)
+				return prefixed;
+			gramPostings.add(postings);
+		}
+		// shortest list first, every further merge is then bounded by it
+		gramPostings.sort(Comparator.comparingInt(IntPostings::size));
+		int[] containing = gramPostings.get(0).toArray();
+		for (int i = 1; i < gramPostings.size() && containing.length > 0; i++)
+			containing = gramPostings.get(i).retainAll(containing);
+		return IntPostings.union(prefixed, containing);
+	}
+
+	private void upsertLocked(final ProductDto productDto) {
+		if (productDto == null || productDto.getProductId() == null)
+			return;
+		final int id = productDto.getProductId();
+		this.removeLocked(id);
+		final Entry entry = new Entry(productDto);
+		this.entries.put(id, entry);
+		for (final String word : entry.words) {
+			this.terms.computeIfAbsent(word, key -> new IntPostings()).add(id);
+			for (int i = 0; i + GRAM <= word.length(); i++)
+				this.grams.computeIfAbsent(word.substring(i, i + GRAM), key -> new IntPostings()).add(id);
+		}
+	}
+
+	private void removeLocked(final int id) {
+		final Entry entry = this.entries.remove(id);
+		if (entry == null)
+			return;
+		for (final String word : entry.words) {
+			removePosting(this.terms, word, id);
+			for (int i = 0; i + GRAM <= word.length(); i++)
+				removePosting(this.grams, word.substring(i, i + GRAM), id);
+		}
+	}
+
+	private static void removePosting(final Map<String, IntPostings> index, final String key, final int id) {
+		final IntPostings postings = index.get(key);
+		if (postings == null)
+			return;
+		postings.remove(id);
+		if (postings.isEmpty())
+			index.remove(key);
+	}
+
+	private void clearLocked() {
+		this.terms.clear();
+		this.grams.clear();
+		this.entries.clear();
+	}
+
+	private static String normalize(final String text) {
+		return (text != null) ? text.trim().toLowerCase(Locale.ROOT) : "";
+	}
+
+	private static Set<String> tokenize(final String normalized) {
+		final Set<String> words = new LinkedHashSet<>();
+		for (final String word : SEPARATORS.split(normalized))
+			if (!word.isEmpty())
+				words.add(word);
+		return words;
+	}
+
+	private static final class Entry {
+
+		private final ProductDto productDto;
+		private final String title;
+		private final String sku;
+		private final Set<String> words;
+
+		private Entry(final ProductDto productDto) {
+			this.productDto = productDto;
+			this.title = normalize(productDto.getProductTitle());
+			this.sku = normalize(productDto.getSku());
+			this.words = tokenize(this.title);
+			this.words.addAll(tokenize(this.sku));
+			if (!this.sku.isEmpty())
+				this.words.add(this.sku);
+		}
+
+		/**
+		 * Sum over the query words of their best match, 0 when one of them does not match.
+		 */
+		private int score(final Set<String> queryWords, final String query) {
+			int score = query.equals(this.sku) ? SKU_MATCH : 0;
+			for (final String queryWord : queryWords) {
+				int best = 0;
+				for (final String word : this.words) {
+					if (word.equals(queryWord))
+						best = EXACT;
+					else if (word.startsWith(queryWord))
+						best = Math.max(best, PREFIX);
+					else if (word.contains(queryWord))
+						best = Math.max(best, INFIX);
+					if (best == EXACT)
+						break;
+				}
+				if (best == 0)
+					return 0;
+				score += best;
+			}
+			if (this.title.startsWith(query))
+				score += PREFIX;
+			return score;
+		}
+
+	}
+
+	private static final class Scored {
+
+		private final Entry entry;
+		private final int score;
+
+		private Scored(final Entry entry, final int score) {
+			this.entry = entry;
+			this.score = score;
+		}
+
+		private int getScore() {
+			return this.score;
+		}
+
+	}
+
+}
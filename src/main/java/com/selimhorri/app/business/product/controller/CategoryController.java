@@ -1,5 +1,6 @@
 package com.selimhorri.app.business.product.controller;
 
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -10,9 +11,12 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.selimhorri.app.business.product.cache.CategorySnapshotCache;
 import com.selimhorri.app.business.product.model.CategoryDto;
 import com.selimhorri.app.business.product.model.response.CategoryProductServiceCollectionDtoResponse;
 import com.selimhorri.app.business.product.service.CategoryClientService;
+import com.selimhorri.app.cache.SerializedBody;
+import com.selimhorri.app.config.jackson.FieldSelectionAdvice;
 
 import lombok.RequiredArgsConstructor;
 
@@ -22,31 +26,60 @@ import lombok.RequiredArgsConstructor;
 public class CategoryController {
 	
 	private final CategoryClientService categoryClientService;
+	private final CategorySnapshotCache categorySnapshotCache;
 	
 	@GetMapping
-	public ResponseEntity<CategoryProductServiceCollectionDtoResponse> findAll() {
-		return ResponseEntity.ok(this.categoryClientService.findAll().getBody());
+	public ResponseEntity<byte[]> findAll() {
+		return toResponse(this.categorySnapshotCache.findAll());
 	}
 	
 	@GetMapping("/{categoryId}")
-	public ResponseEntity<CategoryDto> findById(@PathVariable("categoryId") final String categoryId) {
-		return ResponseEntity.ok(this.categoryClientService.findById(categoryId).getBody());
+	public ResponseEntity<byte[]> findById(@PathVariable("categoryId") final String categoryId) {
+		return toResponse(this.categorySnapshotCache.findById(categoryId));
+	}
+	
+	/**
+	 * The snapshot bytes cannot be shaped, a field selection is written from the DTOs.
+	 */
+	@GetMapping(params = FieldSelectionAdvice.FIELDS_PARAMETER)
+	public ResponseEntity<CategoryProductServiceCollectionDtoResponse> findAllWithFields() {
+		return ResponseEntity.ok(this.categorySnapshotCache.findAllDtos());
+	}
+	
+	@GetMapping(path = "/{categoryId}", params = FieldSelectionAdvice.FIELDS_PARAMETER)
+	public ResponseEntity<CategoryDto> findByIdWithFields(@PathVariable("categoryId") final String categoryId) {
+		return ResponseEntity.ok(this.categorySnapshotCache.findDtoById(categoryId));
 	}
 	
 	@PostMapping
 	public ResponseEntity<CategoryDto> save(@RequestBody final CategoryDto categoryDto) {
-		return ResponseEntity.ok(this.categoryClientService.save(categoryDto).getBody());
+		final CategoryDto saved = this.categoryClientService.save(categoryDto).getBody();
+		this.categorySnapshotCache.refreshAfterWrite();
+		return ResponseEntity.ok(saved);
 	}
 	
 	@PutMapping("/{categoryId}")
 	public ResponseEntity<CategoryDto> update(@PathVariable("categoryId") final String categoryId, 
 			@RequestBody final CategoryDto categoryDto) {
-		return ResponseEntity.ok(this.categoryClientService.update(categoryId, categoryDto).getBody());
+		final CategoryDto updated = this.categoryClientService.update(categoryId, categoryDto).getBody();
+		this.categorySnapshotCache.refreshAfterWrite();
+		return ResponseEntity.ok(updated);
 	}
 	
 	@DeleteMapping("/{categoryId}")
 	public ResponseEntity<Boolean> deleteById(@PathVariable("categoryId") final String categoryId) {
-		return ResponseEntity.ok(this.categoryClientService.deleteById(categoryId).getBody());
+		final Boolean deleted = this.categoryClientService.deleteById(categoryId).getBody();
+		this.categorySnapshotCache.refreshAfterWrite();
+		return ResponseEntity.ok(deleted);
+	}
+	
+	private static ResponseEntity<byte[]> toResponse(final SerializedBody body) {
+		if (body == null)
+			return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).build();
+		return ResponseEntity.ok()
+				.contentType(MediaType.APPLICATION_JSON)
+				.eTag(body.getEtag())
+				.body(body.getBytes());
 	}
 	
 	
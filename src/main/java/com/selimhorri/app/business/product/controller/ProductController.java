@@ -1,5 +1,7 @@
 package com.selimhorri.app.business.product.controller;
 
+import java.util.List;
+
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -8,11 +10,17 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.selimhorri.app.business.product.cache.ProductCatalogCache;
 import com.selimhorri.app.business.product.model.ProductDto;
+import com.selimhorri.app.business.product.model.ProductSearchQuery;
 import com.selimhorri.app.business.product.model.response.ProductProductServiceCollectionDtoResponse;
 import com.selimhorri.app.business.product.service.ProductClientService;
+import com.selimhorri.app.business.product.service.ProductLookupService;
+import com.selimhorri.app.pagination.CursorPage;
+import com.selimhorri.app.pagination.CursorPaginator;
 
 import lombok.RequiredArgsConstructor;
 
@@ -22,31 +30,68 @@ import lombok.RequiredArgsConstructor;
 public class ProductController {
 	
 	private final ProductClientService productClientService;
+	private final ProductCatalogCache productCatalogCache;
+	private final ProductLookupService productLookupService;
+	private final CursorPaginator cursorPaginator;
 	
 	@GetMapping
-	public ResponseEntity<ProductProductServiceCollectionDtoResponse> findAll() {
-		return ResponseEntity.ok(this.productClientService.findAll().getBody());
+	public ResponseEntity<ProductProductServiceCollectionDtoResponse> findAll(final ProductSearchQuery query) {
+		if (query == null || query.isEmpty())
+			return ResponseEntity.ok(this.productCatalogCache.findAll(() -> this.productClientService.findAll().getBody()));
+		return ResponseEntity.ok(this.productCatalogCache.search(query, () -> this.productClientService.findAll().getBody()));
+	}
+
+	@GetMapping(params = CursorPaginator.LIMIT_PARAMETER)
+	public ResponseEntity<CursorPage<ProductDto>> findPage(@RequestParam(CursorPaginator.LIMIT_PARAMETER) final int limit,
+			@RequestParam(name = CursorPaginator.CURSOR_PARAMETER, required = false) final String cursor) {
+		final ProductProductServiceCollectionDtoResponse catalog = 
+				this.productCatalogCache.findAll(() -> this.productClientService.findAll().getBody());
+		return ResponseEntity.ok(this.cursorPaginator.page((catalog != null) ? catalog.getCollection() : null,
+				ProductDto::getProductId, limit, cursor));
+	}
+	
+	@GetMapping(params = "ids")
+	public ResponseEntity<ProductProductServiceCollectionDtoResponse> findAllByIds(
+			@RequestParam("ids") final List<String> productIds) {
+		return ResponseEntity.ok(this.productLookupService.findAllByIds(productIds));
+	}
+	
+	@GetMapping("/search")
+	public ResponseEntity<ProductProductServiceCollectionDtoResponse> suggest(@RequestParam("q") final String query,
+			@RequestParam(name = "limit", defaultValue = "10") final int limit) {
+		return ResponseEntity.ok(ProductProductServiceCollectionDtoResponse.builder()
+				.collection(this.productCatalogCache.suggest(query, limit, 
+						() -> this.productClientService.findAll().getBody()))
+				.build());
 	}
 	
 	@GetMapping("/{productId}")
 	public ResponseEntity<ProductDto> findById(@PathVariable("productId") final String productId) {
-		return ResponseEntity.ok(this.productClientService.findById(productId).getBody());
+		return ResponseEntity.ok(this.productCatalogCache.findById(productId, 
+				() -> this.productClientService.findById(productId).getBody()));
 	}
 	
 	@PostMapping
 	public ResponseEntity<ProductDto> save(@RequestBody final ProductDto productDto) {
-		return ResponseEntity.ok(this.productClientService.save(productDto).getBody());
+		final ProductDto saved = this.productClientService.save(productDto).getBody();
+		this.productCatalogCache.put(saved);
+		return ResponseEntity.ok(saved);
 	}
 	
 	@PutMapping("/{productId}")
 	public ResponseEntity<ProductDto> update(@PathVariable("productId") final String productId, 
 			@RequestBody final ProductDto productDto) {
-		return ResponseEntity.ok(this.productClientService.update(productId, productDto).getBody());
+		final ProductDto updated = this.productClientService.update(productId, productDto).getBody();
+		this.productCatalogCache.evict(productId);
+		this.productCatalogCache.put(updated);
+		return ResponseEntity.ok(updated);
 	}
 	
 	@DeleteMapping("/{productId}")
 	public ResponseEntity<Boolean> deleteById(@PathVariable("productId") final String productId) {
-		return ResponseEntity.ok(this.productClientService.deleteById(productId).getBody());
+		final Boolean deleted = this.productClientService.deleteById(productId).getBody();
+		this.productCatalogCache.evict(productId);
+		return ResponseEntity.ok(deleted);
 	}
 	
 	
@@ -0,0 +1,27 @@
+package com.selimhorri.app.business.product.model;
+
+import java.io.Serializable;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Counts of a product search per facet. Each facet ignores its own criterion, so the
+ * category counts tell how many products switching category would give.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class ProductFacets implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	private List<CategoryFacet> categories;
+	private long inStock;
+	private long outOfStock;
+	
+}
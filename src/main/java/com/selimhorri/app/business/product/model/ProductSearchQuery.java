@@ -0,0 +1,29 @@
+package com.selimhorri.app.business.product.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Criteria of GET /api/products. The category is matched on its id or, failing that, its
+ * title; the sort is one of price, quantity, sku or title, prefixed with - for descending.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class ProductSearchQuery {
+	
+	private String category;
+	private Double minPrice;
+	private Double maxPrice;
+	private Boolean inStock;
+	private String sort;
+	
+	public boolean isEmpty() {
+		return this.category == null && this.minPrice == null && this.maxPrice == null 
+				&& this.inStock == null && this.sort == null;
+	}
+	
+}
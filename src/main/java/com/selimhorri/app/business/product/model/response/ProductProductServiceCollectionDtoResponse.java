@@ -2,8 +2,13 @@ package com.selimhorri.app.business.product.model.response;
 
 import java.io.Serializable;
 import java.util.Collection;
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
 
 import com.selimhorri.app.business.product.model.ProductDto;
+import com.selimhorri.app.business.product.model.ProductFacets;
 
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -19,4 +24,19 @@ public class ProductProductServiceCollectionDtoResponse implements Serializable
 	private static final long serialVersionUID = 1L;
 	private Collection<ProductDto> collection;
 	
+	/**
+	 * Reason per requested id that could not be returned, only set by batch lookups.
+	 */
+	@JsonInclude(value = Include.NON_EMPTY)
+	private Map<String, String> errors;
+	
+	/**
+	 * Matching products and their facet counts, only set by searches.
+	 */
+	@JsonInclude(value = Include.NON_NULL)
+	private Integer total;
+	
+	@JsonInclude(value = Include.NON_NULL)
+	private ProductFacets facets;
+	
 }
@@ -0,0 +1,11 @@
+package com.selimhorri.app.business.product.service;
+
+import java.util.List;
+
+import com.selimhorri.app.business.product.model.response.ProductProductServiceCollectionDtoResponse;
+
+public interface ProductLookupService {
+	
+	ProductProductServiceCollectionDtoResponse findAllByIds(final List<String> productIds);
+	
+}
@@ -0,0 +1,128 @@
+package com.selimhorri.app.business.product.service.impl;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import com.selimhorri.app.business.product.cache.ProductCatalogCache;
+import com.selimhorri.app.business.product.model.ProductDto;
+import com.selimhorri.app.business.product.model.response.ProductProductServiceCollectionDtoResponse;
+import com.selimhorri.app.business.product.service.ProductClientService;
+import com.selimhorri.app.business.product.service.ProductLookupService;
+import com.selimhorri.app.config.executor.ExecutorConfig;
+
+import feign.FeignException;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Resolves a page worth of product ids in one call. Cached products are answered right
+ * away, the rest are fetched by at most {@code parallelism} workers draining a shared
+ * queue, the request thread being one of them. Helpers run on a pool of their own, since
+ * callers such as the order details sections already occupy a pooled thread while they wait.
+ */
+@Service
+@Slf4j
+public class ProductLookupServiceImpl implements ProductLookupService {
+	
+	private final ProductClientService productClientService;
+	private final ProductCatalogCache productCatalogCache;
+	private final Executor executor;
+	private final int parallelism;
+	private final int maxIds;
+	
+	public ProductLookupServiceImpl(final ProductClientService productClientService, 
+			final ProductCatalogCache productCatalogCache, 
+			@Qualifier(ExecutorConfig.PRODUCT_LOOKUP_EXECUTOR) final Executor executor, 
+			@Value("${app.products.batch.parallelism:8}") final int parallelism, 
+			@Value("${app.products.batch.max-ids:100}") final int maxIds) {
+		this.productClientService = productClientService;
+		this.productCatalogCache = productCatalogCache;
+		this.executor = executor;
+		this.parallelism = Math.max(1, parallelism);
+		this.maxIds = maxIds;
+	}
+	
+	@Override
+	public ProductProductServiceCollectionDtoResponse findAllByIds(final List<String> productIds) {
+		final Set<String> ids = productIds.stream()
+				.map(String::trim)
+				.filter(id -> !id.isEmpty())
+				.collect(Collectors.toCollection(LinkedHashSet::new));
+		if (ids.size() > this.maxIds)
+			throw new IllegalStateException("At most " + this.maxIds + " product ids can be looked up at once");
+		log.info("**ProductLookupService, find {} products by id*\n", ids.size());
+		
+		final Map<String, ProductDto> found = new ConcurrentHashMap<>();
+		final Map<String, String> errors = new ConcurrentHashMap<>();
+		final Queue<String> pending = new ConcurrentLinkedQueue<>();
+		ids.forEach(id -> {
+			final ProductDto cached = this.productCatalogCache.getIfPresent(id);
+			if (cached != null)
+				found.put(id, cached);
+			else
+				pending.add(id);
+		});
+		
+		final Runnable worker = () -> {
+			String id;
+			while ((id = pending.poll()) != null)
+				this.fetch(id, found, errors);
+		};
+		final int workers = Math.min(this.parallelism, pending.size());
+		final List<CompletableFuture<Void>> forked = new ArrayList<>();
+		for (int i = 1; i < workers; i++)
+			forked.add(CompletableFuture.runAsync(worker, this.executor));
+		worker.run();
+		CompletableFuture.allOf(forked.toArray(CompletableFuture[]::new)).join();
+		
+		final List<ProductDto> collection = new ArrayList<>();
+		final Map<String, String> orderedErrors = new LinkedHashMap<>();
+		ids.forEach(id -> {
+			if (found.containsKey(id))
+				collection.add(found.get(id));
+			else
+				orderedErrors.put(id, errors.getOrDefault(id, notFound()));
+		});
+		return ProductProductServiceCollectionDtoResponse.builder()
+				.collection(collection)
+				.errors(orderedErrors.isEmpty() ? null : orderedErrors)
+				.build();
+	}
+	
+	private void fetch(final String id, final Map<String, ProductDto> found, final Map<String, String> errors) {
+		try {
+			final ProductDto productDto = this.productCatalogCache.findById(id, 
+					() -> this.productClientService.findById(id).getBody());
+			if (productDto != null)
+				found.put(id, productDto);
+		}
+		catch (FeignException e) {
+			final HttpStatus status = HttpStatus.resolve(e.status());
+			errors.put(id, (status != null) ? status.value() + " " + status.getReasonPhrase() 
+					: "PRODUCT-SERVICE unavailable");
+		}
+		catch (RuntimeException e) {
+			log.warn("**ProductLookupService, lookup of product {} failed: {}*\n", id, e.getMessage());
+			errors.put(id, "Lookup failed");
+		}
+	}
+	
+	private static String notFound() {
+		return HttpStatus.NOT_FOUND.value() + " " + HttpStatus.NOT_FOUND.getReasonPhrase();
+	}
+	
+}
@@ -13,6 +13,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.selimhorri.app.business.auth.enums.ResourceType;
@@ -20,6 +21,8 @@ import com.selimhorri.app.business.auth.util.AuthUtil;
 import com.selimhorri.app.business.user.model.AddressDto;
 import com.selimhorri.app.business.user.model.response.AddressUserServiceCollectionDtoResponse;
 import com.selimhorri.app.business.user.service.AddressClientService;
+import com.selimhorri.app.pagination.CursorPage;
+import com.selimhorri.app.pagination.CursorPaginator;
 
 import lombok.RequiredArgsConstructor;
 
@@ -29,6 +32,8 @@ import lombok.RequiredArgsConstructor;
 public class AddressController {
 	@Autowired
 	private AuthUtil authUtil;
+	@Autowired
+	private CursorPaginator cursorPaginator;
 	private final AddressClientService addressClientService;
 
 	@GetMapping
@@ -36,6 +41,13 @@ public class AddressController {
 		return ResponseEntity.ok(this.addressClientService.findAll().getBody());
 	}
 
+	@GetMapping(params = CursorPaginator.LIMIT_PARAMETER)
+	public ResponseEntity<CursorPage<AddressDto>> findPage(@RequestParam(CursorPaginator.LIMIT_PARAMETER) final int limit,
+			@RequestParam(name = CursorPaginator.CURSOR_PARAMETER, required = false) final String cursor) {
+		return ResponseEntity.ok(this.cursorPaginator.page(this.addressClientService::streamAll, AddressDto.class,
+				AddressDto::getAddressId, limit, cursor));
+	}
+
 	@GetMapping("/{addressId}")
 	public ResponseEntity<AddressDto> findById(@PathVariable("addressId") final String addressId,
 			HttpServletRequest request, @AuthenticationPrincipal UserDetails userDetails) {
@@ -13,6 +13,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.client.RestTemplate;
 
@@ -21,6 +22,8 @@ import com.selimhorri.app.business.auth.util.AuthUtil;
 import com.selimhorri.app.business.user.model.CredentialDto;
 import com.selimhorri.app.business.user.model.response.CredentialUserServiceCollectionDtoResponse;
 import com.selimhorri.app.business.user.service.CredentialClientService;
+import com.selimhorri.app.pagination.CursorPage;
+import com.selimhorri.app.pagination.CursorPaginator;
 
 import lombok.RequiredArgsConstructor;
 
@@ -31,6 +34,8 @@ public class CredentialController {
 
 	@Autowired
 	private AuthUtil authUtil;
+	@Autowired
+	private CursorPaginator cursorPaginator;
 	private final CredentialClientService credentialClientService;
 
 	@GetMapping
@@ -38,6 +43,13 @@ public class CredentialController {
 		return ResponseEntity.ok(this.credentialClientService.findAll().getBody());
 	}
 
+	@GetMapping(params = CursorPaginator.LIMIT_PARAMETER)
+	public ResponseEntity<CursorPage<CredentialDto>> findPage(@RequestParam(CursorPaginator.LIMIT_PARAMETER) final int limit,
+			@RequestParam(name = CursorPaginator.CURSOR_PARAMETER, required = false) final String cursor) {
+		return ResponseEntity.ok(this.cursorPaginator.page(this.credentialClientService::streamAll, CredentialDto.class,
+				CredentialDto::getCredentialId, limit, cursor));
+	}
+
 	@GetMapping("/{credentialId}")
 	public ResponseEntity<CredentialDto> findById(@PathVariable("credentialId") final String credentialId,
 			HttpServletRequest request, @AuthenticationPrincipal UserDetails userDetails) {
@@ -0,0 +1,34 @@
+package com.selimhorri.app.business.user.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestAttribute;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.selimhorri.app.business.user.model.response.UserOverviewResponse;
+import com.selimhorri.app.business.user.service.UserOverviewService;
+import com.selimhorri.app.exception.wrapper.UnauthorizedException;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Resources of the authenticated user, resolved from the token rather than from the path so
+ * no ownership lookup is needed.
+ */
+@RestController
+@RequestMapping("/api/me")
+@RequiredArgsConstructor
+public class MeController {
+
+	private final UserOverviewService userOverviewService;
+
+	@GetMapping("/overview")
+	public ResponseEntity<UserOverviewResponse> findOverview(
+			@RequestAttribute(name = "userId", required = false) final String userId) {
+		if (userId == null)
+			throw new UnauthorizedException("Token does not identify a user");
+		return ResponseEntity.ok(this.userOverviewService.findOverview(userId));
+	}
+
+}
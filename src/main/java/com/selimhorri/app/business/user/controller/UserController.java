@@ -1,6 +1,9 @@
 package com.selimhorri.app.business.user.controller;
 
+import java.io.IOException;
+
 import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -13,12 +16,16 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.selimhorri.app.business.auth.util.AuthUtil;
 import com.selimhorri.app.business.user.model.UserDto;
 import com.selimhorri.app.business.user.model.response.UserUserServiceCollectionDtoResponse;
 import com.selimhorri.app.business.user.service.UserClientService;
+import com.selimhorri.app.pagination.CursorPage;
+import com.selimhorri.app.pagination.CursorPaginator;
+import com.selimhorri.app.streaming.NdjsonExporter;
 
 import lombok.RequiredArgsConstructor;
 
@@ -29,6 +36,10 @@ public class UserController {
 
 	@Autowired
 	private AuthUtil authUtil;
+	@Autowired
+	private CursorPaginator cursorPaginator;
+	@Autowired
+	private NdjsonExporter ndjsonExporter;
 	private final UserClientService userClientService;
 
 	@GetMapping
@@ -36,6 +47,18 @@ public class UserController {
 		return ResponseEntity.ok(this.userClientService.findAll().getBody());
 	}
 
+	@GetMapping(params = CursorPaginator.LIMIT_PARAMETER)
+	public ResponseEntity<CursorPage<UserDto>> findPage(@RequestParam(CursorPaginator.LIMIT_PARAMETER) final int limit,
+			@RequestParam(name = CursorPaginator.CURSOR_PARAMETER, required = false) final String cursor) {
+		return ResponseEntity.ok(this.cursorPaginator.page(this.userClientService::streamAll, UserDto.class,
+				UserDto::getUserId, limit, cursor));
+	}
+
+	@GetMapping(produces = NdjsonExporter.APPLICATION_NDJSON_VALUE)
+	public void exportAll(HttpServletRequest request, HttpServletResponse response) throws IOException {
+		this.ndjsonExporter.export(this.userClientService::streamAll, UserDto.class, request, response);
+	}
+
 	@GetMapping("/{userId}")
 	public ResponseEntity<UserDto> findById(@PathVariable("userId") final String userId, HttpServletRequest request,
 			@AuthenticationPrincipal UserDetails userDetails) {
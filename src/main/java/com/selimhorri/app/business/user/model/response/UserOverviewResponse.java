@@ -0,0 +1,46 @@
+package com.selimhorri.app.business.user.model.response;
+
+import java.io.Serializable;
+import java.util.Collection;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.selimhorri.app.business.favourite.model.FavouriteDto;
+import com.selimhorri.app.business.order.model.CartDto;
+import com.selimhorri.app.business.user.model.AddressDto;
+import com.selimhorri.app.business.user.model.UserDto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Home screen payload of the authenticated user. A section that failed or timed out is left
+ * null and named in {@code unavailable}.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class UserOverviewResponse implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	@JsonProperty("user")
+	private UserDto userDto;
+	
+	@JsonProperty("addresses")
+	private Collection<AddressDto> addressDtos;
+	
+	@JsonProperty("carts")
+	private Collection<CartDto> cartDtos;
+	
+	@JsonProperty("favourites")
+	private Collection<FavouriteDto> favouriteDtos;
+	
+	@JsonInclude(value = Include.NON_EMPTY)
+	private Collection<String> unavailable;
+	
+}
@@ -16,12 +16,17 @@ import org.springframework.web.bind.annotation.RequestBody;
 import com.selimhorri.app.business.user.model.AddressDto;
 import com.selimhorri.app.business.user.model.response.AddressUserServiceCollectionDtoResponse;
 
+import feign.Response;
+
 @FeignClient(name = "USER-SERVICE", contextId = "addressClientService", path = "/user-service/api/address", decode404 = true)
 public interface AddressClientService {
 	
 	@GetMapping
 	ResponseEntity<AddressUserServiceCollectionDtoResponse> findAll();
 	
+	@GetMapping
+	Response streamAll();
+	
 	@GetMapping("/{addressId}")
 	ResponseEntity<AddressDto> findById(
 			@PathVariable("addressId") 
@@ -0,0 +1,9 @@
+package com.selimhorri.app.business.user.service;
+
+import com.selimhorri.app.business.user.model.response.UserOverviewResponse;
+
+public interface UserOverviewService {
+	
+	UserOverviewResponse findOverview(final String userId);
+	
+}
@@ -0,0 +1,153 @@
+package com.selimhorri.app.business.user.service.impl;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.selimhorri.app.business.favourite.model.FavouriteDto;
+import com.selimhorri.app.business.favourite.service.FavouriteClientService;
+import com.selimhorri.app.business.order.model.CartDto;
+import com.selimhorri.app.business.order.service.CartClientService;
+import com.selimhorri.app.business.user.model.AddressDto;
+import com.selimhorri.app.business.user.model.UserDto;
+import com.selimhorri.app.business.user.model.response.UserOverviewResponse;
+import com.selimhorri.app.business.user.service.AddressClientService;
+import com.selimhorri.app.business.user.service.UserClientService;
+import com.selimhorri.app.business.user.service.UserOverviewService;
+import com.selimhorri.app.config.executor.ExecutorConfig;
+import com.selimhorri.app.streaming.DownstreamCollection;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Fetches the four sections of the overview in parallel, each bounded by its own timeout so
+ * one slow service only costs its own section; a section that times out is cancelled, so it
+ * never starts if still queued. The downstream services offer no per-user queries for
+ * addresses, carts and favourites, so those are filtered out of their listings as they stream.
+ */
+@Service
+@Slf4j
+public class UserOverviewServiceImpl implements UserOverviewService {
+	
+	private final UserClientService userClientService;
+	private final AddressClientService addressClientService;
+	private final CartClientService cartClientService;
+	private final FavouriteClientService favouriteClientService;
+	private final ObjectMapper objectMapper;
+	private final Executor executor;
+	private final Duration timeout;
+	
+	public UserOverviewServiceImpl(final UserClientService userClientService, 
+			final AddressClientService addressClientService, 
+			final CartClientService cartClientService, 
+			final FavouriteClientService favouriteClientService, 
+			final ObjectMapper objectMapper, 
+			@Qualifier(ExecutorConfig.USER_OVERVIEW_EXECUTOR) final Executor executor, 
+			@Value("${app.me.overview.section-timeout:2s}") final Duration timeout) {
+		this.userClientService = userClientService;
+		this.addressClientService = addressClientService;
+		this.cartClientService = cartClientService;
+		this.favouriteClientService = favouriteClientService;
+		this.objectMapper = objectMapper;
+		this.executor = executor;
+		this.timeout = timeout;
+	}
+	
+	@Override
+	public UserOverviewResponse findOverview(final String userId) {
+		log.info("**UserOverviewService, find overview of user {}*\n", userId);
+		final Set<String> unavailable = Collections.synchronizedSet(new LinkedHashSet<>());
+		
+		final CompletableFuture<UserDto> user = this.section("user", unavailable, 
+				() -> this.userClientService.findById(userId).getBody());
+		final CompletableFuture<List<AddressDto>> addresses = this.section("addresses", unavailable, 
+				() -> DownstreamCollection.filter(this.addressClientService.streamAll(), this.objectMapper, 
+						AddressDto.class, addressDto -> addressDto.getUserDto() != null 
+								&& userId.equals(String.valueOf(addressDto.getUserDto().getUserId())), 
+						Integer.MAX_VALUE));
+		final CompletableFuture<List<CartDto>> carts = this.section("carts", unavailable, 
+				() -> DownstreamCollection.filter(this.cartClientService.streamAll(), this.objectMapper, 
+						CartDto.class, cartDto -> isOwnedBy(cartDto, userId) && isOpen(cartDto), Integer.MAX_VALUE));
+		final CompletableFuture<List<FavouriteDto>> favourites = this.section("favourites", unavailable, 
+				() -> DownstreamCollection.filter(this.favouriteClientService.streamAll(), this.objectMapper, 
+						FavouriteDto.class, favouriteDto -> userId.equals(String.valueOf(favouriteDto.getUserId())), 
+						Integer.MAX_VALUE));
+		
+		CompletableFuture.allOf(user, addresses, carts, favourites).join();
+		final UserOverviewResponse response = UserOverviewResponse.builder()
+				.userDto(user.join())
+				.addressDtos(addresses.join())
+				.cartDtos(carts.join())
+				.favouriteDtos(favourites.join())
+				.build();
+		synchronized (unavailable) {
+			response.setUnavailable(new ArrayList<>(unavailable));
+		}
+		if (!response.getUnavailable().isEmpty())
+			log.warn("**UserOverviewService, overview of user {} served without {}*\n", userId, response.getUnavailable());
+		return response;
+	}
+	
+	private <T> CompletableFuture<T> section(final String name, final Set<String> unavailable, 
+			final Supplier<T> supplier) {
+		final CompletableFuture<T> section = new CompletableFuture<>();
+		final FutureTask<Void> task = new FutureTask<>(() -> {
+			try {
+				section.complete(supplier.get());
+			}
+			catch (RuntimeException e) {
+				section.completeExceptionally(e);
+			}
+		}, null);
+		try {
+			this.executor.execute(task);
+		}
+		catch (RejectedExecutionException e) {
+			section.completeExceptionally(e);
+		}
+		return section
+				.orTimeout(this.timeout.toMillis(), TimeUnit.MILLISECONDS)
+				.whenComplete((value, e) -> {
+					if (e instanceof TimeoutException)
+						task.cancel(true);
+				})
+				.exceptionally(e -> {
+					final Throwable cause = (e instanceof CompletionException && e.getCause() != null) ? e.getCause() : e;
+					if (cause instanceof TimeoutException)
+						log.warn("**UserOverviewService, {} not ready within {}*\n", name, this.timeout);
+					else
+						log.warn("**UserOverviewService, {} could not be fetched: {}*\n", name, cause.getMessage());
+					unavailable.add(name);
+					return null;
+				});
+	}
+	
+	private static boolean isOwnedBy(final CartDto cartDto, final String userId) {
+		return userId.equals(String.valueOf(cartDto.getUserId())) 
+				|| (cartDto.getUserDto() != null && userId.equals(String.valueOf(cartDto.getUserDto().getUserId())));
+	}
+	
+	/**
+	 * A cart stops being open once an order has been placed from it.
+	 */
+	private static boolean isOpen(final CartDto cartDto) {
+		return cartDto.getOrderDtos() == null || cartDto.getOrderDtos().isEmpty();
+	}
+	
+}
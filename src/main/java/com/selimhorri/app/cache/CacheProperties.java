@@ -0,0 +1,220 @@
+package com.selimhorri.app.cache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@ConfigurationProperties(prefix = "app.cache")
+public class CacheProperties {
+	
+	private CacheSpec catalog = new CacheSpec(true, Duration.ofMinutes(5), Duration.ofMinutes(30), DataSize.ofMegabytes(48));
+	
+	/**
+	 * Per-product entries, warmed by every catalog load but weighed on their own budget.
+	 */
+	private CacheSpec products = new CacheSpec(true, Duration.ofMinutes(5), Duration.ofMinutes(30), DataSize.ofMegabytes(16));
+	
+	private SnapshotSpec categories = new SnapshotSpec();
+	
+	private ResponseCacheSpec responses = new ResponseCacheSpec();
+	
+	private NegativeCacheSpec negative = new NegativeCacheSpec();
+	
+	private ProviderSpec provider = new ProviderSpec();
+	
+	private RegionSpec credentials = new RegionSpec(true, Duration.ofMinutes(1));
+	
+	private RegionSpec ownership = new RegionSpec(true, Duration.ofMinutes(10));
+	
+	private InvalidationSpec invalidation = new InvalidationSpec();
+	
+	@Data
+	@NoArgsConstructor
+	@AllArgsConstructor
+	public static class CacheSpec {
+		
+		private boolean enabled = true;
+		
+		/**
+		 * Age up to which an entry is served as fresh.
+		 */
+		private Duration ttl = Duration.ofMinutes(5);
+		
+		/**
+		 * Window after the ttl during which the stale entry is still served while a
+		 * single background reload runs, the entry is dropped once it elapses.
+		 */
+		private Duration staleWhileRevalidate = Duration.ZERO;
+		
+		private DataSize maximumWeight = DataSize.ofMegabytes(16);
+		
+	}
+	
+	@Data
+	@NoArgsConstructor
+	@AllArgsConstructor
+	public static class SnapshotSpec {
+		
+		private boolean enabled = true;
+		
+		/**
+		 * Delay between two scheduled rebuilds of the snapshot.
+		 */
+		private Duration refreshInterval = Duration.ofMinutes(10);
+		
+	}
+	
+	@Data
+	public static class ResponseCacheSpec {
+		
+		private boolean enabled = true;
+		private Duration ttl = Duration.ofMinutes(1);
+		private DataSize maximumWeight = DataSize.ofMegabytes(32);
+		
+		/**
+		 * Bodies larger than this are passed through without being stored.
+		 */
+		private DataSize maximumEntrySize = DataSize.ofKilobytes(512);
+		
+		/**
+		 * Bodies at least this large are also stored gzipped for clients accepting it.
+		 */
+		private DataSize gzipMinSize = DataSize.ofKilobytes(1);
+		
+		/**
+		 * Public GET routes whose responses are cached, a successful write to a route
+		 * matching the same pattern drops every response stored under it.
+		 */
+		private List<String> patterns = new ArrayList<>();
+		
+		private OffHeapSpec offHeap = new OffHeapSpec();
+		
+	}
+	
+	@Data
+	public static class OffHeapSpec {
+		
+		/**
+		 * Keeps cached bodies in direct memory slabs, only a small index stays on the heap.
+		 */
+		private boolean enabled = false;
+		
+		/**
+		 * Hard cap on direct memory reserved for bodies, must fit -XX:MaxDirectMemorySize.
+		 */
+		private DataSize maxMemory = DataSize.ofMegabytes(256);
+		private DataSize slabSize = DataSize.ofMegabytes(4);
+		private DataSize blockSize = DataSize.ofKilobytes(8);
+		
+	}
+	
+	@Data
+	public static class NegativeCacheSpec {
+		
+		private boolean enabled = true;
+		private Duration ttl = Duration.ofSeconds(30);
+		
+		/**
+		 * Bound on remembered misses, kept apart from the other caches so that probing
+		 * for unknown ids cannot evict real entries.
+		 */
+		private long maximumSize = 10_000;
+		
+		/**
+		 * Downstream statuses of GET calls that are remembered, the services answer
+		 * unknown ids with either.
+		 */
+		private List<Integer> statuses = new ArrayList<>(List.of(400, 404));
+		
+		private DataSize maximumBodySize = DataSize.ofKilobytes(8);
+		
+	}
+	
+	@Data
+	@NoArgsConstructor
+	@AllArgsConstructor
+	public static class RegionSpec {
+		
+		private boolean enabled = true;
+		private Duration ttl = Duration.ofMinutes(5);
+		
+	}
+	
+	public enum ProviderType {
+		LOCAL, SHARED, TIERED
+	}
+	
+	@Data
+	public static class ProviderSpec {
+		
+		/**
+		 * LOCAL keeps everything in process, SHARED only talks to the shared server and
+		 * TIERED puts a local near cache in front of it.
+		 */
+		private ProviderType type = ProviderType.LOCAL;
+		private DataSize localMaximumWeight = DataSize.ofMegabytes(32);
+		
+		/**
+		 * Upper bound on how long the near cache keeps a value read from the shared tier.
+		 */
+		private Duration nearTtl = Duration.ofSeconds(30);
+		
+		private SharedSpec shared = new SharedSpec();
+		
+	}
+	
+	@Data
+	public static class SharedSpec {
+		
+		private String host = "localhost";
+		private int port = 6379;
+		private String password;
+		private int database = 0;
+		private String keyPrefix = "proxy-client:";
+		private Duration timeout = Duration.ofMillis(250);
+		
+		/**
+		 * Most connections in use at once, a command waits up to the timeout for one.
+		 */
+		private int poolSize = 16;
+		
+		/**
+		 * How long the shared tier is bypassed after a failed command.
+		 */
+		private Duration retryInterval = Duration.ofSeconds(5);
+		
+	}
+	
+	public enum InvalidationTransportType {
+		LOOPBACK, RESP
+	}
+	
+	@Data
+	public static class InvalidationSpec {
+		
+		private boolean enabled = true;
+		
+		/**
+		 * LOOPBACK stays inside the JVM and suits a single replica, RESP uses pub/sub on
+		 * the shared cache server.
+		 */
+		private InvalidationTransportType transport = InvalidationTransportType.LOOPBACK;
+		private String channel = "proxy-client:invalidations";
+		private Duration reconnectInterval = Duration.ofSeconds(1);
+		
+		/**
+		 * First path segments under /api whose writes hold no cached data.
+		 */
+		private List<String> ignoredResources = new ArrayList<>(List.of("authenticate", "batch"));
+		
+	}
+	
+}
@@ -0,0 +1,50 @@
+package com.selimhorri.app.cache;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Durations of the most recent loads of one cache. Only a fixed window is kept so that
+ * percentiles follow the current downstream latency instead of the whole uptime; slots
+ * are written without locking, a reader may see a sample from the previous lap.
+ */
+public class LoadLatency {
+	
+	private static final int WINDOW = 1024;
+	
+	private final long[] samples = new long[WINDOW];
+	private final AtomicLong recorded = new AtomicLong();
+	
+	public <T> T time(final Supplier<T> loader) {
+		final long start = System.nanoTime();
+		try {
+			return loader.get();
+		}
+		finally {
+			this.record(System.nanoTime() - start);
+		}
+	}
+	
+	public void record(final long nanos) {
+		this.samples[(int) (this.recorded.getAndIncrement() % WINDOW)] = nanos;
+	}
+	
+	public long count() {
+		return this.recorded.get();
+	}
+	
+	/**
+	 * @return the quantile of the window in milliseconds, NaN before the first load
+	 */
+	public double percentileMillis(final double quantile) {
+		final int size = (int) Math.min(this.recorded.get(), WINDOW);
+		if (size == 0)
+			return Double.NaN;
+		final long[] window = Arrays.copyOf(this.samples, size);
+		Arrays.sort(window);
+		final int rank = (int) Math.ceil(quantile * size) - 1;
+		return window[Math.max(0, Math.min(size - 1, rank))] / 1_000_000.0;
+	}
+	
+}
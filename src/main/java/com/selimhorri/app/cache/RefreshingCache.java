@@ -0,0 +1,221 @@
+package com.selimhorri.app.cache;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.selimhorri.app.cache.admin.CacheStatistics;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Weight-bounded cache with stale-while-revalidate semantics. Fresh entries are served
+ * as they are, stale ones are served while one background reload per key replaces them,
+ * and misses are loaded once no matter how many callers ask for the same key.
+ */
+@Slf4j
+public class RefreshingCache<K, V> {
+	
+	@Getter
+	private final String name;
+	private final boolean enabled;
+	private final long ttlNanos;
+	private final Ticker ticker;
+	private final Executor refreshExecutor;
+	private final ToIntFunction<V> weigher;
+	private final Cache<K, CachedValue<V>> cache;
+	private final Set<K> refreshing = ConcurrentHashMap.newKeySet();
+	
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder staleHits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder puts = new LongAdder();
+	private final LongAdder refreshes = new LongAdder();
+	private final LongAdder loadFailures = new LongAdder();
+	private final LoadLatency loadLatency = new LoadLatency();
+	
+	public RefreshingCache(final String name, final CacheProperties.CacheSpec spec, final ToIntFunction<V> weigher, 
+			final Executor refreshExecutor, final Ticker ticker) {
+		this.name = name;
+		this.enabled = spec.isEnabled();
+		this.ttlNanos = spec.getTtl().toNanos();
+		this.ticker = ticker;
+		this.refreshExecutor = refreshExecutor;
+		this.weigher = weigher;
+		this.cache = Caffeine.newBuilder()
+				.ticker(ticker)
+				.expireAfterWrite(spec.getTtl().plus(spec.getStaleWhileRevalidate()))
+				.maximumWeight(spec.getMaximumWeight().toBytes())
+				.<K, CachedValue<V>>weigher((key, cachedValue) -> cachedValue.weight)
+				.recordStats()
+				.build();
+	}
+	
+	public RefreshingCache(final String name, final CacheProperties.CacheSpec spec, final ToIntFunction<V> weigher, 
+			final Executor refreshExecutor) {
+		this(name, spec, weigher, refreshExecutor, Ticker.systemTicker());
+	}
+	
+	public V get(final K key, final Supplier<V> loader) {
+		if (!this.enabled)
+			return loader.get();
+		
+		final CachedValue<V> cachedValue = this.cache.getIfPresent(key);
+		if (cachedValue != null) {
+			if (this.ticker.read() - cachedValue.loadedAt <= this.ttlNanos) {
+				this.hits.increment();
+			}
+			else {
+				this.staleHits.increment();
+				this.refreshAsync(key, cachedValue, loader);
+			}
+			return cachedValue.value;
+		}
+		
+		this.misses.increment();
+		final CachedValue<V> loaded = this.cache.get(key, k -> this.load(loader));
+		return (loaded != null) ? loaded.value : null;
+	}
+	
+	public V getIfPresent(final K key) {
+		final CachedValue<V> cachedValue = this.enabled ? this.cache.getIfPresent(key) : null;
+		return (cachedValue != null) ? cachedValue.value : null;
+	}
+	
+	public void put(final K key, final V value) {
+		if (!this.enabled || value == null)
+			return;
+		this.puts.increment();
+		this.cache.put(key, this.wrap(value));
+	}
+	
+	public void invalidate(final K key) {
+		this.cache.invalidate(key);
+	}
+	
+	public void invalidateAll() {
+		this.cache.invalidateAll();
+	}
+	
+	private void refreshAsync(final K key, final CachedValue<V> stale, final Supplier<V> loader) {
+		if (!this.refreshing.add(key))
+			return;
+		try {
+			this.refreshExecutor.execute(() -> {
+				try {
+					final CachedValue<V> reloaded = this.load(loader);
+					// a concurrent put or invalidation wins over whatever this reload fetched
+					if (reloaded != null)
+						this.cache.asMap().replace(key, stale, reloaded);
+					else
+						this.cache.asMap().remove(key, stale);
+					this.refreshes.increment();
+				} catch (RuntimeException e) {
+					log.warn("**RefreshingCache {}, background reload of {} failed, serving stale entry*\n", this.name, key, e);
+				} finally {
+					this.refreshing.remove(key);
+				}
+			});
+		} catch (RuntimeException e) {
+			this.refreshing.remove(key);
+			log.warn("**RefreshingCache {}, could not schedule reload of {}*\n", this.name, key, e);
+		}
+	}
+	
+	private CachedValue<V> load(final Supplier<V> loader) {
+		try {
+			final V value = this.loadLatency.time(loader);
+			return (value != null) ? this.wrap(value) : null;
+		} catch (RuntimeException e) {
+			this.loadFailures.increment();
+			throw e;
+		}
+	}
+	
+	private CachedValue<V> wrap(final V value) {
+		return new CachedValue<>(value, this.ticker.read(), this.weigher.applyAsInt(value));
+	}
+	
+	public long size() {
+		return this.cache.estimatedSize();
+	}
+	
+	public long weightedSize() {
+		return this.cache.policy().eviction()
+				.map(eviction -> eviction.weightedSize().orElse(0L))
+				.orElse(0L);
+	}
+	
+	public long hitCount() {
+		return this.hits.sum();
+	}
+	
+	public long staleHitCount() {
+		return this.staleHits.sum();
+	}
+	
+	public long missCount() {
+		return this.misses.sum();
+	}
+	
+	public long putCount() {
+		return this.puts.sum();
+	}
+	
+	public long refreshCount() {
+		return this.refreshes.sum();
+	}
+	
+	public long loadFailureCount() {
+		return this.loadFailures.sum();
+	}
+	
+	public long evictionCount() {
+		return this.cache.stats().evictionCount();
+	}
+	
+	public LoadLatency loadLatency() {
+		return this.loadLatency;
+	}
+	
+	/**
+	 * Weights are only settled by Caffeine's asynchronous maintenance, which is run first so
+	 * a snapshot taken right after a write is exact.
+	 */
+	public CacheStatistics statistics() {
+		this.cache.cleanUp();
+		return CacheStatistics.builder()
+				.name(this.name)
+				.size(this.size())
+				.weightBytes(this.weightedSize())
+				.hits(this.hitCount() + this.staleHitCount())
+				.misses(this.missCount())
+				.evictions(this.evictionCount())
+				.loads(this.loadLatency.count())
+				.loadFailures(this.loadFailureCount())
+				.loadTimeP99Millis(CacheStatistics.orNull(this.loadLatency.percentileMillis(0.99)))
+				.build();
+	}
+	
+	private static final class CachedValue<V> {
+		
+		private final V value;
+		private final long loadedAt;
+		private final int weight;
+		
+		private CachedValue(final V value, final long loadedAt, final int weight) {
+			this.value = value;
+			this.loadedAt = loadedAt;
+			this.weight = weight;
+		}
+		
+	}
+	
+}
@@ -0,0 +1,69 @@
+package com.selimhorri.app.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import io.micrometer.core.instrument.binder.cache.CacheMeterBinder;
+
+/**
+ * Publishes the standard cache.* meters for a {@link RefreshingCache} plus its
+ * stale-while-revalidate specifics.
+ */
+public class RefreshingCacheMetrics extends CacheMeterBinder {
+	
+	private final RefreshingCache<?, ?> cache;
+	
+	public RefreshingCacheMetrics(final RefreshingCache<?, ?> cache) {
+		super(cache, cache.getName(), Tags.empty());
+		this.cache = cache;
+	}
+	
+	@Override
+	protected Long size() {
+		return this.cache.size();
+	}
+	
+	@Override
+	protected long hitCount() {
+		return this.cache.hitCount() + this.cache.staleHitCount();
+	}
+	
+	@Override
+	protected Long missCount() {
+		return this.cache.missCount();
+	}
+	
+	@Override
+	protected Long evictionCount() {
+		return this.cache.evictionCount();
+	}
+	
+	@Override
+	protected long putCount() {
+		return this.cache.putCount();
+	}
+	
+	@Override
+	protected void bindImplementationSpecificMetrics(final MeterRegistry registry) {
+		FunctionCounter.builder("cache.gets.stale", this.cache, RefreshingCache::staleHitCount)
+				.tags(this.getTagsWithCacheName())
+				.description("Hits served past the ttl while a background reload was pending")
+				.register(registry);
+		FunctionCounter.builder("cache.refreshes", this.cache, RefreshingCache::refreshCount)
+				.tags(this.getTagsWithCacheName())
+				.description("Completed background reloads")
+				.register(registry);
+		FunctionCounter.builder("cache.load.failures", this.cache, RefreshingCache::loadFailureCount)
+				.tags(this.getTagsWithCacheName())
+				.description("Loads that failed downstream")
+				.register(registry);
+		Gauge.builder("cache.weight", this.cache, RefreshingCache::weightedSize)
+				.tags(this.getTagsWithCacheName())
+				.description("Estimated memory held by cached entries")
+				.baseUnit(BaseUnits.BYTES)
+				.register(registry);
+	}
+	
+}
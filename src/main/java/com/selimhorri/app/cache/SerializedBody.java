@@ -0,0 +1,38 @@
+package com.selimhorri.app.cache;
+
+import org.springframework.util.DigestUtils;
+
+import lombok.Getter;
+
+/**
+ * An encoded response body together with its strong ETag, computed once when the body is
+ * built instead of on every request.
+ */
+@Getter
+public final class SerializedBody {
+	
+	private final byte[] bytes;
+	private final String etag;
+	
+	private SerializedBody(final byte[] bytes, final String etag) {
+		this.bytes = bytes;
+		this.etag = etag;
+	}
+	
+	public static SerializedBody of(final byte[] bytes) {
+		return new SerializedBody(bytes, etagOf(bytes));
+	}
+	
+	/**
+	 * Same format as {@link org.springframework.web.filter.ShallowEtagHeaderFilter}, so a
+	 * precomputed tag matches the one the filter would have produced for the same bytes.
+	 */
+	public static String etagOf(final byte[] bytes) {
+		return "\"0" + DigestUtils.md5DigestAsHex(bytes) + "\"";
+	}
+	
+	public int length() {
+		return this.bytes.length;
+	}
+	
+}
@@ -0,0 +1,82 @@
+package com.selimhorri.app.cache.admin;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Lists and purges the gateway caches under /actuator/gatewaycaches. Purges only act on
+ * this replica's tiers and on the shared tier, other replicas keep their local copies
+ * until they expire or an invalidation event reaches them.
+ */
+@Component
+@Endpoint(id = "gatewaycaches")
+@Slf4j
+@RequiredArgsConstructor
+public class CacheAdminEndpoint {
+	
+	private final ObjectProvider<ManagedCacheSource> sources;
+	
+	@ReadOperation
+	public List<CacheStatistics> caches() {
+		return this.managedCaches()
+				.map(ManagedCache::statistics)
+				.sorted(Comparator.comparing(CacheStatistics::getName))
+				.collect(Collectors.toUnmodifiableList());
+	}
+	
+	@ReadOperation
+	public CacheStatistics cache(@Selector final String name) {
+		final ManagedCache managedCache = this.find(name);
+		return (managedCache != null) ? managedCache.statistics() : null;
+	}
+	
+	/**
+	 * @param key entry to purge, the whole cache when absent
+	 */
+	@DeleteOperation
+	public Map<String, String> purge(@Selector final String name, @Nullable final String key) {
+		final ManagedCache managedCache = this.find(name);
+		if (managedCache == null)
+			return null;
+		if (key == null || key.isBlank()) {
+			log.info("**CacheAdminEndpoint, purging cache {}*\n", name);
+			managedCache.purge();
+		}
+		else {
+			log.info("**CacheAdminEndpoint, purging key {} of cache {}*\n", key, name);
+			managedCache.purge(key);
+		}
+		final Map<String, String> purged = new LinkedHashMap<>();
+		purged.put("cache", name);
+		purged.put("key", (key == null || key.isBlank()) ? "*" : key);
+		return purged;
+	}
+	
+	Stream<ManagedCache> managedCaches() {
+		return this.sources.orderedStream()
+				.flatMap(source -> source.getManagedCaches().stream());
+	}
+	
+	private ManagedCache find(final String name) {
+		return this.managedCaches()
+				.filter(managedCache -> managedCache.getName().equals(name))
+				.findFirst()
+				.orElse(null);
+	}
+	
+}
@@ -0,0 +1,28 @@
+package com.selimhorri.app.cache.admin;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Point-in-time figures of one gateway cache. Size and weight are null for caches that
+ * cannot tell them, the load percentile is null before the first load.
+ */
+@Value
+@Builder
+public class CacheStatistics {
+	
+	String name;
+	Long size;
+	Long weightBytes;
+	long hits;
+	long misses;
+	long evictions;
+	long loads;
+	long loadFailures;
+	Double loadTimeP99Millis;
+	
+	public static Double orNull(final double value) {
+		return Double.isNaN(value) ? null : value;
+	}
+	
+}
@@ -0,0 +1,40 @@
+package com.selimhorri.app.cache.admin;
+
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import lombok.Getter;
+
+/**
+ * Handle through which operators read and purge one cache. What a key means is up to the
+ * cache, for a cache without per-key entries purging a key purges everything.
+ */
+public class ManagedCache {
+	
+	@Getter
+	private final String name;
+	private final Supplier<CacheStatistics> statistics;
+	private final Runnable purgeAll;
+	private final Consumer<String> purgeKey;
+	
+	public ManagedCache(final String name, final Supplier<CacheStatistics> statistics, final Runnable purgeAll, 
+			final Consumer<String> purgeKey) {
+		this.name = name;
+		this.statistics = statistics;
+		this.purgeAll = purgeAll;
+		this.purgeKey = purgeKey;
+	}
+	
+	public CacheStatistics statistics() {
+		return this.statistics.get();
+	}
+	
+	public void purge() {
+		this.purgeAll.run();
+	}
+	
+	public void purge(final String key) {
+		this.purgeKey.accept(key);
+	}
+	
+}
@@ -0,0 +1,123 @@
+package com.selimhorri.app.cache.admin;
+
+import java.time.Duration;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.BaseUnits;
+
+/**
+ * Exports the figures of {@link CacheAdminEndpoint} as gateway.cache.* meters tagged by
+ * cache, so that dashboards and the endpoint read the same numbers. Bound once the
+ * application is ready since some caches are only created by the beans using them.
+ * Meters only hold their state object weakly and the managed caches are views built on
+ * demand, so the endpoint is the state object and each meter function keeps its cache.
+ * Reading the statistics of a cache may clean it up first, so all meters of a cache share
+ * one snapshot for {@code app.cache.metrics.snapshot-max-age}, about the length of a scrape.
+ */
+@Component
+public class ManagedCacheMetrics {
+	
+	private static final String CACHE_TAG = "cache";
+	
+	private final CacheAdminEndpoint cacheAdminEndpoint;
+	private final ObjectProvider<MeterRegistry> registries;
+	private final Duration snapshotMaxAge;
+	
+	public ManagedCacheMetrics(final CacheAdminEndpoint cacheAdminEndpoint, 
+			final ObjectProvider<MeterRegistry> registries, 
+			@Value("${app.cache.metrics.snapshot-max-age:1s}") final Duration snapshotMaxAge) {
+		this.cacheAdminEndpoint = cacheAdminEndpoint;
+		this.registries = registries;
+		this.snapshotMaxAge = snapshotMaxAge;
+	}
+	
+	@EventListener(ApplicationReadyEvent.class)
+	public void bind() {
+		this.registries.ifAvailable(this::bindTo);
+	}
+	
+	public void bindTo(final MeterRegistry registry) {
+		this.cacheAdminEndpoint.managedCaches().forEach(managedCache -> this.bind(registry, managedCache));
+	}
+	
+	private void bind(final MeterRegistry registry, final ManagedCache cache) {
+		final String name = cache.getName();
+		final Snapshot snapshot = new Snapshot(cache, this.snapshotMaxAge.toNanos());
+		gauge(registry, "gateway.cache.size", snapshot, stats -> orNaN(stats.getSize()), BaseUnits.OBJECTS, 
+				"Entries held by the cache");
+		gauge(registry, "gateway.cache.weight", snapshot, stats -> orNaN(stats.getWeightBytes()), BaseUnits.BYTES, 
+				"Estimated footprint of the cache");
+		gauge(registry, "gateway.cache.load.p99", snapshot, 
+				stats -> (stats.getLoadTimeP99Millis() != null) ? stats.getLoadTimeP99Millis() / 1000.0 : Double.NaN, 
+				"seconds", "99th percentile of the recent load times");
+		counter(registry, "gateway.cache.requests", snapshot, CacheStatistics::getHits, 
+				"Lookups answered by the cache", "result", "hit");
+		counter(registry, "gateway.cache.requests", snapshot, CacheStatistics::getMisses, 
+				"Lookups the cache could not answer", "result", "miss");
+		counter(registry, "gateway.cache.evictions", snapshot, CacheStatistics::getEvictions, 
+				"Entries evicted for size");
+		counter(registry, "gateway.cache.loads", snapshot, CacheStatistics::getLoads, 
+				"Loads from downstream, failed ones included");
+		counter(registry, "gateway.cache.load.failures", snapshot, CacheStatistics::getLoadFailures, 
+				"Loads from downstream that failed");
+	}
+	
+	private void gauge(final MeterRegistry registry, final String meter, final Snapshot snapshot, 
+			final ToDoubleFunction<CacheStatistics> value, final String unit, final String description) {
+		Gauge.builder(meter, this.cacheAdminEndpoint, endpoint -> value.applyAsDouble(snapshot.get()))
+				.tags(CACHE_TAG, snapshot.cache.getName())
+				.baseUnit(unit)
+				.description(description)
+				.register(registry);
+	}
+	
+	private void counter(final MeterRegistry registry, final String meter, final Snapshot snapshot, 
+			final ToLongFunction<CacheStatistics> value, final String description, final String... tags) {
+		FunctionCounter.builder(meter, this.cacheAdminEndpoint, endpoint -> value.applyAsLong(snapshot.get()))
+				.tags(CACHE_TAG, snapshot.cache.getName())
+				.tags(tags)
+				.description(description)
+				.register(registry);
+	}
+	
+	private static double orNaN(final Long value) {
+		return (value != null) ? value : Double.NaN;
+	}
+	
+	/**
+	 * Statistics of one cache, taken again once older than the maximum age.
+	 */
+	private static final class Snapshot {
+		
+		private final ManagedCache cache;
+		private final long maxAgeNanos;
+		private CacheStatistics statistics;
+		private long takenAt;
+		
+		private Snapshot(final ManagedCache cache, final long maxAgeNanos) {
+			this.cache = cache;
+			this.maxAgeNanos = maxAgeNanos;
+		}
+		
+		private synchronized CacheStatistics get() {
+			final long now = System.nanoTime();
+			if (this.statistics == null || now - this.takenAt >= this.maxAgeNanos) {
+				this.statistics = this.cache.statistics();
+				this.takenAt = now;
+			}
+			return this.statistics;
+		}
+		
+	}
+	
+}
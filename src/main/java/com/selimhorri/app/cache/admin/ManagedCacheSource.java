@@ -0,0 +1,12 @@
+package com.selimhorri.app.cache.admin;
+
+import java.util.List;
+
+/**
+ * Implemented by beans owning gateway caches, collected by {@link CacheAdminEndpoint}.
+ */
+public interface ManagedCacheSource {
+	
+	List<ManagedCache> getManagedCaches();
+	
+}
@@ -0,0 +1,139 @@
+package com.selimhorri.app.cache.invalidation;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.selimhorri.app.cache.CacheProperties;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Broadcasts writes seen by this replica and applies the writes of the other replicas to
+ * every {@link CacheInvalidationListener}. Events of this replica come back through the
+ * transport and are ignored, its caches were already updated by the write itself. The
+ * lag metric compares wall clocks of two replicas and is only as exact as their sync.
+ */
+@Component
+@Slf4j
+public class CacheInvalidationBus implements MeterBinder {
+	
+	@Getter
+	private final String replicaId = UUID.randomUUID().toString();
+	private final boolean enabled;
+	private final InvalidationTransport transport;
+	private final ObjectProvider<CacheInvalidationListener> listeners;
+	private final LongAdder published = new LongAdder();
+	private final LongAdder applied = new LongAdder();
+	private final LongAdder rejected = new LongAdder();
+	private final LongAdder gaps = new LongAdder();
+	private volatile Timer lag;
+	private boolean started;
+	
+	public CacheInvalidationBus(final CacheProperties cacheProperties, final InvalidationTransport transport, 
+			final ObjectProvider<CacheInvalidationListener> listeners) {
+		this.enabled = cacheProperties.getInvalidation().isEnabled();
+		this.transport = transport;
+		this.listeners = listeners;
+	}
+	
+	@EventListener(ApplicationReadyEvent.class)
+	public synchronized void start() {
+		if (!this.enabled || this.started)
+			return;
+		this.started = true;
+		this.transport.subscribe(new InvalidationTransport.Receiver() {
+			
+			@Override
+			public void onMessage(final byte[] payload) {
+				receive(payload);
+			}
+			
+			@Override
+			public void onGap() {
+				log.info("**CacheInvalidationBus, transport gap, dropping all local entries*\n");
+				gaps.increment();
+				apply(InvalidationEvent.all(replicaId));
+			}
+			
+		});
+	}
+	
+	public boolean isEnabled() {
+		return this.enabled;
+	}
+	
+	/**
+	 * @param id the written id, null when the write may touch any entry of the resource
+	 */
+	public void publish(final String resource, final String id) {
+		if (!this.enabled)
+			return;
+		this.transport.publish(new InvalidationEvent(resource, id, this.replicaId, System.currentTimeMillis()).encode());
+		this.published.increment();
+	}
+	
+	private void receive(final byte[] payload) {
+		final InvalidationEvent event;
+		try {
+			event = InvalidationEvent.decode(payload);
+		}
+		catch (RuntimeException e) {
+			this.rejected.increment();
+			log.warn("**CacheInvalidationBus, ignoring malformed event: {}*\n", e.getMessage());
+			return;
+		}
+		if (this.replicaId.equals(event.getOrigin()))
+			return;
+		this.apply(event);
+		final Timer timer = this.lag;
+		if (timer != null)
+			timer.record(Math.max(0, System.currentTimeMillis() - event.getPublishedAt()), TimeUnit.MILLISECONDS);
+	}
+	
+	private void apply(final InvalidationEvent event) {
+		this.listeners.orderedStream().forEach(listener -> {
+			try {
+				listener.onInvalidation(event);
+			}
+			catch (RuntimeException e) {
+				log.warn("**CacheInvalidationBus, listener {} failed on {}: {}*\n", 
+						listener.getClass().getSimpleName(), event.getResource(), e.getMessage());
+			}
+		});
+		this.applied.increment();
+	}
+	
+	@Override
+	public void bindTo(final MeterRegistry registry) {
+		FunctionCounter.builder("gateway.cache.invalidation.events", this.published, LongAdder::doubleValue)
+				.tag("direction", "published")
+				.description("Cache invalidation events exchanged with the other replicas")
+				.register(registry);
+		FunctionCounter.builder("gateway.cache.invalidation.events", this.applied, LongAdder::doubleValue)
+				.tag("direction", "applied")
+				.description("Cache invalidation events exchanged with the other replicas")
+				.register(registry);
+		FunctionCounter.builder("gateway.cache.invalidation.rejected", this.rejected, LongAdder::doubleValue)
+				.description("Malformed invalidation events that were ignored")
+				.register(registry);
+		FunctionCounter.builder("gateway.cache.invalidation.gaps", this.gaps, LongAdder::doubleValue)
+				.description("Transport reconnects after which all local entries were dropped")
+				.register(registry);
+		this.lag = Timer.builder("gateway.cache.invalidation.lag")
+				.description("Time from a write on one replica to its eviction on another")
+				.publishPercentileHistogram()
+				.register(registry);
+	}
+	
+}
@@ -0,0 +1,12 @@
+package com.selimhorri.app.cache.invalidation;
+
+/**
+ * Implemented by beans holding replica-local copies of downstream data. Only local tiers
+ * are dropped, the replica that wrote has already updated the shared tier.
+ */
+@FunctionalInterface
+public interface CacheInvalidationListener {
+	
+	void onInvalidation(final InvalidationEvent event);
+	
+}
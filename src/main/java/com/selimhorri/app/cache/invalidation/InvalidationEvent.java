@@ -0,0 +1,55 @@
+package com.selimhorri.app.cache.invalidation;
+
+import java.nio.charset.StandardCharsets;
+
+import lombok.Value;
+
+/**
+ * A write to a resource, possibly to a single id of it, announced to the other replicas.
+ * On the wire it is one tab separated line, a missing id stands for the whole resource.
+ */
+@Value
+public class InvalidationEvent {
+	
+	/**
+	 * Resource of the events synthesized after a transport gap, every cache treats it as a
+	 * write to everything it holds.
+	 */
+	public static final String ALL_RESOURCES = "*";
+	private static final char SEPARATOR = '\t';
+	
+	String resource;
+	String id;
+	String origin;
+	long publishedAt;
+	
+	public static InvalidationEvent all(final String origin) {
+		return new InvalidationEvent(ALL_RESOURCES, null, origin, System.currentTimeMillis());
+	}
+	
+	public boolean concerns(final String resource) {
+		return ALL_RESOURCES.equals(this.resource) || this.resource.equals(resource);
+	}
+	
+	public boolean isWholeResource() {
+		return this.id == null || ALL_RESOURCES.equals(this.resource);
+	}
+	
+	public byte[] encode() {
+		return new StringBuilder(this.resource).append(SEPARATOR)
+				.append((this.id != null) ? this.id : "").append(SEPARATOR)
+				.append(this.origin).append(SEPARATOR)
+				.append(this.publishedAt)
+				.toString()
+				.getBytes(StandardCharsets.UTF_8);
+	}
+	
+	public static InvalidationEvent decode(final byte[] payload) {
+		final String[] fields = new String(payload, StandardCharsets.UTF_8).split(String.valueOf(SEPARATOR), -1);
+		if (fields.length != 4 || fields[0].isEmpty())
+			throw new IllegalArgumentException("Malformed invalidation event");
+		return new InvalidationEvent(fields[0], fields[1].isEmpty() ? null : fields[1], fields[2], 
+				Long.parseLong(fields[3]));
+	}
+	
+}
@@ -0,0 +1,28 @@
+package com.selimhorri.app.cache.invalidation;
+
+/**
+ * Carries encoded {@link InvalidationEvent}s between replicas. Delivery is best effort, a
+ * transport that may have lost messages reports it through {@link Receiver#onGap()}.
+ */
+public interface InvalidationTransport {
+	
+	void publish(final byte[] payload);
+	
+	void subscribe(final Receiver receiver);
+	
+	default void close() {
+		// nothing held by default
+	}
+	
+	interface Receiver {
+		
+		void onMessage(final byte[] payload);
+		
+		/**
+		 * Called once the transport is connected again after messages may have been missed.
+		 */
+		void onGap();
+		
+	}
+	
+}
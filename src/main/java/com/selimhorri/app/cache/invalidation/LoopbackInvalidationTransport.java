@@ -0,0 +1,29 @@
+package com.selimhorri.app.cache.invalidation;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * In-JVM transport delivering every payload synchronously to all subscribers, including
+ * the publisher. Used by single replica setups and by tests wiring several buses together.
+ */
+public class LoopbackInvalidationTransport implements InvalidationTransport {
+	
+	private final List<Receiver> receivers = new CopyOnWriteArrayList<>();
+	
+	@Override
+	public void publish(final byte[] payload) {
+		this.receivers.forEach(receiver -> receiver.onMessage(payload));
+	}
+	
+	@Override
+	public void subscribe(final Receiver receiver) {
+		this.receivers.add(receiver);
+	}
+	
+	@Override
+	public void close() {
+		this.receivers.clear();
+	}
+	
+}
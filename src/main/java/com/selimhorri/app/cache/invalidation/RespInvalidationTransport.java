@@ -0,0 +1,110 @@
+package com.selimhorri.app.cache.invalidation;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import com.selimhorri.app.cache.spi.resp.RespClient;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Pub/sub over the shared RESP server. A single daemon thread keeps the subscription open
+ * and reconnects after failures, reporting a gap to the receivers once it is back.
+ */
+@Slf4j
+public class RespInvalidationTransport implements InvalidationTransport {
+	
+	private final RespClient client;
+	private final String channel;
+	private final long reconnectIntervalMillis;
+	private final List<Receiver> receivers = new CopyOnWriteArrayList<>();
+	private volatile boolean running = true;
+	private volatile RespClient.Subscription subscription;
+	private Thread subscriber;
+	
+	public RespInvalidationTransport(final RespClient client, final String channel, final Duration reconnectInterval) {
+		this.client = client;
+		this.channel = channel;
+		this.reconnectIntervalMillis = reconnectInterval.toMillis();
+	}
+	
+	@Override
+	public void publish(final byte[] payload) {
+		try {
+			this.client.execute("PUBLISH".getBytes(StandardCharsets.UTF_8), 
+					this.channel.getBytes(StandardCharsets.UTF_8), payload);
+		}
+		catch (IOException e) {
+			log.warn("**RespInvalidationTransport, could not publish on {}: {}*\n", this.channel, e.getMessage());
+		}
+	}
+	
+	@Override
+	public synchronized void subscribe(final Receiver receiver) {
+		this.receivers.add(receiver);
+		if (this.subscriber == null) {
+			this.subscriber = new Thread(this::listen, "cache-invalidation-subscriber");
+			this.subscriber.setDaemon(true);
+			this.subscriber.start();
+		}
+	}
+	
+	private void listen() {
+		boolean missed = false;
+		while (this.running) {
+			try (RespClient.Subscription current = this.client.subscribe(this.channel)) {
+				this.subscription = current;
+				if (missed) {
+					log.info("**RespInvalidationTransport, resubscribed to {}*\n", this.channel);
+					this.receivers.forEach(Receiver::onGap);
+				}
+				while (this.running)
+					this.dispatch(current.next());
+			}
+			catch (IOException e) {
+				if (!this.running)
+					return;
+				if (!missed)
+					log.warn("**RespInvalidationTransport, lost subscription to {}: {}*\n", this.channel, e.getMessage());
+				missed = true;
+				this.pause();
+			}
+		}
+	}
+	
+	private void dispatch(final byte[] payload) {
+		for (final Receiver receiver : this.receivers) {
+			try {
+				receiver.onMessage(payload);
+			}
+			catch (RuntimeException e) {
+				log.warn("**RespInvalidationTransport, receiver failed: {}*\n", e.getMessage());
+			}
+		}
+	}
+	
+	private void pause() {
+		try {
+			Thread.sleep(this.reconnectIntervalMillis);
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			this.running = false;
+		}
+	}
+	
+	@Override
+	public void close() {
+		this.running = false;
+		final RespClient.Subscription current = this.subscription;
+		if (current != null)
+			current.close();
+		if (this.subscriber != null)
+			this.subscriber.interrupt();
+		this.client.close();
+	}
+	
+}
@@ -0,0 +1,38 @@
+package com.selimhorri.app.cache.model;
+
+import lombok.Value;
+
+/**
+ * Final encoded bytes of a response, optionally with a gzipped copy, as written to the
+ * servlet output stream on a cache hit.
+ */
+@Value
+public class CachedResponse {
+	
+	String contentType;
+	String etag;
+	StoredBytes body;
+	StoredBytes gzippedBody;
+	
+	/**
+	 * The gzipped bytes are a representation of their own, so they carry their own strong tag.
+	 */
+	public String getGzippedEtag() {
+		return this.etag.substring(0, this.etag.length() - 1) + "-gzip\"";
+	}
+	
+	public boolean hasGzippedBody() {
+		return this.gzippedBody != null;
+	}
+	
+	public int weight() {
+		return 64 + this.body.footprint() + (this.hasGzippedBody() ? this.gzippedBody.footprint() : 0);
+	}
+	
+	public void release() {
+		this.body.release();
+		if (this.hasGzippedBody())
+			this.gzippedBody.release();
+	}
+	
+}
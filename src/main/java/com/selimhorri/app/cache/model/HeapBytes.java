@@ -0,0 +1,44 @@
+package com.selimhorri.app.cache.model;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public final class HeapBytes implements StoredBytes {
+	
+	private final byte[] bytes;
+	
+	public HeapBytes(final byte[] bytes) {
+		this.bytes = bytes;
+	}
+	
+	@Override
+	public int length() {
+		return this.bytes.length;
+	}
+	
+	@Override
+	public int footprint() {
+		return this.bytes.length;
+	}
+	
+	@Override
+	public boolean retain() {
+		return true;
+	}
+	
+	@Override
+	public void release() {
+		// left to the garbage collector
+	}
+	
+	@Override
+	public void writeTo(final OutputStream out) throws IOException {
+		out.write(this.bytes);
+	}
+	
+	@Override
+	public byte[] toByteArray() {
+		return this.bytes;
+	}
+	
+}
@@ -0,0 +1,20 @@
+package com.selimhorri.app.cache.model;
+
+import java.util.Collection;
+import java.util.Map;
+
+import lombok.Value;
+
+/**
+ * A remembered downstream "not found" or validation failure, replayed as-is so callers
+ * decode it exactly as they would the live response.
+ */
+@Value
+public class NegativeResponse {
+	
+	int status;
+	String reason;
+	Map<String, Collection<String>> headers;
+	byte[] body;
+	
+}
@@ -0,0 +1,28 @@
+package com.selimhorri.app.cache.model;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Bytes held by a cache, either on the heap or in off-heap slabs. Readers must
+ * {@link #retain()} before touching the bytes and {@link #release()} afterwards, since an
+ * evicted off-heap entry hands its memory back once the last reader is done.
+ */
+public interface StoredBytes {
+	
+	int length();
+	
+	/**
+	 * Memory actually taken by these bytes, including slab rounding.
+	 */
+	int footprint();
+	
+	boolean retain();
+	
+	void release();
+	
+	void writeTo(final OutputStream out) throws IOException;
+	
+	byte[] toByteArray();
+	
+}
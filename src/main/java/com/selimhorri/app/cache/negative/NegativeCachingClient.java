@@ -0,0 +1,83 @@
+package com.selimhorri.app.cache.negative;
+
+import java.io.IOException;
+import java.net.URI;
+
+import com.selimhorri.app.cache.model.NegativeResponse;
+import com.selimhorri.app.cache.service.NegativeCacheService;
+
+import feign.Client;
+import feign.Request;
+import feign.Request.HttpMethod;
+import feign.Response;
+import feign.Util;
+
+/**
+ * Feign {@link Client} decorator answering repeated GETs for unknown resources from the
+ * {@link NegativeCacheService} instead of going downstream again. The cached response is
+ * replayed through the regular decoding, so decode404 clients still get an empty body and
+ * the others still raise the same FeignException. A successful write forgets the misses of
+ * every client of the same downstream service, since it may create what those resolve,
+ * e.g. a new user makes its credential resolvable.
+ */
+public class NegativeCachingClient implements Client {
+	
+	private final Client delegate;
+	private final NegativeCacheService negativeCacheService;
+	
+	public NegativeCachingClient(final Client delegate, final NegativeCacheService negativeCacheService) {
+		this.delegate = delegate;
+		this.negativeCacheService = negativeCacheService;
+	}
+	
+	@Override
+	public Response execute(final Request request, final Request.Options options) throws IOException {
+		if (!this.negativeCacheService.isEnabled())
+			return this.delegate.execute(request, options);
+		
+		final String service = serviceOf(request);
+		if (request.httpMethod() != HttpMethod.GET) {
+			final Response response = this.delegate.execute(request, options);
+			if (response.status() >= 200 && response.status() < 300)
+				this.negativeCacheService.invalidateService(service);
+			return response;
+		}
+		
+		final NegativeResponse cached = this.negativeCacheService.get(service, request.url());
+		if (cached != null)
+			return replay(cached, request);
+		
+		final Response response = this.delegate.execute(request, options);
+		if (!this.negativeCacheService.isCacheable(response.status()))
+			return response;
+		
+		final byte[] body = (response.body() != null) ? Util.toByteArray(response.body().asInputStream()) : null;
+		Util.ensureClosed(response.body());
+		final NegativeResponse negativeResponse = 
+				new NegativeResponse(response.status(), response.reason(), response.headers(), body);
+		this.negativeCacheService.put(service, request.url(), negativeResponse);
+		return replay(negativeResponse, request);
+	}
+	
+	private static Response replay(final NegativeResponse negativeResponse, final Request request) {
+		return Response.builder()
+				.status(negativeResponse.getStatus())
+				.reason(negativeResponse.getReason())
+				.headers(negativeResponse.getHeaders())
+				.body(negativeResponse.getBody())
+				.request(request)
+				.build();
+	}
+	
+	/**
+	 * The host of the Feign target, i.e. the downstream service name for load-balanced clients.
+	 */
+	private static String serviceOf(final Request request) {
+		final String url = (request.requestTemplate() != null && request.requestTemplate().feignTarget() != null) 
+				? request.requestTemplate().feignTarget().url() 
+				: request.url();
+		final String host = URI.create(url).getHost();
+		return (host != null) ? host : url;
+	}
+	
+}
@@ -0,0 +1,76 @@
+package com.selimhorri.app.cache.offheap;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.selimhorri.app.cache.model.StoredBytes;
+
+/**
+ * Bytes copied into {@link SlabAllocator} blocks. The cache holds the first reference and
+ * drops it on removal, the blocks go back to the allocator when the last reader releases.
+ */
+public final class OffHeapBytes implements StoredBytes {
+	
+	private final SlabAllocator allocator;
+	private final int[] blocks;
+	private final int length;
+	private final AtomicInteger references = new AtomicInteger(1);
+	
+	private OffHeapBytes(final SlabAllocator allocator, final int[] blocks, final int length) {
+		this.allocator = allocator;
+		this.blocks = blocks;
+		this.length = length;
+	}
+	
+	/**
+	 * @return the stored copy, or null when the allocator is out of room
+	 */
+	public static OffHeapBytes store(final SlabAllocator allocator, final byte[] data) {
+		final int[] blocks = allocator.allocate(data.length);
+		if (blocks == null)
+			return null;
+		allocator.write(blocks, data);
+		return new OffHeapBytes(allocator, blocks, data.length);
+	}
+	
+	@Override
+	public int length() {
+		return this.length;
+	}
+	
+	@Override
+	public int footprint() {
+		return this.blocks.length * this.allocator.getBlockSize();
+	}
+	
+	@Override
+	public boolean retain() {
+		int current;
+		do {
+			current = this.references.get();
+			if (current == 0)
+				return false;
+		} while (!this.references.compareAndSet(current, current + 1));
+		return true;
+	}
+	
+	@Override
+	public void release() {
+		if (this.references.decrementAndGet() == 0)
+			this.allocator.free(this.blocks);
+	}
+	
+	@Override
+	public void writeTo(final OutputStream out) throws IOException {
+		this.allocator.transferTo(this.blocks, this.length, out);
+	}
+	
+	@Override
+	public byte[] toByteArray() {
+		final byte[] bytes = new byte[this.length];
+		this.allocator.read(this.blocks, this.length, bytes);
+		return bytes;
+	}
+	
+}
@@ -0,0 +1,122 @@
+package com.selimhorri.app.cache.offheap;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Hands out fixed-size blocks carved from direct {@link ByteBuffer} slabs. Slabs are
+ * reserved lazily up to a hard cap and never given back, freed blocks go on a LIFO free
+ * list and are reused first. A payload spans as many blocks as it needs, so the only
+ * waste is the tail of its last block.
+ */
+public class SlabAllocator {
+	
+	private final int blockSize;
+	private final int blocksPerSlab;
+	private final ByteBuffer[] slabs;
+	private final int[] freeBlocks;
+	private int freeCount;
+	private int slabCount;
+	private long usedBlocks;
+	private long failedAllocations;
+	
+	public SlabAllocator(final long maxMemory, final int slabSize, final int blockSize) {
+		if (blockSize <= 0 || slabSize < blockSize || maxMemory < slabSize)
+			throw new IllegalArgumentException(String.format(
+					"Invalid slab layout: maxMemory=%d, slabSize=%d, blockSize=%d", maxMemory, slabSize, blockSize));
+		this.blockSize = blockSize;
+		this.blocksPerSlab = slabSize / blockSize;
+		this.slabs = new ByteBuffer[Math.toIntExact(maxMemory / ((long) this.blocksPerSlab * blockSize))];
+		this.freeBlocks = new int[Math.multiplyExact(this.slabs.length, this.blocksPerSlab)];
+	}
+	
+	/**
+	 * @return the blocks now owned by the caller, or null when the cap leaves no room
+	 */
+	public synchronized int[] allocate(final int length) {
+		final int needed = Math.max(1, (length + this.blockSize - 1) / this.blockSize);
+		while (this.freeCount < needed && this.slabCount < this.slabs.length)
+			this.reserveSlab();
+		if (this.freeCount < needed) {
+			this.failedAllocations++;
+			return null;
+		}
+		final int[] blocks = new int[needed];
+		for (int i = 0; i < needed; i++)
+			blocks[i] = this.freeBlocks[--this.freeCount];
+		this.usedBlocks += needed;
+		return blocks;
+	}
+	
+	public synchronized void free(final int[] blocks) {
+		for (int i = blocks.length - 1; i >= 0; i--)
+			this.freeBlocks[this.freeCount++] = blocks[i];
+		this.usedBlocks -= blocks.length;
+	}
+	
+	public void write(final int[] blocks, final byte[] data) {
+		int offset = 0;
+		for (final int block : blocks) {
+			final int chunk = Math.min(this.blockSize, data.length - offset);
+			this.block(block).put(data, offset, chunk);
+			offset += chunk;
+		}
+	}
+	
+	public void read(final int[] blocks, final int length, final byte[] target) {
+		int offset = 0;
+		for (final int block : blocks) {
+			final int chunk = Math.min(this.blockSize, length - offset);
+			this.block(block).get(target, offset, chunk);
+			offset += chunk;
+		}
+	}
+	
+	public void transferTo(final int[] blocks, final int length, final OutputStream out) throws IOException {
+		final byte[] buffer = new byte[Math.min(this.blockSize, length)];
+		int remaining = length;
+		for (final int block : blocks) {
+			final int chunk = Math.min(this.blockSize, remaining);
+			this.block(block).get(buffer, 0, chunk);
+			out.write(buffer, 0, chunk);
+			remaining -= chunk;
+		}
+	}
+	
+	private void reserveSlab() {
+		this.slabs[this.slabCount] = ByteBuffer.allocateDirect(this.blocksPerSlab * this.blockSize);
+		final int first = this.slabCount * this.blocksPerSlab;
+		for (int block = first + this.blocksPerSlab - 1; block >= first; block--)
+			this.freeBlocks[this.freeCount++] = block;
+		this.slabCount++;
+	}
+	
+	private ByteBuffer block(final int block) {
+		final ByteBuffer view = this.slabs[block / this.blocksPerSlab].duplicate();
+		final int offset = (block % this.blocksPerSlab) * this.blockSize;
+		view.limit(offset + this.blockSize).position(offset);
+		return view;
+	}
+	
+	public int getBlockSize() {
+		return this.blockSize;
+	}
+	
+	public long capacity() {
+		return (long) this.freeBlocks.length * this.blockSize;
+	}
+	
+	public synchronized long reservedBytes() {
+		return (long) this.slabCount * this.blocksPerSlab * this.blockSize;
+	}
+	
+	public synchronized long usedBytes() {
+		return this.usedBlocks * this.blockSize;
+	}
+	
+	public synchronized long failedAllocations() {
+		return this.failedAllocations;
+	}
+	
+}
@@ -0,0 +1,14 @@
+package com.selimhorri.app.cache.service;
+
+import com.selimhorri.app.cache.model.NegativeResponse;
+
+public interface NegativeCacheService {
+	
+	boolean isEnabled();
+	boolean isCacheable(final int status);
+	NegativeResponse get(final String service, final String requestKey);
+	void put(final String service, final String requestKey, final NegativeResponse negativeResponse);
+	void invalidateService(final String service);
+	void invalidateAll();
+	
+}
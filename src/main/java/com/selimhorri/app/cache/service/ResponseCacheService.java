@@ -0,0 +1,15 @@
+package com.selimhorri.app.cache.service;
+
+import com.selimhorri.app.cache.model.CachedResponse;
+
+public interface ResponseCacheService {
+	
+	boolean isEnabled();
+	String resolveGroup(final String path);
+	CachedResponse get(final String group, final String representationKey);
+	CachedResponse put(final String group, final String representationKey, final String contentType, final byte[] body);
+	void invalidateGroup(final String group);
+	void invalidateAll();
+	void recordServed(final int bytes, final boolean gzipped);
+	
+}
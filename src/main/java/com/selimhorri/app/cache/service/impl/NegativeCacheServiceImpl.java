@@ -0,0 +1,127 @@
+package com.selimhorri.app.cache.service.impl;
+
+import java.util.List;
+
+import org.springframework.stereotype.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.selimhorri.app.cache.CacheProperties;
+import com.selimhorri.app.cache.admin.CacheStatistics;
+import com.selimhorri.app.cache.admin.ManagedCache;
+import com.selimhorri.app.cache.admin.ManagedCacheSource;
+import com.selimhorri.app.cache.invalidation.CacheInvalidationListener;
+import com.selimhorri.app.cache.invalidation.InvalidationEvent;
+import com.selimhorri.app.cache.model.NegativeResponse;
+import com.selimhorri.app.cache.service.NegativeCacheService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Short-lived, size-bounded store of downstream misses. Entries are grouped by downstream
+ * service so that a successful write to a service forgets the misses of all its resources.
+ */
+@Service
+@Slf4j
+public class NegativeCacheServiceImpl implements NegativeCacheService, CacheInvalidationListener, ManagedCacheSource, 
+		MeterBinder {
+	
+	private static final String CACHE_NAME = "negative-responses";
+	private static final char KEY_SEPARATOR = '\n';
+	
+	private final CacheProperties.NegativeCacheSpec spec;
+	private final Cache<String, NegativeResponse> cache;
+	
+	public NegativeCacheServiceImpl(final CacheProperties cacheProperties) {
+		this.spec = cacheProperties.getNegative();
+		this.cache = Caffeine.newBuilder()
+				.expireAfterWrite(this.spec.getTtl())
+				.maximumSize(this.spec.getMaximumSize())
+				.recordStats()
+				.build();
+	}
+	
+	@Override
+	public boolean isEnabled() {
+		return this.spec.isEnabled();
+	}
+	
+	@Override
+	public boolean isCacheable(final int status) {
+		return this.spec.getStatuses().contains(status);
+	}
+	
+	@Override
+	public NegativeResponse get(final String service, final String requestKey) {
+		return this.cache.getIfPresent(service + KEY_SEPARATOR + requestKey);
+	}
+	
+	@Override
+	public void put(final String service, final String requestKey, final NegativeResponse negativeResponse) {
+		if (negativeResponse.getBody() != null 
+				&& negativeResponse.getBody().length > this.spec.getMaximumBodySize().toBytes())
+			return;
+		this.cache.put(service + KEY_SEPARATOR + requestKey, negativeResponse);
+	}
+	
+	@Override
+	public void invalidateService(final String service) {
+		final String prefix = service + KEY_SEPARATOR;
+		if (this.cache.asMap().keySet().removeIf(key -> key.startsWith(prefix)))
+			log.info("**NegativeCacheService, forgot cached misses of {}*\n", service);
+	}
+	
+	/**
+	 * Forgets the misses of every downstream url under the written resource, a create on
+	 * another replica may have just made one of them resolvable.
+	 */
+	@Override
+	public void onInvalidation(final InvalidationEvent event) {
+		if (InvalidationEvent.ALL_RESOURCES.equals(event.getResource())) {
+			this.cache.invalidateAll();
+			return;
+		}
+		final String resourcePath = "/api/" + event.getResource();
+		this.cache.asMap().keySet().removeIf(key -> {
+			final int index = key.indexOf(resourcePath, key.indexOf(KEY_SEPARATOR));
+			if (index < 0)
+				return false;
+			final int end = index + resourcePath.length();
+			return end == key.length() || key.charAt(end) == '/' || key.charAt(end) == '?';
+		});
+	}
+	
+	/**
+	 * Keys are downstream service names.
+	 */
+	@Override
+	public List<ManagedCache> getManagedCaches() {
+		return List.of(new ManagedCache(CACHE_NAME, this::statistics, this::invalidateAll, this::invalidateService));
+	}
+	
+	private CacheStatistics statistics() {
+		final CacheStats stats = this.cache.stats();
+		return CacheStatistics.builder()
+				.name(CACHE_NAME)
+				.size(this.cache.estimatedSize())
+				.hits(stats.hitCount())
+				.misses(stats.missCount())
+				.evictions(stats.evictionCount())
+				.build();
+	}
+	
+	@Override
+	public void invalidateAll() {
+		this.cache.invalidateAll();
+	}
+	
+	@Override
+	public void bindTo(final MeterRegistry registry) {
+		CaffeineCacheMetrics.monitor(registry, this.cache, CACHE_NAME);
+	}
+	
+}
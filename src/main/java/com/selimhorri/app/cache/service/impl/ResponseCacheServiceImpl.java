@@ -0,0 +1,286 @@
+package com.selimhorri.app.cache.service.impl;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.stereotype.Service;
+import org.springframework.util.AntPathMatcher;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.selimhorri.app.cache.CacheProperties;
+import com.selimhorri.app.cache.SerializedBody;
+import com.selimhorri.app.cache.admin.CacheStatistics;
+import com.selimhorri.app.cache.admin.ManagedCache;
+import com.selimhorri.app.cache.admin.ManagedCacheSource;
+import com.selimhorri.app.cache.invalidation.CacheInvalidationListener;
+import com.selimhorri.app.cache.invalidation.InvalidationEvent;
+import com.selimhorri.app.cache.model.CachedResponse;
+import com.selimhorri.app.cache.model.HeapBytes;
+import com.selimhorri.app.cache.model.StoredBytes;
+import com.selimhorri.app.cache.offheap.OffHeapBytes;
+import com.selimhorri.app.cache.offheap.SlabAllocator;
+import com.selimhorri.app.cache.service.ResponseCacheService;
+import com.selimhorri.app.cache.spi.CacheProvider;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Byte-budgeted store of encoded response bodies. Entries are keyed by route group and
+ * representation so that a write to a group drops all of its responses at once. With
+ * off-heap storage enabled the bodies live in {@link SlabAllocator} slabs and the Caffeine
+ * map is only the index, its weight budget then being the slab capacity. A configured
+ * shared tier is consulted on local misses and receives every stored body.
+ */
+@Service
+@Slf4j
+public class ResponseCacheServiceImpl implements ResponseCacheService, CacheInvalidationListener, ManagedCacheSource, 
+		MeterBinder {
+	
+	private static final String CACHE_NAME = "responses";
+	private static final String SHARED_REGION_PREFIX = "responses:";
+	private static final char KEY_SEPARATOR = '\n';
+	private static final int EVICTION_BATCH = 16;
+	
+	private final CacheProperties.ResponseCacheSpec spec;
+	private final AntPathMatcher pathMatcher = new AntPathMatcher();
+	private final SlabAllocator allocator;
+	private final Cache<String, CachedResponse> cache;
+	private final CacheProvider sharedTier;
+	private final LongAdder identityBytesServed = new LongAdder();
+	private final LongAdder gzipBytesServed = new LongAdder();
+	
+	public ResponseCacheServiceImpl(final CacheProperties cacheProperties, final CacheProvider cacheProvider) {
+		this.spec = cacheProperties.getResponses();
+		this.sharedTier = cacheProvider.sharedTier().orElse(null);
+		final CacheProperties.OffHeapSpec offHeap = this.spec.getOffHeap();
+		this.allocator = offHeap.isEnabled() 
+				? new SlabAllocator(offHeap.getMaxMemory().toBytes(), 
+						Math.toIntExact(offHeap.getSlabSize().toBytes()), Math.toIntExact(offHeap.getBlockSize().toBytes())) 
+				: null;
+		this.cache = Caffeine.newBuilder()
+				.expireAfterWrite(this.spec.getTtl())
+				.maximumWeight((this.allocator != null) ? this.allocator.capacity() : this.spec.getMaximumWeight().toBytes())
+				.<String, CachedResponse>weigher((key, cachedResponse) -> cachedResponse.weight())
+				// release on the calling thread so that evicted slabs are reusable right away
+				.executor(Runnable::run)
+				.removalListener((String key, CachedResponse cachedResponse, RemovalCause cause) -> cachedResponse.release())
+				.recordStats()
+				.build();
+	}
+	
+	@Override
+	public boolean isEnabled() {
+		return this.spec.isEnabled();
+	}
+	
+	@Override
+	public String resolveGroup(final String path) {
+		final List<String> patterns = this.spec.getPatterns();
+		return patterns.stream()
+				.filter(pattern -> this.pathMatcher.match(pattern, path))
+				.findFirst()
+				.orElse(null);
+	}
+	
+	@Override
+	public CachedResponse get(final String group, final String representationKey) {
+		final CachedResponse cachedResponse = this.cache.getIfPresent(group + KEY_SEPARATOR + representationKey);
+		if (cachedResponse != null || this.sharedTier == null)
+			return cachedResponse;
+		final byte[] shared = this.sharedTier.get(SHARED_REGION_PREFIX + group, representationKey);
+		if (shared == null)
+			return null;
+		final ByteBuffer record = ByteBuffer.wrap(shared);
+		final byte[] contentType = new byte[record.getInt()];
+		record.get(contentType);
+		final byte[] body = new byte[record.remaining()];
+		record.get(body);
+		return this.storeLocally(group, representationKey, new String(contentType, StandardCharsets.UTF_8), body);
+	}
+	
+	@Override
+	public CachedResponse put(final String group, final String representationKey, final String contentType, 
+			final byte[] body) {
+		if (body.length > this.spec.getMaximumEntrySize().toBytes())
+			return null;
+		if (this.sharedTier != null) {
+			final byte[] contentTypeBytes = contentType.getBytes(StandardCharsets.UTF_8);
+			this.sharedTier.put(SHARED_REGION_PREFIX + group, representationKey, 
+					ByteBuffer.allocate(4 + contentTypeBytes.length + body.length)
+							.putInt(contentTypeBytes.length)
+							.put(contentTypeBytes)
+							.put(body)
+							.array(), 
+					this.spec.getTtl());
+		}
+		return this.storeLocally(group, representationKey, contentType, body);
+	}
+	
+	private CachedResponse storeLocally(final String group, final String representationKey, final String contentType, 
+			final byte[] body) {
+		final StoredBytes storedBody = this.store(body);
+		if (storedBody == null)
+			return null;
+		final byte[] gzipped = (body.length >= this.spec.getGzipMinSize().toBytes()) ? gzip(body) : null;
+		final CachedResponse cachedResponse = new CachedResponse(contentType, SerializedBody.etagOf(body), storedBody, 
+				(gzipped != null && gzipped.length < body.length) ? this.store(gzipped) : null);
+		this.cache.put(group + KEY_SEPARATOR + representationKey, cachedResponse);
+		return cachedResponse;
+	}
+	
+	@Override
+	public void invalidateGroup(final String group) {
+		log.info("**ResponseCacheService, invalidating cached responses of {}*\n", group);
+		this.invalidateLocalGroup(group);
+		if (this.sharedTier != null)
+			this.sharedTier.clear(SHARED_REGION_PREFIX + group);
+	}
+	
+	@Override
+	public void onInvalidation(final InvalidationEvent event) {
+		if (InvalidationEvent.ALL_RESOURCES.equals(event.getResource())) {
+			this.cache.invalidateAll();
+			return;
+		}
+		final String group = this.resolveGroup("/api/" + event.getResource() 
+				+ (event.isWholeResource() ? "" : "/" + event.getId()));
+		if (group != null)
+			this.invalidateLocalGroup(group);
+	}
+	
+	private void invalidateLocalGroup(final String group) {
+		final String prefix = group + KEY_SEPARATOR;
+		this.cache.asMap().keySet().removeIf(key -> key.startsWith(prefix));
+	}
+	
+	/**
+	 * Keys are route groups, the patterns under app.cache.responses.patterns.
+	 */
+	@Override
+	public List<ManagedCache> getManagedCaches() {
+		return List.of(new ManagedCache(CACHE_NAME, this::statistics, this::invalidateAll, this::invalidateGroup));
+	}
+	
+	private CacheStatistics statistics() {
+		final CacheStats stats = this.cache.stats();
+		return CacheStatistics.builder()
+				.name(CACHE_NAME)
+				.size(this.cache.estimatedSize())
+				.weightBytes(this.cache.policy().eviction()
+						.map(eviction -> eviction.weightedSize().orElse(0L))
+						.orElse(0L))
+				.hits(stats.hitCount())
+				.misses(stats.missCount())
+				.evictions(stats.evictionCount())
+				.build();
+	}
+	
+	@Override
+	public void invalidateAll() {
+		this.cache.invalidateAll();
+		if (this.sharedTier != null)
+			this.spec.getPatterns().forEach(group -> this.sharedTier.clear(SHARED_REGION_PREFIX + group));
+	}
+	
+	@Override
+	public void recordServed(final int bytes, final boolean gzipped) {
+		(gzipped ? this.gzipBytesServed : this.identityBytesServed).add(bytes);
+	}
+	
+	private StoredBytes store(final byte[] bytes) {
+		if (this.allocator == null)
+			return new HeapBytes(bytes);
+		final OffHeapBytes stored = OffHeapBytes.store(this.allocator, bytes);
+		if (stored != null)
+			return stored;
+		this.evictColdest(bytes.length);
+		return OffHeapBytes.store(this.allocator, bytes);
+	}
+	
+	/**
+	 * Caffeine only evicts once its weight budget is exceeded, while the slabs can run out
+	 * earlier because of block rounding and bodies still held by readers.
+	 */
+	private void evictColdest(final long bytes) {
+		long freed = 0;
+		final Map<String, CachedResponse> coldest = this.cache.policy().eviction()
+				.map(eviction -> eviction.coldest(EVICTION_BATCH))
+				.orElse(Map.of());
+		for (final Map.Entry<String, CachedResponse> entry : coldest.entrySet()) {
+			if (freed >= bytes)
+				break;
+			if (this.cache.asMap().remove(entry.getKey(), entry.getValue()))
+				freed += entry.getValue().weight();
+		}
+	}
+	
+	@Override
+	public void bindTo(final MeterRegistry registry) {
+		CaffeineCacheMetrics.monitor(registry, this.cache, CACHE_NAME);
+		Gauge.builder("cache.weight", this.cache, 
+						cache -> cache.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0L)).orElse(0L))
+				.tag("cache", CACHE_NAME)
+				.description("Bytes held by cached responses")
+				.baseUnit(BaseUnits.BYTES)
+				.register(registry);
+		FunctionCounter.builder("gateway.response.cache.served", this.identityBytesServed, LongAdder::doubleValue)
+				.tag("encoding", "identity")
+				.description("Response bytes written straight from the response cache")
+				.baseUnit(BaseUnits.BYTES)
+				.register(registry);
+		FunctionCounter.builder("gateway.response.cache.served", this.gzipBytesServed, LongAdder::doubleValue)
+				.tag("encoding", "gzip")
+				.description("Response bytes written straight from the response cache")
+				.baseUnit(BaseUnits.BYTES)
+				.register(registry);
+		if (this.allocator != null)
+			this.bindOffHeapMetrics(registry);
+	}
+	
+	private void bindOffHeapMetrics(final MeterRegistry registry) {
+		Gauge.builder("gateway.response.cache.offheap.capacity", this.allocator, SlabAllocator::capacity)
+				.description("Hard cap on direct memory for cached response bodies")
+				.baseUnit(BaseUnits.BYTES)
+				.register(registry);
+		Gauge.builder("gateway.response.cache.offheap.reserved", this.allocator, SlabAllocator::reservedBytes)
+				.description("Direct memory reserved by response cache slabs")
+				.baseUnit(BaseUnits.BYTES)
+				.register(registry);
+		Gauge.builder("gateway.response.cache.offheap.used", this.allocator, SlabAllocator::usedBytes)
+				.description("Slab blocks holding cached response bodies")
+				.baseUnit(BaseUnits.BYTES)
+				.register(registry);
+		FunctionCounter.builder("gateway.response.cache.offheap.allocation.failures", this.allocator, 
+						SlabAllocator::failedAllocations)
+				.description("Bodies that did not fit in the slabs")
+				.register(registry);
+	}
+	
+	private static byte[] gzip(final byte[] body) {
+		final ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 2 + 32);
+		try (final GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+			gzip.write(body);
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return out.toByteArray();
+	}
+	
+}
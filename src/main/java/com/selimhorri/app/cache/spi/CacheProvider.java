@@ -0,0 +1,60 @@
+package com.selimhorri.app.cache.spi;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import com.selimhorri.app.cache.admin.ManagedCache;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Byte-level store behind the gateway caches. Values are opaque to providers, regions
+ * namespace the keys and can be cleared as a whole. Providers never throw on an
+ * unreachable backend, a read then misses and a write is dropped.
+ */
+public interface CacheProvider extends MeterBinder {
+	
+	String getName();
+	
+	byte[] get(final String region, final String key);
+	
+	void put(final String region, final String key, final byte[] value, final Duration ttl);
+	
+	void evict(final String region, final String key);
+	
+	void clear(final String region);
+	
+	/**
+	 * The part of this provider shared between replicas, for caches that already keep
+	 * their own in-process tier and would otherwise hold every value twice.
+	 */
+	Optional<CacheProvider> sharedTier();
+	
+	/**
+	 * The part of this provider held in process, for values another replica's write must
+	 * be able to drop: announced writes only ever reach the in-process tier.
+	 */
+	default Optional<CacheProvider> nearTier() {
+		return Optional.empty();
+	}
+	
+	/**
+	 * Drops the region from the in-process tier only, for writes another replica made and
+	 * already applied to the shared tier.
+	 */
+	default void clearLocal(final String region) {
+		// nothing held in process by default
+	}
+	
+	/**
+	 * The in-process tier for operators, keys are given as region:key.
+	 */
+	default Optional<ManagedCache> localTier() {
+		return Optional.empty();
+	}
+	
+	default void close() {
+		// nothing held by default
+	}
+	
+}
@@ -0,0 +1,118 @@
+package com.selimhorri.app.cache.spi;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.selimhorri.app.cache.LoadLatency;
+import com.selimhorri.app.cache.admin.CacheStatistics;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Typed view of one region of a {@link CacheProvider}, values are stored as JSON. A
+ * region without a provider caches nothing.
+ */
+@Slf4j
+public class CacheRegion<V> {
+	
+	@Getter
+	private final String name;
+	private final Duration ttl;
+	private final CacheProvider provider;
+	private final ObjectMapper objectMapper;
+	private final JavaType type;
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder loadFailures = new LongAdder();
+	private final LoadLatency loadLatency = new LoadLatency();
+	
+	public CacheRegion(final String name, final Duration ttl, final CacheProvider provider, 
+			final ObjectMapper objectMapper, final JavaType type) {
+		this.name = name;
+		this.ttl = ttl;
+		this.provider = provider;
+		this.objectMapper = objectMapper;
+		this.type = type;
+	}
+	
+	public V get(final String key) {
+		final byte[] bytes = (this.provider != null) ? this.provider.get(this.name, key) : null;
+		if (bytes == null)
+			return null;
+		try {
+			return this.objectMapper.readValue(bytes, this.type);
+		}
+		catch (IOException e) {
+			log.warn("**CacheRegion {}, dropping unreadable entry {}: {}*\n", this.name, key, e.getMessage());
+			this.provider.evict(this.name, key);
+			return null;
+		}
+	}
+	
+	public V get(final String key, final Supplier<V> loader) {
+		final V cached = this.get(key);
+		if (cached != null) {
+			this.hits.increment();
+			return cached;
+		}
+		this.misses.increment();
+		final V loaded;
+		try {
+			loaded = this.loadLatency.time(loader);
+		}
+		catch (RuntimeException e) {
+			this.loadFailures.increment();
+			throw e;
+		}
+		this.put(key, loaded);
+		return loaded;
+	}
+	
+	public void put(final String key, final V value) {
+		if (this.provider == null || value == null)
+			return;
+		try {
+			this.provider.put(this.name, key, this.objectMapper.writeValueAsBytes(value), this.ttl);
+		}
+		catch (JsonProcessingException e) {
+			log.warn("**CacheRegion {}, could not serialize entry {}: {}*\n", this.name, key, e.getMessage());
+		}
+	}
+	
+	public void evict(final String key) {
+		if (this.provider != null)
+			this.provider.evict(this.name, key);
+	}
+	
+	public void clear() {
+		if (this.provider != null)
+			this.provider.clear(this.name);
+	}
+	
+	/**
+	 * Hits and misses only count lookups that come with a loader. The region shares the
+	 * provider with others, so its size is unknown.
+	 */
+	public CacheStatistics statistics() {
+		return CacheStatistics.builder()
+				.name(this.name)
+				.hits(this.hits.sum())
+				.misses(this.misses.sum())
+				.loads(this.loadLatency.count())
+				.loadFailures(this.loadFailures.sum())
+				.loadTimeP99Millis(CacheStatistics.orNull(this.loadLatency.percentileMillis(0.99)))
+				.build();
+	}
+	
+	public void clearLocal() {
+		if (this.provider != null)
+			this.provider.clearLocal(this.name);
+	}
+	
+}
@@ -0,0 +1,81 @@
+package com.selimhorri.app.cache.spi;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.selimhorri.app.cache.CacheProperties.RegionSpec;
+import com.selimhorri.app.cache.admin.ManagedCache;
+import com.selimhorri.app.cache.admin.ManagedCacheSource;
+
+import lombok.Getter;
+
+/**
+ * Creates the {@link CacheRegion}s of the gateway over the configured provider.
+ */
+public class CacheRegions implements ManagedCacheSource {
+	
+	@Getter
+	private final CacheProvider provider;
+	private final ObjectMapper objectMapper;
+	private final List<CacheRegion<?>> regions = new CopyOnWriteArrayList<>();
+	
+	public CacheRegions(final CacheProvider provider, final ObjectMapper objectMapper) {
+		this.provider = provider;
+		this.objectMapper = objectMapper;
+	}
+	
+	public <V> CacheRegion<V> region(final String name, final Duration ttl, final Class<V> type) {
+		return this.register(new CacheRegion<>(name, ttl, this.provider, this.objectMapper, 
+				this.objectMapper.constructType(type)));
+	}
+	
+	/**
+	 * Region configured by a {@link RegionSpec}, a disabled spec yields a region that caches nothing.
+	 */
+	public <V> CacheRegion<V> region(final String name, final RegionSpec spec, final Class<V> type) {
+		return this.register(new CacheRegion<>(name, spec.getTtl(), spec.isEnabled() ? this.provider : null, 
+				this.objectMapper, this.objectMapper.constructType(type)));
+	}
+	
+	/**
+	 * Region configured by a {@link RegionSpec} and backed by the in-process tier only, for
+	 * values keyed by something other than the id writes announce. It caches nothing when the
+	 * provider has no in-process tier.
+	 */
+	public <V> CacheRegion<V> localRegion(final String name, final RegionSpec spec, final Class<V> type) {
+		return this.register(new CacheRegion<>(name, spec.getTtl(), 
+				spec.isEnabled() ? this.provider.nearTier().orElse(null) : null, 
+				this.objectMapper, this.objectMapper.constructType(type)));
+	}
+	
+	/**
+	 * Region backed by the shared tier only, for callers that keep their own in-process
+	 * cache. It caches nothing when no shared provider is configured.
+	 */
+	public <V> CacheRegion<V> sharedRegion(final String name, final Duration ttl, final Class<V> type) {
+		return new CacheRegion<>(name, ttl, this.provider.sharedTier().orElse(null), this.objectMapper, 
+				this.objectMapper.constructType(type));
+	}
+	
+	/**
+	 * Regions created through {@link #region}, shared-only regions belong to caches that
+	 * report themselves, plus the in-process tier of the provider.
+	 */
+	@Override
+	public List<ManagedCache> getManagedCaches() {
+		final List<ManagedCache> managedCaches = new ArrayList<>();
+		this.regions.forEach(region -> managedCaches.add(
+				new ManagedCache(region.getName(), region::statistics, region::clear, region::evict)));
+		this.provider.localTier().ifPresent(managedCaches::add);
+		return managedCaches;
+	}
+	
+	private <V> CacheRegion<V> register(final CacheRegion<V> region) {
+		this.regions.add(region);
+		return region;
+	}
+	
+}
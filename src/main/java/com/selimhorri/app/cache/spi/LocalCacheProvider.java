@@ -0,0 +1,142 @@
+package com.selimhorri.app.cache.spi;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import org.springframework.util.unit.DataSize;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.selimhorri.app.cache.admin.CacheStatistics;
+import com.selimhorri.app.cache.admin.ManagedCache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * In-process provider, used alone on a single replica and as the near cache in front of
+ * a shared one. Every entry keeps the ttl it was written with.
+ */
+public class LocalCacheProvider implements CacheProvider {
+	
+	private static final char KEY_SEPARATOR = '\n';
+	
+	private final String name;
+	private final Cache<String, Entry> cache;
+	
+	public LocalCacheProvider(final String name, final DataSize maximumWeight) {
+		this.name = name;
+		this.cache = Caffeine.newBuilder()
+				.maximumWeight(maximumWeight.toBytes())
+				.<String, Entry>weigher((key, entry) -> 48 + 2 * key.length() + entry.value.length)
+				.expireAfter(new Expiry<String, Entry>() {
+					
+					@Override
+					public long expireAfterCreate(final String key, final Entry entry, final long currentTime) {
+						return entry.ttlNanos;
+					}
+					
+					@Override
+					public long expireAfterUpdate(final String key, final Entry entry, final long currentTime, 
+							final long currentDuration) {
+						return entry.ttlNanos;
+					}
+					
+					@Override
+					public long expireAfterRead(final String key, final Entry entry, final long currentTime, 
+							final long currentDuration) {
+						return currentDuration;
+					}
+					
+				})
+				.recordStats()
+				.build();
+	}
+	
+	@Override
+	public String getName() {
+		return this.name;
+	}
+	
+	@Override
+	public byte[] get(final String region, final String key) {
+		final Entry entry = this.cache.getIfPresent(region + KEY_SEPARATOR + key);
+		return (entry != null) ? entry.value : null;
+	}
+	
+	@Override
+	public void put(final String region, final String key, final byte[] value, final Duration ttl) {
+		this.cache.put(region + KEY_SEPARATOR + key, new Entry(value, ttl.toNanos()));
+	}
+	
+	@Override
+	public void evict(final String region, final String key) {
+		this.cache.invalidate(region + KEY_SEPARATOR + key);
+	}
+	
+	@Override
+	public void clear(final String region) {
+		final String prefix = region + KEY_SEPARATOR;
+		this.cache.asMap().keySet().removeIf(key -> key.startsWith(prefix));
+	}
+	
+	@Override
+	public void clearLocal(final String region) {
+		this.clear(region);
+	}
+	
+	@Override
+	public Optional<ManagedCache> localTier() {
+		return Optional.of(new ManagedCache(this.name, this::statistics, this.cache::invalidateAll, regionAndKey -> {
+			final int separator = regionAndKey.indexOf(':');
+			if (separator < 0)
+				this.clear(regionAndKey);
+			else
+				this.evict(regionAndKey.substring(0, separator), regionAndKey.substring(separator + 1));
+		}));
+	}
+	
+	private CacheStatistics statistics() {
+		final CacheStats stats = this.cache.stats();
+		return CacheStatistics.builder()
+				.name(this.name)
+				.size(this.cache.estimatedSize())
+				.weightBytes(this.cache.policy().eviction()
+						.map(eviction -> eviction.weightedSize().orElse(0L))
+						.orElse(0L))
+				.hits(stats.hitCount())
+				.misses(stats.missCount())
+				.evictions(stats.evictionCount())
+				.build();
+	}
+	
+	@Override
+	public Optional<CacheProvider> sharedTier() {
+		return Optional.empty();
+	}
+	
+	@Override
+	public Optional<CacheProvider> nearTier() {
+		return Optional.of(this);
+	}
+	
+	@Override
+	public void bindTo(final MeterRegistry registry) {
+		CaffeineCacheMetrics.monitor(registry, this.cache, this.name);
+	}
+	
+	private static final class Entry {
+		
+		private final byte[] value;
+		private final long ttlNanos;
+		
+		private Entry(final byte[] value, final long ttlNanos) {
+			this.value = value;
+			this.ttlNanos = ttlNanos;
+		}
+		
+	}
+	
+}
@@ -0,0 +1,93 @@
+package com.selimhorri.app.cache.spi;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import com.selimhorri.app.cache.admin.ManagedCache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Local near cache in front of a shared L2. Reads fill the near cache from L2 for at
+ * most the near ttl, which bounds how long a replica can serve a value another replica
+ * has already replaced. Writes and evictions go to both tiers.
+ */
+public class TieredCacheProvider implements CacheProvider {
+	
+	private final CacheProvider near;
+	private final CacheProvider shared;
+	private final Duration nearTtl;
+	
+	public TieredCacheProvider(final CacheProvider near, final CacheProvider shared, final Duration nearTtl) {
+		this.near = near;
+		this.shared = shared;
+		this.nearTtl = nearTtl;
+	}
+	
+	@Override
+	public String getName() {
+		return this.near.getName() + "+" + this.shared.getName();
+	}
+	
+	@Override
+	public byte[] get(final String region, final String key) {
+		final byte[] value = this.near.get(region, key);
+		if (value != null)
+			return value;
+		final byte[] sharedValue = this.shared.get(region, key);
+		if (sharedValue != null)
+			this.near.put(region, key, sharedValue, this.nearTtl);
+		return sharedValue;
+	}
+	
+	@Override
+	public void put(final String region, final String key, final byte[] value, final Duration ttl) {
+		this.shared.put(region, key, value, ttl);
+		this.near.put(region, key, value, (ttl.compareTo(this.nearTtl) < 0) ? ttl : this.nearTtl);
+	}
+	
+	@Override
+	public void evict(final String region, final String key) {
+		this.shared.evict(region, key);
+		this.near.evict(region, key);
+	}
+	
+	@Override
+	public void clear(final String region) {
+		this.shared.clear(region);
+		this.near.clear(region);
+	}
+	
+	@Override
+	public void clearLocal(final String region) {
+		this.near.clear(region);
+	}
+	
+	@Override
+	public Optional<ManagedCache> localTier() {
+		return this.near.localTier();
+	}
+	
+	@Override
+	public Optional<CacheProvider> sharedTier() {
+		return Optional.of(this.shared);
+	}
+	
+	@Override
+	public Optional<CacheProvider> nearTier() {
+		return Optional.of(this.near);
+	}
+	
+	@Override
+	public void close() {
+		this.shared.close();
+		this.near.close();
+	}
+	
+	@Override
+	public void bindTo(final MeterRegistry registry) {
+		this.near.bindTo(registry);
+		this.shared.bindTo(registry);
+	}
+	
+}
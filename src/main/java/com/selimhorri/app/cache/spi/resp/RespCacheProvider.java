@@ -0,0 +1,179 @@
+package com.selimhorri.app.cache.spi.resp;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.selimhorri.app.cache.spi.CacheProvider;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Shared provider over any server speaking RESP (Redis, Valkey, KeyDB, ...). Keys are
+ * {@code <prefix><region>:<key>} and expire server side. Each region has a generation
+ * counter at {@code <prefix>generation:<region>}. Values are stored with the generation
+ * they were written under and read in the same round trip as it. Clearing a region
+ * increments the counter, which takes one command whatever the size of the keyspace;
+ * the entries it orphans expire with their ttl. When the server cannot be reached the
+ * provider stops calling it for the retry interval and behaves as an empty cache.
+ */
+@Slf4j
+public class RespCacheProvider implements CacheProvider {
+	
+	private static final String GENERATION_PREFIX = "generation:";
+	private static final byte GENERATION_SEPARATOR = ':';
+	private static final byte[] INITIAL_GENERATION = { '0' };
+	
+	private final RespClient client;
+	private final String keyPrefix;
+	private final long retryIntervalMillis;
+	private volatile long unavailableUntil;
+	
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder errors = new LongAdder();
+	
+	public RespCacheProvider(final RespClient client, final String keyPrefix, final Duration retryInterval) {
+		this.client = client;
+		this.keyPrefix = keyPrefix;
+		this.retryIntervalMillis = retryInterval.toMillis();
+	}
+	
+	@Override
+	public String getName() {
+		return "resp";
+	}
+	
+	@Override
+	public byte[] get(final String region, final String key) {
+		if (this.isUnavailable())
+			return null;
+		try {
+			final List<?> reply = (List<?>) this.client.execute(utf8("MGET"), this.generationKeyOf(region), 
+					this.keyOf(region, key));
+			final byte[] value = unwrap((byte[]) reply.get(0), (byte[]) reply.get(1));
+			(value != null ? this.hits : this.misses).increment();
+			return value;
+		}
+		catch (IOException e) {
+			this.onFailure("MGET", e);
+			return null;
+		}
+	}
+	
+	@Override
+	public void put(final String region, final String key, final byte[] value, final Duration ttl) {
+		if (this.isUnavailable())
+			return;
+		try {
+			// a clear between the two commands leaves the value under the old generation, i.e. cleared too
+			final byte[] generation = (byte[]) this.client.execute(utf8("GET"), this.generationKeyOf(region));
+			this.client.execute(utf8("SET"), this.keyOf(region, key), wrap(generation, value), 
+					utf8("PX"), utf8(String.valueOf(Math.max(1, ttl.toMillis()))));
+		}
+		catch (IOException e) {
+			this.onFailure("SET", e);
+		}
+	}
+	
+	@Override
+	public void evict(final String region, final String key) {
+		if (this.isUnavailable())
+			return;
+		try {
+			this.client.execute(utf8("DEL"), this.keyOf(region, key));
+		}
+		catch (IOException e) {
+			this.onFailure("DEL", e);
+		}
+	}
+	
+	@Override
+	public void clear(final String region) {
+		if (this.isUnavailable())
+			return;
+		try {
+			this.client.execute(utf8("INCR"), this.generationKeyOf(region));
+		}
+		catch (IOException e) {
+			this.onFailure("INCR", e);
+		}
+	}
+	
+	@Override
+	public Optional<CacheProvider> sharedTier() {
+		return Optional.of(this);
+	}
+	
+	@Override
+	public void close() {
+		this.client.close();
+	}
+	
+	@Override
+	public void bindTo(final MeterRegistry registry) {
+		FunctionCounter.builder("gateway.cache.shared.requests", this.hits, LongAdder::doubleValue)
+				.tag("result", "hit")
+				.description("Reads against the shared cache")
+				.register(registry);
+		FunctionCounter.builder("gateway.cache.shared.requests", this.misses, LongAdder::doubleValue)
+				.tag("result", "miss")
+				.description("Reads against the shared cache")
+				.register(registry);
+		FunctionCounter.builder("gateway.cache.shared.errors", this.errors, LongAdder::doubleValue)
+				.description("Shared cache commands that failed")
+				.register(registry);
+	}
+	
+	private boolean isUnavailable() {
+		return System.currentTimeMillis() < this.unavailableUntil;
+	}
+	
+	private void onFailure(final String command, final IOException e) {
+		this.errors.increment();
+		this.unavailableUntil = System.currentTimeMillis() + this.retryIntervalMillis;
+		log.warn("**RespCacheProvider, {} failed, bypassing shared cache for {} ms: {}*\n", 
+				command, this.retryIntervalMillis, e.getMessage());
+	}
+	
+	private byte[] keyOf(final String region, final String key) {
+		return utf8(this.keyPrefix + region + ":" + key);
+	}
+	
+	private byte[] generationKeyOf(final String region) {
+		return utf8(this.keyPrefix + GENERATION_PREFIX + region);
+	}
+	
+	private static byte[] wrap(final byte[] generation, final byte[] value) {
+		final byte[] current = (generation != null) ? generation : INITIAL_GENERATION;
+		final byte[] stored = new byte[current.length + 1 + value.length];
+		System.arraycopy(current, 0, stored, 0, current.length);
+		stored[current.length] = GENERATION_SEPARATOR;
+		System.arraycopy(value, 0, stored, current.length + 1, value.length);
+		return stored;
+	}
+	
+	/**
+	 * @return the value, or null when it is absent or was written before the region was last cleared
+	 */
+	private static byte[] unwrap(final byte[] generation, final byte[] stored) {
+		if (stored == null)
+			return null;
+		final byte[] current = (generation != null) ? generation : INITIAL_GENERATION;
+		if (stored.length <= current.length || stored[current.length] != GENERATION_SEPARATOR
+				|| !Arrays.equals(stored, 0, current.length, current, 0, current.length))
+			return null;
+		return Arrays.copyOfRange(stored, current.length + 1, stored.length);
+	}
+	
+	private static byte[] utf8(final String value) {
+		return value.getBytes(StandardCharsets.UTF_8);
+	}
+	
+}
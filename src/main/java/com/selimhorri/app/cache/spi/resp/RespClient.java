@@ -0,0 +1,270 @@
+package com.selimhorri.app.cache.spi.resp;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Minimal client for the RESP2 protocol spoken by Redis and compatible servers. Replies
+ * come back as String (status), Long (integer), byte[] (bulk, null when absent) or List
+ * (array). At most {@code poolSize} commands run at once, further callers wait up to the
+ * timeout for a connection. Idle connections are pooled, a connection that failed is discarded.
+ */
+public class RespClient implements Closeable {
+	
+	private static final byte[] CRLF = { '\r', '\n' };
+	
+	private final String host;
+	private final int port;
+	private final int timeoutMillis;
+	private final String password;
+	private final int database;
+	private final BlockingQueue<Connection> idle;
+	private final Semaphore permits;
+	
+	public RespClient(final String host, final int port, final int timeoutMillis, final String password, 
+			final int database, final int poolSize) {
+		this.host = host;
+		this.port = port;
+		this.timeoutMillis = timeoutMillis;
+		this.password = password;
+		this.database = database;
+		this.idle = new ArrayBlockingQueue<>(poolSize);
+		this.permits = new Semaphore(poolSize);
+	}
+	
+	public Object execute(final String... args) throws IOException {
+		final byte[][] encoded = new byte[args.length][];
+		for (int i = 0; i < args.length; i++)
+			encoded[i] = args[i].getBytes(StandardCharsets.UTF_8);
+		return this.execute(encoded);
+	}
+	
+	public Object execute(final byte[]... args) throws IOException {
+		this.acquire();
+		try {
+			final Connection connection = this.borrow();
+			try {
+				final Object reply = connection.call(args);
+				this.release(connection);
+				return reply;
+			}
+			catch (RespException e) {
+				this.release(connection);
+				throw e;
+			}
+			catch (IOException | RuntimeException e) {
+				connection.close();
+				throw e;
+			}
+		}
+		finally {
+			this.permits.release();
+		}
+	}
+	
+	/**
+	 * Opens a dedicated connection subscribed to the channel, it is never pooled since a
+	 * subscribed connection cannot run other commands.
+	 */
+	public Subscription subscribe(final String channel) throws IOException {
+		final Connection connection = this.open();
+		try {
+			connection.socket.setSoTimeout(0);
+			connection.call(bytes("SUBSCRIBE"), bytes(channel));
+			return new Subscription(connection);
+		}
+		catch (IOException e) {
+			connection.close();
+			throw e;
+		}
+	}
+	
+	private void acquire() throws IOException {
+		try {
+			if (!this.permits.tryAcquire(this.timeoutMillis, TimeUnit.MILLISECONDS))
+				throw new IOException("No connection to " + this.host + ":" + this.port + " free within " 
+						+ this.timeoutMillis + " ms");
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while waiting for a connection");
+		}
+	}
+	
+	private Connection borrow() throws IOException {
+		final Connection pooled = this.idle.poll();
+		return (pooled != null) ? pooled : this.open();
+	}
+	
+	private Connection open() throws IOException {
+		final Connection connection = new Connection();
+		try {
+			if (this.password != null && !this.password.isEmpty())
+				connection.call(bytes("AUTH"), bytes(this.password));
+			if (this.database != 0)
+				connection.call(bytes("SELECT"), bytes(String.valueOf(this.database)));
+			return connection;
+		}
+		catch (IOException e) {
+			connection.close();
+			throw e;
+		}
+	}
+	
+	private void release(final Connection connection) {
+		if (!this.idle.offer(connection))
+			connection.close();
+	}
+	
+	@Override
+	public void close() {
+		Connection connection;
+		while ((connection = this.idle.poll()) != null)
+			connection.close();
+	}
+	
+	private static byte[] bytes(final String value) {
+		return value.getBytes(StandardCharsets.UTF_8);
+	}
+	
+	public static final class Subscription implements Closeable {
+		
+		private final Connection connection;
+		
+		private Subscription(final Connection connection) {
+			this.connection = connection;
+		}
+		
+		/**
+		 * Blocks until the next message published on the channel and returns its payload.
+		 */
+		public byte[] next() throws IOException {
+			while (true) {
+				final Object reply = this.connection.read();
+				if (reply instanceof List && ((List<?>) reply).size() == 3) {
+					final List<?> push = (List<?>) reply;
+					if ("message".equals(new String((byte[]) push.get(0), StandardCharsets.UTF_8)))
+						return (byte[]) push.get(2);
+				}
+			}
+		}
+		
+		@Override
+		public void close() {
+			this.connection.close();
+		}
+		
+	}
+	
+	private final class Connection {
+		
+		private final Socket socket;
+		private final InputStream in;
+		private final OutputStream out;
+		
+		private Connection() throws IOException {
+			this.socket = new Socket();
+			try {
+				this.socket.setTcpNoDelay(true);
+				this.socket.setSoTimeout(timeoutMillis);
+				this.socket.connect(new InetSocketAddress(host, port), timeoutMillis);
+				this.in = new BufferedInputStream(this.socket.getInputStream());
+				this.out = new BufferedOutputStream(this.socket.getOutputStream());
+			}
+			catch (IOException e) {
+				this.close();
+				throw e;
+			}
+		}
+		
+		private Object call(final byte[]... args) throws IOException {
+			this.out.write('*');
+			this.out.write(bytes(String.valueOf(args.length)));
+			this.out.write(CRLF);
+			for (final byte[] arg : args) {
+				this.out.write('$');
+				this.out.write(bytes(String.valueOf(arg.length)));
+				this.out.write(CRLF);
+				this.out.write(arg);
+				this.out.write(CRLF);
+			}
+			this.out.flush();
+			return this.read();
+		}
+		
+		private Object read() throws IOException {
+			final int type = this.in.read();
+			if (type == -1)
+				throw new EOFException("Connection closed by " + host + ":" + port);
+			final String line = this.readLine();
+			switch (type) {
+				case '+':
+					return line;
+				case '-':
+					throw new RespException(line);
+				case ':':
+					return Long.parseLong(line);
+				case '$':
+					return this.readBulk(Integer.parseInt(line));
+				case '*':
+					final int size = Integer.parseInt(line);
+					if (size < 0)
+						return null;
+					final List<Object> items = new ArrayList<>(size);
+					for (int i = 0; i < size; i++)
+						items.add(this.read());
+					return items;
+				default:
+					throw new IOException("Unexpected RESP reply type '" + (char) type + "'");
+			}
+		}
+		
+		private byte[] readBulk(final int length) throws IOException {
+			if (length < 0)
+				return null;
+			final byte[] bulk = this.in.readNBytes(length);
+			if (bulk.length < length || this.in.read() != '\r' || this.in.read() != '\n')
+				throw new EOFException("Truncated bulk reply");
+			return bulk;
+		}
+		
+		private String readLine() throws IOException {
+			final StringBuilder line = new StringBuilder();
+			int current;
+			while ((current = this.in.read()) != '\r') {
+				if (current == -1)
+					throw new EOFException("Truncated reply line");
+				line.append((char) current);
+			}
+			if (this.in.read() != '\n')
+				throw new IOException("Malformed reply line");
+			return line.toString();
+		}
+		
+		private void close() {
+			try {
+				this.socket.close();
+			}
+			catch (IOException e) {
+				// nothing left to release
+			}
+		}
+		
+	}
+	
+}
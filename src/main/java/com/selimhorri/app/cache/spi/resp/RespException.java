@@ -0,0 +1,16 @@
+package com.selimhorri.app.cache.spi.resp;
+
+import java.io.IOException;
+
+/**
+ * Error reply of a RESP server.
+ */
+public class RespException extends IOException {
+	
+	private static final long serialVersionUID = 1L;
+	
+	public RespException(final String message) {
+		super(message);
+	}
+	
+}
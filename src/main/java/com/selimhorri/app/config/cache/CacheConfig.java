@@ -0,0 +1,60 @@
+package com.selimhorri.app.config.cache;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.selimhorri.app.cache.CacheProperties;
+import com.selimhorri.app.cache.invalidation.InvalidationTransport;
+import com.selimhorri.app.cache.invalidation.LoopbackInvalidationTransport;
+import com.selimhorri.app.cache.invalidation.RespInvalidationTransport;
+import com.selimhorri.app.cache.spi.CacheProvider;
+import com.selimhorri.app.cache.spi.CacheRegions;
+import com.selimhorri.app.cache.spi.LocalCacheProvider;
+import com.selimhorri.app.cache.spi.TieredCacheProvider;
+import com.selimhorri.app.cache.spi.resp.RespCacheProvider;
+import com.selimhorri.app.cache.spi.resp.RespClient;
+
+@Configuration
+@EnableConfigurationProperties(CacheProperties.class)
+public class CacheConfig {
+	
+	@Bean
+	public CacheProvider cacheProvider(final CacheProperties cacheProperties) {
+		final CacheProperties.ProviderSpec spec = cacheProperties.getProvider();
+		switch (spec.getType()) {
+			case SHARED:
+				return respCacheProvider(spec.getShared());
+			case TIERED:
+				return new TieredCacheProvider(new LocalCacheProvider("near", spec.getLocalMaximumWeight()), 
+						respCacheProvider(spec.getShared()), spec.getNearTtl());
+			default:
+				return new LocalCacheProvider("local", spec.getLocalMaximumWeight());
+		}
+	}
+	
+	@Bean
+	public CacheRegions cacheRegions(final CacheProvider cacheProvider, final ObjectMapper objectMapper) {
+		return new CacheRegions(cacheProvider, objectMapper);
+	}
+	
+	@Bean
+	public InvalidationTransport invalidationTransport(final CacheProperties cacheProperties) {
+		final CacheProperties.InvalidationSpec spec = cacheProperties.getInvalidation();
+		if (spec.getTransport() == CacheProperties.InvalidationTransportType.RESP)
+			return new RespInvalidationTransport(respClient(cacheProperties.getProvider().getShared()), 
+					spec.getChannel(), spec.getReconnectInterval());
+		return new LoopbackInvalidationTransport();
+	}
+	
+	private static RespCacheProvider respCacheProvider(final CacheProperties.SharedSpec shared) {
+		return new RespCacheProvider(respClient(shared), shared.getKeyPrefix(), shared.getRetryInterval());
+	}
+	
+	private static RespClient respClient(final CacheProperties.SharedSpec shared) {
+		return new RespClient(shared.getHost(), shared.getPort(), Math.toIntExact(shared.getTimeout().toMillis()), 
+				shared.getPassword(), shared.getDatabase(), shared.getPoolSize());
+	}
+	
+}
@@ -0,0 +1,105 @@
+package com.selimhorri.app.config.executor;
+
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.task.TaskExecutorBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.AsyncAnnotationBeanPostProcessor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * One bounded pool per fan-out. A task that blocks on work it forked must never share a
+ * pool with that work, otherwise a burst of callers holds every thread while the tasks they
+ * wait for sit in the queue behind them.
+ */
+@Configuration
+public class ExecutorConfig {
+	
+	public static final String PRODUCT_LOOKUP_EXECUTOR = "productLookupExecutor";
+	public static final String ORDER_DETAILS_EXECUTOR = "orderDetailsExecutor";
+	public static final String USER_OVERVIEW_EXECUTOR = "userOverviewExecutor";
+	public static final String BATCH_EXECUTOR = "batchExecutor";
+	public static final String ORDER_STATUS_BULK_EXECUTOR = "orderStatusBulkExecutor";
+	
+	/**
+	 * Boot only creates its shared pool while no other executor exists, so it is declared here
+	 * as well; it stays the pool for leaf tasks that never wait on anything they submit.
+	 */
+	@Lazy
+	@Bean(name = { TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME,
+			AsyncAnnotationBeanPostProcessor.DEFAULT_TASK_EXECUTOR_BEAN_NAME })
+	public ThreadPoolTaskExecutor applicationTaskExecutor(final TaskExecutorBuilder taskExecutorBuilder) {
+		return taskExecutorBuilder.build();
+	}
+	
+	/**
+	 * Helpers of a product lookup; the caller drains the same queue, so running a rejected
+	 * helper on the caller only makes the lookup sequential.
+	 */
+	@Bean(PRODUCT_LOOKUP_EXECUTOR)
+	public ThreadPoolTaskExecutor productLookupExecutor(
+			@Value("${app.products.batch.pool-size:16}") final int poolSize,
+			@Value("${app.products.batch.queue-capacity:64}") final int queueCapacity) {
+		return executor("product-lookup-", poolSize, queueCapacity, new ThreadPoolExecutor.CallerRunsPolicy());
+	}
+	
+	/**
+	 * Sections of an order details document; a rejected section is reported as unavailable.
+	 */
+	@Bean(ORDER_DETAILS_EXECUTOR)
+	public ThreadPoolTaskExecutor orderDetailsExecutor(
+			@Value("${app.orders.details.pool-size:16}") final int poolSize,
+			@Value("${app.orders.details.queue-capacity:64}") final int queueCapacity) {
+		return executor("order-details-", poolSize, queueCapacity, new ThreadPoolExecutor.AbortPolicy());
+	}
+	
+	/**
+	 * Sections of a user overview; a rejected section is reported as unavailable.
+	 */
+	@Bean(USER_OVERVIEW_EXECUTOR)
+	public ThreadPoolTaskExecutor userOverviewExecutor(
+			@Value("${app.me.overview.pool-size:16}") final int poolSize,
+			@Value("${app.me.overview.queue-capacity:64}") final int queueCapacity) {
+		return executor("user-overview-", poolSize, queueCapacity, new ThreadPoolExecutor.AbortPolicy());
+	}
+	
+	/**
+	 * Helpers of a batch. The operations they run fan out on pools of their own, never on this
+	 * one, and nested batches are refused, so a batch worker never waits on its own pool.
+	 */
+	@Bean(BATCH_EXECUTOR)
+	public ThreadPoolTaskExecutor batchExecutor(
+			@Value("${app.batch.pool-size:16}") final int poolSize,
+			@Value("${app.batch.queue-capacity:64}") final int queueCapacity) {
+		return executor("batch-", poolSize, queueCapacity, new ThreadPoolExecutor.CallerRunsPolicy());
+	}
+	
+	/**
+	 * Helpers of a bulk status update, which batches may call; a rejected helper runs on the
+	 * caller like the lookup helpers do.
+	 */
+	@Bean(ORDER_STATUS_BULK_EXECUTOR)
+	public ThreadPoolTaskExecutor orderStatusBulkExecutor(
+			@Value("${app.orders.status-bulk.pool-size:16}") final int poolSize,
+			@Value("${app.orders.status-bulk.queue-capacity:64}") final int queueCapacity) {
+		return executor("order-status-bulk-", poolSize, queueCapacity, new ThreadPoolExecutor.CallerRunsPolicy());
+	}
+	
+	private static ThreadPoolTaskExecutor executor(final String threadNamePrefix, final int poolSize,
+			final int queueCapacity, final RejectedExecutionHandler rejectedExecutionHandler) {
+		final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setThreadNamePrefix(threadNamePrefix);
+		executor.setCorePoolSize(poolSize);
+		executor.setMaxPoolSize(poolSize);
+		executor.setQueueCapacity(queueCapacity);
+		executor.setAllowCoreThreadTimeOut(true);
+		executor.setRejectedExecutionHandler(rejectedExecutionHandler);
+		return executor;
+	}
+	
+}
@@ -0,0 +1,27 @@
+package com.selimhorri.app.config.feign;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.selimhorri.app.cache.negative.NegativeCachingClient;
+import com.selimhorri.app.cache.service.NegativeCacheService;
+
+import feign.Capability;
+import feign.Client;
+
+@Configuration
+public class FeignConfig {
+	
+	@Bean
+	public Capability negativeCachingCapability(final NegativeCacheService negativeCacheService) {
+		return new Capability() {
+			
+			@Override
+			public Client enrich(final Client client) {
+				return new NegativeCachingClient(client, negativeCacheService);
+			}
+			
+		};
+	}
+	
+}
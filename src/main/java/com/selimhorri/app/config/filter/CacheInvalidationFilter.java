@@ -0,0 +1,70 @@
+package com.selimhorri.app.config.filter;
+
+import java.io.IOException;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+
+import com.selimhorri.app.cache.CacheProperties;
+import com.selimhorri.app.cache.invalidation.CacheInvalidationBus;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Announces every successful write under /api to the other replicas as the first path
+ * segment (the resource) and, when present, the second one (the id). A handler writing
+ * many ids at once sets {@link #WHOLE_RESOURCE_ATTRIBUTE} to have the whole resource announced.
+ */
+@Component
+@RequiredArgsConstructor
+public class CacheInvalidationFilter extends OncePerRequestFilter {
+	
+	public static final String WHOLE_RESOURCE_ATTRIBUTE = CacheInvalidationFilter.class.getName() + ".WHOLE_RESOURCE";
+	
+	private static final String API_PREFIX = "/api/";
+	
+	private final CacheInvalidationBus cacheInvalidationBus;
+	private final CacheProperties cacheProperties;
+	private final UrlPathHelper urlPathHelper = new UrlPathHelper();
+	
+	@Override
+	protected boolean shouldNotFilter(final HttpServletRequest request) {
+		return !this.cacheInvalidationBus.isEnabled() || !isWrite(request);
+	}
+	
+	/**
+	 * Whether the request may change a resource, the only ones that invalidate caches.
+	 */
+	public static boolean isWrite(final HttpServletRequest request) {
+		final String method = request.getMethod();
+		return HttpMethod.POST.matches(method) || HttpMethod.PUT.matches(method) 
+				|| HttpMethod.PATCH.matches(method) || HttpMethod.DELETE.matches(method);
+	}
+	
+	@Override
+	protected void doFilterInternal(final HttpServletRequest request, final HttpServletResponse response,
+			final FilterChain filterChain)
+			throws ServletException, IOException {
+		
+		filterChain.doFilter(request, response);
+		
+		final String path = this.urlPathHelper.getPathWithinApplication(request);
+		if (!path.startsWith(API_PREFIX) || !HttpStatus.valueOf(response.getStatus()).is2xxSuccessful())
+			return;
+		final String[] segments = path.substring(API_PREFIX.length()).split("/");
+		if (segments[0].isEmpty() || this.cacheProperties.getInvalidation().getIgnoredResources().contains(segments[0]))
+			return;
+		final boolean wholeResource = Boolean.TRUE.equals(request.getAttribute(WHOLE_RESOURCE_ATTRIBUTE));
+		this.cacheInvalidationBus.publish(segments[0], 
+				(!wholeResource && segments.length > 1 && !segments[1].isEmpty()) ? segments[1] : null);
+	}
+	
+}
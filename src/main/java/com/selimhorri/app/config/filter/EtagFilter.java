@@ -0,0 +1,22 @@
+package com.selimhorri.app.config.filter;
+
+import javax.servlet.http.HttpServletRequest;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+/**
+ * Adds a strong ETag to every GET response and answers a matching If-None-Match with 304.
+ * Handlers that already know the tag of their body set it themselves, the filter then
+ * keeps it instead of hashing the buffered body.
+ */
+@Component
+public class EtagFilter extends ShallowEtagHeaderFilter {
+	
+	@Override
+	protected boolean shouldNotFilter(final HttpServletRequest request) {
+		return !HttpMethod.GET.matches(request.getMethod()) && !HttpMethod.HEAD.matches(request.getMethod());
+	}
+	
+}
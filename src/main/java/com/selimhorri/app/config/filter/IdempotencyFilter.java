@@ -0,0 +1,236 @@
+package com.selimhorri.app.config.filter;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ReadListener;
+import javax.servlet.ServletException;
+import javax.servlet.ServletInputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletRequestWrapper;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.UrlPathHelper;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.selimhorri.app.config.web.RespondAsyncConfig;
+import com.selimhorri.app.exception.payload.ExceptionMsg;
+import com.selimhorri.app.idempotency.model.IdempotencyClaim;
+import com.selimhorri.app.idempotency.model.IdempotentResponse;
+import com.selimhorri.app.idempotency.service.IdempotencyService;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Makes POSTs to the configured routes safe to retry when they carry an Idempotency-Key:
+ * the first call runs, retries arriving meanwhile wait for it, and later ones get its
+ * stored answer without reaching the handler, with the headers that describe it such as
+ * Location and ETag. A key is scoped to the caller and bound to the method, path, Prefer
+ * header and body it was first used with. Only successes are stored: downstream
+ * failures reach clients as 400s too, so any other answer releases the key and the next
+ * retry runs again. Runs after security and outside
+ * {@link ResponseCacheFilter}, so a replay neither needs nor triggers a cache purge.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 20)
+@RequiredArgsConstructor
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+	public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+	public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+	private static final String ANONYMOUS = "anonymous";
+	private static final List<String> REPLAYED_HEADERS = List.of(
+			HttpHeaders.LOCATION, HttpHeaders.ETAG, RespondAsyncConfig.PREFERENCE_APPLIED);
+
+	private final IdempotencyService idempotencyService;
+	private final ObjectMapper objectMapper;
+	private final UrlPathHelper urlPathHelper = new UrlPathHelper();
+
+	@Override
+	protected boolean shouldNotFilter(final HttpServletRequest request) {
+		return request.getHeader(IDEMPOTENCY_KEY_HEADER) == null || !this.idempotencyService
+				.isIdempotent(request.getMethod(), this.urlPathHelper.getPathWithinApplication(request));
+	}
+
+	@Override
+	protected void doFilterInternal(final HttpServletRequest request, final HttpServletResponse response,
+			final FilterChain filterChain)
+			throws ServletException, IOException {
+
+		final String key = request.getHeader(IDEMPOTENCY_KEY_HEADER);
+		if (!this.idempotencyService.isValidKey(key)) {
+			this.writeError(response, HttpStatus.BAD_REQUEST, "Invalid " + IDEMPOTENCY_KEY_HEADER + " header");
+			return;
+		}
+
+		final BufferedBodyRequest bufferedRequest = new BufferedBodyRequest(request);
+		final IdempotencyClaim claim = this.idempotencyService.claim(scope(), key, fingerprint(bufferedRequest));
+		switch (claim.getOutcome()) {
+			case REPLAY:
+				writeReplay(response, claim.getResponse());
+				return;
+			case MISMATCH:
+				this.writeError(response, HttpStatus.UNPROCESSABLE_ENTITY,
+						IDEMPOTENCY_KEY_HEADER + " was already used with another request");
+				return;
+			case IN_PROGRESS:
+				this.writeError(response, HttpStatus.CONFLICT,
+						"A request with this " + IDEMPOTENCY_KEY_HEADER + " is still being processed");
+				return;
+			default:
+				break;
+		}
+
+		final ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+		boolean stored = false;
+		try {
+			filterChain.doFilter(bufferedRequest, wrapper);
+			if (HttpStatus.valueOf(wrapper.getStatus()).is2xxSuccessful()) {
+				this.idempotencyService.complete(claim, new IdempotentResponse(wrapper.getStatus(), 
+						wrapper.getContentType(), replayedHeaders(wrapper), wrapper.getContentAsByteArray()));
+				stored = true;
+			}
+		}
+		finally {
+			if (!stored)
+				this.idempotencyService.abandon(claim);
+		}
+		wrapper.copyBodyToResponse();
+	}
+
+	private static String scope() {
+		final Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+		return (authentication != null && authentication.isAuthenticated()) ? authentication.getName() : ANONYMOUS;
+	}
+
+	private static String fingerprint(final BufferedBodyRequest request) {
+		try {
+			final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			digest.update(request.getMethod().getBytes(StandardCharsets.UTF_8));
+			digest.update((byte) ' ');
+			digest.update(request.getRequestURI().getBytes(StandardCharsets.UTF_8));
+			if (request.getQueryString() != null)
+				digest.update(('?' + request.getQueryString()).getBytes(StandardCharsets.UTF_8));
+			digest.update((byte) '\n');
+			final String prefer = request.getHeader(RespondAsyncConfig.PREFER);
+			if (prefer != null)
+				digest.update(prefer.getBytes(StandardCharsets.UTF_8));
+			digest.update((byte) '\n');
+			digest.update(request.body);
+			return Base64.getEncoder().encodeToString(digest.digest());
+		}
+		catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static Map<String, String> replayedHeaders(final HttpServletResponse response) {
+		final Map<String, String> headers = new LinkedHashMap<>();
+		for (final String name : REPLAYED_HEADERS) {
+			final String value = response.getHeader(name);
+			if (value != null)
+				headers.put(name, value);
+		}
+		return headers;
+	}
+
+	private static void writeReplay(final HttpServletResponse response, final IdempotentResponse idempotentResponse)
+			throws IOException {
+		response.setStatus(idempotentResponse.getStatus());
+		if (idempotentResponse.getContentType() != null)
+			response.setContentType(idempotentResponse.getContentType());
+		idempotentResponse.getHeaders().forEach(response::setHeader);
+		response.setHeader(REPLAYED_HEADER, "true");
+		response.setContentLength(idempotentResponse.getBody().length);
+		response.getOutputStream().write(idempotentResponse.getBody());
+	}
+
+	private void writeError(final HttpServletResponse response, final HttpStatus status, final String msg)
+			throws IOException {
+		response.setStatus(status.value());
+		response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+		this.objectMapper.writeValue(response.getOutputStream(), ExceptionMsg.builder()
+				.msg(msg)
+				.httpStatus(status)
+				.timestamp(ZonedDateTime
+						.now(ZoneId.systemDefault()))
+				.build());
+	}
+
+	/**
+	 * The request with its body read up front, so it can be fingerprinted and still be read by the handler.
+	 */
+	private static final class BufferedBodyRequest extends HttpServletRequestWrapper {
+
+		private final byte[] body;
+
+		private BufferedBodyRequest(final HttpServletRequest request) throws IOException {
+			super(request);
+			this.body = StreamUtils.copyToByteArray(request.getInputStream());
+		}
+
+		@Override
+		public ServletInputStream getInputStream() {
+			final ByteArrayInputStream input = new ByteArrayInputStream(this.body);
+			return new ServletInputStream() {
+
+				@Override
+				public int read() {
+					return input.read();
+				}
+
+				@Override
+				public int read(final byte[] buffer, final int offset, final int length) {
+					return input.read(buffer, offset, length);
+				}
+
+				@Override
+				public boolean isFinished() {
+					return input.available() == 0;
+				}
+
+				@Override
+				public boolean isReady() {
+					return true;
+				}
+
+				@Override
+				public void setReadListener(final ReadListener readListener) {
+					throw new UnsupportedOperationException("The body is already buffered");
+				}
+			};
+		}
+
+		@Override
+		public BufferedReader getReader() throws IOException {
+			final String encoding = this.getCharacterEncoding();
+			return new BufferedReader(new InputStreamReader(this.getInputStream(),
+					(encoding != null) ? encoding : StandardCharsets.ISO_8859_1.name()));
+		}
+
+	}
+
+}
@@ -1,22 +1,35 @@
 package com.selimhorri.app.config.filter;
 
 import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import javax.servlet.FilterChain;
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import com.selimhorri.app.batch.BatchDispatcher;
 import com.selimhorri.app.jwt.service.JwtService;
+import com.selimhorri.app.jwt.service.TokenRevocationService;
+import com.selimhorri.app.jwt.util.JwtUtil;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -27,6 +40,10 @@ public class JwtRequestFilter extends OncePerRequestFilter {
 
 	private final UserDetailsService userDetailsService;
 	private final JwtService jwtService;
+	private final TokenRevocationService tokenRevocationService;
+
+	@Value("${app.jwt.stateless:false}")
+	private boolean stateless;
 
 	@Override
 	protected void doFilterInternal(final HttpServletRequest request, final HttpServletResponse response,
@@ -35,32 +52,50 @@ public class JwtRequestFilter extends OncePerRequestFilter {
 
 		log.info("**JwtRequestFilter, once per request, validating and extracting token*\n");
 
+		final Object batchAuthentication = request.getAttribute(BatchDispatcher.AUTHENTICATION_ATTRIBUTE);
+		if (batchAuthentication instanceof Authentication && SecurityContextHolder.getContext().getAuthentication() == null) {
+			SecurityContextHolder.getContext().setAuthentication((Authentication) batchAuthentication);
+			filterChain.doFilter(request, response);
+			return;
+		}
+
 		final var authorizationHeader = request.getHeader("Authorization");
 
-		String username = null;
 		String jwt = null;
+		Claims claims = null;
 
 		if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
 			jwt = authorizationHeader.substring(7);
-			username = jwtService.extractUsername(jwt);
+			try {
+				claims = this.jwtService.extractClaims(jwt, Function.identity());
+			} catch (JwtException | IllegalArgumentException e) {
+				log.info("**JwtRequestFilter, rejected token: {}*\n", e.getMessage());
+			}
 		}
 
-		if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+		if (claims != null && claims.getSubject() != null && this.isAccessToken(claims)
+				&& SecurityContextHolder.getContext().getAuthentication() == null) {
 
-			final UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
+			if (this.tokenRevocationService.isRevoked(claims.getId())) {
+				log.info("**JwtRequestFilter, token {} has been revoked*\n", claims.getId());
+			}
+			else {
+				final boolean trustClaims = this.stateless && claims.get(JwtUtil.AUTHORITIES_CLAIM) instanceof Collection;
+				final UserDetails userDetails = trustClaims ? this.buildUserDetails(claims)
+						: this.userDetailsService.loadUserByUsername(claims.getSubject());
 
-			if (this.jwtService.validateToken(jwt, userDetails)) {
-				final String userId = jwtService.extractUserId(jwt);
+				if (trustClaims || this.jwtService.validateToken(jwt, userDetails)) {
+					final String userId = claims.get(JwtUtil.USER_ID_CLAIM, String.class);
 
-				final UsernamePasswordAuthenticationToken usernamePasswordAuthenticationToken = new UsernamePasswordAuthenticationToken(
-						userDetails, null, userDetails.getAuthorities());
+					final UsernamePasswordAuthenticationToken usernamePasswordAuthenticationToken = new UsernamePasswordAuthenticationToken(
+							userDetails, null, userDetails.getAuthorities());
 
-				usernamePasswordAuthenticationToken
-						.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-				System.out.println("ID EN CADENA "+userId);
-				request.setAttribute("userId", userId);
+					usernamePasswordAuthenticationToken
+							.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+					request.setAttribute("userId", userId);
 
-				SecurityContextHolder.getContext().setAuthentication(usernamePasswordAuthenticationToken);
+					SecurityContextHolder.getContext().setAuthentication(usernamePasswordAuthenticationToken);
+				}
 			}
 
 		}
@@ -69,4 +104,20 @@ public class JwtRequestFilter extends OncePerRequestFilter {
 		log.info("**Jwt request filtered!*\n");
 	}
 
+	private boolean isAccessToken(final Claims claims) {
+		final Object tokenType = claims.get(JwtUtil.TOKEN_TYPE_CLAIM);
+		return tokenType == null || JwtUtil.ACCESS_TOKEN_TYPE.equals(tokenType);
+	}
+
+	/**
+	 * In stateless mode the signed claims are trusted as they are, sparing the
+	 * USER-SERVICE round trip that a lookup by username costs on every request.
+	 */
+	private UserDetails buildUserDetails(final Claims claims) {
+		final List<SimpleGrantedAuthority> authorities = ((Collection<?>) claims.get(JwtUtil.AUTHORITIES_CLAIM)).stream()
+				.map(authority -> new SimpleGrantedAuthority(authority.toString()))
+				.collect(Collectors.toList());
+		return new User(claims.getSubject(), "", authorities);
+	}
+
 }
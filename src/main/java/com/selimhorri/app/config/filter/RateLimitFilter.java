@@ -0,0 +1,88 @@
+package com.selimhorri.app.config.filter;
+
+import java.io.IOException;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.concurrent.TimeUnit;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.selimhorri.app.exception.payload.ExceptionMsg;
+import com.selimhorri.app.ratelimit.model.RateLimitProbe;
+import com.selimhorri.app.ratelimit.service.RateLimitService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class RateLimitFilter extends OncePerRequestFilter {
+	
+	public static final String LIMIT_HEADER = "X-RateLimit-Limit";
+	public static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+	public static final String RESET_HEADER = "X-RateLimit-Reset";
+	
+	private final RateLimitService rateLimitService;
+	private final ObjectMapper objectMapper;
+	private final UrlPathHelper urlPathHelper = new UrlPathHelper();
+	
+	@Override
+	protected boolean shouldNotFilter(final HttpServletRequest request) {
+		return !this.rateLimitService.isEnabled();
+	}
+	
+	@Override
+	protected void doFilterInternal(final HttpServletRequest request, final HttpServletResponse response,
+			final FilterChain filterChain)
+			throws ServletException, IOException {
+		
+		final RateLimitProbe probe = this.rateLimitService
+				.tryConsume(this.resolveClientKey(request), this.urlPathHelper.getPathWithinApplication(request));
+		
+		response.setHeader(LIMIT_HEADER, String.valueOf(probe.getLimit()));
+		response.setHeader(REMAINING_HEADER, String.valueOf(probe.getRemaining()));
+		response.setHeader(RESET_HEADER, String.valueOf(toSeconds(probe.getNanosToReset())));
+		
+		if (probe.isConsumed()) {
+			filterChain.doFilter(request, response);
+			return;
+		}
+		
+		final var tooManyRequests = HttpStatus.TOO_MANY_REQUESTS;
+		response.setHeader("Retry-After", String.valueOf(toSeconds(probe.getNanosToRetry())));
+		response.setStatus(tooManyRequests.value());
+		response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+		this.objectMapper.writeValue(response.getOutputStream(), ExceptionMsg.builder()
+				.msg("Too many requests, retry later")
+				.httpStatus(tooManyRequests)
+				.timestamp(ZonedDateTime
+						.now(ZoneId.systemDefault()))
+				.build());
+	}
+	
+	/**
+	 * Anonymous callers are keyed on their address. Behind the gateway that is the client
+	 * from X-Forwarded-For, which the container takes from trusted proxies only
+	 * ({@code server.forward-headers-strategy: native}).
+	 */
+	private String resolveClientKey(final HttpServletRequest request) {
+		final Object userId = request.getAttribute("userId");
+		return (userId != null) ? "user:" + userId : "ip:" + request.getRemoteAddr();
+	}
+	
+	private static long toSeconds(final long nanos) {
+		return (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1);
+	}
+	
+}
@@ -0,0 +1,155 @@
+package com.selimhorri.app.config.filter;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.UrlPathHelper;
+
+import com.selimhorri.app.cache.model.CachedResponse;
+import com.selimhorri.app.cache.model.StoredBytes;
+import com.selimhorri.app.cache.service.ResponseCacheService;
+import com.selimhorri.app.streaming.NdjsonExporter;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Serves cached GET responses of the configured public routes straight from their stored
+ * bytes, so hits skip the controller and Jackson. Runs outside {@link EtagFilter} so that
+ * what it stores is the final body.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 10)
+@RequiredArgsConstructor
+public class ResponseCacheFilter extends OncePerRequestFilter {
+	
+	public static final String CACHE_HEADER = "X-Cache";
+	private static final String GZIP = "gzip";
+	
+	private final ResponseCacheService responseCacheService;
+	private final UrlPathHelper urlPathHelper = new UrlPathHelper();
+	
+	@Override
+	protected boolean shouldNotFilter(final HttpServletRequest request) {
+		return !this.responseCacheService.isEnabled();
+	}
+	
+	@Override
+	protected void doFilterInternal(final HttpServletRequest request, final HttpServletResponse response,
+			final FilterChain filterChain)
+			throws ServletException, IOException {
+		
+		final String path = this.urlPathHelper.getPathWithinApplication(request);
+		final String group = this.responseCacheService.resolveGroup(path);
+		if (group == null || acceptsNdjson(request)) {
+			filterChain.doFilter(request, response);
+			return;
+		}
+		
+		if (!HttpMethod.GET.matches(request.getMethod())) {
+			filterChain.doFilter(request, response);
+			// HEAD and OPTIONS, CORS preflights included, change nothing
+			if (CacheInvalidationFilter.isWrite(request) && HttpStatus.valueOf(response.getStatus()).is2xxSuccessful())
+				this.responseCacheService.invalidateGroup(group);
+			return;
+		}
+		
+		final String representationKey = representationKey(request, path);
+		final CachedResponse cachedResponse = this.responseCacheService.get(group, representationKey);
+		if (cachedResponse != null && this.writeCached(request, response, cachedResponse))
+			return;
+		
+		final ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+		filterChain.doFilter(request, wrapper);
+		if (isCacheable(wrapper))
+			this.responseCacheService.put(group, representationKey, wrapper.getContentType(), 
+					wrapper.getContentAsByteArray());
+		response.setHeader(CACHE_HEADER, "MISS");
+		wrapper.copyBodyToResponse();
+	}
+	
+	/**
+	 * @return false when the entry was evicted and its bytes released before they could be
+	 * retained, nothing has been written then and the request goes down the chain
+	 */
+	private boolean writeCached(final HttpServletRequest request, final HttpServletResponse response, 
+			final CachedResponse cachedResponse) throws IOException {
+		
+		final boolean gzipped = cachedResponse.hasGzippedBody() && acceptsGzip(request);
+		final StoredBytes bytes = gzipped ? cachedResponse.getGzippedBody() : cachedResponse.getBody();
+		final String etag = gzipped ? cachedResponse.getGzippedEtag() : cachedResponse.getEtag();
+		if (!bytes.retain())
+			return false;
+		try {
+			response.setHeader(CACHE_HEADER, "HIT");
+			if (new ServletWebRequest(request, response).checkNotModified(etag))
+				return true;
+			response.setStatus(HttpStatus.OK.value());
+			response.setContentType(cachedResponse.getContentType());
+			response.setHeader(HttpHeaders.ETAG, etag);
+			if (cachedResponse.hasGzippedBody())
+				response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+			if (gzipped)
+				response.setHeader(HttpHeaders.CONTENT_ENCODING, GZIP);
+			response.setContentLength(bytes.length());
+			bytes.writeTo(response.getOutputStream());
+			this.responseCacheService.recordServed(bytes.length(), gzipped);
+			return true;
+		}
+		finally {
+			bytes.release();
+		}
+	}
+	
+	private static boolean isCacheable(final ContentCachingResponseWrapper wrapper) {
+		if (wrapper.getStatus() != HttpStatus.OK.value() || wrapper.getContentType() == null 
+				|| wrapper.getContentSize() == 0 || wrapper.containsHeader(HttpHeaders.SET_COOKIE))
+			return false;
+		final String cacheControl = wrapper.getHeader(HttpHeaders.CACHE_CONTROL);
+		if (cacheControl != null && (cacheControl.contains("no-store") || cacheControl.contains("private")))
+			return false;
+		return MediaType.APPLICATION_JSON.isCompatibleWith(MediaType.parseMediaType(wrapper.getContentType()));
+	}
+	
+	private static String representationKey(final HttpServletRequest request, final String path) {
+		final StringBuilder key = new StringBuilder(path);
+		final Map<String, String[]> parameters = new TreeMap<>(request.getParameterMap());
+		parameters.forEach((name, values) -> key.append('&').append(name).append('=').append(Arrays.toString(values)));
+		final String accept = request.getHeader(HttpHeaders.ACCEPT);
+		return key.append('|').append((accept != null) ? accept : MediaType.ALL_VALUE).toString();
+	}
+	
+	/**
+	 * Streamed exports are never buffered, however large they are.
+	 */
+	private static boolean acceptsNdjson(final HttpServletRequest request) {
+		final String accept = request.getHeader(HttpHeaders.ACCEPT);
+		return accept != null && accept.contains(NdjsonExporter.APPLICATION_NDJSON_VALUE);
+	}
+	
+	private static boolean acceptsGzip(final HttpServletRequest request) {
+		final String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+		if (acceptEncoding == null)
+			return false;
+		return Arrays.stream(acceptEncoding.split(","))
+				.map(String::trim)
+				.anyMatch(coding -> coding.startsWith(GZIP) && !coding.replace(" ", "").endsWith("q=0"));
+	}
+	
+}
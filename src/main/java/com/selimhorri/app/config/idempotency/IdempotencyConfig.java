@@ -0,0 +1,12 @@
+package com.selimhorri.app.config.idempotency;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import com.selimhorri.app.idempotency.IdempotencyProperties;
+
+@Configuration
+@EnableConfigurationProperties(IdempotencyProperties.class)
+public class IdempotencyConfig {
+	
+}
@@ -0,0 +1,38 @@
+package com.selimhorri.app.config.jackson;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.PropertyName;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+
+/**
+ * Writes the property only if the active {@link FieldSelection}, if any, selects it.
+ */
+class FieldFilteringWriter extends BeanPropertyWriter {
+	
+	private static final long serialVersionUID = 1L;
+	
+	FieldFilteringWriter(final BeanPropertyWriter base) {
+		super(base);
+	}
+	
+	private FieldFilteringWriter(final BeanPropertyWriter base, final PropertyName name) {
+		super(base, name);
+	}
+	
+	@Override
+	protected BeanPropertyWriter _new(final PropertyName newName) {
+		return new FieldFilteringWriter(this, newName);
+	}
+	
+	@Override
+	public void serializeAsField(final Object bean, final JsonGenerator gen, final SerializerProvider prov) throws Exception {
+		final FilterProvider filters = prov.getConfig().getFilterProvider();
+		if (filters instanceof FieldSelection 
+				&& !((FieldSelection) filters).includes(gen.getOutputContext(), this.getName()))
+			return;
+		super.serializeAsField(bean, gen, prov);
+	}
+	
+}
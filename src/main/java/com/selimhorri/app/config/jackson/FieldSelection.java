@@ -0,0 +1,94 @@
+package com.selimhorri.app.config.jackson;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+
+/**
+ * Parsed {@code ?fields=} selection, e.g. {@code userId,firstName,credential.username}.
+ * Travels to the serializers as the writer's filter provider, so selecting fields costs no
+ * intermediate copies of the response. A selected property without sub-paths keeps its whole
+ * subtree; the {@value #COLLECTION} wrapper of list responses is transparent unless named.
+ */
+public final class FieldSelection extends SimpleFilterProvider {
+	
+	private static final long serialVersionUID = 1L;
+	
+	static final String COLLECTION = "collection";
+	
+	private final Node root;
+	// the root once inside a transparent collection wrapper, same children
+	private final Node collectionRoot;
+	
+	private FieldSelection(final Node root) {
+		this.root = root;
+		this.collectionRoot = new Node(root.children);
+		this.setFailOnUnknownId(false);
+	}
+	
+	/**
+	 * @return null when the expression selects nothing
+	 */
+	public static FieldSelection parse(final String expression) {
+		final Node root = new Node();
+		for (final String field : expression.split(",")) {
+			Node node = root;
+			for (final String segment : field.trim().split("\\.")) {
+				if (segment.isEmpty())
+					break;
+				node = node.children.computeIfAbsent(segment, name -> new Node());
+			}
+		}
+		return root.children.isEmpty() ? null : new FieldSelection(root);
+	}
+	
+	/**
+	 * Whether {@code property} of the object currently written to {@code context} is selected.
+	 */
+	public boolean includes(final JsonStreamContext context, final String property) {
+		final Node node = this.resolve(context);
+		if (node == null)
+			return false;
+		if (node.children.isEmpty())
+			return true;
+		return node.children.containsKey(property) || (node == this.root && COLLECTION.equals(property));
+	}
+	
+	/**
+	 * The selection node of the object written to {@code context}, walking the names of the
+	 * enclosing objects from the root without collecting them first. A node without children
+	 * selects its whole subtree, null selects nothing.
+	 */
+	private Node resolve(final JsonStreamContext context) {
+		final JsonStreamContext parent = context.getParent();
+		if (parent == null)
+			return this.root;
+		final Node node = this.resolve(parent);
+		if (node == null || node.children.isEmpty() || !parent.inObject() || parent.getCurrentName() == null)
+			return node;
+		final String segment = parent.getCurrentName();
+		if (node == this.root && COLLECTION.equals(segment) && !node.children.containsKey(COLLECTION))
+			return this.collectionRoot;
+		return node.children.get(segment);
+	}
+	
+	private static final class Node implements Serializable {
+		
+		private static final long serialVersionUID = 1L;
+		
+		private final Map<String, Node> children;
+		
+		private Node() {
+			this(new HashMap<>());
+		}
+		
+		private Node(final Map<String, Node> children) {
+			this.children = children;
+		}
+		
+	}
+	
+}
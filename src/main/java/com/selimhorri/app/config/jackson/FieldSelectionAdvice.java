@@ -0,0 +1,81 @@
+package com.selimhorri.app.config.jackson;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+import javax.servlet.http.HttpServletRequest;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import com.selimhorri.app.exception.wrapper.FieldSelectionNotSupportedException;
+
+/**
+ * Applies {@code ?fields=} to the bodies of GET endpoints. Error bodies are left untouched.
+ * Bodies written by another converter, such as pre-serialized bytes or relayed streams,
+ * cannot be shaped, a selection on them is refused with 400 rather than ignored.
+ */
+@RestControllerAdvice
+public class FieldSelectionAdvice implements ResponseBodyAdvice<Object> {
+	
+	public static final String FIELDS_PARAMETER = "fields";
+	
+	@Override
+	public boolean supports(final MethodParameter returnType, final Class<? extends HttpMessageConverter<?>> converterType) {
+		return AnnotatedElementUtils.hasAnnotation(returnType.getContainingClass(), RestController.class);
+	}
+	
+	@Override
+	public Object beforeBodyWrite(final Object body, final MethodParameter returnType, final MediaType contentType, 
+			final Class<? extends HttpMessageConverter<?>> converterType, final ServerHttpRequest request, 
+			final ServerHttpResponse response) {
+		final String fields = fields(request);
+		if (body == null || fields == null)
+			return body;
+		if (!AbstractJackson2HttpMessageConverter.class.isAssignableFrom(converterType)) {
+			closeQuietly(body);
+			throw new FieldSelectionNotSupportedException("#### ?" + FIELDS_PARAMETER + "= is not supported on " 
+					+ ((ServletServerHttpRequest) request).getServletRequest().getRequestURI() + "! ####");
+		}
+		final FieldSelection selection = FieldSelection.parse(fields);
+		if (selection == null)
+			return body;
+		final MappingJacksonValue bodyContainer = (body instanceof MappingJacksonValue) 
+				? (MappingJacksonValue) body : new MappingJacksonValue(body);
+		bodyContainer.setFilters(selection);
+		return bodyContainer;
+	}
+	
+	private static String fields(final ServerHttpRequest request) {
+		if (!HttpMethod.GET.equals(request.getMethod()) || !(request instanceof ServletServerHttpRequest))
+			return null;
+		final HttpServletRequest servletRequest = ((ServletServerHttpRequest) request).getServletRequest();
+		return servletRequest.getParameter(FIELDS_PARAMETER);
+	}
+	
+	/**
+	 * A refused relayed body still holds its downstream connection.
+	 */
+	private static void closeQuietly(final Object body) {
+		if (!(body instanceof Closeable))
+			return;
+		try {
+			((Closeable) body).close();
+		}
+		catch (IOException e) {
+			// the request fails anyway
+		}
+	}
+	
+}
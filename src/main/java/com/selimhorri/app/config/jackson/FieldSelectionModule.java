@@ -0,0 +1,41 @@
+package com.selimhorri.app.config.jackson;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+
+/**
+ * Makes every bean property honour a {@link FieldSelection}; picked up by Spring Boot's
+ * {@code ObjectMapper}. Without a selection the writers behave exactly as before.
+ */
+@Component
+public class FieldSelectionModule extends SimpleModule {
+	
+	private static final long serialVersionUID = 1L;
+	
+	public FieldSelectionModule() {
+		super(FieldSelectionModule.class.getSimpleName());
+		this.setSerializerModifier(new BeanSerializerModifier() {
+			
+			private static final long serialVersionUID = 1L;
+			
+			@Override
+			public List<BeanPropertyWriter> changeProperties(final SerializationConfig config, 
+					final BeanDescription beanDesc, final List<BeanPropertyWriter> beanProperties) {
+				return beanProperties.stream()
+						.map(writer -> (writer instanceof FieldFilteringWriter || writer.getClass() != BeanPropertyWriter.class) 
+								? writer : new FieldFilteringWriter(writer))
+						.collect(Collectors.toList());
+			}
+			
+		});
+	}
+	
+}
@@ -0,0 +1,32 @@
+package com.selimhorri.app.config.web;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.selimhorri.app.streaming.BufferPool;
+import com.selimhorri.app.streaming.RelayedBodyHttpMessageConverter;
+
+/**
+ * Registers the relay converter ahead of Jackson so pure relay routes never reach it.
+ */
+@Configuration
+public class RelayConfig implements WebMvcConfigurer {
+	
+	private final BufferPool bufferPool;
+	
+	public RelayConfig(@Value("${app.passthrough.buffers:64}") final int buffers, 
+			@Value("${app.passthrough.buffer-size:16KB}") final DataSize bufferSize) {
+		this.bufferPool = new BufferPool(buffers, Math.toIntExact(bufferSize.toBytes()));
+	}
+	
+	@Override
+	public void extendMessageConverters(final List<HttpMessageConverter<?>> converters) {
+		converters.add(0, new RelayedBodyHttpMessageConverter(this.bufferPool));
+	}
+	
+}
@@ -0,0 +1,19 @@
+package com.selimhorri.app.config.web;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Maps a handler only to requests whose {@code Prefer} header asks for {@code respond-async}
+ * (RFC 7240), among whatever other preferences it carries. The same path without the
+ * preference falls through to its synchronous handler.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RespondAsync {
+	
+}
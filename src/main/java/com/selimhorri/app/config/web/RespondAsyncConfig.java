@@ -0,0 +1,79 @@
+package com.selimhorri.app.config.web;
+
+import java.lang.reflect.Method;
+import java.util.Enumeration;
+
+import javax.servlet.http.HttpServletRequest;
+
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcRegistrations;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.web.servlet.mvc.condition.RequestCondition;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+/**
+ * Adds the {@link RespondAsync} condition to request mappings. A {@code headers} condition
+ * only matches the whole header value, which misses {@code Prefer: respond-async, wait=10}.
+ */
+@Configuration
+public class RespondAsyncConfig implements WebMvcRegistrations {
+	
+	public static final String PREFER = "Prefer";
+	public static final String PREFERENCE_APPLIED = "Preference-Applied";
+	public static final String RESPOND_ASYNC = "respond-async";
+	
+	@Override
+	public RequestMappingHandlerMapping getRequestMappingHandlerMapping() {
+		return new RequestMappingHandlerMapping() {
+			@Override
+			protected RequestCondition<?> getCustomMethodCondition(final Method method) {
+				return AnnotatedElementUtils.hasAnnotation(method, RespondAsync.class) 
+						? RespondAsyncCondition.INSTANCE : null;
+			}
+		};
+	}
+	
+	/**
+	 * Whether any {@code Prefer} header of the request lists {@code respond-async}.
+	 */
+	public static boolean prefersRespondAsync(final HttpServletRequest request) {
+		final Enumeration<String> headers = request.getHeaders(PREFER);
+		if (headers == null)
+			return false;
+		while (headers.hasMoreElements()) {
+			for (final String preference : headers.nextElement().split(",")) {
+				final String name = preference.split("[=;]", 2)[0].trim();
+				if (RESPOND_ASYNC.equalsIgnoreCase(name))
+					return true;
+			}
+		}
+		return false;
+	}
+	
+	private static final class RespondAsyncCondition implements RequestCondition<RespondAsyncCondition> {
+		
+		private static final RespondAsyncCondition INSTANCE = new RespondAsyncCondition();
+		
+		@Override
+		public RespondAsyncCondition combine(final RespondAsyncCondition other) {
+			return this;
+		}
+		
+		@Override
+		public RespondAsyncCondition getMatchingCondition(final HttpServletRequest request) {
+			return prefersRespondAsync(request) ? this : null;
+		}
+		
+		@Override
+		public int compareTo(final RespondAsyncCondition other, final HttpServletRequest request) {
+			return 0;
+		}
+		
+		@Override
+		public String toString() {
+			return PREFER + ": " + RESPOND_ASYNC;
+		}
+		
+	}
+	
+}
@@ -14,6 +14,9 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 import com.selimhorri.app.exception.payload.ExceptionMsg;
 import com.selimhorri.app.exception.wrapper.CredentialNotFoundException;
 import com.selimhorri.app.exception.wrapper.FavouriteNotFoundException;
+import com.selimhorri.app.exception.wrapper.FieldSelectionNotSupportedException;
+import com.selimhorri.app.exception.wrapper.InvalidTokenException;
+import com.selimhorri.app.exception.wrapper.OrderPlacementNotFoundException;
 import com.selimhorri.app.exception.wrapper.UnauthorizedException;
 import com.selimhorri.app.exception.wrapper.UserObjectNotFoundException;
 import com.selimhorri.app.exception.wrapper.VerificationTokenNotFoundException;
@@ -69,7 +72,8 @@ public class ApiExceptionHandler {
 	}
 
 	@ExceptionHandler(value = {
-			UnauthorizedException.class
+			UnauthorizedException.class,
+			InvalidTokenException.class
 	})
 	public <T extends RuntimeException> ResponseEntity<ExceptionMsg> handleUnauthorizedRequestException(final T e) {
 
@@ -91,6 +95,8 @@ public class ApiExceptionHandler {
 			CredentialNotFoundException.class,
 			VerificationTokenNotFoundException.class,
 			FavouriteNotFoundException.class,
+			OrderPlacementNotFoundException.class,
+			FieldSelectionNotSupportedException.class,
 			IllegalStateException.class,
 	})
 	public <T extends RuntimeException> ResponseEntity<ExceptionMsg> handleApiRequestException(final T e) {
@@ -0,0 +1,23 @@
+package com.selimhorri.app.exception.wrapper;
+
+public class FieldSelectionNotSupportedException extends RuntimeException {
+	
+	private static final long serialVersionUID = 1L;
+	
+	public FieldSelectionNotSupportedException() {
+		super();
+	}
+	
+	public FieldSelectionNotSupportedException(String message, Throwable cause) {
+		super(message, cause);
+	}
+	
+	public FieldSelectionNotSupportedException(String message) {
+		super(message);
+	}
+	
+	public FieldSelectionNotSupportedException(Throwable cause) {
+		super(cause);
+	}
+	
+}
@@ -0,0 +1,25 @@
+package com.selimhorri.app.exception.wrapper;
+
+public class InvalidTokenException extends RuntimeException {
+	
+	private static final long serialVersionUID = 1L;
+	
+	public InvalidTokenException() {
+		super();
+	}
+	
+	public InvalidTokenException(String message, Throwable cause) {
+		super(message, cause);
+	}
+	
+	public InvalidTokenException(String message) {
+		super(message);
+	}
+	
+	public InvalidTokenException(Throwable cause) {
+		super(cause);
+	}
+	
+	
+	
+}
\ No newline at end of file
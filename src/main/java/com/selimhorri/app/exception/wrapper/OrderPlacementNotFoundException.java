@@ -0,0 +1,23 @@
+package com.selimhorri.app.exception.wrapper;
+
+public class OrderPlacementNotFoundException extends RuntimeException {
+	
+	private static final long serialVersionUID = 1L;
+	
+	public OrderPlacementNotFoundException() {
+		super();
+	}
+	
+	public OrderPlacementNotFoundException(String message, Throwable cause) {
+		super(message, cause);
+	}
+	
+	public OrderPlacementNotFoundException(String message) {
+		super(message);
+	}
+	
+	public OrderPlacementNotFoundException(Throwable cause) {
+		super(cause);
+	}
+	
+}
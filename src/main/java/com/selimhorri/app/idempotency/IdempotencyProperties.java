@@ -0,0 +1,35 @@
+package com.selimhorri.app.idempotency;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "app.idempotency")
+public class IdempotencyProperties {
+	
+	private boolean enabled = true;
+	
+	/**
+	 * How long a completed result is replayed to retries carrying the same key.
+	 */
+	private Duration ttl = Duration.ofHours(24);
+	private DataSize maximumWeight = DataSize.ofMegabytes(32);
+	
+	/**
+	 * How long a retry waits for the call holding its key before answering 409.
+	 */
+	private Duration waitTimeout = Duration.ofSeconds(10);
+	private int maximumKeyLength = 255;
+	
+	/**
+	 * POST routes honouring the Idempotency-Key header, matched against the path within the application.
+	 */
+	private List<String> patterns = new ArrayList<>(List.of("/api/orders", "/api/payments", "/api/carts"));
+	
+}
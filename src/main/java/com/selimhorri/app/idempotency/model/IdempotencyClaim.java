@@ -0,0 +1,40 @@
+package com.selimhorri.app.idempotency.model;
+
+import java.util.concurrent.CompletableFuture;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+/**
+ * Answer to a request carrying an idempotency key: run it, replay a stored result, or
+ * reject it because the key belongs to another request or is still held by a call.
+ */
+@Value
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class IdempotencyClaim {
+	
+	public enum Outcome { EXECUTE, REPLAY, MISMATCH, IN_PROGRESS }
+	
+	Outcome outcome;
+	String key;
+	IdempotentResponse response;
+	CompletableFuture<IdempotentResponse> result;
+	
+	public static IdempotencyClaim execute(final String key, final CompletableFuture<IdempotentResponse> result) {
+		return new IdempotencyClaim(Outcome.EXECUTE, key, null, result);
+	}
+	
+	public static IdempotencyClaim replay(final String key, final IdempotentResponse response) {
+		return new IdempotencyClaim(Outcome.REPLAY, key, response, null);
+	}
+	
+	public static IdempotencyClaim mismatch(final String key) {
+		return new IdempotencyClaim(Outcome.MISMATCH, key, null, null);
+	}
+	
+	public static IdempotencyClaim inProgress(final String key) {
+		return new IdempotencyClaim(Outcome.IN_PROGRESS, key, null, null);
+	}
+	
+}
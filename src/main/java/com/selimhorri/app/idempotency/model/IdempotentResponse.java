@@ -0,0 +1,25 @@
+package com.selimhorri.app.idempotency.model;
+
+import java.util.Map;
+
+import lombok.Value;
+
+/**
+ * What the first call with a key answered, replayed as is to its retries. Only the
+ * headers describing the result are kept, e.g. the Location of what was created.
+ */
+@Value
+public class IdempotentResponse {
+	
+	int status;
+	String contentType;
+	Map<String, String> headers;
+	byte[] body;
+	
+	public int weight() {
+		return 64 + this.body.length + this.headers.entrySet().stream()
+				.mapToInt(header -> header.getKey().length() + header.getValue().length())
+				.sum();
+	}
+	
+}
@@ -0,0 +1,15 @@
+package com.selimhorri.app.idempotency.service;
+
+import com.selimhorri.app.idempotency.model.IdempotencyClaim;
+import com.selimhorri.app.idempotency.model.IdempotentResponse;
+
+public interface IdempotencyService {
+	
+	boolean isEnabled();
+	boolean isIdempotent(final String method, final String path);
+	boolean isValidKey(final String key);
+	IdempotencyClaim claim(final String scope, final String key, final String fingerprint);
+	void complete(final IdempotencyClaim claim, final IdempotentResponse response);
+	void abandon(final IdempotencyClaim claim);
+	
+}
@@ -0,0 +1,162 @@
+package com.selimhorri.app.idempotency.service.impl;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Service;
+import org.springframework.util.AntPathMatcher;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.selimhorri.app.cache.admin.CacheStatistics;
+import com.selimhorri.app.cache.admin.ManagedCache;
+import com.selimhorri.app.cache.admin.ManagedCacheSource;
+import com.selimhorri.app.idempotency.IdempotencyProperties;
+import com.selimhorri.app.idempotency.model.IdempotencyClaim;
+import com.selimhorri.app.idempotency.model.IdempotentResponse;
+import com.selimhorri.app.idempotency.service.IdempotencyService;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Byte-budgeted, expiring store of idempotency keys scoped by caller. A key is claimed by
+ * putting an incomplete result in the map, so of concurrent calls exactly one runs while
+ * the others wait on that result; a completed result is kept for the ttl and replayed, a
+ * failed call releases the key and one of the waiters takes it over.
+ */
+@Service
+@Slf4j
+public class IdempotencyServiceImpl implements IdempotencyService, ManagedCacheSource {
+
+	private static final String CACHE_NAME = "idempotency-keys";
+	private static final char KEY_SEPARATOR = '\n';
+	private static final int PENDING_WEIGHT = 64;
+
+	private final IdempotencyProperties idempotencyProperties;
+	private final AntPathMatcher pathMatcher = new AntPathMatcher();
+	private final Cache<String, Entry> cache;
+	private final LongAdder replays = new LongAdder();
+	private final LongAdder executions = new LongAdder();
+
+	public IdempotencyServiceImpl(final IdempotencyProperties idempotencyProperties) {
+		this.idempotencyProperties = idempotencyProperties;
+		this.cache = Caffeine.newBuilder()
+				.expireAfterWrite(idempotencyProperties.getTtl())
+				.maximumWeight(idempotencyProperties.getMaximumWeight().toBytes())
+				.<String, Entry>weigher((key, entry) -> entry.weight())
+				.recordStats()
+				.build();
+	}
+
+	@Override
+	public boolean isEnabled() {
+		return this.idempotencyProperties.isEnabled();
+	}
+
+	@Override
+	public boolean isIdempotent(final String method, final String path) {
+		return this.isEnabled() && HttpMethod.POST.matches(method) && this.idempotencyProperties.getPatterns().stream()
+				.anyMatch(pattern -> this.pathMatcher.match(pattern, path));
+	}
+
+	@Override
+	public boolean isValidKey(final String key) {
+		return key != null && !key.isBlank() && key.length() <= this.idempotencyProperties.getMaximumKeyLength()
+				&& key.chars().allMatch(c -> c > 0x20 && c < 0x7f);
+	}
+
+	@Override
+	public IdempotencyClaim claim(final String scope, final String key, final String fingerprint) {
+		final String scopedKey = scope + KEY_SEPARATOR + key;
+		final long deadline = System.nanoTime() + this.idempotencyProperties.getWaitTimeout().toNanos();
+		while (true) {
+			final Entry claimed = new Entry(fingerprint, new CompletableFuture<>());
+			final Entry existing = this.cache.asMap().putIfAbsent(scopedKey, claimed);
+			if (existing == null) {
+				this.executions.increment();
+				return IdempotencyClaim.execute(scopedKey, claimed.result);
+			}
+			if (!existing.fingerprint.equals(fingerprint))
+				return IdempotencyClaim.mismatch(scopedKey);
+
+			final IdempotentResponse response;
+			try {
+				response = existing.result.get(Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return IdempotencyClaim.inProgress(scopedKey);
+			}
+			catch (ExecutionException | TimeoutException e) {
+				log.info("**IdempotencyService, key {} still held after {}*\n", key, this.idempotencyProperties.getWaitTimeout());
+				return IdempotencyClaim.inProgress(scopedKey);
+			}
+			if (response != null) {
+				this.replays.increment();
+				return IdempotencyClaim.replay(scopedKey, response);
+			}
+			// the call holding the key failed and released it, claim it again
+		}
+	}
+
+	@Override
+	public void complete(final IdempotencyClaim claim, final IdempotentResponse response) {
+		claim.getResult().complete(response);
+		// replacing the entry reweighs it and starts its ttl at completion
+		this.cache.asMap().computeIfPresent(claim.getKey(),
+				(key, entry) -> (entry.result == claim.getResult()) ? new Entry(entry.fingerprint, entry.result) : entry);
+	}
+
+	@Override
+	public void abandon(final IdempotencyClaim claim) {
+		this.cache.asMap().computeIfPresent(claim.getKey(),
+				(key, entry) -> (entry.result == claim.getResult()) ? null : entry);
+		claim.getResult().complete(null);
+	}
+
+	/**
+	 * Keys are the Idempotency-Key values, purged for every caller that used them.
+	 */
+	@Override
+	public List<ManagedCache> getManagedCaches() {
+		return List.of(new ManagedCache(CACHE_NAME, this::statistics, this.cache::invalidateAll, this::invalidateKey));
+	}
+
+	private void invalidateKey(final String key) {
+		final String suffix = KEY_SEPARATOR + key;
+		this.cache.asMap().keySet().removeIf(scopedKey -> scopedKey.endsWith(suffix));
+	}
+
+	private CacheStatistics statistics() {
+		return CacheStatistics.builder()
+				.name(CACHE_NAME)
+				.size(this.cache.estimatedSize())
+				.hits(this.replays.sum())
+				.misses(this.executions.sum())
+				.evictions(this.cache.stats().evictionCount())
+				.build();
+	}
+
+	private static final class Entry {
+
+		private final String fingerprint;
+		private final CompletableFuture<IdempotentResponse> result;
+
+		private Entry(final String fingerprint, final CompletableFuture<IdempotentResponse> result) {
+			this.fingerprint = fingerprint;
+			this.result = result;
+		}
+
+		private int weight() {
+			final IdempotentResponse response = this.result.getNow(null);
+			return (response != null) ? response.weight() + this.fingerprint.length() : PENDING_WEIGHT;
+		}
+
+	}
+
+}
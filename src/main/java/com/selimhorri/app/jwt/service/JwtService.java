@@ -11,9 +11,11 @@ public interface JwtService {
 	
 	String extractUsername(final String token);
 	String extractUserId(final String token);
+	String extractTokenId(final String token);
 	Date extractExpiration(final String token);
 	<T> T extractClaims(final String token, final Function<Claims, T> claimsResolver);
 	String generateToken(final UserDetails userDetails, final String userId);
+	String generateRefreshToken(final UserDetails userDetails, final String userId);
 	Boolean validateToken(final String token, final UserDetails userDetails);
 	
 }
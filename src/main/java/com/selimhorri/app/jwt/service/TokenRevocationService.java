@@ -0,0 +1,14 @@
+package com.selimhorri.app.jwt.service;
+
+import java.util.Date;
+
+public interface TokenRevocationService {
+	
+	/**
+	 * @return false when the token was revoked already, by this call's competitors included
+	 */
+	boolean revoke(final String tokenId, final Date expiresAt);
+	boolean isRevoked(final String tokenId);
+	int purgeExpired();
+	
+}
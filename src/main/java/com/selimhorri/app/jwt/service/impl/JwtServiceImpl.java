@@ -44,6 +44,12 @@ public class JwtServiceImpl implements JwtService {
 		return this.jwtUtil.generateToken(userDetails, userId);
 	}
 	
+	@Override
+	public String generateRefreshToken(final UserDetails userDetails, final String userId) {
+		log.info("**String, jwt service generate refresh token from given userDetails!*");
+		return this.jwtUtil.generateRefreshToken(userDetails, userId);
+	}
+	
 	@Override
 	public Boolean validateToken(final String token, final UserDetails userDetails) {
 		log.info("**Boolean, jwt service validate token from given token and userDetails!*");
@@ -56,6 +62,11 @@ public class JwtServiceImpl implements JwtService {
 		return this.jwtUtil.extractUserId(token);
 	}
 	
+	@Override
+	public String extractTokenId(final String token) {
+		return this.jwtUtil.extractTokenId(token);
+	}
+	
 	
 	
 }
@@ -0,0 +1,117 @@
+package com.selimhorri.app.jwt.service.impl;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.selimhorri.app.cache.invalidation.CacheInvalidationBus;
+import com.selimhorri.app.cache.invalidation.CacheInvalidationListener;
+import com.selimhorri.app.cache.invalidation.InvalidationEvent;
+import com.selimhorri.app.jwt.service.TokenRevocationService;
+import com.selimhorri.app.jwt.util.BloomFilter;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory denylist of token ids. The Bloom filter answers the common "not revoked" case
+ * without touching the exact set, which is only consulted to rule out false positives.
+ * Entries live until the token they revoke would have expired anyway. Revocations are
+ * announced on the invalidation bus so every replica denies the token, a replica joining
+ * later only learns revocations made from then on.
+ */
+@Service
+@Slf4j
+public class TokenRevocationServiceImpl implements TokenRevocationService, CacheInvalidationListener, MeterBinder {
+	
+	static final String REVOKED_TOKENS_RESOURCE = "revoked-tokens";
+	private static final char EXPIRY_SEPARATOR = '@';
+	private static final double FALSE_POSITIVE_RATE = 0.001;
+	
+	private final Map<String, Long> revokedTokens = new ConcurrentHashMap<>();
+	private final CacheInvalidationBus cacheInvalidationBus;
+	private final long expectedRevocations;
+	private volatile BloomFilter bloomFilter;
+	
+	public TokenRevocationServiceImpl(final CacheInvalidationBus cacheInvalidationBus, 
+			@Value("${app.jwt.expected-revocations:100000}") final long expectedRevocations) {
+		this.cacheInvalidationBus = cacheInvalidationBus;
+		this.expectedRevocations = expectedRevocations;
+		this.bloomFilter = new BloomFilter(expectedRevocations, FALSE_POSITIVE_RATE);
+	}
+	
+	@Override
+	public boolean revoke(final String tokenId, final Date expiresAt) {
+		if (tokenId == null)
+			return false;
+		final long expiry = (expiresAt != null) ? expiresAt.getTime() : Long.MAX_VALUE;
+		if (!this.record(tokenId, expiry))
+			return false;
+		log.info("**TokenRevocationService, revoking token {}*\n", tokenId);
+		this.cacheInvalidationBus.publish(REVOKED_TOKENS_RESOURCE, tokenId + EXPIRY_SEPARATOR + expiry);
+		return true;
+	}
+	
+	private synchronized boolean record(final String tokenId, final long expiry) {
+		if (this.revokedTokens.putIfAbsent(tokenId, expiry) != null)
+			return false;
+		this.bloomFilter.put(tokenId);
+		return true;
+	}
+	
+	/**
+	 * A token revoked on another replica. Gap events carry no token ids, so they change nothing here.
+	 */
+	@Override
+	public void onInvalidation(final InvalidationEvent event) {
+		if (!REVOKED_TOKENS_RESOURCE.equals(event.getResource()) || event.getId() == null)
+			return;
+		final int separator = event.getId().lastIndexOf(EXPIRY_SEPARATOR);
+		try {
+			if (separator > 0)
+				this.record(event.getId().substring(0, separator), 
+						Long.parseLong(event.getId().substring(separator + 1)));
+		}
+		catch (NumberFormatException e) {
+			log.warn("**TokenRevocationService, ignoring malformed revocation {}*\n", event.getId());
+		}
+	}
+	
+	@Override
+	public boolean isRevoked(final String tokenId) {
+		if (tokenId == null || !this.bloomFilter.mightContain(tokenId))
+			return false;
+		return this.revokedTokens.containsKey(tokenId);
+	}
+	
+	@Override
+	@Scheduled(fixedDelayString = "${app.jwt.revocation-purge-interval:PT1M}")
+	public synchronized int purgeExpired() {
+		final long now = System.currentTimeMillis();
+		final int before = this.revokedTokens.size();
+		this.revokedTokens.values().removeIf(expiresAt -> expiresAt < now);
+		final int purged = before - this.revokedTokens.size();
+		if (purged > 0) {
+			final BloomFilter rebuilt = new BloomFilter(
+					Math.max(this.expectedRevocations, this.revokedTokens.size() * 2L), FALSE_POSITIVE_RATE);
+			this.revokedTokens.keySet().forEach(rebuilt::put);
+			this.bloomFilter = rebuilt;
+			log.info("**TokenRevocationService, purged {} expired revocations*\n", purged);
+		}
+		return purged;
+	}
+	
+	@Override
+	public void bindTo(final MeterRegistry registry) {
+		Gauge.builder("gateway.jwt.revoked.tokens", this.revokedTokens, Map::size)
+				.description("Revoked tokens that have not expired yet")
+				.register(registry);
+	}
+	
+}
@@ -0,0 +1,67 @@
+package com.selimhorri.app.jwt.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size Bloom filter over strings, safe for concurrent readers and writers.
+ * Never yields false negatives, so a miss can be trusted without any further lookup.
+ */
+public final class BloomFilter {
+	
+	private final AtomicLongArray bits;
+	private final long bitCount;
+	private final int hashCount;
+	
+	public BloomFilter(final long expectedInsertions, final double falsePositiveRate) {
+		final long n = Math.max(1L, expectedInsertions);
+		final long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+		this.bits = new AtomicLongArray((int) Math.max(1L, (m + 63) >>> 6));
+		this.bitCount = this.bits.length() * 64L;
+		this.hashCount = (int) Math.max(1L, Math.round((double) m / n * Math.log(2)));
+	}
+	
+	public void put(final String value) {
+		final long hash1 = hash(value);
+		final long hash2 = mix(hash1);
+		for (int i = 0; i < this.hashCount; i++) {
+			final long index = Math.floorMod(hash1 + i * hash2, this.bitCount);
+			final int word = (int) (index >>> 6);
+			final long mask = 1L << index;
+			long current;
+			while (((current = this.bits.get(word)) & mask) == 0 
+					&& !this.bits.compareAndSet(word, current, current | mask));
+		}
+	}
+	
+	public boolean mightContain(final String value) {
+		final long hash1 = hash(value);
+		final long hash2 = mix(hash1);
+		for (int i = 0; i < this.hashCount; i++) {
+			final long index = Math.floorMod(hash1 + i * hash2, this.bitCount);
+			if ((this.bits.get((int) (index >>> 6)) & (1L << index)) == 0)
+				return false;
+		}
+		return true;
+	}
+	
+	public long bitSize() {
+		return this.bitCount;
+	}
+	
+	private static long hash(final String value) {
+		long hash = 0xcbf29ce484222325L;
+		for (final byte b : value.getBytes(StandardCharsets.UTF_8)) {
+			hash ^= b;
+			hash *= 0x100000001b3L;
+		}
+		return mix(hash);
+	}
+	
+	private static long mix(long z) {
+		z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+		z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+		return (z ^ (z >>> 31)) | 1L;
+	}
+	
+}
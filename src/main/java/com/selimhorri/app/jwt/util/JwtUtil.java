@@ -9,8 +9,15 @@ import io.jsonwebtoken.Claims;
 
 public interface JwtUtil {
 
+	String USER_ID_CLAIM = "userId";
+	String TOKEN_TYPE_CLAIM = "typ";
+	String AUTHORITIES_CLAIM = "authorities";
+	String ACCESS_TOKEN_TYPE = "access";
+	String REFRESH_TOKEN_TYPE = "refresh";
+
 	String extractUserId(final String token);
 	String extractUsername(final String token);
+	String extractTokenId(final String token);
 
 	Date extractExpiration(final String token);
 
@@ -18,6 +25,8 @@ public interface JwtUtil {
 
 	String generateToken(final UserDetails userDetails, final String userId);
 
+	String generateRefreshToken(final UserDetails userDetails, final String userId);
+
 	Boolean validateToken(final String token, final UserDetails userDetails);
 
 }
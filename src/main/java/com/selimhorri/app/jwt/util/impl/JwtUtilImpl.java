@@ -1,10 +1,15 @@
 package com.selimhorri.app.jwt.util.impl;
 
+import java.time.Duration;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
@@ -19,6 +24,12 @@ public class JwtUtilImpl implements JwtUtil {
 
 	private static final String SECRET_KEY = "secret";
 
+	@Value("${app.jwt.access-token-validity:15m}")
+	private Duration accessTokenValidity = Duration.ofMinutes(15);
+
+	@Value("${app.jwt.refresh-token-validity:7d}")
+	private Duration refreshTokenValidity = Duration.ofDays(7);
+
 	@Override
 	public String extractUsername(final String token) {
 		return this.extractClaims(token, Claims::getSubject);
@@ -46,16 +57,30 @@ public class JwtUtilImpl implements JwtUtil {
 	@Override
 	public String generateToken(final UserDetails userDetails, final String userId) {
 		final Map<String, Object> claims = new HashMap<>();
-		claims.put("userId", userId);
-		return this.createToken(claims, userDetails.getUsername());
+		claims.put(USER_ID_CLAIM, userId);
+		claims.put(TOKEN_TYPE_CLAIM, ACCESS_TOKEN_TYPE);
+		claims.put(AUTHORITIES_CLAIM, userDetails.getAuthorities().stream()
+				.map(GrantedAuthority::getAuthority)
+				.collect(Collectors.toList()));
+		return this.createToken(claims, userDetails.getUsername(), this.accessTokenValidity);
 	}
 
-	private String createToken(final Map<String, Object> claims, final String subject) {
+	@Override
+	public String generateRefreshToken(final UserDetails userDetails, final String userId) {
+		final Map<String, Object> claims = new HashMap<>();
+		claims.put(USER_ID_CLAIM, userId);
+		claims.put(TOKEN_TYPE_CLAIM, REFRESH_TOKEN_TYPE);
+		return this.createToken(claims, userDetails.getUsername(), this.refreshTokenValidity);
+	}
+
+	private String createToken(final Map<String, Object> claims, final String subject, final Duration validity) {
+		final long now = System.currentTimeMillis();
 		return Jwts.builder()
 				.setClaims(claims)
+				.setId(UUID.randomUUID().toString())
 				.setSubject(subject)
-				.setIssuedAt(new Date(System.currentTimeMillis()))
-				.setExpiration(new Date(System.currentTimeMillis() + 1000 * 60 * 60 * 10))
+				.setIssuedAt(new Date(now))
+				.setExpiration(new Date(now + validity.toMillis()))
 				.signWith(SignatureAlgorithm.HS256, SECRET_KEY)
 				.compact();
 	}
@@ -67,7 +92,12 @@ public class JwtUtilImpl implements JwtUtil {
 	}
 
 	public String extractUserId(final String token) {
-		return extractClaims(token, claims -> claims.get("userId", String.class));
+		return extractClaims(token, claims -> claims.get(USER_ID_CLAIM, String.class));
+	}
+
+	@Override
+	public String extractTokenId(final String token) {
+		return this.extractClaims(token, Claims::getId);
 	}
 
 }
@@ -0,0 +1,90 @@
+package com.selimhorri.app.pagination;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import lombok.Value;
+
+/**
+ * Opaque position in a collection: the key of the last item returned. Listings are ordered
+ * by primary key, so the page resumes at the first key after it, whether or not the keyed
+ * item is still there.
+ */
+@Value
+public class Cursor {
+	
+	private static final String PREFIX = "after:";
+	
+	String lastKey;
+	
+	/**
+	 * Orders keys the way the downstream services list them: runs of digits compare as numbers,
+	 * so {@code 9 < 10} and composite keys like {@code 2-10} sort after {@code 2-9}.
+	 */
+	public boolean precedes(final String key) {
+		return compare(this.lastKey, key) < 0;
+	}
+	
+	public String encode() {
+		return Base64.getUrlEncoder().withoutPadding().encodeToString((PREFIX + this.lastKey).getBytes(StandardCharsets.UTF_8));
+	}
+	
+	/**
+	 * @return null for a null cursor, i.e. the first page
+	 */
+	public static Cursor decode(final String cursor) {
+		if (cursor == null || cursor.isBlank())
+			return null;
+		try {
+			final String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+			if (raw.startsWith(PREFIX))
+				return new Cursor(raw.substring(PREFIX.length()));
+		}
+		catch (IllegalArgumentException e) {
+			// reported below
+		}
+		throw new IllegalStateException("Invalid cursor: " + cursor);
+	}
+	
+	static int compare(final String left, final String right) {
+		int i = 0;
+		int j = 0;
+		while (i < left.length() && j < right.length()) {
+			if (Character.isDigit(left.charAt(i)) && Character.isDigit(right.charAt(j))) {
+				final int leftEnd = digitsEnd(left, i);
+				final int rightEnd = digitsEnd(right, j);
+				final String leftDigits = stripZeros(left.substring(i, leftEnd));
+				final String rightDigits = stripZeros(right.substring(j, rightEnd));
+				if (leftDigits.length() != rightDigits.length())
+					return Integer.compare(leftDigits.length(), rightDigits.length());
+				final int digits = leftDigits.compareTo(rightDigits);
+				if (digits != 0)
+					return digits;
+				i = leftEnd;
+				j = rightEnd;
+			}
+			else if (left.charAt(i) != right.charAt(j)) {
+				return Character.compare(left.charAt(i), right.charAt(j));
+			}
+			else {
+				i++;
+				j++;
+			}
+		}
+		return Integer.compare(left.length() - i, right.length() - j);
+	}
+	
+	private static int digitsEnd(final String key, int index) {
+		while (index < key.length() && Character.isDigit(key.charAt(index)))
+			index++;
+		return index;
+	}
+	
+	private static String stripZeros(final String digits) {
+		int index = 0;
+		while (index < digits.length() - 1 && digits.charAt(index) == '0')
+			index++;
+		return digits.substring(index);
+	}
+	
+}
@@ -0,0 +1,31 @@
+package com.selimhorri.app.pagination;
+
+import java.io.Serializable;
+import java.util.Collection;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One page of a collection; keeps the {@code collection} property of the unpaged responses.
+ * {@code next} is the link to the following page and is absent on the last one.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class CursorPage<T> implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	private Collection<T> collection;
+	
+	@JsonInclude(value = Include.NON_NULL)
+	private String next;
+	
+}
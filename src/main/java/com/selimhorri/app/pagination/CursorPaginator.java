@@ -0,0 +1,94 @@
+package com.selimhorri.app.pagination;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.selimhorri.app.streaming.DownstreamCollection;
+
+import feign.Response;
+
+/**
+ * Cuts {@code limit} items after a {@link Cursor} out of a collection in its natural order
+ * (the downstream services list by primary key). None of the downstream services page, so
+ * their {@code collection} is parsed as a stream and reading stops as soon as the page is
+ * full: at most {@code limit + 1} items are held, whatever the size of the collection.
+ */
+@Component
+public class CursorPaginator {
+	
+	public static final String LIMIT_PARAMETER = "limit";
+	public static final String CURSOR_PARAMETER = "cursor";
+	
+	private final ObjectMapper objectMapper;
+	private final int maxLimit;
+	
+	public CursorPaginator(final ObjectMapper objectMapper, 
+			@Value("${app.pagination.max-limit:500}") final int maxLimit) {
+		this.objectMapper = objectMapper;
+		this.maxLimit = maxLimit;
+	}
+	
+	/**
+	 * Pages the {@code collection} of a raw downstream response without decoding the rest of it.
+	 */
+	public <T> CursorPage<T> page(final Supplier<Response> source, final Class<T> type, 
+			final Function<T, ?> key, final int limit, final String cursor) {
+		final int size = this.validate(limit);
+		final Cursor position = Cursor.decode(cursor);
+		try (final DownstreamCollection<T> items = DownstreamCollection.open(source.get(), this.objectMapper, type)) {
+			return this.page(items, key, size, position);
+		}
+	}
+	
+	/**
+	 * Pages a collection that is already in memory, e.g. a cached catalog.
+	 */
+	public <T> CursorPage<T> page(final Collection<T> collection, final Function<T, ?> key, 
+			final int limit, final String cursor) {
+		return this.page((collection != null) ? collection.iterator() : List.<T>of().iterator(), 
+				key, this.validate(limit), Cursor.decode(cursor));
+	}
+	
+	private int validate(final int limit) {
+		if (limit < 1 || limit > this.maxLimit)
+			throw new IllegalStateException("limit must be between 1 and " + this.maxLimit);
+		return limit;
+	}
+	
+	/**
+	 * Items after the cursor's key are taken. Keys are compared rather than matched, so a
+	 * page still resumes in the right place when the keyed item has been removed.
+	 */
+	private <T> CursorPage<T> page(final Iterator<T> items, final Function<T, ?> key, final int limit, 
+			final Cursor cursor) {
+		final List<T> page = new ArrayList<>(limit + 1);
+		while (items.hasNext() && page.size() <= limit) {
+			final T item = items.next();
+			if (cursor == null || cursor.precedes(String.valueOf(key.apply(item))))
+				page.add(item);
+		}
+		
+		if (page.size() <= limit)
+			return CursorPage.<T>builder().collection(page).build();
+		page.remove(limit);
+		final T last = page.get(limit - 1);
+		final Cursor next = new Cursor(String.valueOf(key.apply(last)));
+		return CursorPage.<T>builder()
+				.collection(page)
+				.next(ServletUriComponentsBuilder.fromCurrentRequest()
+						.replaceQueryParam(LIMIT_PARAMETER, limit)
+						.replaceQueryParam(CURSOR_PARAMETER, next.encode())
+						.toUriString())
+				.build();
+	}
+	
+}
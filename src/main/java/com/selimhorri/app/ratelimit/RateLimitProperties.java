@@ -0,0 +1,45 @@
+package com.selimhorri.app.ratelimit;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "app.rate-limit")
+public class RateLimitProperties {
+	
+	private boolean enabled = true;
+	
+	/**
+	 * Upper bound of live buckets, idle ones are evicted first.
+	 */
+	private long maxBuckets = 100_000;
+	private Duration idleTimeout = Duration.ofMinutes(10);
+	
+	private Limit defaultLimit = new Limit();
+	
+	/**
+	 * Route groups, matched in declaration order against the path within the application.
+	 */
+	private Map<String, RouteGroup> groups = new LinkedHashMap<>();
+	
+	@Data
+	public static class Limit {
+		private long capacity = 100;
+		private long refillTokens = 100;
+		private Duration refillPeriod = Duration.ofSeconds(1);
+	}
+	
+	@Data
+	public static class RouteGroup {
+		private List<String> patterns = new ArrayList<>();
+		private Limit limit = new Limit();
+	}
+	
+}
@@ -0,0 +1,39 @@
+package com.selimhorri.app.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.selimhorri.app.ratelimit.model.RateLimitProbe;
+
+/**
+ * Lock-free token bucket expressed as a generic cell rate algorithm: the whole
+ * state is the theoretical arrival time of the next token, updated with a single CAS.
+ */
+public final class TokenBucket {
+	
+	private final long capacity;
+	private final long emissionInterval;
+	private final long burstWindow;
+	private final AtomicLong theoreticalArrival;
+	
+	public TokenBucket(final RateLimitProperties.Limit limit, final long nowNanos) {
+		if (limit.getCapacity() <= 0 || limit.getRefillTokens() <= 0)
+			throw new IllegalArgumentException("Rate limit capacity and refill tokens must be positive");
+		this.capacity = limit.getCapacity();
+		this.emissionInterval = Math.max(1L, limit.getRefillPeriod().toNanos() / limit.getRefillTokens());
+		this.burstWindow = this.emissionInterval * this.capacity;
+		this.theoreticalArrival = new AtomicLong(nowNanos);
+	}
+	
+	public RateLimitProbe tryConsume(final long nowNanos) {
+		while (true) {
+			final long arrival = this.theoreticalArrival.get();
+			final long base = Math.max(arrival, nowNanos);
+			final long backlog = base + this.emissionInterval - nowNanos;
+			if (backlog > this.burstWindow)
+				return RateLimitProbe.rejected(this.capacity, backlog - this.burstWindow, base - nowNanos);
+			if (this.theoreticalArrival.compareAndSet(arrival, base + this.emissionInterval))
+				return RateLimitProbe.consumed(this.capacity, (this.burstWindow - backlog) / this.emissionInterval, backlog);
+		}
+	}
+	
+}
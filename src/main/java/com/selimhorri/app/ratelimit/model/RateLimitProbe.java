@@ -0,0 +1,25 @@
+package com.selimhorri.app.ratelimit.model;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+@Value
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class RateLimitProbe {
+	
+	boolean consumed;
+	long limit;
+	long remaining;
+	long nanosToRetry;
+	long nanosToReset;
+	
+	public static RateLimitProbe consumed(final long limit, final long remaining, final long nanosToReset) {
+		return new RateLimitProbe(true, limit, remaining, 0L, nanosToReset);
+	}
+	
+	public static RateLimitProbe rejected(final long limit, final long nanosToRetry, final long nanosToReset) {
+		return new RateLimitProbe(false, limit, 0L, nanosToRetry, nanosToReset);
+	}
+	
+}
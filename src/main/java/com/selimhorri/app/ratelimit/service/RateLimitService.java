@@ -0,0 +1,10 @@
+package com.selimhorri.app.ratelimit.service;
+
+import com.selimhorri.app.ratelimit.model.RateLimitProbe;
+
+public interface RateLimitService {
+	
+	boolean isEnabled();
+	RateLimitProbe tryConsume(final String clientKey, final String path);
+	
+}
@@ -0,0 +1,104 @@
+package com.selimhorri.app.ratelimit.service.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.stereotype.Service;
+import org.springframework.util.AntPathMatcher;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.selimhorri.app.ratelimit.RateLimitProperties;
+import com.selimhorri.app.ratelimit.TokenBucket;
+import com.selimhorri.app.ratelimit.model.RateLimitProbe;
+import com.selimhorri.app.ratelimit.service.RateLimitService;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@Slf4j
+public class RateLimitServiceImpl implements RateLimitService, MeterBinder {
+	
+	private static final String DEFAULT_GROUP = "default";
+	
+	private final RateLimitProperties rateLimitProperties;
+	private final List<RouteGroup> routeGroups = new ArrayList<>();
+	private final RouteGroup defaultGroup;
+	private final AntPathMatcher pathMatcher = new AntPathMatcher();
+	private final Cache<String, TokenBucket> buckets;
+	private final Map<String, LongAdder> rejections = new ConcurrentHashMap<>();
+	
+	public RateLimitServiceImpl(final RateLimitProperties rateLimitProperties) {
+		this.rateLimitProperties = rateLimitProperties;
+		rateLimitProperties.getGroups().forEach((name, group) -> 
+				this.routeGroups.add(new RouteGroup(name, group.getPatterns(), group.getLimit())));
+		this.defaultGroup = new RouteGroup(DEFAULT_GROUP, List.of(), rateLimitProperties.getDefaultLimit());
+		this.buckets = Caffeine.newBuilder()
+				.maximumSize(rateLimitProperties.getMaxBuckets())
+				.expireAfterAccess(rateLimitProperties.getIdleTimeout())
+				.build();
+		this.routeGroups.forEach(group -> this.rejections.put(group.name, new LongAdder()));
+		this.rejections.put(DEFAULT_GROUP, new LongAdder());
+	}
+	
+	@Override
+	public boolean isEnabled() {
+		return this.rateLimitProperties.isEnabled();
+	}
+	
+	@Override
+	public RateLimitProbe tryConsume(final String clientKey, final String path) {
+		final RouteGroup group = this.resolveGroup(path);
+		final long now = System.nanoTime();
+		final RateLimitProbe probe = this.buckets
+				.get(group.name + "|" + clientKey, key -> new TokenBucket(group.limit, now))
+				.tryConsume(now);
+		if (!probe.isConsumed()) {
+			log.debug("**RateLimitService, request rejected for client {} on route group {}*\n", clientKey, group.name);
+			this.rejections.get(group.name).increment();
+		}
+		return probe;
+	}
+	
+	@Override
+	public void bindTo(final MeterRegistry registry) {
+		this.rejections.forEach((group, counter) -> 
+				FunctionCounter.builder("gateway.ratelimit.rejected", counter, LongAdder::doubleValue)
+						.description("Requests rejected by the gateway rate limiter")
+						.tag("group", group)
+						.register(registry));
+		Gauge.builder("gateway.ratelimit.buckets", this.buckets, Cache::estimatedSize)
+				.description("Live rate limiter buckets")
+				.register(registry);
+	}
+	
+	private RouteGroup resolveGroup(final String path) {
+		for (final RouteGroup group : this.routeGroups)
+			for (final String pattern : group.patterns)
+				if (this.pathMatcher.match(pattern, path))
+					return group;
+		return this.defaultGroup;
+	}
+	
+	private static final class RouteGroup {
+		
+		private final String name;
+		private final List<String> patterns;
+		private final RateLimitProperties.Limit limit;
+		
+		private RouteGroup(final String name, final List<String> patterns, final RateLimitProperties.Limit limit) {
+			this.name = name;
+			this.patterns = List.copyOf(patterns);
+			this.limit = limit;
+		}
+		
+	}
+	
+}
@@ -15,6 +15,7 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 
 import com.selimhorri.app.business.user.model.RoleBasedAuthority;
 import com.selimhorri.app.config.filter.JwtRequestFilter;
+import com.selimhorri.app.config.filter.RateLimitFilter;
 
 import lombok.RequiredArgsConstructor;
 
@@ -26,6 +27,7 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
 	private final UserDetailsService userDetailsService;
 	private final PasswordEncoder passwordEncoder;
 	private final JwtRequestFilter jwtRequestFilter;
+	private final RateLimitFilter rateLimitFilter;
 
 	@Override
 	protected void configure(final AuthenticationManagerBuilder auth) throws Exception {
@@ -56,6 +58,9 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
 				.antMatchers(HttpMethod.DELETE, "/api/users/*")
 				.hasAnyRole(RoleBasedAuthority.ROLE_ADMIN.getRole(), RoleBasedAuthority.ROLE_USER.getRole())
 
+				.antMatchers(HttpMethod.GET, "/api/me/**")
+				.hasAnyRole(RoleBasedAuthority.ROLE_ADMIN.getRole(), RoleBasedAuthority.ROLE_USER.getRole())
+
 				// Credentials resource
 				.antMatchers(HttpMethod.GET, "/api/credentials").hasRole(RoleBasedAuthority.ROLE_ADMIN.getRole())
 
@@ -136,12 +141,21 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
 				.antMatchers(HttpMethod.GET, "/api/orders/*")
 				.hasAnyRole(RoleBasedAuthority.ROLE_ADMIN.getRole(), RoleBasedAuthority.ROLE_USER.getRole())
 
+				.antMatchers(HttpMethod.GET, "/api/orders/*/details")
+				.hasAnyRole(RoleBasedAuthority.ROLE_ADMIN.getRole(), RoleBasedAuthority.ROLE_USER.getRole())
+
+				.antMatchers(HttpMethod.GET, "/api/orders/placements/*")
+				.hasAnyRole(RoleBasedAuthority.ROLE_ADMIN.getRole(), RoleBasedAuthority.ROLE_USER.getRole())
+
 				.antMatchers(HttpMethod.POST, "/api/orders")
 				.hasAnyRole(RoleBasedAuthority.ROLE_ADMIN.getRole(), RoleBasedAuthority.ROLE_USER.getRole())
 
 				.antMatchers(HttpMethod.PATCH, "/api/orders/*/status")
 				.hasRole(RoleBasedAuthority.ROLE_ADMIN.getRole())
 
+				.antMatchers(HttpMethod.PATCH, "/api/orders/status")
+				.hasRole(RoleBasedAuthority.ROLE_ADMIN.getRole())
+
 				.antMatchers(HttpMethod.PUT, "/api/orders/*")
 				.hasAnyRole(RoleBasedAuthority.ROLE_ADMIN.getRole(), RoleBasedAuthority.ROLE_USER.getRole())
 
@@ -186,6 +200,10 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
 				.antMatchers(HttpMethod.DELETE, "/api/shippings/*")
 				.hasAnyRole(RoleBasedAuthority.ROLE_ADMIN.getRole(), RoleBasedAuthority.ROLE_USER.getRole())
 
+				// Batch, every operation is authorized on its own
+				.antMatchers(HttpMethod.POST, "/api/batch")
+				.hasAnyRole(RoleBasedAuthority.ROLE_ADMIN.getRole(), RoleBasedAuthority.ROLE_USER.getRole())
+
 				// Default
 				.antMatchers("/api/**")
 				.hasAnyRole(RoleBasedAuthority.ROLE_USER.getRole(),
@@ -193,6 +211,8 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
 
 				.antMatchers("/actuator/health/**", "/actuator/info/**")
 				.permitAll()
+				.antMatchers("/actuator/gatewaycaches", "/actuator/gatewaycaches/**")
+				.hasRole(RoleBasedAuthority.ROLE_ADMIN.getRole())
 				.antMatchers("/actuator/**")
 				.hasAnyRole(RoleBasedAuthority.ROLE_ADMIN.getRole())
 				.anyRequest().authenticated()
@@ -204,7 +224,8 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
 				.sessionManagement()
 				.sessionCreationPolicy(SessionCreationPolicy.STATELESS)
 				.and()
-				.addFilterBefore(this.jwtRequestFilter, UsernamePasswordAuthenticationFilter.class);
+				.addFilterBefore(this.jwtRequestFilter, UsernamePasswordAuthenticationFilter.class)
+				.addFilterAfter(this.rateLimitFilter, JwtRequestFilter.class);
 	}
 
 	@Bean
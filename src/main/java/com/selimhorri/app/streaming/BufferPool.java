@@ -0,0 +1,34 @@
+package com.selimhorri.app.streaming;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Bounded pool of equally sized copy buffers. When all are in use a fresh buffer is handed
+ * out and dropped on release, so a burst never blocks and the pool never grows.
+ */
+public class BufferPool {
+	
+	private final BlockingQueue<byte[]> buffers;
+	private final int bufferSize;
+	
+	public BufferPool(final int capacity, final int bufferSize) {
+		this.buffers = new ArrayBlockingQueue<>(Math.max(1, capacity));
+		this.bufferSize = bufferSize;
+	}
+	
+	public byte[] acquire() {
+		final byte[] buffer = this.buffers.poll();
+		return (buffer != null) ? buffer : new byte[this.bufferSize];
+	}
+	
+	public void release(final byte[] buffer) {
+		if (buffer.length == this.bufferSize)
+			this.buffers.offer(buffer);
+	}
+	
+	public int available() {
+		return this.buffers.size();
+	}
+	
+}
@@ -0,0 +1,140 @@
+package com.selimhorri.app.streaming;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Predicate;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import feign.FeignException;
+import feign.Response;
+
+/**
+ * Decodes the elements of the top-level {@code collection} array of a downstream listing one
+ * at a time, straight off the response stream. Other properties are skipped unread into
+ * memory and closing releases the downstream connection, consumed or not.
+ */
+public final class DownstreamCollection<T> implements Iterator<T>, Closeable {
+	
+	private static final String COLLECTION = "collection";
+	
+	private final Response response;
+	private final ObjectMapper objectMapper;
+	private final Class<T> type;
+	private final JsonParser parser;
+	private boolean inCollection;
+	private boolean exhausted;
+	private boolean ready;
+	
+	private DownstreamCollection(final Response response, final ObjectMapper objectMapper, final Class<T> type) 
+			throws IOException {
+		this.response = response;
+		this.objectMapper = objectMapper;
+		this.type = type;
+		this.parser = (response.body() != null) 
+				? objectMapper.getFactory().createParser(response.body().asInputStream()) : null;
+		this.exhausted = (this.parser == null);
+	}
+	
+	/**
+	 * @throws FeignException when the downstream service did not answer with a 2xx status
+	 */
+	public static <T> DownstreamCollection<T> open(final Response response, final ObjectMapper objectMapper, 
+			final Class<T> type) {
+		try {
+			if (response.status() < 200 || response.status() >= 300)
+				throw FeignException.errorStatus(response.request().url(), response);
+			return new DownstreamCollection<>(response, objectMapper, type);
+		}
+		catch (IOException e) {
+			response.close();
+			throw new UncheckedIOException(e);
+		}
+		catch (RuntimeException e) {
+			response.close();
+			throw e;
+		}
+	}
+	
+	/**
+	 * Keeps at most {@code limit} elements matching {@code predicate}; the others are decoded one
+	 * at a time and dropped, and the rest of the listing is left unread once the limit is reached.
+	 * @throws FeignException when the downstream service did not answer with a 2xx status
+	 */
+	public static <T> List<T> filter(final Response response, final ObjectMapper objectMapper, 
+			final Class<T> type, final Predicate<? super T> predicate, final int limit) {
+		final List<T> matches = new ArrayList<>();
+		try (final DownstreamCollection<T> collection = open(response, objectMapper, type)) {
+			while (matches.size() < limit && collection.hasNext()) {
+				final T element = collection.next();
+				if (predicate.test(element))
+					matches.add(element);
+			}
+		}
+		return matches;
+	}
+	
+	@Override
+	public boolean hasNext() {
+		try {
+			if (this.ready || this.exhausted)
+				return this.ready;
+			if (!this.inCollection)
+				this.inCollection = this.seekCollection();
+			this.ready = this.inCollection && this.parser.nextToken() == JsonToken.START_OBJECT;
+			this.exhausted = !this.ready;
+			return this.ready;
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+	
+	@Override
+	public T next() {
+		if (!this.hasNext())
+			throw new NoSuchElementException();
+		this.ready = false;
+		try {
+			return this.objectMapper.readValue(this.parser, this.type);
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+	
+	private boolean seekCollection() throws IOException {
+		if (this.parser.nextToken() != JsonToken.START_OBJECT)
+			return false;
+		while (this.parser.nextToken() == JsonToken.FIELD_NAME) {
+			final String name = this.parser.getCurrentName();
+			final JsonToken value = this.parser.nextToken();
+			if (COLLECTION.equals(name) && value == JsonToken.START_ARRAY)
+				return true;
+			this.parser.skipChildren();
+		}
+		return false;
+	}
+	
+	@Override
+	public void close() {
+		try {
+			if (this.parser != null)
+				this.parser.close();
+		}
+		catch (IOException e) {
+			// the connection is released below either way
+		}
+		finally {
+			this.response.close();
+		}
+	}
+	
+}
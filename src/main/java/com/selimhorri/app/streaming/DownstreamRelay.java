@@ -0,0 +1,156 @@
+package com.selimhorri.app.streaming;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import javax.servlet.http.HttpServletRequest;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+import feign.Response;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Turns a raw downstream response into the response of a pure relay route: status, content
+ * type and body bytes are passed on untouched, no DTO is decoded or encoded. The body is never
+ * buffered by the ETag or response cache filters; the downstream ETag is passed on instead and
+ * answers If-None-Match itself. A Content-Encoding is kept only while
+ * {@code app.passthrough.keep-content-encoding} is on and the client accepts it; otherwise a
+ * gzip body is inflated on the way through and any other coding is answered with 502.
+ */
+@Slf4j
+@Component
+public class DownstreamRelay {
+	
+	private static final String GZIP = "gzip";
+	private static final String X_GZIP = "x-gzip";
+	private static final String IDENTITY = "identity";
+	private static final String WEAK_PREFIX = "W/";
+	
+	private final boolean keepContentEncoding;
+	
+	public DownstreamRelay(@Value("${app.passthrough.keep-content-encoding:true}") final boolean keepContentEncoding) {
+		this.keepContentEncoding = keepContentEncoding;
+	}
+	
+	public ResponseEntity<RelayedBody> relay(final HttpServletRequest request, final Response response) {
+		try {
+			// the relayed stream may be of any size, the filters must not hold it in memory
+			ShallowEtagHeaderFilter.disableContentCaching(request);
+			final HttpHeaders headers = new HttpHeaders();
+			final String contentType = header(response.headers(), HttpHeaders.CONTENT_TYPE);
+			headers.setContentType((contentType != null) ? MediaType.parseMediaType(contentType) : MediaType.APPLICATION_JSON);
+			
+			final String contentEncoding = header(response.headers(), HttpHeaders.CONTENT_ENCODING);
+			String etag = header(response.headers(), HttpHeaders.ETAG);
+			InputStream body = (response.body() != null) ? response.body().asInputStream() : null;
+			Long length = (response.body() != null && response.body().length() != null) 
+					? Long.valueOf(response.body().length()) : null;
+			if (contentEncoding != null && !IDENTITY.equalsIgnoreCase(contentEncoding)) {
+				headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+				if (this.keepContentEncoding && accepts(request, contentEncoding)) {
+					headers.set(HttpHeaders.CONTENT_ENCODING, contentEncoding);
+				}
+				else if (body != null && isGzip(contentEncoding)) {
+					body = new GZIPInputStream(body);
+					length = null;
+					// the same content in another coding is only weakly equal
+					etag = (etag != null && !etag.startsWith(WEAK_PREFIX)) ? WEAK_PREFIX + etag : etag;
+				}
+				else {
+					// neither the client nor the gateway can decode it
+					log.warn("**Downstream answered with an unsupported content encoding, encoding: {}*\n", contentEncoding);
+					response.close();
+					return ResponseEntity.status(HttpStatus.BAD_GATEWAY).build();
+				}
+			}
+			if (etag != null) {
+				headers.setETag(etag);
+				if (response.status() == HttpStatus.OK.value() && request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+						&& new ServletWebRequest(request).checkNotModified(etag)) {
+					response.close();
+					return ResponseEntity.status(HttpStatus.NOT_MODIFIED).headers(headers).build();
+				}
+			}
+			if (length != null)
+				headers.setContentLength(length);
+			
+			return ResponseEntity.status(HttpStatus.valueOf(response.status()))
+					.headers(headers)
+					.body(new RelayedBody(body, length, response));
+		}
+		catch (IOException e) {
+			response.close();
+			throw new UncheckedIOException(e);
+		}
+	}
+	
+	/**
+	 * Whether the request's Accept-Encoding lists the coding, or a wildcard, with a non-zero
+	 * weight. Without the header only the identity coding is assumed.
+	 */
+	static boolean accepts(final HttpServletRequest request, final String contentEncoding) {
+		final String coding = isGzip(contentEncoding) ? GZIP : contentEncoding.trim().toLowerCase(Locale.ROOT);
+		final Enumeration<String> values = request.getHeaders(HttpHeaders.ACCEPT_ENCODING);
+		if (values == null)
+			return false;
+		boolean accepted = false;
+		for (final String value : Collections.list(values)) {
+			for (final String element : value.split(",")) {
+				final String[] parts = element.split(";");
+				String name = parts[0].trim().toLowerCase(Locale.ROOT);
+				name = X_GZIP.equals(name) ? GZIP : name;
+				if (!name.equals(coding) && !"*".equals(name))
+					continue;
+				final boolean refused = weight(parts) <= 0;
+				// an explicit entry for the coding wins over the wildcard
+				if (name.equals(coding))
+					return !refused;
+				accepted = !refused;
+			}
+		}
+		return accepted;
+	}
+	
+	private static double weight(final String[] parts) {
+		for (int i = 1; i < parts.length; i++) {
+			final String parameter = parts[i].trim();
+			if (parameter.length() > 2 && parameter.substring(0, 2).equalsIgnoreCase("q=")) {
+				try {
+					return Double.parseDouble(parameter.substring(2).trim());
+				}
+				catch (NumberFormatException e) {
+					return 0;
+				}
+			}
+		}
+		return 1;
+	}
+	
+	private static boolean isGzip(final String contentEncoding) {
+		return GZIP.equalsIgnoreCase(contentEncoding.trim()) || X_GZIP.equalsIgnoreCase(contentEncoding.trim());
+	}
+	
+	private static String header(final Map<String, Collection<String>> headers, final String name) {
+		return headers.entrySet().stream()
+				.filter(entry -> name.equalsIgnoreCase(entry.getKey()))
+				.flatMap(entry -> entry.getValue().stream())
+				.findFirst()
+				.orElse(null);
+	}
+	
+}
@@ -0,0 +1,75 @@
+package com.selimhorri.app.streaming;
+
+import java.io.IOException;
+import java.util.function.Supplier;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.selimhorri.app.config.jackson.FieldSelection;
+import com.selimhorri.app.config.jackson.FieldSelectionAdvice;
+
+import feign.Response;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Relays a downstream listing as newline-delimited JSON, one element per line, each written
+ * as soon as it is decoded. Only one element is held at a time; a slow client blocks the
+ * writes and thereby the reads from downstream, and the output is flushed every
+ * {@code flushEvery} lines so the client sees progress.
+ */
+@Component
+@Slf4j
+public class NdjsonExporter {
+	
+	public static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+	
+	private final ObjectMapper objectMapper;
+	private final int flushEvery;
+	
+	public NdjsonExporter(final ObjectMapper objectMapper, 
+			@Value("${app.export.flush-every:100}") final int flushEvery) {
+		this.objectMapper = objectMapper;
+		this.flushEvery = Math.max(1, flushEvery);
+	}
+	
+	public <T> void export(final Supplier<Response> source, final Class<T> type, 
+			final HttpServletRequest request, final HttpServletResponse response) throws IOException {
+		try (final DownstreamCollection<T> items = DownstreamCollection.open(source.get(), this.objectMapper, type)) {
+			// neither the ETag nor the response cache filter may buffer the export
+			ShallowEtagHeaderFilter.disableContentCaching(request);
+			response.setStatus(HttpStatus.OK.value());
+			response.setContentType(APPLICATION_NDJSON_VALUE);
+			response.setCharacterEncoding("UTF-8");
+			
+			final ObjectWriter writer = this.writerFor(type, request);
+			long lines = 0;
+			try (final JsonGenerator generator = this.objectMapper.getFactory().createGenerator(response.getOutputStream())) {
+				generator.setRootValueSeparator(null);
+				while (items.hasNext()) {
+					writer.writeValue(generator, items.next());
+					generator.writeRaw('\n');
+					if (++lines % this.flushEvery == 0)
+						generator.flush();
+				}
+			}
+			log.info("**NdjsonExporter, exported {} {} lines*\n", lines, type.getSimpleName());
+		}
+	}
+	
+	private ObjectWriter writerFor(final Class<?> type, final HttpServletRequest request) {
+		final String fields = request.getParameter(FieldSelectionAdvice.FIELDS_PARAMETER);
+		final FieldSelection selection = (fields != null) ? FieldSelection.parse(fields) : null;
+		final ObjectWriter writer = this.objectMapper.writerFor(type);
+		return (selection != null) ? writer.with(selection) : writer;
+	}
+	
+}
@@ -0,0 +1,55 @@
+package com.selimhorri.app.streaming;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Downstream response body handed to the client as it is, see {@link DownstreamRelay}.
+ */
+public final class RelayedBody implements Closeable {
+	
+	private final InputStream body;
+	private final Long length;
+	private final Closeable source;
+	
+	RelayedBody(final InputStream body, final Long length, final Closeable source) {
+		this.body = body;
+		this.length = length;
+		this.source = source;
+	}
+	
+	/**
+	 * @return null when the length is only known once the body has been copied
+	 */
+	public Long getLength() {
+		return this.length;
+	}
+	
+	public long writeTo(final OutputStream out, final BufferPool bufferPool) throws IOException {
+		final byte[] buffer = bufferPool.acquire();
+		long copied = 0;
+		try {
+			if (this.body == null)
+				return 0;
+			int read;
+			while ((read = this.body.read(buffer)) != -1) {
+				out.write(buffer, 0, read);
+				copied += read;
+			}
+			out.flush();
+			return copied;
+		}
+		finally {
+			bufferPool.release(buffer);
+			this.close();
+		}
+	}
+	
+	@Override
+	public void close() throws IOException {
+		this.source.close();
+	}
+	
+}
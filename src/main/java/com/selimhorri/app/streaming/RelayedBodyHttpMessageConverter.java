@@ -0,0 +1,49 @@
+package com.selimhorri.app.streaming;
+
+import java.io.IOException;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+/**
+ * Copies a {@link RelayedBody} to the client through pooled buffers, whatever its media type.
+ */
+public class RelayedBodyHttpMessageConverter extends AbstractHttpMessageConverter<RelayedBody> {
+	
+	private final BufferPool bufferPool;
+	
+	public RelayedBodyHttpMessageConverter(final BufferPool bufferPool) {
+		super(MediaType.ALL);
+		this.bufferPool = bufferPool;
+	}
+	
+	@Override
+	protected boolean supports(final Class<?> clazz) {
+		return RelayedBody.class.isAssignableFrom(clazz);
+	}
+	
+	@Override
+	protected boolean canRead(final MediaType mediaType) {
+		return false;
+	}
+	
+	@Override
+	protected Long getContentLength(final RelayedBody body, final MediaType contentType) {
+		return body.getLength();
+	}
+	
+	@Override
+	protected RelayedBody readInternal(final Class<? extends RelayedBody> clazz, final HttpInputMessage inputMessage) 
+			throws IOException, HttpMessageNotReadableException {
+		throw new HttpMessageNotReadableException("Relayed bodies are write only", inputMessage);
+	}
+	
+	@Override
+	protected void writeInternal(final RelayedBody body, final HttpOutputMessage outputMessage) throws IOException {
+		body.writeTo(outputMessage.getBody(), this.bufferPool);
+	}
+	
+}
@@ -0,0 +1,76 @@
+package com.selimhorri.app.batch.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.selimhorri.app.batch.BatchDispatcher;
+import com.selimhorri.app.batch.model.BatchOperation;
+import com.selimhorri.app.batch.model.BatchRequest;
+import com.selimhorri.app.batch.model.BatchResponse;
+import com.selimhorri.app.batch.model.BatchResult;
+import com.selimhorri.app.batch.service.impl.BatchServiceImpl;
+
+class BatchServiceImplTest {
+
+    private BatchDispatcher batchDispatcher;
+    private ExecutorService executor;
+    private BatchServiceImpl batchService;
+
+    @BeforeEach
+    void setUp() {
+        batchDispatcher = mock(BatchDispatcher.class);
+        executor = Executors.newFixedThreadPool(4);
+        batchService = new BatchServiceImpl(batchDispatcher, executor, 4, 50);
+        when(batchDispatcher.dispatch(any(), any(), any(), any())).thenAnswer(invocation -> {
+            BatchOperation operation = invocation.getArgument(3);
+            return BatchResult.builder().status(Integer.parseInt(operation.getPath().substring(5))).build();
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private static BatchRequest request(int size) {
+        return BatchRequest.builder()
+                .operations(IntStream.range(0, size)
+                        .mapToObj(i -> BatchOperation.builder().method("GET").path("/api/" + (200 + i)).build())
+                        .collect(Collectors.toList()))
+                .build();
+    }
+
+    @Test
+    void execute_returnsResultsInOperationOrder() {
+        BatchResponse response = batchService.execute(request(20), mock(HttpServletRequest.class),
+                mock(HttpServletResponse.class));
+
+        assertEquals(IntStream.range(200, 220).boxed().collect(Collectors.toList()),
+                response.getResults().stream().map(BatchResult::getStatus).collect(Collectors.toList()));
+        verify(batchDispatcher, times(20)).dispatch(any(), any(), any(), any());
+    }
+
+    @Test
+    void execute_rejectsEmptyAndOversizedBatches() {
+        assertThrows(IllegalStateException.class, () -> batchService.execute(BatchRequest.builder().operations(List.of()).build(),
+                mock(HttpServletRequest.class), mock(HttpServletResponse.class)));
+        assertThrows(IllegalStateException.class, () -> batchService.execute(request(51),
+                mock(HttpServletRequest.class), mock(HttpServletResponse.class)));
+        verifyZeroInteractions(batchDispatcher);
+    }
+
+}
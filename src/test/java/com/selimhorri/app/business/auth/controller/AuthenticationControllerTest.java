@@ -17,6 +17,7 @@ import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.selimhorri.app.business.auth.model.request.AuthenticationRequest;
+import com.selimhorri.app.business.auth.model.request.RefreshTokenRequest;
 import com.selimhorri.app.business.auth.model.response.AuthenticationResponse;
 import com.selimhorri.app.business.auth.service.AuthenticationService;
 
@@ -67,4 +68,32 @@ class AuthenticationControllerTest {
                 .content(objectMapper.writeValueAsString(request)))
                 .andExpect(status().isBadRequest());
     }
-}
\ No newline at end of file
+
+    @Test
+    void refresh_ShouldReturnNewTokenPair_WhenValidRequest() throws Exception {
+        // Arrange
+        RefreshTokenRequest request = new RefreshTokenRequest("refresh.jwt.token");
+        AuthenticationResponse response = AuthenticationResponse.builder()
+                .jwtToken("new.jwt.token")
+                .refreshToken("new.refresh.token")
+                .build();
+
+        when(authenticationService.refresh(request)).thenReturn(response);
+
+        // Act & Assert
+        mockMvc.perform(post("/api/authenticate/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.jwtToken").value("new.jwt.token"))
+                .andExpect(jsonPath("$.refreshToken").value("new.refresh.token"));
+    }
+
+    @Test
+    void refresh_ShouldReturnBadRequest_WhenRefreshTokenMissing() throws Exception {
+        mockMvc.perform(post("/api/authenticate/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new RefreshTokenRequest(""))))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -3,6 +3,8 @@ package com.selimhorri.app.business.auth.service;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
+import java.util.Date;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -16,10 +18,17 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 
 import com.selimhorri.app.business.auth.model.request.AuthenticationRequest;
+import com.selimhorri.app.business.auth.model.request.RefreshTokenRequest;
 import com.selimhorri.app.business.auth.model.response.AuthenticationResponse;
 import com.selimhorri.app.business.auth.service.impl.AuthenticationServiceImpl;
 import com.selimhorri.app.exception.wrapper.IllegalAuthenticationCredentialsException;
+import com.selimhorri.app.exception.wrapper.InvalidTokenException;
 import com.selimhorri.app.jwt.service.JwtService;
+import com.selimhorri.app.jwt.service.TokenRevocationService;
+import com.selimhorri.app.jwt.util.JwtUtil;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.impl.DefaultClaims;
 
 @ExtendWith(MockitoExtension.class)
 class AuthenticationServiceImplTest {
@@ -36,6 +45,9 @@ class AuthenticationServiceImplTest {
     @Mock
     private UserDetails userDetails;
 
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+
     @InjectMocks
     private AuthenticationServiceImpl authenticationService;
 
@@ -66,4 +78,75 @@ class AuthenticationServiceImplTest {
 
     }
 
-}
\ No newline at end of file
+    @Test
+    void refresh_ShouldRotateRefreshToken_WhenRefreshTokenIsValid() {
+        // Arrange
+        Claims claims = refreshClaims("refresh-jti", new Date(System.currentTimeMillis() + 60000));
+        Date expiration = claims.getExpiration();
+        when(jwtService.extractClaims(eq("refresh.token"), any())).thenReturn(claims);
+        when(userDetailsService.loadUserByUsername("validUser")).thenReturn(userDetails);
+        when(userDetails.isEnabled()).thenReturn(true);
+        when(userDetails.isAccountNonLocked()).thenReturn(true);
+        when(jwtService.generateToken(userDetails, "1")).thenReturn("new.access.token");
+        when(jwtService.generateRefreshToken(userDetails, "1")).thenReturn("new.refresh.token");
+        when(tokenRevocationService.revoke("refresh-jti", expiration)).thenReturn(true);
+
+        // Act
+        AuthenticationResponse response = authenticationService.refresh(new RefreshTokenRequest("refresh.token"));
+
+        // Assert
+        assertEquals("new.access.token", response.getJwtToken());
+        assertEquals("new.refresh.token", response.getRefreshToken());
+        verify(tokenRevocationService).revoke("refresh-jti", expiration);
+    }
+
+    @Test
+    void refresh_ShouldThrowInvalidTokenException_WhenRefreshTokenIsRevoked() {
+        // Arrange
+        Claims claims = refreshClaims("refresh-jti", new Date(System.currentTimeMillis() + 60000));
+        when(jwtService.extractClaims(eq("refresh.token"), any())).thenReturn(claims);
+        when(tokenRevocationService.isRevoked("refresh-jti")).thenReturn(true);
+
+        // Act & Assert
+        assertThrows(InvalidTokenException.class,
+                () -> authenticationService.refresh(new RefreshTokenRequest("refresh.token")));
+        verify(jwtService, never()).generateToken(any(), any());
+    }
+
+    @Test
+    void refresh_ShouldThrowInvalidTokenException_WhenAConcurrentRefreshRotatedTheTokenFirst() {
+        // Arrange
+        Claims claims = refreshClaims("refresh-jti", new Date(System.currentTimeMillis() + 60000));
+        when(jwtService.extractClaims(eq("refresh.token"), any())).thenReturn(claims);
+        when(tokenRevocationService.revoke("refresh-jti", claims.getExpiration())).thenReturn(false);
+
+        // Act & Assert
+        assertThrows(InvalidTokenException.class,
+                () -> authenticationService.refresh(new RefreshTokenRequest("refresh.token")));
+        verify(jwtService, never()).generateToken(any(), any());
+        verify(jwtService, never()).generateRefreshToken(any(), any());
+    }
+
+    @Test
+    void refresh_ShouldThrowInvalidTokenException_WhenGivenAccessToken() {
+        // Arrange
+        Claims claims = refreshClaims("access-jti", new Date(System.currentTimeMillis() + 60000));
+        claims.put(JwtUtil.TOKEN_TYPE_CLAIM, JwtUtil.ACCESS_TOKEN_TYPE);
+        when(jwtService.extractClaims(eq("access.token"), any())).thenReturn(claims);
+
+        // Act & Assert
+        assertThrows(InvalidTokenException.class,
+                () -> authenticationService.refresh(new RefreshTokenRequest("access.token")));
+    }
+
+    private Claims refreshClaims(String tokenId, Date expiration) {
+        Claims claims = new DefaultClaims();
+        claims.setId(tokenId);
+        claims.setSubject("validUser");
+        claims.setExpiration(expiration);
+        claims.put(JwtUtil.USER_ID_CLAIM, "1");
+        claims.put(JwtUtil.TOKEN_TYPE_CLAIM, JwtUtil.REFRESH_TOKEN_TYPE);
+        return claims;
+    }
+
+}
@@ -9,10 +9,10 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.util.unit.DataSize;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
@@ -20,7 +20,12 @@ import org.springframework.web.client.RestTemplate;
 import com.selimhorri.app.business.auth.service.impl.UserDetailsServiceImpl;
 import com.selimhorri.app.business.user.model.CredentialDto;
 import com.selimhorri.app.business.user.model.RoleBasedAuthority;
+import com.selimhorri.app.cache.CacheProperties;
+import com.selimhorri.app.cache.invalidation.InvalidationEvent;
+import com.selimhorri.app.cache.spi.CacheRegions;
+import com.selimhorri.app.cache.spi.LocalCacheProvider;
 import com.selimhorri.app.constant.AppConstant;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayName("UserDetailsService Implementation Tests")
@@ -29,7 +34,6 @@ class UserDetailsServiceImplTest {
     @Mock
     private RestTemplate restTemplate;
 
-    @InjectMocks
     private UserDetailsServiceImpl userDetailsService;
 
     private static final String TEST_USERNAME = "testuser";
@@ -39,6 +43,9 @@ class UserDetailsServiceImplTest {
 
     @BeforeEach
     void setUp() {
+        userDetailsService = new UserDetailsServiceImpl(restTemplate,
+                new CacheRegions(new LocalCacheProvider("local", DataSize.ofMegabytes(1)), new ObjectMapper()),
+                new CacheProperties());
         credentialDto = CredentialDto.builder()
                 .credentialId(1)
                 .username("testuser")
@@ -250,4 +257,36 @@ class UserDetailsServiceImplTest {
         String expectedUrl = AppConstant.DiscoveredDomainsApi.USER_SERVICE_HOST + "/api/credentials/username/" + testUser;
         verify(restTemplate, times(1)).getForObject(expectedUrl, CredentialDto.class);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should serve repeated lookups from the credentials cache")
+    void loadUserByUsername_WhenCalledTwice_ShouldFetchCredentialsOnce() {
+        // Given
+        when(restTemplate.getForObject(anyString(), eq(CredentialDto.class)))
+                .thenReturn(credentialDto);
+
+        // When
+        userDetailsService.loadUserByUsername(TEST_USERNAME);
+        UserDetails result = userDetailsService.loadUserByUsername(TEST_USERNAME);
+
+        // Then
+        assertEquals("encodedPassword", result.getPassword());
+        verify(restTemplate, times(1)).getForObject(API_URL, CredentialDto.class);
+    }
+
+    @Test
+    @DisplayName("Should fetch credentials again once another replica wrote a user")
+    void loadUserByUsername_AfterAnnouncedUserWrite_ShouldFetchCredentialsAgain() {
+        // Given
+        when(restTemplate.getForObject(anyString(), eq(CredentialDto.class)))
+                .thenReturn(credentialDto);
+        userDetailsService.loadUserByUsername(TEST_USERNAME);
+
+        // When
+        userDetailsService.onInvalidation(new InvalidationEvent("users", "1", "other", 0L));
+        userDetailsService.loadUserByUsername(TEST_USERNAME);
+
+        // Then
+        verify(restTemplate, times(2)).getForObject(API_URL, CredentialDto.class);
+    }
+}
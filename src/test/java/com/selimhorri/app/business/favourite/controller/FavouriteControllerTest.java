@@ -7,10 +7,12 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collection;
@@ -35,6 +37,9 @@ import com.selimhorri.app.business.favourite.model.ProductDto;
 import com.selimhorri.app.business.favourite.model.UserDto;
 import com.selimhorri.app.business.favourite.model.response.FavouriteFavouriteServiceCollectionDtoResponse;
 import com.selimhorri.app.business.favourite.service.FavouriteClientService;
+import com.selimhorri.app.business.favourite.service.FavouriteWriteBehindService;
+import com.selimhorri.app.business.favourite.service.impl.FavouriteWriteBehindServiceImpl;
+import com.selimhorri.app.cache.invalidation.CacheInvalidationBus;
 import com.selimhorri.app.exception.wrapper.UnauthorizedException;
 
 @ExtendWith(MockitoExtension.class)
@@ -47,6 +52,9 @@ class FavouriteControllerTest {
     @Mock
     private FavouriteClientService favouriteClientService;
 
+    @Mock
+    private FavouriteWriteBehindService favouriteWriteBehindService;
+
     @Mock
     private HttpServletRequest request;
 
@@ -62,6 +70,10 @@ class FavouriteControllerTest {
         // Create controller and inject mocks
         favouriteController = new FavouriteController(favouriteClientService);
         ReflectionTestUtils.setField(favouriteController, "authUtil", authUtil);
+        // write-behind disabled: toggles are written through to the client
+        ReflectionTestUtils.setField(favouriteController, "favouriteWriteBehindService",
+                new FavouriteWriteBehindServiceImpl(favouriteClientService, mock(CacheInvalidationBus.class), Runnable::run,
+                        false, Duration.ofSeconds(2), 500, 4, 3, 100000, Duration.ofMinutes(10)));
         
         // Setup UserDto
         UserDto userDto = UserDto.builder()
@@ -297,4 +309,21 @@ class FavouriteControllerTest {
 
         verify(favouriteClientService, times(0)).save(any(FavouriteDto.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should leave deleting a favourite to the write-behind buffer")
+    void deleteById_ShouldBufferUnlike_WhenWriteBehindIsEnabled() {
+        // Given
+        ReflectionTestUtils.setField(favouriteController, "favouriteWriteBehindService", favouriteWriteBehindService);
+        doNothing().when(authUtil).canActivate(request, "1", userDetails);
+
+        // When
+        ResponseEntity<Boolean> result = favouriteController.deleteById("1", "1", request, userDetails);
+
+        // Then
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        assertEquals(true, result.getBody());
+        verify(favouriteWriteBehindService, times(1)).deleteById("1", "1");
+        verify(favouriteClientService, times(0)).deleteById(anyString(), anyString());
+    }
+}
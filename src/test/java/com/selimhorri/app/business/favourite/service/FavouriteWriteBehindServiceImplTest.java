@@ -0,0 +1,225 @@
+package com.selimhorri.app.business.favourite.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+
+import com.selimhorri.app.business.favourite.model.FavouriteDto;
+import com.selimhorri.app.business.favourite.service.impl.FavouriteWriteBehindServiceImpl;
+import com.selimhorri.app.cache.invalidation.CacheInvalidationBus;
+import com.selimhorri.app.cache.invalidation.InvalidationEvent;
+import com.selimhorri.app.exception.wrapper.FavouriteNotFoundException;
+
+import feign.FeignException;
+import feign.Request;
+import feign.Request.HttpMethod;
+
+class FavouriteWriteBehindServiceImplTest {
+
+    private FavouriteClientService favouriteClientService;
+    private CacheInvalidationBus cacheInvalidationBus;
+    private FavouriteWriteBehindServiceImpl favouriteWriteBehindService;
+    private Request request;
+
+    @BeforeEach
+    void setUp() {
+        favouriteClientService = mock(FavouriteClientService.class);
+        cacheInvalidationBus = mock(CacheInvalidationBus.class);
+        favouriteWriteBehindService = create(true, 3);
+        request = Request.create(HttpMethod.POST, "/favourite-service/api/favourites", Collections.emptyMap(), null,
+                null, null);
+    }
+
+    @AfterEach
+    void tearDown() {
+        favouriteWriteBehindService.close();
+    }
+
+    private FavouriteWriteBehindServiceImpl create(boolean enabled, int maxPending) {
+        // a window long enough that only explicit flushes write
+        return new FavouriteWriteBehindServiceImpl(favouriteClientService, cacheInvalidationBus, Runnable::run, enabled,
+                Duration.ofHours(1), 2, 2, 3, maxPending, Duration.ofHours(1));
+    }
+
+    private static FavouriteDto like(int userId, int productId) {
+        return FavouriteDto.builder().userId(userId).productId(productId).likeDate(LocalDateTime.now()).build();
+    }
+
+    @Test
+    void toggles_areMergedToTheirFinalState() {
+        favouriteWriteBehindService.save(like(1, 1));
+        favouriteWriteBehindService.deleteById("1", "1");
+        favouriteWriteBehindService.save(like(1, 1));
+        favouriteWriteBehindService.save(like(1, 2));
+        favouriteWriteBehindService.deleteById("1", "2");
+        verifyZeroInteractions(favouriteClientService);
+
+        int written = favouriteWriteBehindService.flush();
+
+        assertEquals(2, written);
+        verify(favouriteClientService, times(1)).save(any(FavouriteDto.class));
+        verify(favouriteClientService, times(1)).deleteById("1", "2");
+        verify(favouriteClientService, never()).deleteById("1", "1");
+        verify(cacheInvalidationBus, times(2)).publish("favourites", "1");
+        assertEquals(0, favouriteWriteBehindService.flush());
+    }
+
+    @Test
+    void toggles_endingInTheConfirmedStateAreNotWritten() {
+        when(favouriteClientService.findById("1", "1"))
+                .thenThrow(new FeignException.NotFound("not found", request, null));
+        assertThrows(FeignException.NotFound.class, () -> favouriteWriteBehindService.findById("1", "1"));
+        favouriteWriteBehindService.save(like(1, 1));
+        favouriteWriteBehindService.deleteById("1", "1");
+        favouriteWriteBehindService.save(like(1, 2));
+        favouriteWriteBehindService.flush();
+        favouriteWriteBehindService.deleteById("1", "2");
+        favouriteWriteBehindService.save(like(1, 2));
+
+        assertEquals(0, favouriteWriteBehindService.flush());
+        verify(favouriteClientService, times(1)).save(any(FavouriteDto.class));
+        verify(favouriteClientService, never()).deleteById(anyString(), anyString());
+    }
+
+    @Test
+    void findById_racingAFlushedWrite_doesNotOverrideIt() throws Exception {
+        CountDownLatch reading = new CountDownLatch(1);
+        CountDownLatch written = new CountDownLatch(1);
+        when(favouriteClientService.findById("1", "1")).thenAnswer(invocation -> {
+            reading.countDown();
+            written.await(5, TimeUnit.SECONDS);
+            throw new FeignException.NotFound("not found", request, null);
+        });
+        CompletableFuture<Void> staleRead = CompletableFuture.runAsync(() ->
+                assertThrows(FeignException.NotFound.class, () -> favouriteWriteBehindService.findById("1", "1")));
+        assertTrue(reading.await(5, TimeUnit.SECONDS));
+        favouriteWriteBehindService.save(like(1, 1));
+        favouriteWriteBehindService.flush();
+        written.countDown();
+        staleRead.get(5, TimeUnit.SECONDS);
+
+        favouriteWriteBehindService.deleteById("1", "1");
+        favouriteWriteBehindService.save(like(1, 1));
+
+        assertEquals(0, favouriteWriteBehindService.flush());
+        verify(favouriteClientService, times(1)).save(any(FavouriteDto.class));
+    }
+
+    @Test
+    void toggles_areWrittenAgainOnceAnotherReplicaWroteTheUser() {
+        favouriteWriteBehindService.save(like(1, 1));
+        favouriteWriteBehindService.flush();
+        favouriteWriteBehindService.onInvalidation(new InvalidationEvent("favourites", "1", "other", 0L));
+        favouriteWriteBehindService.deleteById("1", "1");
+        favouriteWriteBehindService.save(like(1, 1));
+
+        assertEquals(1, favouriteWriteBehindService.flush());
+        verify(favouriteClientService, times(2)).save(any(FavouriteDto.class));
+    }
+
+    @Test
+    void flush_treatsUnlikingWhatWasNeverLikedAsDone() {
+        when(favouriteClientService.deleteById("1", "1"))
+                .thenThrow(new FeignException.NotFound("not found", request, null));
+        favouriteWriteBehindService.deleteById("1", "1");
+
+        favouriteWriteBehindService.flush();
+        favouriteWriteBehindService.save(like(1, 1));
+        favouriteWriteBehindService.deleteById("1", "1");
+        favouriteWriteBehindService.flush();
+
+        verify(favouriteClientService, times(1)).deleteById("1", "1");
+        verifyZeroInteractions(cacheInvalidationBus);
+    }
+
+    @Test
+    void findById_seesPendingToggles() {
+        FavouriteDto liked = favouriteWriteBehindService.save(like(1, 1));
+        favouriteWriteBehindService.deleteById("1", "2");
+
+        assertEquals(liked, favouriteWriteBehindService.findById("1", "1"));
+        assertThrows(FavouriteNotFoundException.class, () -> favouriteWriteBehindService.findById("1", "2"));
+        verify(favouriteClientService, never()).findById(anyString(), anyString());
+    }
+
+    @Test
+    void findById_readsThroughOnceFlushed() {
+        favouriteWriteBehindService.save(like(1, 1));
+        favouriteWriteBehindService.flush();
+        when(favouriteClientService.findById("1", "1")).thenReturn(ResponseEntity.ok(like(1, 1)));
+
+        assertEquals(1, favouriteWriteBehindService.findById("1", "1").getProductId());
+        verify(favouriteClientService, times(1)).findById("1", "1");
+    }
+
+    @Test
+    void save_fillsInTheLikeDate() {
+        FavouriteDto liked = favouriteWriteBehindService.save(FavouriteDto.builder().userId(1).productId(1).build());
+
+        assertNotNull(liked.getLikeDate());
+    }
+
+    @Test
+    void flush_keepsUnhandledWritesForTheNextFlush() {
+        when(favouriteClientService.deleteById("1", "1"))
+                .thenThrow(new FeignException.ServiceUnavailable("unavailable", request, null))
+                .thenReturn(ResponseEntity.ok(true));
+        favouriteWriteBehindService.deleteById("1", "1");
+
+        assertEquals(0, favouriteWriteBehindService.flush());
+        assertEquals(1, favouriteWriteBehindService.flush());
+        verify(favouriteClientService, times(2)).deleteById("1", "1");
+    }
+
+    @Test
+    void flush_dropsRejectedWrites() {
+        when(favouriteClientService.save(any(FavouriteDto.class)))
+                .thenThrow(new FeignException.BadRequest("unknown product", request, null));
+        favouriteWriteBehindService.save(like(1, 1));
+
+        assertEquals(0, favouriteWriteBehindService.flush());
+        assertEquals(0, favouriteWriteBehindService.flush());
+        verify(favouriteClientService, times(1)).save(any(FavouriteDto.class));
+        verifyZeroInteractions(cacheInvalidationBus);
+    }
+
+    @Test
+    void toggles_areWrittenThroughWhenDisabledOrFull() {
+        when(favouriteClientService.save(any(FavouriteDto.class))).thenReturn(ResponseEntity.ok(like(1, 1)));
+        favouriteWriteBehindService.save(like(1, 1));
+        favouriteWriteBehindService.save(like(1, 2));
+        favouriteWriteBehindService.save(like(1, 3));
+        favouriteWriteBehindService.save(like(1, 4));
+        favouriteWriteBehindService.save(like(1, 1));
+        verify(favouriteClientService, times(1)).save(any(FavouriteDto.class));
+
+        FavouriteWriteBehindServiceImpl disabled = create(false, 3);
+        disabled.deleteById("1", "1");
+        verify(favouriteClientService, times(1)).deleteById("1", "1");
+    }
+
+    @Test
+    void close_flushesWhatIsPending() {
+        favouriteWriteBehindService.deleteById("1", "1");
+
+        favouriteWriteBehindService.close();
+        favouriteWriteBehindService.deleteById("1", "2");
+
+        verify(favouriteClientService, times(1)).deleteById("1", "1");
+        verify(favouriteClientService, times(1)).deleteById("1", "2");
+    }
+
+}
@@ -33,10 +33,20 @@ import org.springframework.test.util.ReflectionTestUtils;
 import com.selimhorri.app.business.auth.enums.ResourceType;
 import com.selimhorri.app.business.auth.util.AuthUtil;
 import com.selimhorri.app.business.order.model.CartDto;
+import com.selimhorri.app.business.order.enums.PlacementStatus;
 import com.selimhorri.app.business.order.model.OrderDto;
+import com.selimhorri.app.business.order.model.OrderPlacement;
+import com.selimhorri.app.business.order.model.request.OrderStatusBulkRequest;
+import com.selimhorri.app.business.order.model.response.OrderDetailsResponse;
 import com.selimhorri.app.business.order.model.response.OrderOrderServiceDtoCollectionResponse;
+import com.selimhorri.app.business.order.model.response.OrderStatusBulkResponse;
 import com.selimhorri.app.business.order.service.OrderClientService;
+import com.selimhorri.app.business.order.service.OrderDetailsService;
+import com.selimhorri.app.business.order.service.OrderPlacementService;
+import com.selimhorri.app.business.order.service.OrderStatusBulkService;
 import com.selimhorri.app.business.user.model.UserDto;
+import com.selimhorri.app.config.filter.CacheInvalidationFilter;
+import com.selimhorri.app.exception.wrapper.OrderPlacementNotFoundException;
 import com.selimhorri.app.exception.wrapper.UnauthorizedException;
 
 @ExtendWith(MockitoExtension.class)
@@ -49,6 +59,15 @@ class OrderControllerTest {
     @Mock
     private OrderClientService orderClientService;
 
+    @Mock
+    private OrderDetailsService orderDetailsService;
+
+    @Mock
+    private OrderStatusBulkService orderStatusBulkService;
+
+    @Mock
+    private OrderPlacementService orderPlacementService;
+
     @Mock
     private HttpServletRequest request;
 
@@ -64,7 +83,7 @@ class OrderControllerTest {
     @BeforeEach
     void setUp() {
         // Create controller and inject mocks
-        orderController = new OrderController(orderClientService);
+        orderController = new OrderController(orderClientService, orderDetailsService);
         ReflectionTestUtils.setField(orderController, "authUtil", authUtil);
         
         // Setup UserDto
@@ -163,6 +182,43 @@ class OrderControllerTest {
         verify(orderClientService, times(0)).findById(anyString());
     }
 
+    @Test
+    @DisplayName("Should return order details after a single ownership check")
+    void findDetailsById_ShouldReturnDetails_WhenUserIsAuthorized() {
+        // Given
+        String orderId = "1";
+        String userId = "1";
+        OrderDetailsResponse details = OrderDetailsResponse.builder().orderDto(orderDto).build();
+
+        when(authUtil.getOwner(orderId, ResourceType.ORDERS)).thenReturn(userId);
+        doNothing().when(authUtil).canActivate(request, userId, userDetails);
+        when(orderDetailsService.findDetails(orderId)).thenReturn(details);
+
+        // When
+        ResponseEntity<OrderDetailsResponse> result = orderController.findDetailsById(orderId, request, userDetails);
+
+        // Then
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        assertEquals(details, result.getBody());
+        verify(authUtil, times(1)).getOwner(orderId, ResourceType.ORDERS);
+    }
+
+    @Test
+    @DisplayName("Should not fetch order details when user is not authorized")
+    void findDetailsById_ShouldThrowUnauthorizedException_WhenUserIsNotAuthorized() {
+        // Given
+        String orderId = "1";
+        String userId = "2";
+
+        when(authUtil.getOwner(orderId, ResourceType.ORDERS)).thenReturn(userId);
+        doThrow(new UnauthorizedException("You can access to resources of your own"))
+            .when(authUtil).canActivate(request, userId, userDetails);
+
+        // When & Then
+        assertThrows(UnauthorizedException.class, () -> orderController.findDetailsById(orderId, request, userDetails));
+        verify(orderDetailsService, times(0)).findDetails(anyString());
+    }
+
     @Test
     @DisplayName("Should save order successfully when user is authorized")
     void save_ShouldReturnSavedOrder_WhenUserIsAuthorized() {
@@ -428,4 +484,64 @@ class OrderControllerTest {
 
         verify(orderClientService, times(0)).save(any(OrderDto.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should advance many orders through the bulk service")
+    void updateStatuses_ShouldReturnSummary() {
+        // Given
+        ReflectionTestUtils.setField(orderController, "orderStatusBulkService", orderStatusBulkService);
+        OrderStatusBulkResponse summary = OrderStatusBulkResponse.builder()
+                .requested(2)
+                .succeeded(2)
+                .orderDtos(Arrays.asList(orderDto, orderDto))
+                .build();
+        when(orderStatusBulkService.updateStatuses(Arrays.asList(1, 2))).thenReturn(summary);
+
+        // When
+        ResponseEntity<OrderStatusBulkResponse> response = orderController.updateStatuses(
+                new OrderStatusBulkRequest(Arrays.asList(1, 2)), request);
+
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(summary, response.getBody());
+        verify(request).setAttribute(CacheInvalidationFilter.WHOLE_RESOURCE_ATTRIBUTE, Boolean.TRUE);
+        verify(orderClientService, times(0)).updateStatus(anyInt());
+    }
+
+    @Test
+    @DisplayName("Should return a placement to the user who submitted it")
+    void findPlacementById_ShouldReturnPlacement_WhenUserIsAuthorized() {
+        // Given
+        ReflectionTestUtils.setField(orderController, "orderPlacementService", orderPlacementService);
+        OrderPlacement placement = OrderPlacement.builder()
+                .placementId("p-1")
+                .status(PlacementStatus.PLACED)
+                .attempts(1)
+                .orderDto(orderDto)
+                .userId("1")
+                .build();
+        when(orderPlacementService.findById("p-1")).thenReturn(placement);
+        doNothing().when(authUtil).canActivate(request, "1", userDetails);
+
+        // When
+        ResponseEntity<OrderPlacement> response = orderController.findPlacementById("p-1", request, userDetails);
+
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(placement, response.getBody());
+        verify(authUtil).canActivate(request, "1", userDetails);
+    }
+
+    @Test
+    @DisplayName("Should throw OrderPlacementNotFoundException for an unknown placement")
+    void findPlacementById_ShouldThrow_WhenPlacementIsUnknown() {
+        // Given
+        ReflectionTestUtils.setField(orderController, "orderPlacementService", orderPlacementService);
+        when(orderPlacementService.findById("missing")).thenReturn(null);
+
+        // When & Then
+        assertThrows(OrderPlacementNotFoundException.class,
+                () -> orderController.findPlacementById("missing", request, userDetails));
+        verify(authUtil, times(0)).canActivate(any(), anyString(), any());
+    }
+}
@@ -0,0 +1,136 @@
+package com.selimhorri.app.business.order.journal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.selimhorri.app.business.order.enums.PlacementStatus;
+import com.selimhorri.app.business.order.model.OrderDto;
+
+class OrderJournalTest {
+
+    @TempDir
+    Path directory;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private OrderJournal journal;
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (journal != null)
+            journal.close();
+    }
+
+    private OrderJournal open(long compactThreshold, Supplier<Collection<JournalRecord>> liveRecords,
+            List<JournalRecord> replayed) throws IOException {
+        journal = new OrderJournal(directory, objectMapper, compactThreshold);
+        replayed.addAll(journal.open(liveRecords));
+        return journal;
+    }
+
+    private static JournalRecord submitted(String placementId) {
+        return JournalRecord.builder()
+                .type(JournalRecord.Type.SUBMITTED)
+                .placementId(placementId)
+                .userId("1")
+                .orderDto(OrderDto.builder().orderDesc("order " + placementId).build())
+                .build();
+    }
+
+    private static JournalRecord completed(String placementId) {
+        return JournalRecord.builder()
+                .type(JournalRecord.Type.COMPLETED)
+                .placementId(placementId)
+                .userId("1")
+                .status(PlacementStatus.PLACED)
+                .orderDto(OrderDto.builder().orderId(7).build())
+                .attempts(1)
+                .build();
+    }
+
+    @Test
+    void open_replaysLastRecordOfEveryPlacement() throws Exception {
+        List<JournalRecord> replayed = new ArrayList<>();
+        open(Long.MAX_VALUE, Collections::emptyList, replayed);
+        List<CompletableFuture<Void>> appends = new ArrayList<>();
+        for (int i = 0; i < 100; i++)
+            appends.add(journal.append(submitted("p-" + i)));
+        appends.add(journal.append(completed("p-3")));
+        CompletableFuture.allOf(appends.toArray(new CompletableFuture[0])).get(5, TimeUnit.SECONDS);
+        journal.close();
+
+        replayed.clear();
+        open(Long.MAX_VALUE, Collections::emptyList, replayed);
+
+        assertEquals(100, replayed.size());
+        assertEquals("p-0", replayed.get(0).getPlacementId());
+        assertEquals(JournalRecord.Type.COMPLETED, replayed.get(3).getType());
+        assertEquals(7, replayed.get(3).getOrderDto().getOrderId());
+        assertEquals("order p-4", replayed.get(4).getOrderDto().getOrderDesc());
+    }
+
+    @Test
+    void open_skipsTornLineAndAppendsAfterIt() throws Exception {
+        List<JournalRecord> replayed = new ArrayList<>();
+        open(Long.MAX_VALUE, Collections::emptyList, replayed);
+        journal.append(submitted("p-1")).get(5, TimeUnit.SECONDS);
+        journal.close();
+        Files.write(directory.resolve(OrderJournal.FILE_NAME), "{\"type\":\"SUBMITTED\",\"placem"
+                .getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+
+        open(Long.MAX_VALUE, Collections::emptyList, replayed);
+        journal.append(submitted("p-2")).get(5, TimeUnit.SECONDS);
+        journal.close();
+        replayed.clear();
+        open(Long.MAX_VALUE, Collections::emptyList, replayed);
+
+        assertEquals(2, replayed.size());
+        assertEquals("p-1", replayed.get(0).getPlacementId());
+        assertEquals("p-2", replayed.get(1).getPlacementId());
+    }
+
+    @Test
+    void append_compactsToLiveRecordsOnceOverThreshold() throws Exception {
+        List<JournalRecord> live = Collections.singletonList(submitted("p-live"));
+        open(1024, () -> live, new ArrayList<>());
+        List<CompletableFuture<Void>> appends = new ArrayList<>();
+        for (int i = 0; i < 50; i++)
+            appends.add(journal.append(submitted("p-" + i)));
+        CompletableFuture.allOf(appends.toArray(new CompletableFuture[0])).get(5, TimeUnit.SECONDS);
+        journal.append(completed("p-done")).get(5, TimeUnit.SECONDS);
+        journal.close();
+
+        assertTrue(Files.size(directory.resolve(OrderJournal.FILE_NAME)) <= 1024);
+        List<JournalRecord> replayed = new ArrayList<>();
+        open(1024, Collections::emptyList, replayed);
+        assertTrue(replayed.stream().anyMatch(record -> record.getPlacementId().equals("p-live")));
+        assertTrue(replayed.size() < 51);
+    }
+
+    @Test
+    void append_failsOnceClosed() throws Exception {
+        open(Long.MAX_VALUE, Collections::emptyList, new ArrayList<>());
+        journal.close();
+
+        CompletableFuture<Void> append = journal.append(submitted("p-1"));
+
+        assertTrue(append.isCompletedExceptionally());
+    }
+
+}
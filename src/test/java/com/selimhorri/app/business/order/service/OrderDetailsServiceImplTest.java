@@ -0,0 +1,187 @@
+package com.selimhorri.app.business.order.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.selimhorri.app.business.order.model.CartDto;
+import com.selimhorri.app.business.order.model.OrderDto;
+import com.selimhorri.app.business.order.model.response.OrderDetailsResponse;
+import com.selimhorri.app.business.order.service.impl.OrderDetailsServiceImpl;
+import com.selimhorri.app.business.orderItem.model.OrderItemDto;
+import com.selimhorri.app.business.orderItem.service.OrderItemClientService;
+import com.selimhorri.app.business.payment.model.PaymentDto;
+import com.selimhorri.app.business.payment.service.PaymentClientService;
+import com.selimhorri.app.business.product.model.ProductDto;
+import com.selimhorri.app.business.product.model.response.ProductProductServiceCollectionDtoResponse;
+import com.selimhorri.app.business.product.service.ProductLookupService;
+
+import feign.Request;
+import feign.Request.HttpMethod;
+import feign.Response;
+
+class OrderDetailsServiceImplTest {
+
+    private OrderClientService orderClientService;
+    private CartClientService cartClientService;
+    private OrderItemClientService orderItemClientService;
+    private PaymentClientService paymentClientService;
+    private ProductLookupService productLookupService;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private ExecutorService executor;
+    private OrderDetailsServiceImpl orderDetailsService;
+
+    @BeforeEach
+    void setUp() {
+        orderClientService = mock(OrderClientService.class);
+        cartClientService = mock(CartClientService.class);
+        orderItemClientService = mock(OrderItemClientService.class);
+        paymentClientService = mock(PaymentClientService.class);
+        productLookupService = mock(ProductLookupService.class);
+        executor = Executors.newFixedThreadPool(4);
+        orderDetailsService = new OrderDetailsServiceImpl(orderClientService, cartClientService,
+                orderItemClientService, paymentClientService, productLookupService, objectMapper, executor,
+                Duration.ofSeconds(2));
+
+        OrderDto order = OrderDto.builder().orderId(1).cartDto(CartDto.builder().cartId(7).build()).build();
+        when(orderClientService.findById("1")).thenReturn(ResponseEntity.ok(order));
+        when(cartClientService.findById("7")).thenReturn(ResponseEntity.ok(CartDto.builder().cartId(7).userId(3).build()));
+        when(orderItemClientService.streamAll()).thenAnswer(invocation -> listing(
+                OrderItemDto.builder().orderId(1).productId(10).orderedQuantity(2).build(),
+                OrderItemDto.builder().orderId(2).productId(11).orderedQuantity(1).build()));
+        when(productLookupService.findAllByIds(Collections.singletonList("10"))).thenReturn(
+                ProductProductServiceCollectionDtoResponse.builder()
+                        .collection(Collections.singletonList(ProductDto.builder().productId(10).build()))
+                        .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private Response listing(Object... elements) throws JsonProcessingException {
+        byte[] body = objectMapper.writeValueAsBytes(Map.of("collection", elements));
+        return Response.builder()
+                .status(200)
+                .reason("OK")
+                .headers(Collections.emptyMap())
+                .request(Request.create(HttpMethod.GET, "http://downstream/api", Map.of(), null, StandardCharsets.UTF_8, null))
+                .body(new ByteArrayInputStream(body), body.length)
+                .build();
+    }
+
+    private static PaymentDto payment(int paymentId, int orderId) {
+        return PaymentDto.builder()
+                .paymentId(paymentId)
+                .orderDto(com.selimhorri.app.business.payment.model.OrderDto.builder().orderId(orderId).build())
+                .build();
+    }
+
+    @Test
+    void findDetails_mergesAllSections() {
+        when(paymentClientService.streamAll()).thenAnswer(invocation -> listing(payment(5, 2), payment(6, 1), payment(7, 1)));
+
+        OrderDetailsResponse details = orderDetailsService.findDetails("1");
+
+        assertEquals(1, details.getOrderDto().getOrderId());
+        assertEquals(3, details.getCartDto().getUserId());
+        assertEquals(1, details.getOrderItemDtos().size());
+        assertEquals(6, details.getPaymentDto().getPaymentId());
+        assertEquals(10, details.getProductDtos().iterator().next().getProductId());
+        assertTrue(details.getUnavailable().isEmpty());
+    }
+
+    @Test
+    void findDetails_degradesFailedSectionsToNull() {
+        when(paymentClientService.streamAll()).thenThrow(new IllegalStateException("PAYMENT-SERVICE down"));
+        when(cartClientService.findById("7")).thenThrow(new IllegalStateException("cart down"));
+
+        OrderDetailsResponse details = orderDetailsService.findDetails("1");
+
+        assertNotNull(details.getOrderDto());
+        assertNull(details.getPaymentDto());
+        assertNull(details.getCartDto());
+        assertNotNull(details.getProductDtos());
+        assertEquals(2, details.getUnavailable().size());
+        assertTrue(details.getUnavailable().containsAll(Arrays.asList("payment", "cart")));
+    }
+
+    @Test
+    void findDetails_fetchesSectionsConcurrently() throws InterruptedException {
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        when(orderItemClientService.streamAll()).thenAnswer(invocation -> {
+            bothStarted.countDown();
+            bothStarted.await(1, TimeUnit.SECONDS);
+            return listing();
+        });
+        when(paymentClientService.streamAll()).thenAnswer(invocation -> {
+            bothStarted.countDown();
+            bothStarted.await(1, TimeUnit.SECONDS);
+            return listing();
+        });
+
+        OrderDetailsResponse details = orderDetailsService.findDetails("1");
+
+        assertEquals(0, bothStarted.getCount());
+        assertNull(details.getProductDtos());
+        verifyZeroInteractions(productLookupService);
+    }
+
+    @Test
+    void findDetails_interruptsDependentSectionsStillRunningAtTheDeadline() throws InterruptedException {
+        CountDownLatch interrupted = new CountDownLatch(1);
+        when(paymentClientService.streamAll()).thenAnswer(invocation -> listing());
+        when(cartClientService.findById("7")).thenAnswer(invocation -> {
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return ResponseEntity.ok(CartDto.builder().cartId(7).build());
+        });
+        OrderDetailsServiceImpl impatient = new OrderDetailsServiceImpl(orderClientService, cartClientService,
+                orderItemClientService, paymentClientService, productLookupService, objectMapper, executor,
+                Duration.ofMillis(200));
+
+        OrderDetailsResponse details = impatient.findDetails("1");
+
+        assertNotNull(details.getOrderDto());
+        assertNull(details.getCartDto());
+        assertEquals(Collections.singletonList("cart"), details.getUnavailable());
+        assertTrue(interrupted.await(2, TimeUnit.SECONDS), "the downstream call was not interrupted");
+    }
+
+    @Test
+    void findDetails_reportsSectionsThePoolRejectsAsUnavailable() {
+        OrderDetailsServiceImpl saturated = new OrderDetailsServiceImpl(orderClientService, cartClientService,
+                orderItemClientService, paymentClientService, productLookupService, objectMapper, command -> {
+                    throw new RejectedExecutionException("pool is full");
+                }, Duration.ofSeconds(2));
+
+        OrderDetailsResponse details = saturated.findDetails("1");
+
+        assertNull(details.getOrderDto());
+        assertTrue(details.getUnavailable().containsAll(Arrays.asList("order", "orderItems", "payment")));
+        verifyZeroInteractions(orderClientService, orderItemClientService, paymentClientService);
+    }
+
+}
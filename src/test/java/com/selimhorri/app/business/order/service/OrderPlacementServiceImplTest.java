@@ -0,0 +1,218 @@
+package com.selimhorri.app.business.order.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collections;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.unit.DataSize;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.selimhorri.app.business.order.enums.PlacementStatus;
+import com.selimhorri.app.business.order.model.OrderDto;
+import com.selimhorri.app.business.order.model.OrderPlacement;
+import com.selimhorri.app.business.order.service.impl.OrderPlacementServiceImpl;
+import com.selimhorri.app.cache.invalidation.CacheInvalidationBus;
+import com.selimhorri.app.cache.service.ResponseCacheService;
+import com.selimhorri.app.cache.spi.CacheProvider;
+import com.selimhorri.app.cache.spi.CacheRegions;
+import com.selimhorri.app.cache.spi.LocalCacheProvider;
+import com.selimhorri.app.cache.spi.TieredCacheProvider;
+
+import feign.FeignException;
+import feign.Request;
+import feign.Request.HttpMethod;
+import feign.RetryableException;
+
+class OrderPlacementServiceImplTest {
+
+    @TempDir
+    Path journalDir;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private OrderClientService orderClientService;
+    private ResponseCacheService responseCacheService;
+    private CacheInvalidationBus cacheInvalidationBus;
+    private OrderPlacementServiceImpl orderPlacementService;
+    private Request request;
+
+    @BeforeEach
+    void setUp() {
+        orderClientService = mock(OrderClientService.class);
+        responseCacheService = mock(ResponseCacheService.class);
+        cacheInvalidationBus = mock(CacheInvalidationBus.class);
+        when(responseCacheService.resolveGroup("/api/orders")).thenReturn("orders");
+        orderPlacementService = create(Duration.ofMillis(1));
+        request = Request.create(HttpMethod.POST, "/order-service/api/orders", Collections.emptyMap(), null, null, null);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        orderPlacementService.close();
+    }
+
+    private OrderPlacementServiceImpl create(Duration backoff) {
+        return create(backoff, journalDir, new LocalCacheProvider("shared", DataSize.ofMegabytes(1)));
+    }
+
+    private OrderPlacementServiceImpl create(Duration backoff, Path journal, CacheProvider sharedTier) {
+        CacheRegions cacheRegions = new CacheRegions(new TieredCacheProvider(
+                new LocalCacheProvider("near", DataSize.ofMegabytes(1)), sharedTier, Duration.ofSeconds(5)), objectMapper);
+        return new OrderPlacementServiceImpl(orderClientService, responseCacheService, cacheInvalidationBus,
+                cacheRegions, objectMapper, journal, DataSize.ofMegabytes(1), 2, 3, backoff, Duration.ofSeconds(1),
+                Duration.ofHours(1));
+    }
+
+    private static OrderDto order() {
+        return OrderDto.builder().orderDesc("New order").orderFee(49.99).build();
+    }
+
+    private OrderPlacement awaitCompletion(String placementId) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        OrderPlacement placement = orderPlacementService.findById(placementId);
+        while (placement.getStatus() == PlacementStatus.PENDING && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+            placement = orderPlacementService.findById(placementId);
+        }
+        return placement;
+    }
+
+    @Test
+    void submit_placesOrderAndInvalidatesOrders() throws Exception {
+        when(orderClientService.save(any(OrderDto.class)))
+                .thenReturn(ResponseEntity.ok(OrderDto.builder().orderId(5).build()));
+
+        OrderPlacement accepted = orderPlacementService.submit(order(), "1");
+        OrderPlacement placement = awaitCompletion(accepted.getPlacementId());
+
+        assertEquals(PlacementStatus.PENDING, accepted.getStatus());
+        assertEquals(PlacementStatus.PLACED, placement.getStatus());
+        assertEquals(5, placement.getOrderDto().getOrderId());
+        assertEquals("1", placement.getUserId());
+        verify(responseCacheService).invalidateGroup("orders");
+        verify(cacheInvalidationBus).publish(eq("orders"), isNull());
+    }
+
+    @Test
+    void submit_retriesUnhandledCalls() throws Exception {
+        when(orderClientService.save(any(OrderDto.class)))
+                .thenThrow(new FeignException.ServiceUnavailable("unavailable", request, null))
+                .thenThrow(new RetryableException(-1, "Connection refused", HttpMethod.POST,
+                        new ConnectException("Connection refused"), null, request))
+                .thenReturn(ResponseEntity.ok(OrderDto.builder().orderId(5).build()));
+
+        OrderPlacement placement = awaitCompletion(orderPlacementService.submit(order(), "1").getPlacementId());
+
+        assertEquals(PlacementStatus.PLACED, placement.getStatus());
+        assertEquals(3, placement.getAttempts());
+        verify(orderClientService, times(3)).save(any(OrderDto.class));
+    }
+
+    @Test
+    void submit_failsWithoutRetryingRejectedOrders() throws Exception {
+        when(orderClientService.save(any(OrderDto.class)))
+                .thenThrow(new FeignException.BadRequest("cart is empty", request, null));
+
+        OrderPlacement placement = awaitCompletion(orderPlacementService.submit(order(), "1").getPlacementId());
+
+        assertEquals(PlacementStatus.FAILED, placement.getStatus());
+        assertEquals(1, placement.getAttempts());
+        assertNotNull(placement.getMsg());
+        verify(orderClientService, times(1)).save(any(OrderDto.class));
+        verifyZeroInteractions(cacheInvalidationBus);
+    }
+
+    @Test
+    void submit_failsWithoutRetryingCallsThatMayHaveBeenHandled() throws Exception {
+        when(orderClientService.save(any(OrderDto.class)))
+                .thenThrow(new RetryableException(-1, "Read timed out", HttpMethod.POST,
+                        new SocketTimeoutException("Read timed out"), null, request))
+                .thenThrow(new FeignException.GatewayTimeout("gateway timeout", request, null));
+
+        OrderPlacement timedOut = awaitCompletion(orderPlacementService.submit(order(), "1").getPlacementId());
+        OrderPlacement gatewayTimeout = awaitCompletion(orderPlacementService.submit(order(), "1").getPlacementId());
+
+        assertEquals(PlacementStatus.FAILED, timedOut.getStatus());
+        assertEquals(1, timedOut.getAttempts());
+        assertEquals(PlacementStatus.FAILED, gatewayTimeout.getStatus());
+        assertEquals(1, gatewayTimeout.getAttempts());
+        verify(orderClientService, times(2)).save(any(OrderDto.class));
+    }
+
+    @Test
+    void start_resumesJournaledOrdersAfterRestart() throws Exception {
+        orderPlacementService.close();
+        orderPlacementService = create(Duration.ofHours(1));
+        when(orderClientService.save(any(OrderDto.class)))
+                .thenThrow(new FeignException.ServiceUnavailable("unavailable", request, null));
+        String placementId = orderPlacementService.submit(order(), "1").getPlacementId();
+        verify(orderClientService, timeout(5000)).save(any(OrderDto.class));
+        orderPlacementService.close();
+
+        reset(orderClientService);
+        when(orderClientService.save(any(OrderDto.class)))
+                .thenReturn(ResponseEntity.ok(OrderDto.builder().orderId(9).build()));
+        orderPlacementService = create(Duration.ofMillis(1));
+        orderPlacementService.start();
+        OrderPlacement placement = awaitCompletion(placementId);
+        orderPlacementService.close();
+
+        orderPlacementService = create(Duration.ofMillis(1));
+        orderPlacementService.start();
+
+        assertEquals(PlacementStatus.PLACED, placement.getStatus());
+        assertEquals(9, placement.getOrderDto().getOrderId());
+        assertEquals(PlacementStatus.PLACED, orderPlacementService.findById(placementId).getStatus());
+        verify(orderClientService, times(1)).save(any(OrderDto.class));
+    }
+
+    @Test
+    void findById_answersPlacementsAcceptedByAnotherReplica() throws Exception {
+        CacheProvider sharedTier = new LocalCacheProvider("shared", DataSize.ofMegabytes(1));
+        orderPlacementService.close();
+        orderPlacementService = create(Duration.ofHours(1), journalDir.resolve("a"), sharedTier);
+        OrderPlacementServiceImpl otherReplica = create(Duration.ofMillis(1), journalDir.resolve("b"), sharedTier);
+        when(orderClientService.save(any(OrderDto.class)))
+                .thenThrow(new FeignException.ServiceUnavailable("unavailable", request, null))
+                .thenReturn(ResponseEntity.ok(OrderDto.builder().orderId(7).build()));
+
+        try {
+            String placementId = orderPlacementService.submit(order(), "1").getPlacementId();
+            verify(orderClientService, timeout(5000)).save(any(OrderDto.class));
+            OrderPlacement pending = otherReplica.findById(placementId);
+
+            orderPlacementService.close();
+            orderPlacementService = create(Duration.ofMillis(1), journalDir.resolve("a"), sharedTier);
+            orderPlacementService.start();
+            awaitCompletion(placementId);
+            OrderPlacement placed = otherReplica.findById(placementId);
+
+            assertEquals(PlacementStatus.PENDING, pending.getStatus());
+            assertEquals("1", pending.getUserId());
+            assertEquals(PlacementStatus.PLACED, placed.getStatus());
+            assertEquals(7, placed.getOrderDto().getOrderId());
+            assertEquals("1", placed.getUserId());
+        }
+        finally {
+            otherReplica.close();
+        }
+    }
+
+    @Test
+    void findById_returnsNullForUnknownPlacements() {
+        assertNull(orderPlacementService.findById("missing"));
+    }
+
+}
@@ -0,0 +1,142 @@
+package com.selimhorri.app.business.order.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+
+import com.selimhorri.app.business.order.model.OrderDto;
+import com.selimhorri.app.business.order.model.response.OrderStatusBulkResponse;
+import com.selimhorri.app.business.order.model.response.OrderStatusFailure;
+import com.selimhorri.app.business.order.service.impl.OrderStatusBulkServiceImpl;
+
+import feign.FeignException;
+import feign.Request;
+import feign.Request.HttpMethod;
+import feign.RetryableException;
+
+class OrderStatusBulkServiceImplTest {
+
+    private OrderClientService orderClientService;
+    private ExecutorService executor;
+    private OrderStatusBulkServiceImpl orderStatusBulkService;
+    private Request request;
+
+    @BeforeEach
+    void setUp() {
+        orderClientService = mock(OrderClientService.class);
+        executor = Executors.newFixedThreadPool(4);
+        orderStatusBulkService = new OrderStatusBulkServiceImpl(orderClientService, executor, 4, 10, 3,
+                Duration.ofMillis(1));
+        request = Request.create(HttpMethod.PATCH, "/order-service/api/orders/1/status", Collections.emptyMap(),
+                null, null, null);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        executor.shutdownNow();
+        executor.awaitTermination(1, TimeUnit.SECONDS);
+    }
+
+    private static ResponseEntity<OrderDto> advanced(int orderId) {
+        return ResponseEntity.ok(OrderDto.builder().orderId(orderId).orderStatus("SHIPPED").build());
+    }
+
+    @Test
+    void updateStatuses_advancesEveryDistinctOrderInRequestOrder() {
+        for (int orderId = 1; orderId <= 6; orderId++)
+            when(orderClientService.updateStatus(orderId)).thenReturn(advanced(orderId));
+
+        OrderStatusBulkResponse response = orderStatusBulkService.updateStatuses(Arrays.asList(3, 1, 2, 3, 6, 5, 4));
+
+        assertEquals(6, response.getRequested());
+        assertEquals(6, response.getSucceeded());
+        assertEquals(0, response.getFailed());
+        assertEquals(Arrays.asList(3, 1, 2, 6, 5, 4), response.getOrderDtos().stream().map(OrderDto::getOrderId)
+                .collect(Collectors.toList()));
+        verify(orderClientService, times(1)).updateStatus(3);
+    }
+
+    @Test
+    void updateStatuses_retriesUnhandledCalls() {
+        when(orderClientService.updateStatus(1))
+                .thenThrow(new FeignException.ServiceUnavailable("unavailable", request, null))
+                .thenThrow(new RetryableException(-1, "Connection refused", HttpMethod.PATCH,
+                        new ConnectException("Connection refused"), null, request))
+                .thenReturn(advanced(1));
+
+        OrderStatusBulkResponse response = orderStatusBulkService.updateStatuses(Collections.singletonList(1));
+
+        assertEquals(1, response.getSucceeded());
+        verify(orderClientService, times(3)).updateStatus(1);
+    }
+
+    @Test
+    void updateStatuses_doesNotRetryCallsThatMayHaveBeenHandled() {
+        when(orderClientService.updateStatus(1)).thenThrow(new RetryableException(-1, "Read timed out",
+                HttpMethod.PATCH, new SocketTimeoutException("Read timed out"), null, request));
+        when(orderClientService.updateStatus(2))
+                .thenThrow(new FeignException.GatewayTimeout("gateway timeout", request, null));
+        when(orderClientService.updateStatus(3))
+                .thenThrow(new FeignException.BadGateway("bad gateway", request, null));
+
+        OrderStatusBulkResponse response = orderStatusBulkService.updateStatuses(Arrays.asList(1, 2, 3));
+
+        assertEquals(3, response.getFailed());
+        assertTrue(response.getFailures().stream().allMatch(failure -> failure.getAttempts() == 1));
+        verify(orderClientService, times(1)).updateStatus(1);
+        verify(orderClientService, times(1)).updateStatus(2);
+        verify(orderClientService, times(1)).updateStatus(3);
+    }
+
+    @Test
+    void updateStatuses_reportsOtherFailuresWithoutRetrying() {
+        when(orderClientService.updateStatus(1)).thenReturn(advanced(1));
+        when(orderClientService.updateStatus(2)).thenThrow(new FeignException.NotFound("not found", request, null));
+
+        OrderStatusBulkResponse response = orderStatusBulkService.updateStatuses(Arrays.asList(1, 2));
+
+        assertEquals(1, response.getSucceeded());
+        assertEquals(1, response.getFailed());
+        OrderStatusFailure failure = response.getFailures().get(0);
+        assertEquals(2, failure.getOrderId());
+        assertEquals(404, failure.getStatus());
+        assertEquals(1, failure.getAttempts());
+        verify(orderClientService, times(1)).updateStatus(2);
+    }
+
+    @Test
+    void updateStatuses_givesUpAfterMaxAttempts() {
+        when(orderClientService.updateStatus(1))
+                .thenThrow(new FeignException.ServiceUnavailable("unavailable", request, null));
+
+        OrderStatusBulkResponse response = orderStatusBulkService.updateStatuses(Collections.singletonList(1));
+
+        assertEquals(0, response.getSucceeded());
+        assertEquals(503, response.getFailures().get(0).getStatus());
+        assertEquals(3, response.getFailures().get(0).getAttempts());
+        verify(orderClientService, times(3)).updateStatus(1);
+    }
+
+    @Test
+    void updateStatuses_rejectsEmptyAndOversizedRequests() {
+        assertThrows(IllegalStateException.class, () -> orderStatusBulkService.updateStatuses(Collections.emptyList()));
+        assertThrows(IllegalStateException.class,
+                () -> orderStatusBulkService.updateStatuses(Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11)));
+        verifyZeroInteractions(orderClientService);
+    }
+
+}
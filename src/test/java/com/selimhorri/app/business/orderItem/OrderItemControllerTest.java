@@ -1,5 +1,6 @@
 package com.selimhorri.app.business.orderItem;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -11,6 +12,11 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+
 import javax.servlet.http.HttpServletRequest;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -20,6 +26,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.test.util.ReflectionTestUtils;
@@ -33,6 +40,13 @@ import com.selimhorri.app.business.orderItem.model.ProductDto;
 import com.selimhorri.app.business.orderItem.model.response.OrderItemOrderItemServiceDtoCollectionResponse;
 import com.selimhorri.app.business.orderItem.service.OrderItemClientService;
 import com.selimhorri.app.exception.wrapper.UnauthorizedException;
+import com.selimhorri.app.streaming.BufferPool;
+import com.selimhorri.app.streaming.DownstreamRelay;
+import com.selimhorri.app.streaming.RelayedBody;
+
+import feign.Request;
+import feign.Request.HttpMethod;
+import feign.Response;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
@@ -65,6 +79,7 @@ class OrderItemControllerTest {
         // Create controller and inject mocks
         orderItemController = new OrderItemController(orderItemClientService);
         ReflectionTestUtils.setField(orderItemController, "authUtil", authUtil);
+        ReflectionTestUtils.setField(orderItemController, "downstreamRelay", new DownstreamRelay(true));
         
         // Setup ProductDto
         productDto = ProductDto.builder()
@@ -102,21 +117,23 @@ class OrderItemControllerTest {
     }
 
     @Test
-    @DisplayName("Should find all order items successfully")
-    void findAll_ShouldReturnAllOrderItems_WhenCalled() {
+    @DisplayName("Should relay downstream order items without decoding them")
+    void findAll_ShouldRelayDownstreamBody_WhenCalled() throws IOException {
         // Given
-        ResponseEntity<OrderItemOrderItemServiceDtoCollectionResponse> serviceResponse = 
-            new ResponseEntity<>(collectionResponse, HttpStatus.OK);
-        when(orderItemClientService.findAll()).thenReturn(serviceResponse);
+        byte[] body = "{\"collection\":[{\"orderId\":1,\"productId\":1}]}".getBytes(StandardCharsets.UTF_8);
+        when(orderItemClientService.streamAll()).thenReturn(downstream(200, body));
 
         // When
-        ResponseEntity<OrderItemOrderItemServiceDtoCollectionResponse> result = orderItemController.findAll();
+        ResponseEntity<RelayedBody> result = orderItemController.findAll(request);
 
         // Then
         assertNotNull(result);
         assertEquals(HttpStatus.OK, result.getStatusCode());
-        assertEquals(collectionResponse, result.getBody());
-        verify(orderItemClientService, times(1)).findAll();
+        assertEquals(MediaType.APPLICATION_JSON, result.getHeaders().getContentType());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        result.getBody().writeTo(out, new BufferPool(1, 8));
+        assertArrayEquals(body, out.toByteArray());
+        verify(orderItemClientService, times(1)).streamAll();
     }
 
     @Test
@@ -281,43 +298,44 @@ class OrderItemControllerTest {
     }
 
     @Test
-    @DisplayName("Should handle service returning null response body")
-    void findAll_ShouldHandleNullResponseBody_WhenServiceReturnsNullBody() {
+    @DisplayName("Should keep the downstream status of relayed order items")
+    void findAll_ShouldKeepDownstreamStatus_WhenServiceFails() throws IOException {
         // Given
-        ResponseEntity<OrderItemOrderItemServiceDtoCollectionResponse> serviceResponse = 
-            new ResponseEntity<>(null, HttpStatus.OK);
-        when(orderItemClientService.findAll()).thenReturn(serviceResponse);
+        byte[] body = "{\"msg\":\"boom\"}".getBytes(StandardCharsets.UTF_8);
+        when(orderItemClientService.streamAll()).thenReturn(downstream(503, body));
 
         // When
-        ResponseEntity<OrderItemOrderItemServiceDtoCollectionResponse> result = orderItemController.findAll();
+        ResponseEntity<RelayedBody> result = orderItemController.findAll(request);
 
         // Then
         assertNotNull(result);
-        assertEquals(HttpStatus.OK, result.getStatusCode());
-        assertEquals(null, result.getBody());
-        verify(orderItemClientService, times(1)).findAll();
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, result.getStatusCode());
+        verify(orderItemClientService, times(1)).streamAll();
     }
 
     @Test
     @DisplayName("Should handle empty order item collection")
-    void findAll_ShouldHandleEmptyCollection_WhenNoOrderItemsExist() {
+    void findAll_ShouldHandleEmptyCollection_WhenNoOrderItemsExist() throws IOException {
         // Given
-        Collection<OrderItemDto> emptyOrderItems = Arrays.asList();
-        OrderItemOrderItemServiceDtoCollectionResponse emptyResponse = OrderItemOrderItemServiceDtoCollectionResponse.builder()
-                .collection(emptyOrderItems)
-                .build();
-        ResponseEntity<OrderItemOrderItemServiceDtoCollectionResponse> serviceResponse = 
-            new ResponseEntity<>(emptyResponse, HttpStatus.OK);
-        when(orderItemClientService.findAll()).thenReturn(serviceResponse);
+        byte[] body = "{\"collection\":[]}".getBytes(StandardCharsets.UTF_8);
+        when(orderItemClientService.streamAll()).thenReturn(downstream(200, body));
 
         // When
-        ResponseEntity<OrderItemOrderItemServiceDtoCollectionResponse> result = orderItemController.findAll();
+        ResponseEntity<RelayedBody> result = orderItemController.findAll(request);
 
         // Then
         assertNotNull(result);
         assertEquals(HttpStatus.OK, result.getStatusCode());
-        assertNotNull(result.getBody());
-        assertEquals(0, result.getBody().getCollection().size());
-        verify(orderItemClientService, times(1)).findAll();
+        assertEquals(Long.valueOf(body.length), result.getBody().getLength());
+        verify(orderItemClientService, times(1)).streamAll();
+    }
+
+    private static Response downstream(int status, byte[] body) {
+        return Response.builder()
+                .status(status)
+                .headers(Collections.singletonMap("Content-Type", Collections.singletonList("application/json")))
+                .request(Request.create(HttpMethod.GET, "/api/shippings", Collections.emptyMap(), null, StandardCharsets.UTF_8, null))
+                .body(body)
+                .build();
     }
 }
\ No newline at end of file
@@ -0,0 +1,40 @@
+package com.selimhorri.app.business.product.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class IntPostingsTest {
+
+    private static IntPostings postings(int... ids) {
+        IntPostings postings = new IntPostings();
+        for (int id : ids)
+            postings.add(id);
+        return postings;
+    }
+
+    @Test
+    void add_keepsIdsSortedAndUnique() {
+        IntPostings postings = postings(5, -3, Integer.MAX_VALUE, 5, 0);
+        postings.remove(0);
+
+        assertArrayEquals(new int[] { -3, 5, Integer.MAX_VALUE }, postings.toArray());
+    }
+
+    @Test
+    void retainAllAndIntersect_mergeSortedIds() {
+        assertArrayEquals(new int[] { -3, 9 }, postings(-3, 1, 9, 12).retainAll(new int[] { -5, -3, 2, 9 }));
+        assertArrayEquals(new int[0], IntPostings.intersect(new int[] { 1, 2 }, new int[] { 3, 4 }));
+    }
+
+    @Test
+    void union_mergesWithoutDuplicates() {
+        assertArrayEquals(new int[] { -3, 1, 2, 9 }, IntPostings.union(new int[] { -3, 2, 9 }, new int[] { 1, 2 }));
+        assertArrayEquals(new int[] { -1, 4, 7, Integer.MAX_VALUE },
+                IntPostings.union(List.of(postings(7, -1), postings(4, 7), postings(Integer.MAX_VALUE))));
+        assertArrayEquals(new int[0], IntPostings.union(List.of()));
+    }
+
+}
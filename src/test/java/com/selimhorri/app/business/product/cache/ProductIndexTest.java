@@ -0,0 +1,117 @@
+package com.selimhorri.app.business.product.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.selimhorri.app.business.product.model.CategoryDto;
+import com.selimhorri.app.business.product.model.CategoryFacet;
+import com.selimhorri.app.business.product.model.ProductDto;
+import com.selimhorri.app.business.product.model.ProductSearchQuery;
+import com.selimhorri.app.business.product.model.response.ProductProductServiceCollectionDtoResponse;
+
+class ProductIndexTest {
+
+    private static final CategoryDto PHONES = CategoryDto.builder().categoryId(1).categoryTitle("Phones").build();
+    private static final CategoryDto LAPTOPS = CategoryDto.builder().categoryId(2).categoryTitle("Laptops").build();
+
+    private ProductIndex index;
+
+    private static ProductDto product(int id, String sku, double price, int quantity, CategoryDto category) {
+        return ProductDto.builder()
+                .productId(id)
+                .productTitle("Product " + id)
+                .sku(sku)
+                .priceUnit(price)
+                .quantity(quantity)
+                .categoryDto(category)
+                .build();
+    }
+
+    private static List<Integer> ids(ProductProductServiceCollectionDtoResponse response) {
+        return response.getCollection().stream().map(ProductDto::getProductId).collect(Collectors.toList());
+    }
+
+    @BeforeEach
+    void setUp() {
+        index = new ProductIndex();
+        index.rebuild(List.of(
+                product(1, "P-1", 300.0, 5, PHONES),
+                product(2, "P-2", 800.0, 0, PHONES),
+                product(3, "L-1", 1200.0, 2, LAPTOPS),
+                product(4, "L-2", 900.0, 7, LAPTOPS)));
+    }
+
+    @Test
+    void search_filtersByCategoryPriceAndStock() {
+        ProductProductServiceCollectionDtoResponse response = index.search(ProductSearchQuery.builder()
+                .category("laptops").maxPrice(1000.0).inStock(true).build());
+
+        assertEquals(List.of(4), ids(response));
+        assertEquals(1, response.getTotal());
+    }
+
+    @Test
+    void search_countsEachFacetWithoutItsOwnCriterion() {
+        ProductProductServiceCollectionDtoResponse response = index.search(ProductSearchQuery.builder()
+                .category("1").inStock(true).build());
+
+        assertEquals(List.of(1), ids(response));
+        List<CategoryFacet> categories = response.getFacets().getCategories();
+        assertEquals(2, categories.size());
+        assertEquals(List.of(1L, 2L), categories.stream().map(CategoryFacet::getCount).sorted()
+                .collect(Collectors.toList()));
+        assertEquals(1L, response.getFacets().getInStock());
+        assertEquals(1L, response.getFacets().getOutOfStock());
+    }
+
+    @Test
+    void search_sortsAscendingAndDescending() {
+        assertEquals(List.of(1, 2, 4, 3), ids(index.search(ProductSearchQuery.builder().sort("price").build())));
+        assertEquals(List.of(3, 4, 2, 1), ids(index.search(ProductSearchQuery.builder().sort("-price").build())));
+        assertEquals(List.of(3, 4, 1, 2), ids(index.search(ProductSearchQuery.builder().sort("sku").build())));
+    }
+
+    @Test
+    void search_unknownSort_isRejected() {
+        assertThrows(IllegalStateException.class, 
+                () -> index.search(ProductSearchQuery.builder().sort("color").build()));
+    }
+
+    @Test
+    void search_unknownCategory_matchesNothing() {
+        assertTrue(index.search(ProductSearchQuery.builder().category("Books").build()).getCollection().isEmpty());
+    }
+
+    @Test
+    void upsertAndRemove_updateSingleRows() {
+        index.upsert(product(2, "P-2", 100.0, 3, PHONES));
+        index.remove("1");
+        index.upsert(product(5, "P-3", 50.0, 1, PHONES));
+
+        assertEquals(List.of(5, 2, 4, 3), ids(index.search(ProductSearchQuery.builder().sort("price").build())));
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    void search_scansLargeCatalogs() {
+        List<ProductDto> products = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++)
+            products.add(product(i, "SKU-" + i, i % 1000, i % 3, (i % 2 == 0) ? PHONES : LAPTOPS));
+        index.rebuild(products);
+
+        ProductProductServiceCollectionDtoResponse response = index.search(ProductSearchQuery.builder()
+                .category("2").minPrice(100.0).maxPrice(199.0).inStock(true).sort("-price").build());
+
+        assertEquals(100_000, index.size());
+        assertTrue(response.getTotal() > 0);
+        assertEquals(199.0, response.getCollection().iterator().next().getPriceUnit());
+        assertEquals(2, response.getFacets().getCategories().size());
+    }
+
+}
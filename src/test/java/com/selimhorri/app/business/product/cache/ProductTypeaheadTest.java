@@ -0,0 +1,93 @@
+package com.selimhorri.app.business.product.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.selimhorri.app.business.product.model.ProductDto;
+
+class ProductTypeaheadTest {
+
+    private ProductTypeahead typeahead;
+
+    private static ProductDto product(int id, String title, String sku) {
+        return ProductDto.builder().productId(id).productTitle(title).sku(sku).build();
+    }
+
+    private List<Integer> suggest(String query) {
+        return typeahead.suggest(query, 10).stream().map(ProductDto::getProductId).collect(Collectors.toList());
+    }
+
+    @BeforeEach
+    void setUp() {
+        typeahead = new ProductTypeahead();
+        typeahead.rebuild(List.of(
+                product(1, "Smartphone X", "PHN-100"),
+                product(2, "Phone Case", "ACC-200"),
+                product(3, "Headphones Pro", "AUD-300"),
+                product(4, "Laptop Stand", "ACC-201")));
+    }
+
+    @Test
+    void suggest_ranksExactWordsBeforePrefixesBeforeFragments() {
+        assertEquals(List.of(2, 1, 3), suggest("phone"));
+        assertEquals(List.of(3), suggest("head"));
+    }
+
+    @Test
+    void suggest_requiresEveryWord() {
+        assertEquals(List.of(2), suggest("phone ca"));
+        assertTrue(suggest("phone laptop").isEmpty());
+    }
+
+    @Test
+    void suggest_matchesSkusAndTheirParts() {
+        assertEquals(List.of(4), suggest("acc-201"));
+        assertEquals(List.of(2, 4), suggest("acc"));
+    }
+
+    @Test
+    void upsertAndRemove_updateTheIndexInPlace() {
+        typeahead.upsert(product(2, "Tablet Sleeve", "ACC-200"));
+        typeahead.remove("3");
+
+        assertEquals(List.of(1), suggest("phone"));
+        assertEquals(List.of(2), suggest("sleeve"));
+        assertEquals(0, typeahead.suggest("headphones", 10).size());
+    }
+
+    @Test
+    void suggest_handlesNegativeAndVeryLargeIds() {
+        typeahead.rebuild(List.of(
+                product(-7, "Cable Reel", "CBL-1"),
+                product(Integer.MAX_VALUE, "Cable Tester", "CBL-2"),
+                product(3, "Headphones Pro", "AUD-300")));
+
+        assertEquals(List.of(-7, Integer.MAX_VALUE), suggest("cable"));
+        assertEquals(List.of(Integer.MAX_VALUE), suggest("able test"));
+        assertEquals(List.of(-7), suggest("eel"));
+    }
+
+    @Test
+    void suggest_blankQueryOrUnknownWord_returnsNothing() {
+        assertTrue(suggest("  ").isEmpty());
+        assertTrue(suggest("zzz").isEmpty());
+    }
+
+    @Test
+    void suggest_capsTheNumberOfSuggestions() {
+        List<ProductDto> products = new ArrayList<>();
+        for (int i = 0; i < 500; i++)
+            products.add(product(i, "Cable " + i, "CBL-" + i));
+        typeahead.rebuild(products);
+
+        assertEquals(3, typeahead.suggest("cable", 3).size());
+        assertEquals(ProductTypeahead.MAX_SUGGESTIONS, typeahead.suggest("cable", 1000).size());
+    }
+
+}
@@ -3,19 +3,22 @@ package com.selimhorri.app.business.product.controller;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
+import java.util.Arrays;
 import java.util.Collections;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.ResponseEntity;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.selimhorri.app.business.product.cache.CategorySnapshotCache;
 import com.selimhorri.app.business.product.model.CategoryDto;
 import com.selimhorri.app.business.product.model.response.CategoryProductServiceCollectionDtoResponse;
 import com.selimhorri.app.business.product.service.CategoryClientService;
+import com.selimhorri.app.cache.CacheProperties;
 
 @ExtendWith(MockitoExtension.class)
 class CategoryControllerUnitTest {
@@ -23,7 +26,8 @@ class CategoryControllerUnitTest {
     @Mock
     private CategoryClientService categoryClientService;
 
-    @InjectMocks
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
     private CategoryController categoryController;
 
     private CategoryDto categoryDto;
@@ -31,6 +35,9 @@ class CategoryControllerUnitTest {
 
     @BeforeEach
     void setUp() {
+        categoryController = new CategoryController(categoryClientService, 
+            new CategorySnapshotCache(categoryClientService, objectMapper, new CacheProperties()));
+
         categoryDto = new CategoryDto();
         categoryDto.setCategoryId(1);
         categoryDto.setCategoryTitle("Electronics");
@@ -41,31 +48,33 @@ class CategoryControllerUnitTest {
     }
 
     @Test
-    void findAll_ShouldReturnAllCategories() {
+    void findAll_ShouldReturnAllCategories() throws Exception {
         // Configurar mock
         when(categoryClientService.findAll())
             .thenReturn(ResponseEntity.ok(collectionResponse));
 
         // Ejecutar método
-        ResponseEntity<CategoryProductServiceCollectionDtoResponse> response = 
-            categoryController.findAll();
+        ResponseEntity<byte[]> response = categoryController.findAll();
 
         // Verificar resultados
         assertNotNull(response);
-        assertEquals(1, response.getBody().getCollection().size());
+        assertEquals(1, objectMapper.readValue(response.getBody(), 
+            CategoryProductServiceCollectionDtoResponse.class).getCollection().size());
 
     }
 
     @Test
-    void findById_ShouldReturnCategory() {
-        when(categoryClientService.findById("1"))
-            .thenReturn(ResponseEntity.ok(categoryDto));
+    void findById_ShouldReturnCategory() throws Exception {
+        when(categoryClientService.findAll())
+            .thenReturn(ResponseEntity.ok(collectionResponse));
 
-        ResponseEntity<CategoryDto> response = categoryController.findById("1");
+        ResponseEntity<byte[]> response = categoryController.findById("1");
 
         assertNotNull(response);
-        assertEquals(1, response.getBody().getCategoryId());
-        assertEquals("Electronics", response.getBody().getCategoryTitle());
+        CategoryDto body = objectMapper.readValue(response.getBody(), CategoryDto.class);
+        assertEquals(1, body.getCategoryId());
+        assertEquals("Electronics", body.getCategoryTitle());
+        verify(categoryClientService, never()).findById(anyString());
     }
 
     @Test
@@ -108,7 +117,7 @@ class CategoryControllerUnitTest {
     }
 
     @Test
-    void findAll_WhenNoCategories_ShouldReturnEmptyList() {
+    void findAll_WhenNoCategories_ShouldReturnEmptyList() throws Exception {
         CategoryProductServiceCollectionDtoResponse emptyResponse = 
             new CategoryProductServiceCollectionDtoResponse();
         emptyResponse.setCollection(Collections.emptyList());
@@ -116,21 +125,57 @@ class CategoryControllerUnitTest {
         when(categoryClientService.findAll())
             .thenReturn(ResponseEntity.ok(emptyResponse));
 
-        ResponseEntity<CategoryProductServiceCollectionDtoResponse> response = 
-            categoryController.findAll();
+        ResponseEntity<byte[]> response = categoryController.findAll();
 
         assertNotNull(response);
-        assertTrue(response.getBody().getCollection().isEmpty());
+        assertTrue(objectMapper.readValue(response.getBody(), 
+            CategoryProductServiceCollectionDtoResponse.class).getCollection().isEmpty());
     }
 
     @Test
     void findById_WhenNotFound_ShouldReturnEmptyBody() {
+        when(categoryClientService.findAll())
+            .thenReturn(ResponseEntity.ok(collectionResponse));
         when(categoryClientService.findById("999"))
             .thenReturn(ResponseEntity.ok().build());
 
-        ResponseEntity<CategoryDto> response = categoryController.findById("999");
+        ResponseEntity<byte[]> response = categoryController.findById("999");
 
         assertNotNull(response);
         assertNull(response.getBody());
     }
-}
\ No newline at end of file
+
+    @Test
+    void findAll_ShouldServeSnapshotWithoutCallingProductService() {
+        when(categoryClientService.findAll())
+            .thenReturn(ResponseEntity.ok(collectionResponse));
+
+        byte[] first = categoryController.findAll().getBody();
+        byte[] second = categoryController.findAll().getBody();
+
+        assertSame(first, second);
+        assertNotNull(categoryController.findAll().getHeaders().getETag());
+        verify(categoryClientService, times(1)).findAll();
+    }
+
+    @Test
+    void save_ShouldRebuildSnapshot() throws Exception {
+        CategoryDto furniture = new CategoryDto();
+        furniture.setCategoryId(2);
+        furniture.setCategoryTitle("Furniture");
+        CategoryProductServiceCollectionDtoResponse afterSave = new CategoryProductServiceCollectionDtoResponse();
+        afterSave.setCollection(Arrays.asList(categoryDto, furniture));
+        when(categoryClientService.findAll())
+            .thenReturn(ResponseEntity.ok(collectionResponse))
+            .thenReturn(ResponseEntity.ok(afterSave));
+        when(categoryClientService.save(any(CategoryDto.class)))
+            .thenReturn(ResponseEntity.ok(furniture));
+
+        categoryController.findAll();
+        categoryController.save(furniture);
+
+        assertEquals("Furniture", objectMapper.readValue(categoryController.findById("2").getBody(), 
+            CategoryDto.class).getCategoryTitle());
+        verify(categoryClientService, never()).findById(anyString());
+    }
+}
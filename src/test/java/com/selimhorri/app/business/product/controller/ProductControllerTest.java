@@ -3,6 +3,7 @@ package com.selimhorri.app.business.product.controller;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
+import java.util.Arrays;
 import java.util.Collections;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -10,12 +11,21 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.unit.DataSize;
 
+import com.selimhorri.app.business.product.cache.ProductCatalogCache;
 import com.selimhorri.app.business.product.model.ProductDto;
+import com.selimhorri.app.business.product.model.ProductSearchQuery;
 import com.selimhorri.app.business.product.model.response.ProductProductServiceCollectionDtoResponse;
 import com.selimhorri.app.business.product.service.ProductClientService;
+import com.selimhorri.app.business.product.service.ProductLookupService;
+import com.selimhorri.app.cache.CacheProperties;
+import com.selimhorri.app.cache.spi.CacheRegions;
+import com.selimhorri.app.cache.spi.LocalCacheProvider;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 @ExtendWith(MockitoExtension.class)
 class ProductControllerUnitTest {
@@ -23,6 +33,13 @@ class ProductControllerUnitTest {
     @Mock
     private ProductClientService productClientService;
 
+    @Mock
+    private ProductLookupService productLookupService;
+
+    @Spy
+    private ProductCatalogCache productCatalogCache = new ProductCatalogCache(new CacheProperties(),
+            new CacheRegions(new LocalCacheProvider("local", DataSize.ofMegabytes(1)), new ObjectMapper()), Runnable::run);
+
     @InjectMocks
     private ProductController productController;
 
@@ -49,12 +66,24 @@ class ProductControllerUnitTest {
             .thenReturn(ResponseEntity.ok(collectionResponse));
 
         ResponseEntity<ProductProductServiceCollectionDtoResponse> response = 
-            productController.findAll();
+            productController.findAll(new ProductSearchQuery());
 
         assertNotNull(response);
         assertEquals(1, response.getBody().getCollection().size());
     }
 
+    @Test
+    void findAllByIds_ShouldDelegateToLookupService() {
+        when(productLookupService.findAllByIds(Arrays.asList("1", "2")))
+            .thenReturn(collectionResponse);
+
+        ResponseEntity<ProductProductServiceCollectionDtoResponse> response =
+            productController.findAllByIds(Arrays.asList("1", "2"));
+
+        assertEquals(1, response.getBody().getCollection().size());
+        verifyZeroInteractions(productClientService);
+    }
+
     @Test
     void findById_ShouldReturnProduct() {
         when(productClientService.findById("1"))
@@ -111,7 +140,7 @@ class ProductControllerUnitTest {
             .thenReturn(ResponseEntity.ok(emptyResponse));
 
         ResponseEntity<ProductProductServiceCollectionDtoResponse> response = 
-            productController.findAll();
+            productController.findAll(new ProductSearchQuery());
 
         assertNotNull(response);
         assertTrue(response.getBody().getCollection().isEmpty());
@@ -127,4 +156,111 @@ class ProductControllerUnitTest {
         assertNotNull(response);
         assertNull(response.getBody());
     }
-}
\ No newline at end of file
+
+    @Test
+    void findById_WhenCached_ShouldNotCallProductService() {
+        when(productClientService.findById("1"))
+            .thenReturn(ResponseEntity.ok(productDto));
+
+        productController.findById("1");
+        ResponseEntity<ProductDto> response = productController.findById("1");
+
+        assertEquals("Test Product", response.getBody().getProductTitle());
+        verify(productClientService, times(1)).findById("1");
+    }
+
+    @Test
+    void findAll_ShouldWarmProductEntries() {
+        when(productClientService.findAll())
+            .thenReturn(ResponseEntity.ok(collectionResponse));
+
+        productController.findAll(new ProductSearchQuery());
+        productController.findAll(new ProductSearchQuery());
+        ResponseEntity<ProductDto> response = productController.findById("1");
+
+        assertEquals(1, response.getBody().getProductId());
+        verify(productClientService, times(1)).findAll();
+        verify(productClientService, never()).findById(anyString());
+    }
+
+    @Test
+    void findAll_WithCriteria_ShouldAnswerFromIndex() {
+        when(productClientService.findAll())
+            .thenReturn(ResponseEntity.ok(collectionResponse));
+
+        ResponseEntity<ProductProductServiceCollectionDtoResponse> cheap = productController.findAll(
+            ProductSearchQuery.builder().maxPrice(50.0).build());
+        ResponseEntity<ProductProductServiceCollectionDtoResponse> inStock = productController.findAll(
+            ProductSearchQuery.builder().inStock(true).build());
+
+        assertEquals(0, cheap.getBody().getTotal());
+        assertEquals(1, inStock.getBody().getTotal());
+        assertEquals(1L, inStock.getBody().getFacets().getInStock());
+        verify(productClientService, times(1)).findAll();
+    }
+
+    @Test
+    void suggest_ShouldServeFromIndexAfterFirstLoad() {
+        when(productClientService.findAll())
+            .thenReturn(ResponseEntity.ok(collectionResponse));
+
+        productController.suggest("test", 10);
+        ResponseEntity<ProductProductServiceCollectionDtoResponse> response = productController.suggest("tes", 10);
+
+        assertEquals(1, response.getBody().getCollection().size());
+        verify(productClientService, times(1)).findAll();
+    }
+
+    @Test
+    void update_ShouldReachSearchesWithoutReloadingCatalog() {
+        ProductDto updated = new ProductDto();
+        updated.setProductId(1);
+        updated.setPriceUnit(10.0);
+        updated.setQuantity(0);
+        when(productClientService.findAll())
+            .thenReturn(ResponseEntity.ok(collectionResponse));
+        when(productClientService.update(eq("1"), any(ProductDto.class)))
+            .thenReturn(ResponseEntity.ok(updated));
+
+        productController.findAll(ProductSearchQuery.builder().inStock(true).build());
+        productController.update("1", updated);
+        ResponseEntity<ProductProductServiceCollectionDtoResponse> response = productController.findAll(
+            ProductSearchQuery.builder().maxPrice(50.0).build());
+
+        assertEquals(1, response.getBody().getTotal());
+        assertEquals(1L, response.getBody().getFacets().getOutOfStock());
+        verify(productClientService, times(1)).findAll();
+    }
+
+    @Test
+    void update_ShouldReplaceCachedProductAndDropCatalog() {
+        ProductDto updated = new ProductDto();
+        updated.setProductId(1);
+        updated.setProductTitle("Updated Product");
+        when(productClientService.findAll())
+            .thenReturn(ResponseEntity.ok(collectionResponse));
+        when(productClientService.update(eq("1"), any(ProductDto.class)))
+            .thenReturn(ResponseEntity.ok(updated));
+
+        productController.findAll(new ProductSearchQuery());
+        productController.update("1", updated);
+
+        assertEquals("Updated Product", productController.findById("1").getBody().getProductTitle());
+        productController.findAll(new ProductSearchQuery());
+        verify(productClientService, times(2)).findAll();
+    }
+
+    @Test
+    void deleteById_ShouldEvictCachedProduct() {
+        when(productClientService.findById("1"))
+            .thenReturn(ResponseEntity.ok(productDto));
+        when(productClientService.deleteById("1"))
+            .thenReturn(ResponseEntity.ok(true));
+
+        productController.findById("1");
+        productController.deleteById("1");
+        productController.findById("1");
+
+        verify(productClientService, times(2)).findById("1");
+    }
+}
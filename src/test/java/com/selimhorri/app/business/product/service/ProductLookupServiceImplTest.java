@@ -0,0 +1,113 @@
+package com.selimhorri.app.business.product.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.unit.DataSize;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.selimhorri.app.business.product.cache.ProductCatalogCache;
+import com.selimhorri.app.business.product.model.ProductDto;
+import com.selimhorri.app.business.product.model.response.ProductProductServiceCollectionDtoResponse;
+import com.selimhorri.app.business.product.service.impl.ProductLookupServiceImpl;
+import com.selimhorri.app.cache.CacheProperties;
+import com.selimhorri.app.cache.spi.CacheRegions;
+import com.selimhorri.app.cache.spi.LocalCacheProvider;
+
+import feign.FeignException;
+import feign.Request;
+import feign.Request.HttpMethod;
+
+class ProductLookupServiceImplTest {
+
+    private ProductClientService productClientService;
+    private ProductCatalogCache productCatalogCache;
+    private ExecutorService executor;
+    private ProductLookupServiceImpl productLookupService;
+
+    @BeforeEach
+    void setUp() {
+        productClientService = mock(ProductClientService.class);
+        productCatalogCache = new ProductCatalogCache(new CacheProperties(),
+                new CacheRegions(new LocalCacheProvider("local", DataSize.ofMegabytes(1)), new ObjectMapper()), Runnable::run);
+        executor = Executors.newFixedThreadPool(4);
+        productLookupService = new ProductLookupServiceImpl(productClientService, productCatalogCache, executor, 4, 10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private static ProductDto product(int id) {
+        ProductDto productDto = new ProductDto();
+        productDto.setProductId(id);
+        productDto.setProductTitle("Product " + id);
+        return productDto;
+    }
+
+    @Test
+    void findAllByIds_keepsRequestOrderAndDeduplicates() {
+        IntStream.rangeClosed(1, 8).forEach(id ->
+                when(productClientService.findById(String.valueOf(id))).thenReturn(ResponseEntity.ok(product(id))));
+
+        ProductProductServiceCollectionDtoResponse response =
+                productLookupService.findAllByIds(Arrays.asList("8", "3", "5", "3", "1", "7", "2", "6", "4"));
+
+        List<Integer> ids = response.getCollection().stream()
+                .map(ProductDto::getProductId)
+                .collect(Collectors.toList());
+        assertEquals(Arrays.asList(8, 3, 5, 1, 7, 2, 6, 4), ids);
+        assertNull(response.getErrors());
+        verify(productClientService, times(1)).findById("3");
+    }
+
+    @Test
+    void findAllByIds_servesCachedProductsWithoutCallingDownstream() {
+        productCatalogCache.put(product(1));
+        when(productClientService.findById("2")).thenReturn(ResponseEntity.ok(product(2)));
+
+        ProductProductServiceCollectionDtoResponse response = productLookupService.findAllByIds(Arrays.asList("1", "2"));
+
+        assertEquals(2, response.getCollection().size());
+        verify(productClientService, never()).findById("1");
+        assertNotNull(productCatalogCache.getIfPresent("2"));
+    }
+
+    @Test
+    void findAllByIds_reportsPerIdErrors() {
+        Request request = Request.create(HttpMethod.GET, "/api/products/2", Collections.emptyMap(), null, null, null);
+        when(productClientService.findById("1")).thenReturn(ResponseEntity.ok(product(1)));
+        when(productClientService.findById("2"))
+                .thenThrow(new FeignException.BadRequest("bad", request, null));
+        when(productClientService.findById("3")).thenReturn(ResponseEntity.ok(null));
+
+        ProductProductServiceCollectionDtoResponse response = productLookupService.findAllByIds(Arrays.asList("1", "2", "3"));
+
+        assertEquals(1, response.getCollection().size());
+        assertEquals(Arrays.asList("2", "3"), List.copyOf(response.getErrors().keySet()));
+        assertEquals("400 Bad Request", response.getErrors().get("2"));
+        assertEquals("404 Not Found", response.getErrors().get("3"));
+    }
+
+    @Test
+    void findAllByIds_rejectsTooManyIds() {
+        List<String> ids = IntStream.rangeClosed(1, 11).mapToObj(String::valueOf).collect(Collectors.toList());
+
+        assertThrows(IllegalStateException.class, () -> productLookupService.findAllByIds(ids));
+        verifyZeroInteractions(productClientService);
+    }
+
+}
@@ -0,0 +1,44 @@
+package com.selimhorri.app.business.user.controller;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import com.selimhorri.app.business.user.model.response.UserOverviewResponse;
+import com.selimhorri.app.business.user.service.UserOverviewService;
+import com.selimhorri.app.exception.wrapper.UnauthorizedException;
+
+@ExtendWith(MockitoExtension.class)
+class MeControllerTest {
+
+    @Mock
+    private UserOverviewService userOverviewService;
+
+    @InjectMocks
+    private MeController meController;
+
+    @Test
+    void findOverview_ShouldUseUserIdFromToken() {
+        UserOverviewResponse overview = new UserOverviewResponse();
+        when(userOverviewService.findOverview("1")).thenReturn(overview);
+
+        ResponseEntity<UserOverviewResponse> response = meController.findOverview("1");
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertSame(overview, response.getBody());
+    }
+
+    @Test
+    void findOverview_ShouldRejectRequestWithoutUserId() {
+        assertThrows(UnauthorizedException.class, () -> meController.findOverview(null));
+        verifyZeroInteractions(userOverviewService);
+    }
+
+}
@@ -0,0 +1,167 @@
+package com.selimhorri.app.business.user.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.selimhorri.app.business.favourite.model.FavouriteDto;
+import com.selimhorri.app.business.favourite.service.FavouriteClientService;
+import com.selimhorri.app.business.order.model.CartDto;
+import com.selimhorri.app.business.order.model.OrderDto;
+import com.selimhorri.app.business.order.service.CartClientService;
+import com.selimhorri.app.business.user.model.AddressDto;
+import com.selimhorri.app.business.user.model.UserDto;
+import com.selimhorri.app.business.user.model.response.UserOverviewResponse;
+import com.selimhorri.app.business.user.service.impl.UserOverviewServiceImpl;
+
+import feign.Request;
+import feign.Request.HttpMethod;
+import feign.Response;
+
+class UserOverviewServiceImplTest {
+
+    private UserClientService userClientService;
+    private AddressClientService addressClientService;
+    private CartClientService cartClientService;
+    private FavouriteClientService favouriteClientService;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private ExecutorService executor;
+    private UserOverviewServiceImpl userOverviewService;
+
+    @BeforeEach
+    void setUp() {
+        userClientService = mock(UserClientService.class);
+        addressClientService = mock(AddressClientService.class);
+        cartClientService = mock(CartClientService.class);
+        favouriteClientService = mock(FavouriteClientService.class);
+        executor = Executors.newFixedThreadPool(4);
+        userOverviewService = new UserOverviewServiceImpl(userClientService, addressClientService,
+                cartClientService, favouriteClientService, objectMapper, executor, Duration.ofMillis(300));
+
+        when(userClientService.findById("1")).thenReturn(ResponseEntity.ok(UserDto.builder().userId(1).build()));
+        when(addressClientService.streamAll()).thenAnswer(invocation -> listing(
+                AddressDto.builder().addressId(1).userDto(UserDto.builder().userId(1).build()).build(),
+                AddressDto.builder().addressId(2).userDto(UserDto.builder().userId(2).build()).build()));
+        when(cartClientService.streamAll()).thenAnswer(invocation -> listing(
+                CartDto.builder().cartId(1).userId(1).build(),
+                CartDto.builder().cartId(2).userId(1).orderDtos(Collections.singleton(OrderDto.builder().orderId(9).build())).build(),
+                CartDto.builder().cartId(3).userId(2).build()));
+        when(favouriteClientService.streamAll()).thenAnswer(invocation -> listing(
+                FavouriteDto.builder().userId(1).productId(4).build(),
+                FavouriteDto.builder().userId(3).productId(5).build()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private Response listing(Object... elements) throws JsonProcessingException {
+        byte[] body = objectMapper.writeValueAsBytes(Map.of("collection", elements));
+        return Response.builder()
+                .status(200)
+                .reason("OK")
+                .headers(Collections.emptyMap())
+                .request(Request.create(HttpMethod.GET, "http://downstream/api", Map.of(), null, StandardCharsets.UTF_8, null))
+                .body(new ByteArrayInputStream(body), body.length)
+                .build();
+    }
+
+    @Test
+    void findOverview_keepsOnlySectionsOfTheUser() {
+        UserOverviewResponse overview = userOverviewService.findOverview("1");
+
+        assertEquals(1, overview.getUserDto().getUserId());
+        assertEquals(1, overview.getAddressDtos().size());
+        assertEquals(1, overview.getCartDtos().size());
+        assertEquals(1, overview.getCartDtos().iterator().next().getCartId());
+        assertEquals(4, overview.getFavouriteDtos().iterator().next().getProductId());
+        assertTrue(overview.getUnavailable().isEmpty());
+    }
+
+    @Test
+    void findOverview_timesOutSlowSectionOnly() {
+        CountDownLatch release = new CountDownLatch(1);
+        when(favouriteClientService.streamAll()).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return listing();
+        });
+
+        long start = System.nanoTime();
+        UserOverviewResponse overview = userOverviewService.findOverview("1");
+        release.countDown();
+
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() < 2000);
+        assertNull(overview.getFavouriteDtos());
+        assertNotNull(overview.getUserDto());
+        assertEquals(Collections.singletonList("favourites"), overview.getUnavailable());
+    }
+
+    @Test
+    void findOverview_degradesFailedSectionToNull() {
+        when(addressClientService.streamAll()).thenThrow(new IllegalStateException("USER-SERVICE down"));
+
+        UserOverviewResponse overview = userOverviewService.findOverview("1");
+
+        assertNull(overview.getAddressDtos());
+        assertEquals(Collections.singletonList("addresses"), overview.getUnavailable());
+    }
+
+    @Test
+    void findOverview_cancelsTimedOutSections() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        when(userClientService.findById("1")).thenAnswer(invocation -> {
+            while (release.getCount() > 0) {
+                try {
+                    release.await();
+                }
+                catch (InterruptedException e) {
+                    // keep the only thread busy until every section has timed out
+                }
+            }
+            return ResponseEntity.ok(UserDto.builder().userId(1).build());
+        });
+        ExecutorService single = Executors.newSingleThreadExecutor();
+        UserOverviewServiceImpl sequential = new UserOverviewServiceImpl(userClientService, addressClientService,
+                cartClientService, favouriteClientService, objectMapper, single, Duration.ofMillis(300));
+
+        UserOverviewResponse overview = sequential.findOverview("1");
+        release.countDown();
+        single.shutdown();
+
+        assertTrue(single.awaitTermination(5, TimeUnit.SECONDS));
+        assertEquals(4, overview.getUnavailable().size());
+        verifyZeroInteractions(addressClientService, cartClientService, favouriteClientService);
+    }
+
+    @Test
+    void findOverview_reportsSectionsThePoolRejectsAsUnavailable() {
+        UserOverviewServiceImpl saturated = new UserOverviewServiceImpl(userClientService, addressClientService,
+                cartClientService, favouriteClientService, objectMapper, command -> {
+                    throw new RejectedExecutionException("pool is full");
+                }, Duration.ofMillis(300));
+
+        UserOverviewResponse overview = saturated.findOverview("1");
+
+        assertEquals(4, overview.getUnavailable().size());
+        verifyZeroInteractions(userClientService, addressClientService, cartClientService, favouriteClientService);
+    }
+
+}
@@ -0,0 +1,112 @@
+package com.selimhorri.app.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+class RefreshingCacheTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final List<Runnable> pendingRefreshes = new ArrayList<>();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private RefreshingCache<String, String> cache;
+
+    @BeforeEach
+    void setUp() {
+        CacheProperties.CacheSpec spec = new CacheProperties.CacheSpec(true, Duration.ofSeconds(10), 
+                Duration.ofSeconds(60), DataSize.ofKilobytes(1));
+        cache = new RefreshingCache<>("test", spec, String::length, pendingRefreshes::add, now::get);
+    }
+
+    private String load() {
+        return "value-" + loads.incrementAndGet();
+    }
+
+    private void advance(Duration duration) {
+        now.addAndGet(duration.toNanos());
+    }
+
+    @Test
+    void get_ShouldLoadOnceAndServeFreshEntry() {
+        assertEquals("value-1", cache.get("k", this::load));
+        assertEquals("value-1", cache.get("k", this::load));
+
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.missCount());
+        assertEquals(1, cache.hitCount());
+    }
+
+    @Test
+    void get_ShouldServeStaleEntryAndRefreshOnce_WhenTtlElapsed() {
+        cache.get("k", this::load);
+        advance(Duration.ofSeconds(11));
+
+        // When
+        assertEquals("value-1", cache.get("k", this::load));
+        assertEquals("value-1", cache.get("k", this::load));
+
+        // Then
+        assertEquals(1, pendingRefreshes.size());
+        assertEquals(2, cache.staleHitCount());
+        pendingRefreshes.remove(0).run();
+        assertEquals("value-2", cache.get("k", this::load));
+        assertEquals(1, cache.refreshCount());
+    }
+
+    @Test
+    void get_ShouldLoadSynchronously_WhenStaleWindowElapsed() {
+        cache.get("k", this::load);
+        advance(Duration.ofSeconds(71));
+
+        assertEquals("value-2", cache.get("k", this::load));
+        assertTrue(pendingRefreshes.isEmpty());
+    }
+
+    @Test
+    void refresh_ShouldKeepStaleEntry_WhenLoaderFails() {
+        cache.get("k", this::load);
+        advance(Duration.ofSeconds(11));
+        cache.get("k", () -> {
+            throw new IllegalStateException("down");
+        });
+
+        pendingRefreshes.remove(0).run();
+
+        assertEquals("value-1", cache.getIfPresent("k"));
+        assertEquals(1, cache.loadFailureCount());
+    }
+
+    @Test
+    void refresh_ShouldNotOverwriteConcurrentPut() {
+        cache.get("k", this::load);
+        advance(Duration.ofSeconds(11));
+        cache.get("k", this::load);
+
+        cache.put("k", "written");
+        pendingRefreshes.remove(0).run();
+
+        assertEquals("written", cache.getIfPresent("k"));
+    }
+
+    @Test
+    void get_ShouldBypassCache_WhenDisabled() {
+        CacheProperties.CacheSpec spec = new CacheProperties.CacheSpec(false, Duration.ofSeconds(10), 
+                Duration.ZERO, DataSize.ofKilobytes(1));
+        RefreshingCache<String, String> disabled = new RefreshingCache<>("off", spec, String::length, Runnable::run);
+
+        disabled.get("k", this::load);
+        disabled.get("k", this::load);
+
+        assertEquals(2, loads.get());
+        assertEquals(0, disabled.size());
+    }
+}
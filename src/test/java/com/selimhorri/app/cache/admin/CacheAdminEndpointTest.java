@@ -0,0 +1,149 @@
+package com.selimhorri.app.cache.admin;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.util.unit.DataSize;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.selimhorri.app.business.product.cache.ProductCatalogCache;
+import com.selimhorri.app.business.product.model.ProductDto;
+import com.selimhorri.app.cache.CacheProperties;
+import com.selimhorri.app.cache.service.impl.ResponseCacheServiceImpl;
+import com.selimhorri.app.cache.spi.CacheRegion;
+import com.selimhorri.app.cache.spi.CacheRegions;
+import com.selimhorri.app.cache.spi.LocalCacheProvider;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class CacheAdminEndpointTest {
+
+    private ProductCatalogCache productCatalogCache;
+    private ResponseCacheServiceImpl responseCacheService;
+    private CacheRegion<String> ownership;
+    private CacheAdminEndpoint endpoint;
+
+    @BeforeEach
+    void setUp() {
+        CacheProperties cacheProperties = new CacheProperties();
+        cacheProperties.getResponses().setPatterns(List.of("/api/products/**"));
+        LocalCacheProvider provider = new LocalCacheProvider("local", DataSize.ofMegabytes(1));
+        CacheRegions cacheRegions = new CacheRegions(provider, new ObjectMapper());
+        productCatalogCache = new ProductCatalogCache(cacheProperties, cacheRegions, Runnable::run);
+        responseCacheService = new ResponseCacheServiceImpl(cacheProperties, provider);
+        ownership = cacheRegions.region("ownership", Duration.ofMinutes(1), String.class);
+        endpoint = new CacheAdminEndpoint(sources(productCatalogCache, responseCacheService, cacheRegions));
+    }
+
+    @Test
+    void caches_listsEveryCacheWithItsFigures() {
+        productCatalogCache.findById("1", () -> product(1));
+        productCatalogCache.findById("1", () -> product(1));
+        ownership.get("ORDERS:1", () -> "7");
+
+        Map<String, CacheStatistics> caches = endpoint.caches().stream()
+                .collect(Collectors.toMap(CacheStatistics::getName, stats -> stats));
+
+        assertEquals(List.of("local", "ownership", "product-catalog", "products", "responses"),
+                endpoint.caches().stream().map(CacheStatistics::getName).collect(Collectors.toList()));
+        CacheStatistics products = caches.get("products");
+        assertEquals(1L, products.getSize());
+        assertTrue(products.getWeightBytes() > 0);
+        assertEquals(1, products.getHits());
+        assertEquals(1, products.getMisses());
+        assertEquals(1, products.getLoads());
+        assertNotNull(products.getLoadTimeP99Millis());
+        assertNull(caches.get("product-catalog").getLoadTimeP99Millis());
+        assertEquals(1, caches.get("ownership").getLoads());
+        assertNull(caches.get("ownership").getSize());
+    }
+
+    @Test
+    void cache_unknownName_returnsNull() {
+        assertNull(endpoint.cache("missing"));
+        assertNull(endpoint.purge("missing", null));
+    }
+
+    @Test
+    void purge_singleKey_onlyDropsThatEntry() {
+        productCatalogCache.findById("1", () -> product(1));
+        productCatalogCache.findById("2", () -> product(2));
+
+        Map<String, String> result = endpoint.purge("products", "1");
+
+        assertEquals("1", result.get("key"));
+        assertEquals(1L, endpoint.cache("products").getSize());
+    }
+
+    @Test
+    void purge_withoutKey_dropsWholeCache() {
+        responseCacheService.put("/api/products/**", "/api/products|*/*", "application/json",
+                "{}".getBytes(StandardCharsets.UTF_8));
+        ownership.get("ORDERS:1", () -> "7");
+
+        endpoint.purge("responses", null);
+        endpoint.purge("ownership", "");
+
+        assertEquals(0L, endpoint.cache("responses").getSize());
+        assertNull(ownership.get("ORDERS:1"));
+    }
+
+    @Test
+    void metrics_exportSameFigures() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        new ManagedCacheMetrics(endpoint, null, Duration.ofMinutes(1)).bindTo(registry);
+
+        productCatalogCache.findById("1", () -> product(1));
+        productCatalogCache.findById("1", () -> product(1));
+
+        assertEquals(1.0, registry.get("gateway.cache.requests").tags("cache", "products", "result", "hit")
+                .functionCounter().count());
+        assertEquals(1.0, registry.get("gateway.cache.size").tags("cache", "products").gauge().value());
+        assertEquals(endpoint.cache("products").getLoadTimeP99Millis() / 1000.0,
+                registry.get("gateway.cache.load.p99").tags("cache", "products").gauge().value());
+    }
+
+    @Test
+    void metrics_readOneSnapshotPerScrape() {
+        AtomicInteger reads = new AtomicInteger();
+        ManagedCache counted = new ManagedCache("counted", () -> {
+            reads.incrementAndGet();
+            return CacheStatistics.builder().name("counted").size(3L).hits(2).misses(1).build();
+        }, () -> { }, key -> { });
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        new ManagedCacheMetrics(new CacheAdminEndpoint(sources(() -> List.of(counted))), null, Duration.ofMinutes(1))
+                .bindTo(registry);
+
+        registry.getMeters().forEach(meter -> meter.measure().forEach(measurement -> measurement.getValue()));
+
+        assertEquals(1, reads.get());
+        assertEquals(1.0, registry.get("gateway.cache.requests").tags("cache", "counted", "result", "miss")
+                .functionCounter().count());
+        assertNotEquals(
+                registry.get("gateway.cache.requests").tags("result", "hit").functionCounter().getId().getDescription(),
+                registry.get("gateway.cache.requests").tags("result", "miss").functionCounter().getId().getDescription());
+    }
+
+    private static ProductDto product(int id) {
+        return ProductDto.builder().productId(id).productTitle("Product " + id).build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ObjectProvider<ManagedCacheSource> sources(ManagedCacheSource... sources) {
+        ObjectProvider<ManagedCacheSource> provider = mock(ObjectProvider.class);
+        when(provider.orderedStream()).thenAnswer(invocation -> Stream.of(sources));
+        return provider;
+    }
+
+}
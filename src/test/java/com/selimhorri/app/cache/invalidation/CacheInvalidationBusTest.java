@@ -0,0 +1,144 @@
+package com.selimhorri.app.cache.invalidation;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+import com.selimhorri.app.cache.CacheProperties;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class CacheInvalidationBusTest {
+
+    private LoopbackInvalidationTransport transport;
+    private List<InvalidationEvent> receivedByA;
+    private List<InvalidationEvent> receivedByB;
+    private CacheInvalidationBus replicaA;
+    private CacheInvalidationBus replicaB;
+
+    @BeforeEach
+    void setUp() {
+        transport = new LoopbackInvalidationTransport();
+        receivedByA = new ArrayList<>();
+        receivedByB = new ArrayList<>();
+        replicaA = bus(receivedByA::add);
+        replicaB = bus(receivedByB::add);
+        replicaA.start();
+        replicaB.start();
+    }
+
+    @Test
+    void publish_isAppliedByOtherReplicasOnly() {
+        replicaA.publish("products", "7");
+
+        assertTrue(receivedByA.isEmpty());
+        assertEquals(1, receivedByB.size());
+        InvalidationEvent event = receivedByB.get(0);
+        assertEquals("products", event.getResource());
+        assertEquals("7", event.getId());
+        assertEquals(replicaA.getReplicaId(), event.getOrigin());
+        assertTrue(event.concerns("products"));
+        assertFalse(event.concerns("categories"));
+    }
+
+    @Test
+    void publish_withoutId_coversWholeResource() {
+        replicaA.publish("categories", null);
+
+        assertTrue(receivedByB.get(0).isWholeResource());
+    }
+
+    @Test
+    void receive_recordsLagAndCounts() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        replicaA.bindTo(registry);
+        replicaB.bindTo(registry);
+
+        transport.publish(new InvalidationEvent("products", "1", replicaA.getReplicaId(),
+                System.currentTimeMillis() - 50).encode());
+
+        assertEquals(1, registry.get("gateway.cache.invalidation.lag").timers().stream()
+                .mapToLong(timer -> timer.count()).sum());
+        assertTrue(registry.get("gateway.cache.invalidation.lag").timers().stream()
+                .anyMatch(timer -> timer.max(TimeUnit.MILLISECONDS) >= 50));
+    }
+
+    @Test
+    void receive_malformedPayload_isIgnored() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        replicaB.bindTo(registry);
+
+        transport.publish("garbage".getBytes(StandardCharsets.UTF_8));
+
+        assertTrue(receivedByB.isEmpty());
+        assertEquals(1.0, registry.get("gateway.cache.invalidation.rejected").functionCounter().count());
+    }
+
+    @Test
+    void failingListener_doesNotStopTheOthers() {
+        List<InvalidationEvent> received = new ArrayList<>();
+        CacheInvalidationBus replicaC = bus(event -> { throw new IllegalStateException("boom"); }, received::add);
+        replicaC.start();
+
+        replicaA.publish("products", "1");
+
+        assertEquals(1, received.size());
+    }
+
+    @Test
+    void gap_dropsEverything() {
+        InvalidationTransport.Receiver[] receiver = new InvalidationTransport.Receiver[1];
+        InvalidationTransport gappy = mock(InvalidationTransport.class);
+        doAnswer(invocation -> receiver[0] = invocation.getArgument(0)).when(gappy).subscribe(any());
+        List<InvalidationEvent> received = new ArrayList<>();
+        CacheInvalidationBus bus = new CacheInvalidationBus(new CacheProperties(), gappy, listeners(received::add));
+        bus.start();
+
+        receiver[0].onGap();
+
+        assertEquals(InvalidationEvent.ALL_RESOURCES, received.get(0).getResource());
+        assertTrue(received.get(0).concerns("products"));
+        assertTrue(received.get(0).isWholeResource());
+    }
+
+    @Test
+    void disabled_neitherPublishesNorSubscribes() {
+        CacheProperties cacheProperties = new CacheProperties();
+        cacheProperties.getInvalidation().setEnabled(false);
+        InvalidationTransport idle = mock(InvalidationTransport.class);
+        CacheInvalidationBus bus = new CacheInvalidationBus(cacheProperties, idle, listeners());
+        bus.start();
+
+        bus.publish("products", "1");
+
+        verifyZeroInteractions(idle);
+    }
+
+    @Test
+    void event_roundTripsThroughEncoding() {
+        InvalidationEvent event = new InvalidationEvent("orders", null, "replica", 42L);
+
+        assertEquals(event, InvalidationEvent.decode(event.encode()));
+    }
+
+    private CacheInvalidationBus bus(CacheInvalidationListener... listeners) {
+        return new CacheInvalidationBus(new CacheProperties(), transport, listeners(listeners));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ObjectProvider<CacheInvalidationListener> listeners(CacheInvalidationListener... listeners) {
+        ObjectProvider<CacheInvalidationListener> provider = mock(ObjectProvider.class);
+        when(provider.orderedStream()).thenAnswer(invocation -> Stream.of(listeners));
+        return provider;
+    }
+
+}
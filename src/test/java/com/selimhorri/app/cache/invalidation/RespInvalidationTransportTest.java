@@ -0,0 +1,75 @@
+package com.selimhorri.app.cache.invalidation;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.selimhorri.app.cache.spi.EmbeddedRespServer;
+import com.selimhorri.app.cache.spi.resp.RespClient;
+
+class RespInvalidationTransportTest {
+
+    private EmbeddedRespServer server;
+    private RespInvalidationTransport publisher;
+    private RespInvalidationTransport subscriber;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new EmbeddedRespServer();
+        publisher = transport();
+        subscriber = transport();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        publisher.close();
+        subscriber.close();
+        server.close();
+    }
+
+    @Test
+    void publish_isDeliveredToSubscribedReplica() throws InterruptedException {
+        BlockingQueue<byte[]> received = new LinkedBlockingQueue<>();
+        subscriber.subscribe(new InvalidationTransport.Receiver() {
+            @Override
+            public void onMessage(byte[] payload) {
+                received.add(payload);
+            }
+
+            @Override
+            public void onGap() {
+            }
+        });
+
+        byte[] payload = null;
+        for (int attempt = 0; attempt < 50 && payload == null; attempt++) {
+            publisher.publish("products\t1\tA\t1".getBytes(StandardCharsets.UTF_8));
+            payload = received.poll(100, TimeUnit.MILLISECONDS);
+        }
+
+        assertNotNull(payload);
+        assertEquals("products", InvalidationEvent.decode(payload).getResource());
+    }
+
+    @Test
+    void publish_whenServerIsDown_doesNotThrow() throws IOException {
+        server.close();
+
+        assertDoesNotThrow(() -> publisher.publish("products\t1\tA\t1".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private RespInvalidationTransport transport() {
+        return new RespInvalidationTransport(new RespClient("127.0.0.1", server.getPort(), 1000, null, 0, 2),
+                "test:invalidations", Duration.ofMillis(50));
+    }
+
+}
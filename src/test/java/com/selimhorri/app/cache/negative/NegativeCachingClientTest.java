@@ -0,0 +1,117 @@
+package com.selimhorri.app.cache.negative;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.selimhorri.app.cache.CacheProperties;
+import com.selimhorri.app.cache.service.impl.NegativeCacheServiceImpl;
+
+import feign.Client;
+import feign.Request;
+import feign.Request.HttpMethod;
+import feign.RequestTemplate;
+import feign.Response;
+import feign.Target.HardCodedTarget;
+import feign.Util;
+
+class NegativeCachingClientTest {
+
+    private static final String TARGET = "http://PRODUCT-SERVICE/product-service/api/products";
+    private static final String USERS = "http://USER-SERVICE/user-service/api/users";
+    private static final String CREDENTIALS = "http://USER-SERVICE/user-service/api/credentials";
+
+    private final AtomicInteger calls = new AtomicInteger();
+    private int status;
+    private NegativeCachingClient client;
+
+    @BeforeEach
+    void setUp() {
+        status = 404;
+        Client delegate = (request, options) -> {
+            calls.incrementAndGet();
+            return Response.builder()
+                    .status(status)
+                    .reason("status " + status)
+                    .headers(Collections.emptyMap())
+                    .body("{\"msg\":\"not found\"}", StandardCharsets.UTF_8)
+                    .request(request)
+                    .build();
+        };
+        client = new NegativeCachingClient(delegate, new NegativeCacheServiceImpl(new CacheProperties()));
+    }
+
+    private static Request request(HttpMethod method, String target, String path) {
+        RequestTemplate template = new RequestTemplate();
+        template.feignTarget(new HardCodedTarget<>(Object.class, "client", target));
+        return Request.create(method, target + path, Collections.emptyMap(), null, StandardCharsets.UTF_8, template);
+    }
+
+    private Response execute(HttpMethod method, String path) throws Exception {
+        return execute(method, TARGET, path);
+    }
+
+    private Response execute(HttpMethod method, String target, String path) throws Exception {
+        return client.execute(request(method, target, path), new Request.Options());
+    }
+
+    @Test
+    void execute_ShouldReplayCachedNotFound() throws Exception {
+        Response first = execute(HttpMethod.GET, "/999");
+        Response second = execute(HttpMethod.GET, "/999");
+
+        assertEquals(1, calls.get());
+        assertEquals(404, second.status());
+        assertEquals(Util.toString(first.body().asReader(StandardCharsets.UTF_8)), 
+                Util.toString(second.body().asReader(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void execute_ShouldNotCacheSuccessfulResponses() throws Exception {
+        status = 200;
+
+        execute(HttpMethod.GET, "/1");
+        execute(HttpMethod.GET, "/1");
+
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void execute_ShouldNotCacheServerErrors() throws Exception {
+        status = 503;
+
+        execute(HttpMethod.GET, "/1");
+        execute(HttpMethod.GET, "/1");
+
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void execute_ShouldForgetMisses_AfterSuccessfulWriteToSameTarget() throws Exception {
+        execute(HttpMethod.GET, "/999");
+        status = 200;
+        execute(HttpMethod.POST, "");
+
+        execute(HttpMethod.GET, "/999");
+
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    void execute_ShouldForgetMissesOfOtherResources_AfterSuccessfulWriteToSameService() throws Exception {
+        execute(HttpMethod.GET, CREDENTIALS, "/username/jdoe");
+        execute(HttpMethod.GET, "/999");
+        status = 200;
+        execute(HttpMethod.POST, USERS, "");
+
+        execute(HttpMethod.GET, CREDENTIALS, "/username/jdoe");
+        execute(HttpMethod.GET, "/999");
+
+        assertEquals(4, calls.get());
+    }
+}
@@ -0,0 +1,69 @@
+package com.selimhorri.app.cache.offheap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class SlabAllocatorTest {
+
+    @Test
+    void allocate_ShouldSpanBlocksAndRoundTripBytes() throws Exception {
+        // Given
+        SlabAllocator allocator = new SlabAllocator(4096, 1024, 256);
+        byte[] data = new byte[700];
+        new Random(7).nextBytes(data);
+
+        // When
+        int[] blocks = allocator.allocate(data.length);
+        allocator.write(blocks, data);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        allocator.transferTo(blocks, data.length, out);
+
+        // Then
+        assertEquals(3, blocks.length);
+        assertEquals(768, allocator.usedBytes());
+        assertArrayEquals(data, out.toByteArray());
+    }
+
+    @Test
+    void allocate_ShouldReserveSlabsLazilyUpToCap() {
+        SlabAllocator allocator = new SlabAllocator(4096, 1024, 256);
+
+        assertEquals(0, allocator.reservedBytes());
+        assertNotNull(allocator.allocate(1024));
+        assertEquals(1024, allocator.reservedBytes());
+        assertNotNull(allocator.allocate(3072));
+        assertEquals(4096, allocator.reservedBytes());
+        assertNull(allocator.allocate(1));
+        assertEquals(1, allocator.failedAllocations());
+    }
+
+    @Test
+    void free_ShouldMakeBlocksReusable() {
+        SlabAllocator allocator = new SlabAllocator(1024, 1024, 256);
+        int[] first = allocator.allocate(1024);
+        assertNull(allocator.allocate(256));
+
+        allocator.free(first);
+
+        assertEquals(0, allocator.usedBytes());
+        assertArrayEquals(first, allocator.allocate(1024));
+    }
+
+    @Test
+    void release_ShouldFreeBlocksOnlyAfterLastReader() {
+        SlabAllocator allocator = new SlabAllocator(1024, 1024, 256);
+        OffHeapBytes bytes = OffHeapBytes.store(allocator, new byte[300]);
+
+        assertTrue(bytes.retain());
+        bytes.release();
+        assertEquals(512, allocator.usedBytes());
+
+        bytes.release();
+        assertEquals(0, allocator.usedBytes());
+        assertFalse(bytes.retain());
+    }
+}
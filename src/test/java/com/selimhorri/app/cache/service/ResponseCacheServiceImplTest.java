@@ -0,0 +1,108 @@
+package com.selimhorri.app.cache.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import com.selimhorri.app.cache.CacheProperties;
+import com.selimhorri.app.cache.SerializedBody;
+import com.selimhorri.app.cache.model.CachedResponse;
+import com.selimhorri.app.cache.offheap.OffHeapBytes;
+import com.selimhorri.app.cache.service.impl.ResponseCacheServiceImpl;
+import com.selimhorri.app.cache.spi.LocalCacheProvider;
+
+class ResponseCacheServiceImplTest {
+
+    private static final String JSON = "application/json";
+
+    private ResponseCacheServiceImpl responseCacheService;
+
+    @BeforeEach
+    void setUp() {
+        CacheProperties cacheProperties = new CacheProperties();
+        cacheProperties.getResponses().setPatterns(List.of("/api/products/**", "/api/categories/**"));
+        cacheProperties.getResponses().setMaximumEntrySize(DataSize.ofKilobytes(4));
+        cacheProperties.getResponses().setGzipMinSize(DataSize.ofBytes(256));
+        responseCacheService = new ResponseCacheServiceImpl(cacheProperties, new LocalCacheProvider("local", DataSize.ofMegabytes(1)));
+    }
+
+    @Test
+    void resolveGroup_ShouldMatchConfiguredPatterns() {
+        assertEquals("/api/products/**", responseCacheService.resolveGroup("/api/products"));
+        assertEquals("/api/products/**", responseCacheService.resolveGroup("/api/products/1"));
+        assertNull(responseCacheService.resolveGroup("/api/orders"));
+    }
+
+    @Test
+    void put_ShouldStoreBodyWithEtag() {
+        byte[] body = "{\"productId\":1}".getBytes(StandardCharsets.UTF_8);
+
+        responseCacheService.put("/api/products/**", "/api/products/1|*/*", JSON, body);
+        CachedResponse cached = responseCacheService.get("/api/products/**", "/api/products/1|*/*");
+
+        assertArrayEquals(body, cached.getBody().toByteArray());
+        assertEquals(SerializedBody.etagOf(body), cached.getEtag());
+        assertFalse(cached.hasGzippedBody());
+    }
+
+    @Test
+    void put_ShouldKeepGzippedCopy_WhenBodyIsLargeEnough() throws Exception {
+        byte[] body = "{\"title\":\"product\"},".repeat(40).getBytes(StandardCharsets.UTF_8);
+
+        CachedResponse cached = responseCacheService.put("/api/products/**", "/api/products|*/*", JSON, body);
+
+        assertTrue(cached.hasGzippedBody());
+        assertNotEquals(cached.getEtag(), cached.getGzippedEtag());
+        assertTrue(cached.getGzippedEtag().startsWith("\"") && cached.getGzippedEtag().endsWith("-gzip\""));
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(cached.getGzippedBody().toByteArray()))) {
+            assertArrayEquals(body, in.readAllBytes());
+        }
+    }
+
+    @Test
+    void put_ShouldSkipBodiesOverEntryLimit() {
+        byte[] body = new byte[5 * 1024];
+
+        assertNull(responseCacheService.put("/api/products/**", "/api/products|*/*", JSON, body));
+        assertNull(responseCacheService.get("/api/products/**", "/api/products|*/*"));
+    }
+
+    @Test
+    void invalidateGroup_ShouldOnlyDropThatGroup() {
+        byte[] body = "{}".getBytes(StandardCharsets.UTF_8);
+        responseCacheService.put("/api/products/**", "/api/products|*/*", JSON, body);
+        responseCacheService.put("/api/categories/**", "/api/categories|*/*", JSON, body);
+
+        responseCacheService.invalidateGroup("/api/products/**");
+
+        assertNull(responseCacheService.get("/api/products/**", "/api/products|*/*"));
+        assertNotNull(responseCacheService.get("/api/categories/**", "/api/categories|*/*"));
+    }
+
+    @Test
+    void put_ShouldKeepBodiesOffHeap_WhenEnabled() {
+        CacheProperties cacheProperties = new CacheProperties();
+        cacheProperties.getResponses().getOffHeap().setEnabled(true);
+        cacheProperties.getResponses().getOffHeap().setMaxMemory(DataSize.ofKilobytes(64));
+        cacheProperties.getResponses().getOffHeap().setSlabSize(DataSize.ofKilobytes(16));
+        cacheProperties.getResponses().getOffHeap().setBlockSize(DataSize.ofKilobytes(1));
+        ResponseCacheServiceImpl offHeapCache = new ResponseCacheServiceImpl(cacheProperties, new LocalCacheProvider("local", DataSize.ofMegabytes(1)));
+        byte[] body = new byte[10 * 1024];
+        body[body.length - 1] = 42;
+
+        for (int i = 0; i < 20; i++)
+            assertNotNull(offHeapCache.put("/api/products/**", "/api/products/" + i + "|*/*", JSON, body));
+        CachedResponse latest = offHeapCache.get("/api/products/**", "/api/products/19|*/*");
+
+        assertTrue(latest.getBody() instanceof OffHeapBytes);
+        assertArrayEquals(body, latest.getBody().toByteArray());
+        assertNull(offHeapCache.get("/api/products/**", "/api/products/0|*/*"));
+    }
+}
@@ -0,0 +1,240 @@
+package com.selimhorri.app.cache.spi;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Tiny in-process server speaking the subset of RESP2 used by the shared cache provider
+ * and the invalidation transport.
+ */
+public class EmbeddedRespServer implements Closeable {
+
+    private final ServerSocket serverSocket;
+    private final Map<String, Entry> store = new ConcurrentHashMap<>();
+    private final List<Socket> clients = new ArrayList<>();
+    private final Map<String, List<OutputStream>> subscribers = new ConcurrentHashMap<>();
+    private final Thread acceptor;
+
+    public EmbeddedRespServer() throws IOException {
+        this.serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        acceptor = new Thread(this::acceptLoop, "embedded-resp-acceptor");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    public int size() {
+        return store.size();
+    }
+
+    public int connections() {
+        synchronized (clients) {
+            return clients.size();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        try {
+            acceptor.join(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (clients) {
+            for (Socket client : clients)
+                client.close();
+        }
+    }
+
+    private void acceptLoop() {
+        while (!serverSocket.isClosed()) {
+            try {
+                final Socket socket = serverSocket.accept();
+                synchronized (clients) {
+                    clients.add(socket);
+                }
+                final Thread handler = new Thread(() -> serve(socket), "embedded-resp-client");
+                handler.setDaemon(true);
+                handler.start();
+            } catch (IOException e) {
+                return;
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        try (socket) {
+            final InputStream in = new BufferedInputStream(socket.getInputStream());
+            final OutputStream out = new BufferedOutputStream(socket.getOutputStream());
+            List<byte[]> command;
+            while ((command = readCommand(in)) != null) {
+                synchronized (out) {
+                    handle(command, out);
+                    out.flush();
+                }
+            }
+        } catch (IOException e) {
+            // client went away
+        }
+    }
+
+    private void handle(List<byte[]> command, OutputStream out) throws IOException {
+        final String name = text(command.get(0)).toUpperCase();
+        switch (name) {
+            case "PING":
+                writeLine(out, "+PONG");
+                break;
+            case "AUTH":
+            case "SELECT":
+                writeLine(out, "+OK");
+                break;
+            case "GET":
+                writeValue(out, text(command.get(1)));
+                break;
+            case "MGET":
+                writeLine(out, "*" + (command.size() - 1));
+                for (int i = 1; i < command.size(); i++)
+                    writeValue(out, text(command.get(i)));
+                break;
+            case "INCR":
+                final Entry counter = store.compute(text(command.get(1)), (key, current) -> new Entry(
+                        String.valueOf((current == null || current.isExpired()) ? 1 : Long.parseLong(text(current.value)) + 1)
+                                .getBytes(StandardCharsets.UTF_8), Long.MAX_VALUE));
+                writeLine(out, ":" + text(counter.value));
+                break;
+            case "SET":
+                long expiresAt = Long.MAX_VALUE;
+                for (int i = 3; i + 1 < command.size(); i++) {
+                    if ("PX".equalsIgnoreCase(text(command.get(i))))
+                        expiresAt = System.currentTimeMillis() + Long.parseLong(text(command.get(i + 1)));
+                }
+                store.put(text(command.get(1)), new Entry(command.get(2), expiresAt));
+                writeLine(out, "+OK");
+                break;
+            case "DEL":
+                long removed = 0;
+                for (int i = 1; i < command.size(); i++)
+                    removed += (store.remove(text(command.get(i))) != null) ? 1 : 0;
+                writeLine(out, ":" + removed);
+                break;
+            case "SUBSCRIBE":
+                final String channel = text(command.get(1));
+                subscribers.computeIfAbsent(channel, key -> new CopyOnWriteArrayList<>()).add(out);
+                writeLine(out, "*3");
+                writeBulk(out, "subscribe".getBytes(StandardCharsets.UTF_8));
+                writeBulk(out, command.get(1));
+                writeLine(out, ":1");
+                break;
+            case "PUBLISH":
+                final List<OutputStream> receivers = subscribers.getOrDefault(text(command.get(1)), List.of());
+                int delivered = 0;
+                for (OutputStream receiver : receivers) {
+                    try {
+                        synchronized (receiver) {
+                            writeLine(receiver, "*3");
+                            writeBulk(receiver, "message".getBytes(StandardCharsets.UTF_8));
+                            writeBulk(receiver, command.get(1));
+                            writeBulk(receiver, command.get(2));
+                            receiver.flush();
+                        }
+                        delivered++;
+                    } catch (IOException e) {
+                        receivers.remove(receiver);
+                    }
+                }
+                writeLine(out, ":" + delivered);
+                break;
+            default:
+                writeLine(out, "-ERR unknown command '" + name + "'");
+        }
+    }
+
+    private void writeValue(OutputStream out, String key) throws IOException {
+        final Entry entry = store.get(key);
+        if (entry == null || entry.isExpired()) {
+            store.remove(key);
+            writeLine(out, "$-1");
+        } else {
+            writeBulk(out, entry.value);
+        }
+    }
+
+    private static List<byte[]> readCommand(InputStream in) throws IOException {
+        final int type = in.read();
+        if (type == -1)
+            return null;
+        final int size = Integer.parseInt(readLine(in));
+        final List<byte[]> args = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            in.read();
+            final int length = Integer.parseInt(readLine(in));
+            args.add(in.readNBytes(length));
+            in.read();
+            in.read();
+        }
+        return args;
+    }
+
+    private static String readLine(InputStream in) throws IOException {
+        final StringBuilder line = new StringBuilder();
+        int current;
+        while ((current = in.read()) != '\r') {
+            if (current == -1)
+                throw new IOException("Connection closed");
+            line.append((char) current);
+        }
+        in.read();
+        return line.toString();
+    }
+
+    private static void writeLine(OutputStream out, String line) throws IOException {
+        out.write(line.getBytes(StandardCharsets.UTF_8));
+        out.write('\r');
+        out.write('\n');
+    }
+
+    private static void writeBulk(OutputStream out, byte[] value) throws IOException {
+        writeLine(out, "$" + value.length);
+        out.write(value);
+        out.write('\r');
+        out.write('\n');
+    }
+
+    private static String text(byte[] value) {
+        return new String(value, StandardCharsets.UTF_8);
+    }
+
+    private static final class Entry {
+
+        private final byte[] value;
+        private final long expiresAt;
+
+        private Entry(byte[] value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isExpired() {
+            return System.currentTimeMillis() >= expiresAt;
+        }
+
+    }
+
+}
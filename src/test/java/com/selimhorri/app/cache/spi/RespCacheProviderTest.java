@@ -0,0 +1,130 @@
+package com.selimhorri.app.cache.spi;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.selimhorri.app.cache.spi.resp.RespCacheProvider;
+import com.selimhorri.app.cache.spi.resp.RespClient;
+
+class RespCacheProviderTest {
+
+    private EmbeddedRespServer server;
+    private RespCacheProvider provider;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new EmbeddedRespServer();
+        provider = new RespCacheProvider(new RespClient("127.0.0.1", server.getPort(), 1000, "secret", 1, 4),
+                "test:", Duration.ofSeconds(5));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        provider.close();
+        server.close();
+    }
+
+    @Test
+    void putThenGet_roundTripsBytes() {
+        provider.put("products", "1", bytes("{\"productId\":1}"), Duration.ofMinutes(1));
+
+        assertArrayEquals(bytes("{\"productId\":1}"), provider.get("products", "1"));
+        assertNull(provider.get("products", "2"));
+    }
+
+    @Test
+    void get_afterTtl_misses() throws InterruptedException {
+        provider.put("products", "1", bytes("v"), Duration.ofMillis(20));
+
+        Thread.sleep(60);
+
+        assertNull(provider.get("products", "1"));
+    }
+
+    @Test
+    void evict_removesSingleKey() {
+        provider.put("products", "1", bytes("a"), Duration.ofMinutes(1));
+        provider.put("products", "2", bytes("b"), Duration.ofMinutes(1));
+
+        provider.evict("products", "1");
+
+        assertNull(provider.get("products", "1"));
+        assertNotNull(provider.get("products", "2"));
+    }
+
+    @Test
+    void clear_onlyDropsTheGivenRegion() {
+        provider.put("products", "1", bytes("a"), Duration.ofMinutes(1));
+        provider.put("products", "2", bytes("b"), Duration.ofMinutes(1));
+        provider.put("responses:/api/products/**", "k", bytes("c"), Duration.ofMinutes(1));
+        provider.put("productsX", "1", bytes("d"), Duration.ofMinutes(1));
+
+        provider.clear("products");
+
+        assertNull(provider.get("products", "1"));
+        assertNull(provider.get("products", "2"));
+        assertNotNull(provider.get("responses:/api/products/**", "k"));
+        assertNotNull(provider.get("productsX", "1"));
+
+        provider.clear("responses:/api/products/**");
+
+        assertNull(provider.get("responses:/api/products/**", "k"));
+        assertNotNull(provider.get("productsX", "1"));
+    }
+
+    @Test
+    void clear_keepsLaterWrites() {
+        provider.put("products", "1", bytes("a"), Duration.ofMinutes(1));
+        provider.clear("products");
+
+        provider.put("products", "1", bytes("b"), Duration.ofMinutes(1));
+
+        assertArrayEquals(bytes("b"), provider.get("products", "1"));
+    }
+
+    @Test
+    void concurrentCommands_openNoMoreConnectionsThanThePoolSize() throws Exception {
+        provider.put("products", "1", bytes("a"), Duration.ofMinutes(1));
+        ExecutorService callers = Executors.newFixedThreadPool(16);
+        try {
+            List<Future<byte[]>> reads = new ArrayList<>();
+            for (int i = 0; i < 200; i++)
+                reads.add(callers.submit(() -> provider.get("products", "1")));
+            for (Future<byte[]> read : reads)
+                assertArrayEquals(bytes("a"), read.get(5, TimeUnit.SECONDS));
+        } finally {
+            callers.shutdownNow();
+        }
+
+        assertTrue(server.connections() <= 4, "opened " + server.connections() + " connections");
+    }
+
+    @Test
+    void get_whenServerIsDown_missesWithoutThrowing() throws IOException {
+        provider.put("products", "1", bytes("a"), Duration.ofMinutes(1));
+        server.close();
+        provider.close();
+
+        assertNull(provider.get("products", "1"));
+        assertDoesNotThrow(() -> provider.put("products", "2", bytes("b"), Duration.ofMinutes(1)));
+        assertDoesNotThrow(() -> provider.clear("products"));
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+}
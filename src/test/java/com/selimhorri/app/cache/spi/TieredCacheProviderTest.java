@@ -0,0 +1,103 @@
+package com.selimhorri.app.cache.spi;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.selimhorri.app.business.product.model.ProductDto;
+import com.selimhorri.app.cache.CacheProperties.RegionSpec;
+import com.selimhorri.app.cache.spi.resp.RespCacheProvider;
+import com.selimhorri.app.cache.spi.resp.RespClient;
+
+class TieredCacheProviderTest {
+
+    private EmbeddedRespServer server;
+    private RespCacheProvider shared;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new EmbeddedRespServer();
+        shared = new RespCacheProvider(new RespClient("127.0.0.1", server.getPort(), 1000, null, 0, 4),
+                "test:", Duration.ofSeconds(5));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        shared.close();
+        server.close();
+    }
+
+    @Test
+    void get_fromSharedTier_fillsNearCacheOfAnotherReplica() throws IOException {
+        TieredCacheProvider writer = tiered();
+        TieredCacheProvider reader = tiered();
+        writer.put("products", "1", bytes("a"), Duration.ofMinutes(5));
+
+        assertArrayEquals(bytes("a"), reader.get("products", "1"));
+
+        server.close();
+        shared.close();
+        assertArrayEquals(bytes("a"), reader.get("products", "1"));
+    }
+
+    @Test
+    void evict_dropsBothTiers() {
+        TieredCacheProvider tiered = tiered();
+        tiered.put("products", "1", bytes("a"), Duration.ofMinutes(5));
+
+        tiered.evict("products", "1");
+
+        assertNull(tiered.get("products", "1"));
+        assertNull(shared.get("products", "1"));
+    }
+
+    @Test
+    void sharedRegion_skipsNearTier() {
+        CacheRegions regions = new CacheRegions(tiered(), new ObjectMapper());
+        CacheRegion<ProductDto> region = regions.sharedRegion("products", Duration.ofMinutes(5), ProductDto.class);
+
+        region.put("1", ProductDto.builder().productId(1).productTitle("Laptop").build());
+
+        assertEquals("Laptop", region.get("1").getProductTitle());
+        assertNotNull(shared.get("products", "1"));
+        assertNull(new CacheRegions(local(), new ObjectMapper())
+                .sharedRegion("products", Duration.ofMinutes(5), ProductDto.class).get("1"));
+    }
+
+    @Test
+    void localRegion_skipsSharedTier() {
+        TieredCacheProvider tiered = tiered();
+        CacheRegion<ProductDto> region = new CacheRegions(tiered, new ObjectMapper())
+                .localRegion("credentials", new RegionSpec(true, Duration.ofMinutes(1)), ProductDto.class);
+
+        region.put("1", ProductDto.builder().productId(1).productTitle("Laptop").build());
+
+        assertEquals("Laptop", region.get("1").getProductTitle());
+        assertNull(shared.get("credentials", "1"));
+        region.clearLocal();
+        assertNull(region.get("1"));
+        assertNull(new CacheRegions(shared, new ObjectMapper())
+                .localRegion("credentials", new RegionSpec(true, Duration.ofMinutes(1)), ProductDto.class).get("1"));
+    }
+
+    private TieredCacheProvider tiered() {
+        return new TieredCacheProvider(local(), shared, Duration.ofSeconds(30));
+    }
+
+    private static LocalCacheProvider local() {
+        return new LocalCacheProvider("near", DataSize.ofMegabytes(1));
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+}
@@ -0,0 +1,91 @@
+package com.selimhorri.app.config.jackson;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.selimhorri.app.business.user.model.AddressDto;
+import com.selimhorri.app.business.user.model.CredentialDto;
+import com.selimhorri.app.business.user.model.UserDto;
+import com.selimhorri.app.business.user.model.response.UserUserServiceCollectionDtoResponse;
+
+class FieldSelectionModuleTest {
+
+    private ObjectMapper objectMapper;
+    private UserDto user;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper().findAndRegisterModules().registerModule(new FieldSelectionModule());
+        user = UserDto.builder()
+                .userId(1)
+                .firstName("John")
+                .lastName("Doe")
+                .addressDtos(Set.of(AddressDto.builder().addressId(3).city("Anytown").postalCode("12345").build()))
+                .credentialDto(CredentialDto.builder().credentialId(2).username("johndoe").password("secret").build())
+                .build();
+    }
+
+    private JsonNode write(Object value, String fields) throws Exception {
+        String json = (fields == null) ? objectMapper.writeValueAsString(value)
+                : objectMapper.writer(FieldSelection.parse(fields)).writeValueAsString(value);
+        return objectMapper.readTree(json);
+    }
+
+    @Test
+    void withoutSelection_writesEverything() throws Exception {
+        JsonNode node = write(user, null);
+
+        assertEquals("Doe", node.get("lastName").asText());
+        assertEquals("secret", node.at("/credential/password").asText());
+    }
+
+    @Test
+    void selection_keepsOnlyRequestedProperties() throws Exception {
+        JsonNode node = write(user, "userId,firstName");
+
+        assertEquals(Arrays.asList("userId", "firstName"), fieldNames(node));
+    }
+
+    @Test
+    void selection_supportsNestedPathsAndWholeSubtrees() throws Exception {
+        JsonNode node = write(user, "userId,credential.username,addressDtos");
+
+        assertEquals(Arrays.asList("userId", "addressDtos", "credential"), fieldNames(node));
+        assertEquals(Collections.singletonList("username"), fieldNames(node.get("credential")));
+        assertEquals("Anytown", node.at("/addressDtos/0/city").asText());
+    }
+
+    @Test
+    void selection_appliesToItemsOfCollectionResponses() throws Exception {
+        UserUserServiceCollectionDtoResponse response = new UserUserServiceCollectionDtoResponse();
+        response.setCollection(Arrays.asList(user, user));
+
+        JsonNode node = write(response, "userId,addressDtos.city");
+
+        assertEquals(2, node.get("collection").size());
+        assertEquals(Arrays.asList("userId", "addressDtos"), fieldNames(node.at("/collection/1")));
+        assertEquals(Collections.singletonList("city"), fieldNames(node.at("/collection/1/addressDtos/0")));
+    }
+
+    @Test
+    void parse_ignoresBlankExpressions() {
+        assertNull(FieldSelection.parse(" , "));
+    }
+
+    private static List<String> fieldNames(JsonNode node) {
+        List<String> names = new ArrayList<>();
+        node.fieldNames().forEachRemaining(names::add);
+        return names;
+    }
+
+}
@@ -0,0 +1,104 @@
+package com.selimhorri.app.idempotency.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.selimhorri.app.idempotency.IdempotencyProperties;
+import com.selimhorri.app.idempotency.model.IdempotencyClaim;
+import com.selimhorri.app.idempotency.model.IdempotencyClaim.Outcome;
+import com.selimhorri.app.idempotency.model.IdempotentResponse;
+import com.selimhorri.app.idempotency.service.impl.IdempotencyServiceImpl;
+
+class IdempotencyServiceImplTest {
+
+    private IdempotencyProperties properties;
+    private IdempotencyServiceImpl idempotencyService;
+
+    @BeforeEach
+    void setUp() {
+        properties = new IdempotencyProperties();
+        properties.setWaitTimeout(Duration.ofSeconds(5));
+        idempotencyService = new IdempotencyServiceImpl(properties);
+    }
+
+    private static IdempotentResponse created(String body) {
+        return new IdempotentResponse(200, "application/json", Map.of(), body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void claim_ShouldReplayCompletedResult() {
+        IdempotencyClaim first = idempotencyService.claim("user1", "key-1", "fp");
+        assertEquals(Outcome.EXECUTE, first.getOutcome());
+        idempotencyService.complete(first, created("{\"orderId\":2}"));
+
+        IdempotencyClaim retry = idempotencyService.claim("user1", "key-1", "fp");
+        assertEquals(Outcome.REPLAY, retry.getOutcome());
+        assertEquals("{\"orderId\":2}", new String(retry.getResponse().getBody(), StandardCharsets.UTF_8));
+        assertEquals(1L, idempotencyService.getManagedCaches().get(0).statistics().getHits());
+    }
+
+    @Test
+    void claim_ShouldScopeKeysByCaller() {
+        idempotencyService.complete(idempotencyService.claim("user1", "key-1", "fp"), created("{}"));
+
+        assertEquals(Outcome.EXECUTE, idempotencyService.claim("user2", "key-1", "fp").getOutcome());
+    }
+
+    @Test
+    void claim_ShouldRejectKeyReusedForAnotherRequest() {
+        idempotencyService.complete(idempotencyService.claim("user1", "key-1", "fp"), created("{}"));
+
+        assertEquals(Outcome.MISMATCH, idempotencyService.claim("user1", "key-1", "other").getOutcome());
+    }
+
+    @Test
+    void claim_ShouldRunAgainAfterAbandonedCall() {
+        idempotencyService.abandon(idempotencyService.claim("user1", "key-1", "fp"));
+
+        assertEquals(Outcome.EXECUTE, idempotencyService.claim("user1", "key-1", "fp").getOutcome());
+    }
+
+    @Test
+    void claim_ShouldWaitForCallHoldingTheKey() throws Exception {
+        IdempotencyClaim first = idempotencyService.claim("user1", "key-1", "fp");
+        CountDownLatch waiting = new CountDownLatch(1);
+        CompletableFuture<IdempotencyClaim> retry = CompletableFuture.supplyAsync(() -> {
+            waiting.countDown();
+            return idempotencyService.claim("user1", "key-1", "fp");
+        });
+        assertTrue(waiting.await(1, TimeUnit.SECONDS));
+        Thread.sleep(50);
+        idempotencyService.complete(first, created("{\"orderId\":2}"));
+
+        assertEquals(Outcome.REPLAY, retry.get(5, TimeUnit.SECONDS).getOutcome());
+    }
+
+    @Test
+    void claim_ShouldGiveUpWaitingAfterTimeout() {
+        properties.setWaitTimeout(Duration.ofMillis(20));
+        idempotencyService.claim("user1", "key-1", "fp");
+
+        assertEquals(Outcome.IN_PROGRESS, idempotencyService.claim("user1", "key-1", "fp").getOutcome());
+    }
+
+    @Test
+    void isIdempotent_ShouldOnlyCoverPostsToConfiguredRoutes() {
+        assertTrue(idempotencyService.isIdempotent("POST", "/api/orders"));
+        assertTrue(idempotencyService.isIdempotent("POST", "/api/payments"));
+        assertFalse(idempotencyService.isIdempotent("PUT", "/api/orders"));
+        assertFalse(idempotencyService.isIdempotent("POST", "/api/products"));
+        assertFalse(idempotencyService.isValidKey(" "));
+        assertFalse(idempotencyService.isValidKey("x".repeat(256)));
+        assertTrue(idempotencyService.isValidKey("7c4a8d09-ca37-4c5a-9c5e-3f8f2a1d0b6e"));
+    }
+
+}
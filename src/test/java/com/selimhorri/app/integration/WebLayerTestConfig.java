@@ -0,0 +1,30 @@
+package com.selimhorri.app.integration;
+
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Import;
+
+import com.selimhorri.app.cache.invalidation.CacheInvalidationBus;
+import com.selimhorri.app.cache.service.impl.ResponseCacheServiceImpl;
+import com.selimhorri.app.config.cache.CacheConfig;
+import com.selimhorri.app.config.executor.ExecutorConfig;
+import com.selimhorri.app.config.idempotency.IdempotencyConfig;
+import com.selimhorri.app.config.ratelimit.RateLimitConfig;
+import com.selimhorri.app.config.template.TemplateConfig;
+import com.selimhorri.app.config.web.RespondAsyncConfig;
+import com.selimhorri.app.idempotency.service.impl.IdempotencyServiceImpl;
+import com.selimhorri.app.jwt.service.impl.TokenRevocationServiceImpl;
+import com.selimhorri.app.ratelimit.service.impl.RateLimitServiceImpl;
+import com.selimhorri.app.security.SecurityConfig;
+
+/**
+ * What every web slice needs besides its controller: the security setup and the beans
+ * behind the filters applied to all routes, plus the pools the services fan out on and the
+ * custom request mapping conditions. Tests import what their controller needs on top.
+ */
+@TestConfiguration
+@Import({ TemplateConfig.class, SecurityConfig.class, RateLimitConfig.class, RateLimitServiceImpl.class,
+        TokenRevocationServiceImpl.class, CacheConfig.class, ResponseCacheServiceImpl.class, CacheInvalidationBus.class,
+        IdempotencyConfig.class, IdempotencyServiceImpl.class, ExecutorConfig.class, RespondAsyncConfig.class })
+public class WebLayerTestConfig {
+
+}
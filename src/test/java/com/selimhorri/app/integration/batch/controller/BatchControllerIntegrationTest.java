@@ -0,0 +1,215 @@
+package com.selimhorri.app.integration.batch.controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.selimhorri.app.batch.BatchDispatcher;
+import com.selimhorri.app.batch.controller.BatchController;
+import com.selimhorri.app.batch.model.BatchOperation;
+import com.selimhorri.app.batch.model.BatchRequest;
+import com.selimhorri.app.batch.service.impl.BatchServiceImpl;
+import com.selimhorri.app.business.auth.util.AuthUtil;
+import com.selimhorri.app.business.order.controller.OrderController;
+import com.selimhorri.app.business.order.model.OrderDto;
+import com.selimhorri.app.business.order.service.OrderClientService;
+import com.selimhorri.app.business.order.service.OrderDetailsService;
+import com.selimhorri.app.business.order.service.OrderPlacementService;
+import com.selimhorri.app.business.order.service.impl.OrderStatusBulkServiceImpl;
+import com.selimhorri.app.business.product.cache.ProductCatalogCache;
+import com.selimhorri.app.business.product.controller.ProductController;
+import com.selimhorri.app.business.product.model.ProductDto;
+import com.selimhorri.app.business.product.service.ProductClientService;
+import com.selimhorri.app.business.product.service.impl.ProductLookupServiceImpl;
+import com.selimhorri.app.cache.service.ResponseCacheService;
+import com.selimhorri.app.config.filter.ResponseCacheFilter;
+import com.selimhorri.app.integration.WebLayerTestConfig;
+import com.selimhorri.app.jwt.service.JwtService;
+import com.selimhorri.app.jwt.util.JwtUtil;
+import com.selimhorri.app.pagination.CursorPaginator;
+import com.selimhorri.app.streaming.NdjsonExporter;
+
+@WebMvcTest({ BatchController.class, OrderController.class, ProductController.class })
+@Import({ WebLayerTestConfig.class, BatchServiceImpl.class, BatchDispatcher.class, OrderStatusBulkServiceImpl.class, CursorPaginator.class, NdjsonExporter.class,
+        ProductCatalogCache.class, ProductLookupServiceImpl.class })
+@Tag("integration")
+class BatchControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private OrderClientService orderClientService;
+
+    @MockBean
+    private OrderDetailsService orderDetailsService;
+
+    @MockBean
+    private OrderPlacementService orderPlacementService;
+
+    @MockBean
+    private ProductClientService productClientService;
+
+    @MockBean
+    private PasswordEncoder passwordEncoder;
+
+    @MockBean
+    private JwtUtil jwtUtil;
+
+    @MockBean
+    private AuthUtil authUtil;
+
+    @MockBean
+    private UserDetailsService userDetailsService;
+
+    @MockBean
+    private JwtService jwtService;
+
+    @Autowired
+    private ProductCatalogCache productCatalogCache;
+
+    @Autowired
+    private ResponseCacheService responseCacheService;
+
+    @BeforeEach
+    void setUp() {
+        productCatalogCache.evictAll();
+        responseCacheService.invalidateAll();
+    }
+
+    private static OrderDto order(int orderId, String status) {
+        OrderDto order = new OrderDto();
+        order.setOrderId(orderId);
+        order.setOrderStatus(status);
+        return order;
+    }
+
+    private static ProductDto product(int productId, String title) {
+        ProductDto product = new ProductDto();
+        product.setProductId(productId);
+        product.setProductTitle(title);
+        return product;
+    }
+
+    private static BatchOperation operation(String method, String path) {
+        return BatchOperation.builder().method(method).path(path).build();
+    }
+
+    private String batch(BatchOperation... operations) throws Exception {
+        return objectMapper.writeValueAsString(BatchRequest.builder().operations(List.of(operations)).build());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void testExecute_RunsEveryOperationAndKeepsTheirOrder() throws Exception {
+        when(orderClientService.updateStatus(1)).thenReturn(ResponseEntity.ok(order(1, "SHIPPED")));
+        when(orderClientService.updateStatus(2)).thenReturn(ResponseEntity.ok(order(2, "SHIPPED")));
+
+        mockMvc.perform(post("/api/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(batch(
+                        operation("PATCH", "/api/orders/1/status"),
+                        operation("PATCH", "/api/orders/2/status"),
+                        operation("GET", "/api/users"),
+                        operation("POST", "/api/batch"),
+                        operation("PATCH", "/api/orders/abc/status"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results.length()").value(5))
+                .andExpect(jsonPath("$.results[0].status").value(200))
+                .andExpect(jsonPath("$.results[0].body.orderId").value(1))
+                .andExpect(jsonPath("$.results[1].status").value(200))
+                .andExpect(jsonPath("$.results[1].body.orderStatus").value("SHIPPED"))
+                .andExpect(jsonPath("$.results[2].status").value(404))
+                .andExpect(jsonPath("$.results[3].status").value(400))
+                .andExpect(jsonPath("$.results[3].body.msg").value("Batches cannot be nested"))
+                .andExpect(jsonPath("$.results[4].status").value(400));
+
+        verify(orderClientService, times(1)).updateStatus(1);
+        verify(orderClientService, times(1)).updateStatus(2);
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void testExecute_Write_DropsCachedResponses() throws Exception {
+        when(productClientService.findById("1")).thenReturn(ResponseEntity.ok(product(1, "Smartphone")));
+        mockMvc.perform(get("/api/products/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(ResponseCacheFilter.CACHE_HEADER, "MISS"))
+                .andExpect(jsonPath("$.productTitle").value("Smartphone"));
+
+        ProductDto updated = product(1, "Tablet");
+        when(productClientService.update(any(), any())).thenReturn(ResponseEntity.ok(updated));
+        when(productClientService.findById("1")).thenReturn(ResponseEntity.ok(updated));
+        mockMvc.perform(post("/api/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(batch(BatchOperation.builder()
+                        .method("PUT")
+                        .path("/api/products/1")
+                        .body(JsonNodeFactory.instance.objectNode().put("productId", 1).put("productTitle", "Tablet"))
+                        .build())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results[0].status").value(200));
+
+        mockMvc.perform(get("/api/products/1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.productTitle").value("Tablet"));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void testExecute_AuthorizesEveryOperation() throws Exception {
+        mockMvc.perform(post("/api/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(batch(operation("PATCH", "/api/orders/1/status"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results[0].status").value(403));
+
+        verify(orderClientService, times(0)).updateStatus(anyInt());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void testExecute_WithoutOperations_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(post("/api/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"operations\":[]}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testExecute_Unauthenticated_Forbidden() throws Exception {
+        mockMvc.perform(post("/api/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(batch(operation("PATCH", "/api/orders/1/status"))))
+                .andExpect(status().isForbidden());
+
+        verifyZeroInteractions(orderClientService);
+    }
+
+}
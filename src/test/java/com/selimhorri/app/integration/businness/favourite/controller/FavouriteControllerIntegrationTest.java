@@ -3,6 +3,9 @@ package com.selimhorri.app.integration.businness.favourite.controller;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -13,6 +16,7 @@ import java.util.Collection;
 
 import javax.servlet.http.HttpServletRequest;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
@@ -38,13 +42,15 @@ import com.selimhorri.app.business.favourite.model.ProductDto;
 import com.selimhorri.app.business.favourite.model.UserDto;
 import com.selimhorri.app.business.favourite.model.response.FavouriteFavouriteServiceCollectionDtoResponse;
 import com.selimhorri.app.business.favourite.service.FavouriteClientService;
-import com.selimhorri.app.config.template.TemplateConfig;
+import com.selimhorri.app.business.favourite.service.FavouriteWriteBehindService;
+import com.selimhorri.app.business.favourite.service.impl.FavouriteWriteBehindServiceImpl;
+import com.selimhorri.app.integration.WebLayerTestConfig;
 import com.selimhorri.app.jwt.service.JwtService;
 import com.selimhorri.app.jwt.util.JwtUtil;
-import com.selimhorri.app.security.SecurityConfig;
+import com.selimhorri.app.pagination.CursorPaginator;
 
 @WebMvcTest(FavouriteController.class)
-@Import({ TemplateConfig.class, SecurityConfig.class })
+@Import({ WebLayerTestConfig.class, CursorPaginator.class, FavouriteWriteBehindServiceImpl.class })
 @Tag("integration")
 class FavouriteControllerIntegrationTest {
 
@@ -72,9 +78,18 @@ class FavouriteControllerIntegrationTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private FavouriteWriteBehindService favouriteWriteBehindService;
+
     private FavouriteDto testFavourite;
     private FavouriteFavouriteServiceCollectionDtoResponse collectionResponse;
 
+    @AfterEach
+    void tearDown() {
+        // toggles buffered by one test must not be read by the next
+        favouriteWriteBehindService.flush();
+    }
+
     @BeforeEach
     void setUp() {
         // Setup test data
@@ -236,4 +251,40 @@ class FavouriteControllerIntegrationTest {
                 .andExpect(jsonPath("$").value(true));
     }
 
-}
\ No newline at end of file
+
+    @Test
+    @WithMockUser(username = "user1", roles = "USER")
+    void testToggles_ReadYourWritesAndFlushFinalStateOnly() throws Exception {
+        // Given
+        FavouriteDto favourite = new FavouriteDto();
+        favourite.setUserId(1);
+        favourite.setProductId(42);
+        favourite.setLikeDate(LocalDateTime.now());
+        doNothing().when(authUtil).canActivate(any(HttpServletRequest.class), eq("1"), any(UserDetails.class));
+
+        // When & Then
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(post("/api/favourites")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(favourite)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.productId").value(42));
+            mockMvc.perform(delete("/api/favourites/{userId}/{productId}", "1", "42"))
+                    .andExpect(status().isOk());
+        }
+        mockMvc.perform(get("/api/favourites/{userId}/{productId}", "1", "42"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/favourites")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(favourite)))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/favourites/{userId}/{productId}", "1", "42"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.productId").value(42));
+
+        favouriteWriteBehindService.flush();
+        verify(favouriteClientService, times(1)).save(any(FavouriteDto.class));
+        verify(favouriteClientService, never()).deleteById("1", "42");
+        verify(favouriteClientService, never()).findById("1", "42");
+    }
+}
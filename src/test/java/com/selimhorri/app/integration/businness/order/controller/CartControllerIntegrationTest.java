@@ -40,13 +40,13 @@ import com.selimhorri.app.business.order.model.OrderDto;
 import com.selimhorri.app.business.order.model.UserDto;
 import com.selimhorri.app.business.order.model.response.CartOrderServiceDtoCollectionResponse;
 import com.selimhorri.app.business.order.service.CartClientService;
-import com.selimhorri.app.config.template.TemplateConfig;
+import com.selimhorri.app.integration.WebLayerTestConfig;
 import com.selimhorri.app.jwt.service.JwtService;
 import com.selimhorri.app.jwt.util.JwtUtil;
-import com.selimhorri.app.security.SecurityConfig;
+import com.selimhorri.app.pagination.CursorPaginator;
 
 @WebMvcTest(CartController.class)
-@Import({ TemplateConfig.class, SecurityConfig.class })
+@Import({ WebLayerTestConfig.class, CursorPaginator.class })
 @Tag("integration")
 class CartControllerIntegrationTest {
 
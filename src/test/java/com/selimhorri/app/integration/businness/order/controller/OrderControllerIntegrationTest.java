@@ -1,14 +1,20 @@
 package com.selimhorri.app.integration.businness.order.controller;
 
+import static org.hamcrest.Matchers.matchesPattern;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 import java.time.LocalDateTime;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
+import java.util.Collections;
 import javax.servlet.http.HttpServletRequest;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -33,17 +39,28 @@ import com.selimhorri.app.business.auth.enums.ResourceType;
 import com.selimhorri.app.business.auth.util.AuthUtil;
 import com.selimhorri.app.business.order.controller.OrderController;
 import com.selimhorri.app.business.order.model.CartDto;
+import com.selimhorri.app.business.order.enums.PlacementStatus;
 import com.selimhorri.app.business.order.model.OrderDto;
+import com.selimhorri.app.business.order.model.OrderPlacement;
 import com.selimhorri.app.business.order.model.UserDto;
+import com.selimhorri.app.business.order.model.response.OrderDetailsResponse;
 import com.selimhorri.app.business.order.model.response.OrderOrderServiceDtoCollectionResponse;
 import com.selimhorri.app.business.order.service.OrderClientService;
-import com.selimhorri.app.config.template.TemplateConfig;
+import com.selimhorri.app.business.order.service.OrderDetailsService;
+import com.selimhorri.app.business.order.service.OrderPlacementService;
+import com.selimhorri.app.business.order.service.impl.OrderStatusBulkServiceImpl;
+import com.selimhorri.app.config.filter.IdempotencyFilter;
+import com.selimhorri.app.integration.WebLayerTestConfig;
 import com.selimhorri.app.jwt.service.JwtService;
 import com.selimhorri.app.jwt.util.JwtUtil;
-import com.selimhorri.app.security.SecurityConfig;
+import com.selimhorri.app.pagination.CursorPaginator;
+import com.selimhorri.app.streaming.NdjsonExporter;
+
+import feign.FeignException;
+import feign.Request;
 
 @WebMvcTest(OrderController.class)
-@Import({ TemplateConfig.class, SecurityConfig.class })
+@Import({ WebLayerTestConfig.class, CursorPaginator.class, NdjsonExporter.class, OrderStatusBulkServiceImpl.class })
 @Tag("integration")
 class OrderControllerIntegrationTest {
 
@@ -53,6 +70,12 @@ class OrderControllerIntegrationTest {
     @MockBean
     private OrderClientService orderClientService;
 
+    @MockBean
+    private OrderDetailsService orderDetailsService;
+
+    @MockBean
+    private OrderPlacementService orderPlacementService;
+
     @MockBean
     private PasswordEncoder passwordEncoder;
 
@@ -211,6 +234,167 @@ class OrderControllerIntegrationTest {
                 .andExpect(jsonPath("$.cart.user.userId").value(1));
     }
 
+    @Test
+    @WithMockUser(username = "user1", roles = "USER")
+    void testSave_RespondAsync_AcceptsWithStatusUrl() throws Exception {
+        // Given
+        when(authUtil.getOwner(eq("1"), any(ResourceType.class))).thenReturn("1");
+        doNothing().when(authUtil).canActivate(any(HttpServletRequest.class), eq("1"), any(UserDetails.class));
+        when(orderPlacementService.submit(any(OrderDto.class), eq("1"))).thenReturn(OrderPlacement.builder()
+                .placementId("p-1")
+                .status(PlacementStatus.PENDING)
+                .userId("1")
+                .build());
+
+        // When & Then
+        mockMvc.perform(post("/api/orders")
+                .header("Prefer", "respond-async")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(testOrder)))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "http://localhost/api/orders/placements/p-1"))
+                .andExpect(jsonPath("$.placementId").value("p-1"))
+                .andExpect(jsonPath("$.status").value("PENDING"))
+                .andExpect(jsonPath("$.userId").doesNotExist());
+        verify(orderClientService, never()).save(any(OrderDto.class));
+    }
+
+    @Test
+    @WithMockUser(username = "user1", roles = "USER")
+    void testSave_RespondAsyncWithIdempotencyKey_ReplaysHeaders() throws Exception {
+        // Given
+        when(authUtil.getOwner(eq("1"), any(ResourceType.class))).thenReturn("1");
+        doNothing().when(authUtil).canActivate(any(HttpServletRequest.class), eq("1"), any(UserDetails.class));
+        when(orderPlacementService.submit(any(OrderDto.class), eq("1"))).thenReturn(OrderPlacement.builder()
+                .placementId("p-2")
+                .status(PlacementStatus.PENDING)
+                .userId("1")
+                .build());
+        String body = objectMapper.writeValueAsString(testOrder);
+
+        // When & Then
+        mockMvc.perform(post("/api/orders")
+                .header(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, "placement-retry-1")
+                .header("Prefer", "respond-async")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+                .andExpect(status().isAccepted())
+                .andExpect(header().doesNotExist(IdempotencyFilter.REPLAYED_HEADER));
+        mockMvc.perform(post("/api/orders")
+                .header(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, "placement-retry-1")
+                .header("Prefer", "respond-async")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string(IdempotencyFilter.REPLAYED_HEADER, "true"))
+                .andExpect(header().string("Location", "http://localhost/api/orders/placements/p-2"))
+                .andExpect(header().string("Preference-Applied", "respond-async"))
+                .andExpect(jsonPath("$.placementId").value("p-2"));
+        mockMvc.perform(post("/api/orders")
+                .header(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, "placement-retry-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+                .andExpect(status().isUnprocessableEntity());
+        verify(orderPlacementService, times(1)).submit(any(OrderDto.class), eq("1"));
+        verify(orderClientService, never()).save(any(OrderDto.class));
+    }
+
+    @Test
+    @WithMockUser(username = "user1", roles = "USER")
+    void testSave_PreferListingRespondAsyncAmongOthers_Accepts() throws Exception {
+        // Given
+        when(authUtil.getOwner(eq("1"), any(ResourceType.class))).thenReturn("1");
+        doNothing().when(authUtil).canActivate(any(HttpServletRequest.class), eq("1"), any(UserDetails.class));
+        when(orderPlacementService.submit(any(OrderDto.class), eq("1"))).thenReturn(OrderPlacement.builder()
+                .placementId("p-1")
+                .status(PlacementStatus.PENDING)
+                .userId("1")
+                .build());
+
+        // When & Then
+        mockMvc.perform(post("/api/orders")
+                .header("Prefer", "handling=lenient, Respond-Async; foo=bar, wait=10")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(testOrder)))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Preference-Applied", "respond-async"))
+                .andExpect(jsonPath("$.placementId").value("p-1"));
+        verify(orderClientService, never()).save(any(OrderDto.class));
+    }
+
+    @Test
+    @WithMockUser(username = "user1", roles = "USER")
+    void testFindPlacementById_ReturnsPlacedOrder() throws Exception {
+        // Given
+        when(orderPlacementService.findById("p-1")).thenReturn(OrderPlacement.builder()
+                .placementId("p-1")
+                .status(PlacementStatus.PLACED)
+                .attempts(2)
+                .orderDto(testOrder)
+                .userId("1")
+                .build());
+        doNothing().when(authUtil).canActivate(any(HttpServletRequest.class), eq("1"), any(UserDetails.class));
+
+        // When & Then
+        mockMvc.perform(get("/api/orders/placements/{placementId}", "p-1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("PLACED"))
+                .andExpect(jsonPath("$.attempts").value(2))
+                .andExpect(jsonPath("$.order.orderId").value(1));
+    }
+
+    @Test
+    @WithMockUser(username = "user1", roles = "USER")
+    void testFindPlacementById_Unknown() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/orders/placements/{placementId}", "missing"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser(username = "user1", roles = "USER")
+    void testSave_WithIdempotencyKey_ReplaysFirstResult() throws Exception {
+        // Given
+        CartDto cart = new CartDto();
+        cart.setCartId(2);
+        OrderDto newOrder = new OrderDto();
+        newOrder.setOrderDesc("Retried order");
+        newOrder.setCartDto(cart);
+        OrderDto savedOrder = new OrderDto();
+        savedOrder.setOrderId(3);
+        savedOrder.setOrderDesc("Retried order");
+
+        when(authUtil.getOwner(eq("2"), any(ResourceType.class))).thenReturn("1");
+        doNothing().when(authUtil).canActivate(any(HttpServletRequest.class), eq("1"), any(UserDetails.class));
+        when(orderClientService.save(any(OrderDto.class))).thenReturn(ResponseEntity.ok(savedOrder));
+        String body = objectMapper.writeValueAsString(newOrder);
+
+        // When & Then
+        mockMvc.perform(post("/api/orders")
+                .header(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, "order-retry-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(IdempotencyFilter.REPLAYED_HEADER))
+                .andExpect(jsonPath("$.orderId").value(3));
+        mockMvc.perform(post("/api/orders")
+                .header(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, "order-retry-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+                .andExpect(status().isOk())
+                .andExpect(header().string(IdempotencyFilter.REPLAYED_HEADER, "true"))
+                .andExpect(jsonPath("$.orderId").value(3));
+        verify(orderClientService, times(1)).save(any(OrderDto.class));
+
+        newOrder.setOrderDesc("Another order");
+        mockMvc.perform(post("/api/orders")
+                .header(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, "order-retry-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(newOrder)))
+                .andExpect(status().isUnprocessableEntity());
+        verify(orderClientService, times(1)).save(any(OrderDto.class));
+    }
+
     @Test
     @WithMockUser(username = "admin", roles = "ADMIN")
     void testUpdateStatus_Success() throws Exception {
@@ -239,6 +423,43 @@ class OrderControllerIntegrationTest {
                 .andExpect(status().isForbidden());
     }
 
+    @Test
+    @WithMockUser(username = "admin", roles = "ADMIN")
+    void testUpdateStatuses_SummarizesSuccessesAndFailures() throws Exception {
+        // Given
+        OrderDto shipped = new OrderDto();
+        shipped.setOrderId(1);
+        shipped.setOrderStatus("SHIPPED");
+        Request request = Request.create(Request.HttpMethod.PATCH, "/order-service/api/orders/2/status",
+                Collections.emptyMap(), null, null, null);
+
+        when(orderClientService.updateStatus(1)).thenReturn(ResponseEntity.ok(shipped));
+        when(orderClientService.updateStatus(2)).thenThrow(new FeignException.NotFound("not found", request, null));
+
+        // When & Then
+        mockMvc.perform(patch("/api/orders/status")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"orderIds\":[1,2,1]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.requested").value(2))
+                .andExpect(jsonPath("$.succeeded").value(1))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.updated[0].orderStatus").value("SHIPPED"))
+                .andExpect(jsonPath("$.failures[0].orderId").value(2))
+                .andExpect(jsonPath("$.failures[0].status").value(404));
+        verify(orderClientService, times(1)).updateStatus(1);
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void testUpdateStatuses_Forbidden_UserRole() throws Exception {
+        // When & Then
+        mockMvc.perform(patch("/api/orders/status")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"orderIds\":[1]}"))
+                .andExpect(status().isForbidden());
+    }
+
     @Test
     @WithMockUser(username = "user1", roles = "USER")
     void testUpdate_Success() throws Exception {
@@ -305,4 +526,52 @@ class OrderControllerIntegrationTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$").value(true));
     }
-}
\ No newline at end of file
+
+    @Test
+    @WithMockUser(username = "user1", roles = "USER")
+    void testFindDetailsById_Success_DegradedSection() throws Exception {
+        // Given
+        String orderId = "1";
+        when(authUtil.getOwner(eq(orderId), any(ResourceType.class))).thenReturn("1");
+        doNothing().when(authUtil).canActivate(any(HttpServletRequest.class), eq("1"), any(UserDetails.class));
+        when(orderDetailsService.findDetails(orderId)).thenReturn(OrderDetailsResponse.builder()
+                .orderDto(testOrder)
+                .cartDto(testOrder.getCartDto())
+                .unavailable(Arrays.asList("payment"))
+                .build());
+
+        // When & Then
+        mockMvc.perform(get("/api/orders/{orderId}/details", orderId)
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.order.orderId").value(1))
+                .andExpect(jsonPath("$.cart.cartId").value(1))
+                .andExpect(jsonPath("$.payment").doesNotExist())
+                .andExpect(jsonPath("$.unavailable[0]").value("payment"));
+    }
+
+    @Test
+    void testFindDetailsById_Forbidden_Unauthenticated() throws Exception {
+        mockMvc.perform(get("/api/orders/{orderId}/details", "1"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void testExportAll_Ndjson_StreamsOneOrderPerLine() throws Exception {
+        byte[] body = "{\"collection\":[{\"orderId\":1,\"orderStatus\":\"PENDING\"},{\"orderId\":2,\"orderStatus\":\"PAID\"}]}"
+                .getBytes(StandardCharsets.UTF_8);
+        when(orderClientService.streamAll()).thenReturn(feign.Response.builder()
+                .status(200)
+                .headers(Collections.emptyMap())
+                .request(feign.Request.create(feign.Request.HttpMethod.GET, "/api/orders", Collections.emptyMap(), null, StandardCharsets.UTF_8, null))
+                .body(body)
+                .build());
+
+        mockMvc.perform(get("/api/orders").accept("application/x-ndjson"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+                .andExpect(header().doesNotExist("ETag"))
+                .andExpect(content().string(matchesPattern("\\{\"orderId\":1,[^\\n]*\"PENDING\"[^\\n]*}\\n\\{\"orderId\":2,[^\\n]*\"PAID\"[^\\n]*}\\n")));
+    }
+}
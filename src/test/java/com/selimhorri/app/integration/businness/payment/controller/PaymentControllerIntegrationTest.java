@@ -3,12 +3,15 @@ package com.selimhorri.app.integration.businness.payment.controller;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.Collections;
 
 import javax.servlet.http.HttpServletRequest;
 
@@ -38,13 +41,18 @@ import com.selimhorri.app.business.payment.model.PaymentDto;
 import com.selimhorri.app.business.payment.model.PaymentStatus;
 import com.selimhorri.app.business.payment.model.response.PaymentPaymentServiceDtoCollectionResponse;
 import com.selimhorri.app.business.payment.service.PaymentClientService;
-import com.selimhorri.app.config.template.TemplateConfig;
+import com.selimhorri.app.config.filter.IdempotencyFilter;
+import com.selimhorri.app.integration.WebLayerTestConfig;
 import com.selimhorri.app.jwt.service.JwtService;
 import com.selimhorri.app.jwt.util.JwtUtil;
-import com.selimhorri.app.security.SecurityConfig;
+import com.selimhorri.app.pagination.CursorPaginator;
+import com.selimhorri.app.streaming.NdjsonExporter;
+
+import feign.FeignException;
+import feign.Request;
 
 @WebMvcTest(PaymentController.class)
-@Import({ TemplateConfig.class, SecurityConfig.class })
+@Import({ WebLayerTestConfig.class, CursorPaginator.class, NdjsonExporter.class })
 @Tag("integration")
 class PaymentControllerIntegrationTest {
 
@@ -202,6 +210,43 @@ class PaymentControllerIntegrationTest {
                 .andExpect(jsonPath("$.order.orderId").value(1));
     }
 
+    @Test
+    @WithMockUser(username = "user1", roles = "USER")
+    void testSave_WithIdempotencyKey_RetriesAfterFailure() throws Exception {
+        // Given
+        OrderDto order = new OrderDto();
+        order.setOrderId(1);
+        PaymentDto newPayment = new PaymentDto();
+        newPayment.setOrderDto(order);
+        PaymentDto savedPayment = new PaymentDto();
+        savedPayment.setPaymentId(5);
+        savedPayment.setOrderDto(order);
+        Request request = Request.create(Request.HttpMethod.POST, "/payment-service/api/payments",
+                Collections.emptyMap(), null, null, null);
+
+        when(authUtil.getOwner(eq("1"), any(ResourceType.class))).thenReturn("1");
+        doNothing().when(authUtil).canActivate(any(HttpServletRequest.class), eq("1"), any(UserDetails.class));
+        when(paymentClientService.save(any(PaymentDto.class)))
+                .thenThrow(new FeignException.ServiceUnavailable("unavailable", request, null))
+                .thenReturn(ResponseEntity.ok(savedPayment));
+        String body = objectMapper.writeValueAsString(newPayment);
+
+        // When & Then
+        mockMvc.perform(post("/api/payments")
+                .header(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, "payment-retry-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+                .andExpect(status().isBadRequest());
+        for (int i = 0; i < 2; i++)
+            mockMvc.perform(post("/api/payments")
+                    .header(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, "payment-retry-1")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(body))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.paymentId").value(5));
+        verify(paymentClientService, times(2)).save(any(PaymentDto.class));
+    }
+
     @Test
     @WithMockUser(roles = "ADMIN")
     void testUpdateStatus_Success() throws Exception {
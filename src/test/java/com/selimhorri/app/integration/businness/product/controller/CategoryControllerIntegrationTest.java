@@ -2,6 +2,8 @@ package com.selimhorri.app.integration.businness.product.controller;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -15,6 +17,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -23,18 +26,19 @@ import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.selimhorri.app.business.product.cache.CategorySnapshotCache;
 import com.selimhorri.app.business.product.controller.CategoryController;
 import com.selimhorri.app.business.product.model.CategoryDto;
 import com.selimhorri.app.business.product.model.response.CategoryProductServiceCollectionDtoResponse;
 import com.selimhorri.app.business.product.service.CategoryClientService;
-import com.selimhorri.app.config.template.TemplateConfig;
+import com.selimhorri.app.cache.service.ResponseCacheService;
+import com.selimhorri.app.integration.WebLayerTestConfig;
 import com.selimhorri.app.jwt.service.JwtService;
 import com.selimhorri.app.jwt.util.JwtUtil;
-import com.selimhorri.app.security.SecurityConfig;
 
 @Tag("integration")
 @WebMvcTest(CategoryController.class)
-@Import({ TemplateConfig.class, SecurityConfig.class })
+@Import({ WebLayerTestConfig.class, CategorySnapshotCache.class })
 public class CategoryControllerIntegrationTest {
 
     @Autowired
@@ -58,11 +62,20 @@ public class CategoryControllerIntegrationTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private CategorySnapshotCache categorySnapshotCache;
+
+    @Autowired
+    private ResponseCacheService responseCacheService;
+
     private CategoryDto testCategory;
     private CategoryProductServiceCollectionDtoResponse collectionResponse;
 
     @BeforeEach
     void setUp() {
+        categorySnapshotCache.invalidate();
+        responseCacheService.invalidateAll();
+
         testCategory = new CategoryDto();
         testCategory.setCategoryId(1);
         testCategory.setCategoryTitle("Electronics");
@@ -83,14 +96,33 @@ public class CategoryControllerIntegrationTest {
                 .andExpect(jsonPath("$.collection[0].categoryTitle").value("Electronics"));
     }
 
+    @Test
+    void testFindAll_WithFields_WritesOnlySelectedFields() throws Exception {
+        when(categoryClientService.findAll()).thenReturn(ResponseEntity.ok(collectionResponse));
+
+        mockMvc.perform(get("/api/categories").param("fields", "categoryTitle"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.collection[0].categoryTitle").value("Electronics"))
+                .andExpect(jsonPath("$.collection[0].categoryId").doesNotExist())
+                .andExpect(jsonPath("$.collection[0].imageUrl").doesNotExist());
+
+        mockMvc.perform(get("/api/categories/{categoryId}", "1").param("fields", "categoryId"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.categoryId").value(1))
+                .andExpect(jsonPath("$.categoryTitle").doesNotExist());
+
+        verify(categoryClientService, times(1)).findAll();
+    }
+
     @Test
     void testFindById_Unauthenticated_Success() throws Exception {
         String categoryId = "1";
-        when(categoryClientService.findById(categoryId)).thenReturn(ResponseEntity.ok(testCategory));
+        when(categoryClientService.findAll()).thenReturn(ResponseEntity.ok(collectionResponse));
 
         mockMvc.perform(get("/api/categories/{categoryId}", categoryId)
                 .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.categoryId").value(1));
     }
 
@@ -157,4 +189,21 @@ public class CategoryControllerIntegrationTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$").value(true));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testFindAll_WithMatchingIfNoneMatch_NotModified() throws Exception {
+        when(categoryClientService.findAll()).thenReturn(ResponseEntity.ok(collectionResponse));
+
+        String etag = mockMvc.perform(get("/api/categories"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/categories")
+                .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        verify(categoryClientService, times(1)).findAll();
+    }
+}
@@ -1,12 +1,18 @@
 package com.selimhorri.app.integration.businness.product.controller;
 
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Tag;
@@ -15,6 +21,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -23,19 +30,25 @@ import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.selimhorri.app.business.product.cache.ProductCatalogCache;
 import com.selimhorri.app.business.product.controller.ProductController;
 import com.selimhorri.app.business.product.model.CategoryDto;
 import com.selimhorri.app.business.product.model.ProductDto;
 import com.selimhorri.app.business.product.model.response.ProductProductServiceCollectionDtoResponse;
 import com.selimhorri.app.business.product.service.ProductClientService;
-import com.selimhorri.app.config.template.TemplateConfig;
+import com.selimhorri.app.business.product.service.impl.ProductLookupServiceImpl;
+import com.selimhorri.app.cache.invalidation.InvalidationEvent;
+import com.selimhorri.app.cache.invalidation.InvalidationTransport;
+import com.selimhorri.app.cache.service.ResponseCacheService;
+import com.selimhorri.app.config.filter.ResponseCacheFilter;
+import com.selimhorri.app.integration.WebLayerTestConfig;
 import com.selimhorri.app.jwt.service.JwtService;
 import com.selimhorri.app.jwt.util.JwtUtil;
-import com.selimhorri.app.security.SecurityConfig;
+import com.selimhorri.app.pagination.CursorPaginator;
 
 @Tag("integration")
 @WebMvcTest(ProductController.class)
-@Import({ TemplateConfig.class, SecurityConfig.class })
+@Import({ WebLayerTestConfig.class, ProductCatalogCache.class, ProductLookupServiceImpl.class, CursorPaginator.class })
 public class ProductControllerIntegrationTest {
 
     @Autowired
@@ -59,11 +72,23 @@ public class ProductControllerIntegrationTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private ProductCatalogCache productCatalogCache;
+
+    @Autowired
+    private ResponseCacheService responseCacheService;
+
+    @Autowired
+    private InvalidationTransport invalidationTransport;
+
     private ProductDto testProduct;
     private ProductProductServiceCollectionDtoResponse collectionResponse;
 
     @BeforeEach
     void setUp() {
+        productCatalogCache.evictAll();
+        responseCacheService.invalidateAll();
+
         CategoryDto category = new CategoryDto();
         category.setCategoryId(1);
         category.setCategoryTitle("Electronics");
@@ -92,6 +117,77 @@ public class ProductControllerIntegrationTest {
                 .andExpect(jsonPath("$.collection[0].productTitle").value("Smartphone"));
     }
 
+    @Test
+    void testFindAll_WithCriteria_ReturnsMatchesAndFacets() throws Exception {
+        ProductDto accessory = new ProductDto();
+        accessory.setProductId(2);
+        accessory.setProductTitle("Charger");
+        accessory.setPriceUnit(19.99);
+        accessory.setQuantity(0);
+        accessory.setCategoryDto(testProduct.getCategoryDto());
+        collectionResponse.setCollection(Arrays.asList(testProduct, accessory));
+        when(productClientService.findAll()).thenReturn(ResponseEntity.ok(collectionResponse));
+
+        mockMvc.perform(get("/api/products")
+                .param("category", "Electronics")
+                .param("maxPrice", "100")
+                .param("sort", "-price"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(1))
+                .andExpect(jsonPath("$.collection[0].productId").value(2))
+                .andExpect(jsonPath("$.facets.categories[0].categoryTitle").value("Electronics"))
+                .andExpect(jsonPath("$.facets.categories[0].count").value(1))
+                .andExpect(jsonPath("$.facets.outOfStock").value(1));
+    }
+
+    @Test
+    void testFindAll_WithUnknownSort_ReturnsBadRequest() throws Exception {
+        when(productClientService.findAll()).thenReturn(ResponseEntity.ok(collectionResponse));
+
+        mockMvc.perform(get("/api/products").param("sort", "colour"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testSuggest_Unauthenticated_ReturnsRankedMatches() throws Exception {
+        ProductDto charger = new ProductDto();
+        charger.setProductId(2);
+        charger.setProductTitle("Smartphone Charger");
+        charger.setSku("CHARGER-001");
+        collectionResponse.setCollection(Arrays.asList(testProduct, charger));
+        when(productClientService.findAll()).thenReturn(ResponseEntity.ok(collectionResponse));
+
+        mockMvc.perform(get("/api/products/search").param("q", "smart"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.collection.length()").value(2))
+                .andExpect(jsonPath("$.collection[0].productId").value(1));
+        mockMvc.perform(get("/api/products/search").param("q", "charger-001"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.collection.length()").value(1))
+                .andExpect(jsonPath("$.collection[0].productId").value(2));
+
+        verify(productClientService, times(1)).findAll();
+    }
+
+    @Test
+    void testFindAllByIds_Unauthenticated_ReturnsItemsInRequestOrderWithErrors() throws Exception {
+        ProductDto second = new ProductDto();
+        second.setProductId(2);
+        second.setProductTitle("Tablet");
+        when(productClientService.findById("2")).thenReturn(ResponseEntity.ok(second));
+        when(productClientService.findById("1")).thenReturn(ResponseEntity.ok(testProduct));
+        when(productClientService.findById("3")).thenReturn(ResponseEntity.ok(null));
+
+        mockMvc.perform(get("/api/products").param("ids", "2,1,3,2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.collection.length()").value(2))
+                .andExpect(jsonPath("$.collection[0].productId").value(2))
+                .andExpect(jsonPath("$.collection[1].productId").value(1))
+                .andExpect(jsonPath("$.errors.3").value("404 Not Found"));
+
+        verify(productClientService, times(1)).findById("2");
+    }
+
     @Test
     void testFindById_Unauthenticated_Success() throws Exception {
         String productId = "1";
@@ -172,4 +268,118 @@ public class ProductControllerIntegrationTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$").value(true));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testFindById_WithMatchingIfNoneMatch_NotModified() throws Exception {
+        String productId = "1";
+        when(productClientService.findById(productId)).thenReturn(ResponseEntity.ok(testProduct));
+
+        String etag = mockMvc.perform(get("/api/products/{productId}", productId))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/products/{productId}", productId)
+                .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        verify(productClientService, times(1)).findById(productId);
+    }
+
+    @Test
+    void testFindAll_SecondRequest_ServedFromResponseCache() throws Exception {
+        when(productClientService.findAll()).thenReturn(ResponseEntity.ok(collectionResponse));
+
+        String body = mockMvc.perform(get("/api/products"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(ResponseCacheFilter.CACHE_HEADER, "MISS"))
+                .andReturn().getResponse().getContentAsString();
+
+        mockMvc.perform(get("/api/products"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(ResponseCacheFilter.CACHE_HEADER, "HIT"))
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().string(body));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void testFindAll_HeadAndOptions_KeepCachedResponses() throws Exception {
+        when(productClientService.findAll()).thenReturn(ResponseEntity.ok(collectionResponse));
+
+        mockMvc.perform(get("/api/products"))
+                .andExpect(header().string(ResponseCacheFilter.CACHE_HEADER, "MISS"));
+        mockMvc.perform(head("/api/products"))
+                .andExpect(status().isOk());
+        mockMvc.perform(options("/api/products"))
+                .andExpect(status().is2xxSuccessful());
+
+        mockMvc.perform(get("/api/products"))
+                .andExpect(header().string(ResponseCacheFilter.CACHE_HEADER, "HIT"));
+        verify(productClientService, times(1)).findAll();
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void testUpdate_AsAdmin_InvalidatesCachedResponses() throws Exception {
+        String productId = "1";
+        when(productClientService.findById(productId)).thenReturn(ResponseEntity.ok(testProduct));
+        when(productClientService.update(eq(productId), any(ProductDto.class))).thenReturn(ResponseEntity.ok(testProduct));
+
+        mockMvc.perform(get("/api/products/{productId}", productId))
+                .andExpect(header().string(ResponseCacheFilter.CACHE_HEADER, "MISS"));
+        mockMvc.perform(put("/api/products/{productId}", productId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(testProduct)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/products/{productId}", productId))
+                .andExpect(header().string(ResponseCacheFilter.CACHE_HEADER, "MISS"));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void testUpdate_AsAdmin_PublishesInvalidationEvent() throws Exception {
+        String productId = "1";
+        List<InvalidationEvent> published = new ArrayList<>();
+        invalidationTransport.subscribe(new InvalidationTransport.Receiver() {
+            @Override
+            public void onMessage(byte[] payload) {
+                published.add(InvalidationEvent.decode(payload));
+            }
+
+            @Override
+            public void onGap() {
+            }
+        });
+        when(productClientService.update(eq(productId), any(ProductDto.class))).thenReturn(ResponseEntity.ok(testProduct));
+
+        mockMvc.perform(put("/api/products/{productId}", productId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(testProduct)))
+                .andExpect(status().isOk());
+
+        assertTrue(published.stream()
+                .anyMatch(event -> "products".equals(event.getResource()) && productId.equals(event.getId())));
+    }
+
+    @Test
+    void testFindById_AfterWriteOnOtherReplica_ReloadsProduct() throws Exception {
+        String productId = "1";
+        when(productClientService.findById(productId)).thenReturn(ResponseEntity.ok(testProduct));
+
+        mockMvc.perform(get("/api/products/{productId}", productId))
+                .andExpect(header().string(ResponseCacheFilter.CACHE_HEADER, "MISS"));
+        mockMvc.perform(get("/api/products/{productId}", productId))
+                .andExpect(header().string(ResponseCacheFilter.CACHE_HEADER, "HIT"));
+
+        invalidationTransport.publish(new InvalidationEvent("products", productId, "other-replica",
+                System.currentTimeMillis()).encode());
+
+        mockMvc.perform(get("/api/products/{productId}", productId))
+                .andExpect(status().isOk())
+                .andExpect(header().string(ResponseCacheFilter.CACHE_HEADER, "MISS"));
+        verify(productClientService, times(2)).findById(productId);
+    }
+}
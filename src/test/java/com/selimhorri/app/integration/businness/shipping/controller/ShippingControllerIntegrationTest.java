@@ -7,8 +7,10 @@ import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.Collections;
 
 import javax.servlet.http.HttpServletRequest;
 
@@ -18,6 +20,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -38,13 +41,14 @@ import com.selimhorri.app.business.orderItem.model.OrderItemDto;
 import com.selimhorri.app.business.orderItem.model.ProductDto;
 import com.selimhorri.app.business.orderItem.model.response.OrderItemOrderItemServiceDtoCollectionResponse;
 import com.selimhorri.app.business.orderItem.service.OrderItemClientService;
-import com.selimhorri.app.config.template.TemplateConfig;
+import com.selimhorri.app.integration.WebLayerTestConfig;
 import com.selimhorri.app.jwt.service.JwtService;
 import com.selimhorri.app.jwt.util.JwtUtil;
-import com.selimhorri.app.security.SecurityConfig;
+import com.selimhorri.app.pagination.CursorPaginator;
+import com.selimhorri.app.streaming.DownstreamRelay;
 
 @WebMvcTest(OrderItemController.class)
-@Import({ TemplateConfig.class, SecurityConfig.class })
+@Import({ WebLayerTestConfig.class, CursorPaginator.class, DownstreamRelay.class })
 @Tag("integration")
 class OrderItemControllerIntegrationTest {
 
@@ -110,17 +114,90 @@ class OrderItemControllerIntegrationTest {
     @WithMockUser(roles = "ADMIN")
     void testFindAll_Success() throws Exception {
         // Given
-        when(orderItemClientService.findAll()).thenReturn(ResponseEntity.ok(collectionResponse));
+        String body = "{\"collection\":[{\"productId\":1,\"orderId\":1,\"product\":{\"productTitle\":\"Test Product\"},\"order\":{\"orderStatus\":\"PENDING\"}}]}";
+        when(orderItemClientService.streamAll()).thenAnswer(invocation -> feign.Response.builder()
+                .status(200)
+                .headers(Collections.singletonMap("Content-Type", Collections.singletonList("application/json")))
+                .request(feign.Request.create(feign.Request.HttpMethod.GET, "/api/shippings", Collections.emptyMap(), null, StandardCharsets.UTF_8, null))
+                .body(body, StandardCharsets.UTF_8)
+                .build());
 
         // When & Then
         mockMvc.perform(get("/api/shippings")
                 .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.collection").isArray())
-                .andExpect(jsonPath("$.collection[0].productId").value(1))
-                .andExpect(jsonPath("$.collection[0].orderId").value(1))
-                .andExpect(jsonPath("$.collection[0].product.productTitle").value("Test Product"))
-                .andExpect(jsonPath("$.collection[0].order.orderStatus").value("PENDING"));
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().string(body));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void testFindAll_RelaysDownstreamStatus() throws Exception {
+        // Given
+        when(orderItemClientService.streamAll()).thenAnswer(invocation -> feign.Response.builder()
+                .status(503)
+                .headers(Collections.singletonMap("Content-Type", Collections.singletonList("application/json")))
+                .request(feign.Request.create(feign.Request.HttpMethod.GET, "/api/shippings", Collections.emptyMap(), null, StandardCharsets.UTF_8, null))
+                .body("{}", StandardCharsets.UTF_8)
+                .build());
+
+        // When & Then
+        mockMvc.perform(get("/api/shippings"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(content().string("{}"));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void testFindAll_IsNotBufferedForAnEtag() throws Exception {
+        // Given
+        when(orderItemClientService.streamAll()).thenAnswer(invocation -> feign.Response.builder()
+                .status(200)
+                .headers(Collections.singletonMap("Content-Type", Collections.singletonList("application/json")))
+                .request(feign.Request.create(feign.Request.HttpMethod.GET, "/api/shippings", Collections.emptyMap(), null, StandardCharsets.UTF_8, null))
+                .body("{\"collection\":[]}", StandardCharsets.UTF_8)
+                .build());
+
+        // When & Then
+        mockMvc.perform(get("/api/shippings"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG))
+                .andExpect(content().string("{\"collection\":[]}"));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void testFindAll_AnswersIfNoneMatchWithTheDownstreamEtag() throws Exception {
+        // Given
+        when(orderItemClientService.streamAll()).thenAnswer(invocation -> feign.Response.builder()
+                .status(200)
+                .headers(Collections.singletonMap("ETag", Collections.singletonList("\"v1\"")))
+                .request(feign.Request.create(feign.Request.HttpMethod.GET, "/api/shippings", Collections.emptyMap(), null, StandardCharsets.UTF_8, null))
+                .body("{\"collection\":[]}", StandardCharsets.UTF_8)
+                .build());
+
+        // When & Then
+        mockMvc.perform(get("/api/shippings")
+                .header(HttpHeaders.IF_NONE_MATCH, "\"v1\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"v1\""))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void testFindAll_RejectsFieldSelectionOnRelayedBodies() throws Exception {
+        // Given
+        when(orderItemClientService.streamAll()).thenAnswer(invocation -> feign.Response.builder()
+                .status(200)
+                .headers(Collections.singletonMap("Content-Type", Collections.singletonList("application/json")))
+                .request(feign.Request.create(feign.Request.HttpMethod.GET, "/api/shippings", Collections.emptyMap(), null, StandardCharsets.UTF_8, null))
+                .body("{\"collection\":[]}", StandardCharsets.UTF_8)
+                .build());
+
+        // When & Then
+        mockMvc.perform(get("/api/shippings").param("fields", "orderId"))
+                .andExpect(status().isBadRequest());
     }
 
     @Test
@@ -37,13 +37,13 @@ import com.selimhorri.app.business.user.model.AddressDto;
 import com.selimhorri.app.business.user.model.UserDto;
 import com.selimhorri.app.business.user.model.response.AddressUserServiceCollectionDtoResponse;
 import com.selimhorri.app.business.user.service.AddressClientService;
-import com.selimhorri.app.config.template.TemplateConfig;
+import com.selimhorri.app.integration.WebLayerTestConfig;
 import com.selimhorri.app.jwt.service.JwtService;
 import com.selimhorri.app.jwt.util.JwtUtil;
-import com.selimhorri.app.security.SecurityConfig;
+import com.selimhorri.app.pagination.CursorPaginator;
 
 @WebMvcTest(AddressController.class)
-@Import({ TemplateConfig.class, SecurityConfig.class })
+@Import({ WebLayerTestConfig.class, CursorPaginator.class })
 @Tag("integration")
 class AddressControllerIntegrationTest {
 
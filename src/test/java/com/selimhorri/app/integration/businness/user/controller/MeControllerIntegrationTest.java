@@ -0,0 +1,90 @@
+package com.selimhorri.app.integration.businness.user.controller;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.selimhorri.app.business.auth.util.AuthUtil;
+import com.selimhorri.app.business.user.controller.MeController;
+import com.selimhorri.app.business.user.model.UserDto;
+import com.selimhorri.app.business.user.model.response.UserOverviewResponse;
+import com.selimhorri.app.business.user.service.UserOverviewService;
+import com.selimhorri.app.integration.WebLayerTestConfig;
+import com.selimhorri.app.jwt.service.JwtService;
+import com.selimhorri.app.jwt.util.JwtUtil;
+
+@WebMvcTest(MeController.class)
+@Import({ WebLayerTestConfig.class })
+@Tag("integration")
+class MeControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private UserOverviewService userOverviewService;
+
+    @MockBean
+    private PasswordEncoder passwordEncoder;
+
+    @MockBean
+    private JwtUtil jwtUtil;
+
+    @MockBean
+    private AuthUtil authUtil;
+
+    @MockBean
+    private UserDetailsService userDetailsService;
+
+    @MockBean
+    private JwtService jwtService;
+
+    @Test
+    @WithMockUser(username = "user1", roles = "USER")
+    void testFindOverview_Success() throws Exception {
+        UserDto user = new UserDto();
+        user.setUserId(1);
+        user.setFirstName("John");
+        when(userOverviewService.findOverview("1")).thenReturn(UserOverviewResponse.builder()
+                .userDto(user)
+                .addressDtos(Collections.emptyList())
+                .favouriteDtos(Collections.emptyList())
+                .unavailable(Arrays.asList("carts"))
+                .build());
+
+        mockMvc.perform(get("/api/me/overview").requestAttr("userId", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.user.firstName").value("John"))
+                .andExpect(jsonPath("$.addresses").isArray())
+                .andExpect(jsonPath("$.carts").doesNotExist())
+                .andExpect(jsonPath("$.unavailable[0]").value("carts"));
+    }
+
+    @Test
+    @WithMockUser(username = "user1", roles = "USER")
+    void testFindOverview_Unauthorized_WithoutUserId() throws Exception {
+        mockMvc.perform(get("/api/me/overview"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void testFindOverview_Forbidden_Unauthenticated() throws Exception {
+        mockMvc.perform(get("/api/me/overview"))
+                .andExpect(status().isForbidden());
+    }
+
+}
@@ -8,7 +8,9 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 import java.time.LocalDate;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -30,6 +32,7 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.context.annotation.Import;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.util.UriComponentsBuilder;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.selimhorri.app.business.auth.util.AuthUtil;
@@ -41,13 +44,14 @@ import com.selimhorri.app.business.user.model.UserDto;
 import com.selimhorri.app.business.user.model.VerificationTokenDto;
 import com.selimhorri.app.business.user.model.response.UserUserServiceCollectionDtoResponse;
 import com.selimhorri.app.business.user.service.UserClientService;
-import com.selimhorri.app.config.template.TemplateConfig;
 import com.selimhorri.app.jwt.service.JwtService; // Add this import
+import com.selimhorri.app.integration.WebLayerTestConfig;
 import com.selimhorri.app.jwt.util.JwtUtil;
-import com.selimhorri.app.security.SecurityConfig;
+import com.selimhorri.app.pagination.CursorPaginator;
+import com.selimhorri.app.streaming.NdjsonExporter;
 
 @WebMvcTest(UserController.class)
-@Import({ TemplateConfig.class, SecurityConfig.class })
+@Import({ WebLayerTestConfig.class, CursorPaginator.class, NdjsonExporter.class })
 @Tag("integration")
 class UserControllerIntegrationTest {
 
@@ -131,6 +135,51 @@ class UserControllerIntegrationTest {
         return user;
     }
 
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void testFindPage_Success() throws Exception {
+        // Given
+        byte[] body = "{\"collection\":[{\"userId\":1},{\"userId\":2},{\"userId\":3}]}".getBytes(StandardCharsets.UTF_8);
+        when(userClientService.streamAll()).thenAnswer(invocation -> feign.Response.builder()
+                .status(200)
+                .headers(Collections.emptyMap())
+                .request(feign.Request.create(feign.Request.HttpMethod.GET, "/api/users", Collections.emptyMap(), null, StandardCharsets.UTF_8, null))
+                .body(body)
+                .build());
+
+        // When & Then
+        String next = mockMvc.perform(get("/api/users").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.collection.length()").value(2))
+                .andExpect(jsonPath("$.collection[1].userId").value(2))
+                .andExpect(jsonPath("$.next").exists())
+                .andReturn().getResponse().getContentAsString();
+
+        String cursor = UriComponentsBuilder.fromUriString(objectMapper.readTree(next).get("next").asText())
+                .build().getQueryParams().getFirst("cursor");
+        mockMvc.perform(get("/api/users").param("limit", "2").param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.collection.length()").value(1))
+                .andExpect(jsonPath("$.collection[0].userId").value(3))
+                .andExpect(jsonPath("$.next").doesNotExist());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void testFindAll_WithFields_ReturnsOnlySelectedProperties() throws Exception {
+        // Given
+        when(userClientService.findAll()).thenReturn(ResponseEntity.ok(collectionResponse));
+
+        // When & Then
+        mockMvc.perform(get("/api/users").param("fields", "userId,credential.username"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.collection[0].userId").value(1))
+                .andExpect(jsonPath("$.collection[0].credential.username").value("johndoe"))
+                .andExpect(jsonPath("$.collection[0].firstName").doesNotExist())
+                .andExpect(jsonPath("$.collection[0].addressDtos").doesNotExist())
+                .andExpect(jsonPath("$.collection[0].credential.password").doesNotExist());
+    }
+
     @Test
     @WithMockUser(roles = "ADMIN")
     void testFindAll_Success() throws Exception {
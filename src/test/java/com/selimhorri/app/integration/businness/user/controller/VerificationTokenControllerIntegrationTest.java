@@ -36,13 +36,13 @@ import com.selimhorri.app.business.user.model.RoleBasedAuthority;
 import com.selimhorri.app.business.user.model.VerificationTokenDto;
 import com.selimhorri.app.business.user.model.response.VerificationUserTokenServiceCollectionDtoResponse;
 import com.selimhorri.app.business.user.service.VerificationTokenClientService;
-import com.selimhorri.app.config.template.TemplateConfig;
+import com.selimhorri.app.integration.WebLayerTestConfig;
 import com.selimhorri.app.jwt.service.JwtService;
 import com.selimhorri.app.jwt.util.JwtUtil;
-import com.selimhorri.app.security.SecurityConfig;
+import com.selimhorri.app.pagination.CursorPaginator;
 
 @WebMvcTest(VerificationTokenController.class)
-@Import({ TemplateConfig.class, SecurityConfig.class })
+@Import({ WebLayerTestConfig.class, CursorPaginator.class })
 @Tag("integration")
 class VerificationTokenControllerIntegrationTest {
 
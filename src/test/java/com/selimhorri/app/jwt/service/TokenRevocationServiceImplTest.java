@@ -0,0 +1,77 @@
+package com.selimhorri.app.jwt.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+import java.util.Date;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.selimhorri.app.cache.invalidation.CacheInvalidationBus;
+import com.selimhorri.app.cache.invalidation.InvalidationEvent;
+import com.selimhorri.app.jwt.service.impl.TokenRevocationServiceImpl;
+
+class TokenRevocationServiceImplTest {
+
+    private CacheInvalidationBus cacheInvalidationBus;
+    private TokenRevocationServiceImpl tokenRevocationService;
+
+    @BeforeEach
+    void setUp() {
+        cacheInvalidationBus = mock(CacheInvalidationBus.class);
+        tokenRevocationService = new TokenRevocationServiceImpl(cacheInvalidationBus, 100);
+    }
+
+    @Test
+    void isRevoked_ShouldReturnTrue_ForRevokedToken() {
+        tokenRevocationService.revoke("jti-1", new Date(System.currentTimeMillis() + 60000));
+
+        assertTrue(tokenRevocationService.isRevoked("jti-1"));
+        assertFalse(tokenRevocationService.isRevoked("jti-2"));
+    }
+
+    @Test
+    void revoke_ShouldSucceedOnlyOnce_AndAnnounceTheRevocation() {
+        long expiresAt = System.currentTimeMillis() + 60000;
+
+        assertTrue(tokenRevocationService.revoke("jti-1", new Date(expiresAt)));
+        assertFalse(tokenRevocationService.revoke("jti-1", new Date(expiresAt)));
+
+        verify(cacheInvalidationBus, times(1)).publish("revoked-tokens", "jti-1@" + expiresAt);
+    }
+
+    @Test
+    void onInvalidation_ShouldRevokeTokensRevokedOnOtherReplicas() {
+        long expiresAt = System.currentTimeMillis() + 60000;
+
+        tokenRevocationService.onInvalidation(new InvalidationEvent("revoked-tokens", "jti-1@" + expiresAt, "other", 0L));
+        tokenRevocationService.onInvalidation(InvalidationEvent.all("other"));
+
+        assertTrue(tokenRevocationService.isRevoked("jti-1"));
+        assertFalse(tokenRevocationService.revoke("jti-1", new Date(expiresAt)));
+        verify(cacheInvalidationBus, never()).publish(anyString(), anyString());
+    }
+
+    @Test
+    void isRevoked_ShouldReturnFalse_ForNullTokenId() {
+        assertFalse(tokenRevocationService.isRevoked(null));
+    }
+
+    @Test
+    void purgeExpired_ShouldDropEntriesPastTheirExpiration() {
+        // Given
+        tokenRevocationService.revoke("expired", new Date(System.currentTimeMillis() - 1000));
+        tokenRevocationService.revoke("live", new Date(System.currentTimeMillis() + 60000));
+
+        // When
+        int purged = tokenRevocationService.purgeExpired();
+
+        // Then
+        assertEquals(1, purged);
+        assertFalse(tokenRevocationService.isRevoked("expired"));
+        assertTrue(tokenRevocationService.isRevoked("live"));
+    }
+
+}
@@ -0,0 +1,48 @@
+package com.selimhorri.app.jwt.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+class BloomFilterTest {
+
+    @Test
+    void mightContain_ShouldNeverReturnFalseNegatives() {
+        // Given
+        BloomFilter bloomFilter = new BloomFilter(1000, 0.01);
+        String[] values = new String[1000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = UUID.randomUUID().toString();
+            bloomFilter.put(values[i]);
+        }
+
+        // When & Then
+        for (String value : values)
+            assertTrue(bloomFilter.mightContain(value));
+    }
+
+    @Test
+    void mightContain_ShouldKeepFalsePositivesNearConfiguredRate() {
+        // Given
+        BloomFilter bloomFilter = new BloomFilter(1000, 0.01);
+        for (int i = 0; i < 1000; i++)
+            bloomFilter.put(UUID.randomUUID().toString());
+
+        // When
+        int falsePositives = 0;
+        for (int i = 0; i < 10000; i++)
+            if (bloomFilter.mightContain(UUID.randomUUID().toString()))
+                falsePositives++;
+
+        // Then
+        assertTrue(falsePositives < 300, "false positives: " + falsePositives);
+    }
+
+    @Test
+    void mightContain_ShouldReturnFalse_WhenEmpty() {
+        assertFalse(new BloomFilter(10, 0.01).mightContain("jti"));
+    }
+
+}
@@ -77,8 +77,8 @@ class JwtUtilImplTest {
         // Then
         assertNotNull(expiration);
         assertTrue(expiration.after(beforeGeneration));
-        // El token debería expirar en 10 horas (1000 * 60 * 60 * 10 ms)
-        long expectedExpirationTime = System.currentTimeMillis() + (1000 * 60 * 60 * 10);
+        // El token de acceso debería expirar en 15 minutos (1000 * 60 * 15 ms)
+        long expectedExpirationTime = System.currentTimeMillis() + (1000 * 60 * 15);
         long actualExpirationTime = expiration.getTime();
         // Permitimos una diferencia de 5 segundos para el tiempo de procesamiento
         assertTrue(Math.abs(expectedExpirationTime - actualExpirationTime) < 5000);
@@ -250,6 +250,33 @@ class JwtUtilImplTest {
         });
     }
 
+    @Test
+    void testGenerateTokenCarriesIdTypeAndAuthorities() {
+        // Given
+        String token = jwtUtil.generateToken(userDetails, "2");
+
+        // When
+        Claims claims = jwtUtil.extractClaims(token, Function.identity());
+
+        // Then
+        assertNotNull(claims.getId());
+        assertEquals(JwtUtil.ACCESS_TOKEN_TYPE, claims.get(JwtUtil.TOKEN_TYPE_CLAIM));
+        assertNotNull(claims.get(JwtUtil.AUTHORITIES_CLAIM));
+        assertEquals("2", jwtUtil.extractUserId(token));
+    }
+
+    @Test
+    void testGenerateRefreshTokenOutlivesAccessToken() {
+        // Given
+        String accessToken = jwtUtil.generateToken(userDetails, "2");
+        String refreshToken = jwtUtil.generateRefreshToken(userDetails, "2");
+
+        // When & Then
+        assertEquals(JwtUtil.REFRESH_TOKEN_TYPE, jwtUtil.extractClaims(refreshToken, claims -> claims.get(JwtUtil.TOKEN_TYPE_CLAIM)));
+        assertNotEquals(jwtUtil.extractTokenId(accessToken), jwtUtil.extractTokenId(refreshToken));
+        assertTrue(jwtUtil.extractExpiration(refreshToken).after(jwtUtil.extractExpiration(accessToken)));
+    }
+
     @Test
     void testConsistentTokenGeneration() {
         // Given
@@ -0,0 +1,175 @@
+package com.selimhorri.app.pagination;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.selimhorri.app.business.user.model.UserDto;
+
+import feign.FeignException;
+import feign.Request;
+import feign.Request.HttpMethod;
+import feign.Response;
+
+class CursorPaginatorTest {
+
+    private CursorPaginator cursorPaginator;
+    private List<UserDto> users;
+
+    @BeforeEach
+    void setUp() {
+        cursorPaginator = new CursorPaginator(new ObjectMapper(), 100);
+        users = IntStream.rangeClosed(1, 10)
+                .mapToObj(id -> UserDto.builder().userId(id).firstName("user" + id).build())
+                .collect(Collectors.toCollection(ArrayList::new));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users");
+        request.setQueryString("limit=4");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    private static List<Integer> ids(CursorPage<UserDto> page) {
+        return page.getCollection().stream().map(UserDto::getUserId).collect(Collectors.toList());
+    }
+
+    private static String cursorOf(CursorPage<?> page) {
+        return UriComponentsBuilder.fromUriString(page.getNext()).build().getQueryParams().getFirst("cursor");
+    }
+
+    @Test
+    void page_walksTheWholeCollectionThroughNextLinks() {
+        CursorPage<UserDto> first = cursorPaginator.page(users, UserDto::getUserId, 4, null);
+        CursorPage<UserDto> second = cursorPaginator.page(users, UserDto::getUserId, 4, cursorOf(first));
+        CursorPage<UserDto> third = cursorPaginator.page(users, UserDto::getUserId, 4, cursorOf(second));
+
+        assertEquals(List.of(1, 2, 3, 4), ids(first));
+        assertTrue(first.getNext().contains("limit=4"));
+        assertEquals(List.of(5, 6, 7, 8), ids(second));
+        assertEquals(List.of(9, 10), ids(third));
+        assertNull(third.getNext());
+    }
+
+    @Test
+    void page_staysStableWhenEarlierItemsAreRemoved() {
+        CursorPage<UserDto> first = cursorPaginator.page(users, UserDto::getUserId, 4, null);
+        users.remove(0);
+        users.remove(0);
+
+        assertEquals(List.of(5, 6, 7, 8), ids(cursorPaginator.page(users, UserDto::getUserId, 4, cursorOf(first))));
+    }
+
+    @Test
+    void page_ordersCompositeKeysNumerically() {
+        CursorPage<UserDto> first = cursorPaginator.page(users, user -> "1-" + user.getUserId(), 8, null);
+        users.remove(7);
+
+        assertEquals(List.of(9, 10), ids(cursorPaginator.page(users, user -> "1-" + user.getUserId(), 8, cursorOf(first))));
+    }
+
+    @Test
+    void page_resumesAfterTheCursorKeyWhenTheCursorItemIsRemoved() {
+        CursorPage<UserDto> first = cursorPaginator.page(users, UserDto::getUserId, 4, null);
+        users.remove(3);
+
+        assertEquals(List.of(5, 6, 7, 8), ids(cursorPaginator.page(users, UserDto::getUserId, 4, cursorOf(first))));
+    }
+
+    @Test
+    void page_streamsDownstreamCollectionAndStopsReadingEarly() {
+        StringBuilder json = new StringBuilder("{\"collection\":[");
+        for (int id = 1; id <= 5000; id++)
+            json.append(id > 1 ? "," : "").append("{\"userId\":").append(id).append(",\"firstName\":\"user").append(id).append("\"}");
+        byte[] body = json.append("]}").toString().getBytes(StandardCharsets.UTF_8);
+        CountingInputStream stream = new CountingInputStream(new ByteArrayInputStream(body));
+
+        CursorPage<UserDto> page = cursorPaginator.page(() -> response(200, stream, body.length), UserDto.class,
+                UserDto::getUserId, 3, null);
+
+        assertEquals(List.of(1, 2, 3), ids(page));
+        assertNotNull(page.getNext());
+        assertTrue(stream.read < body.length / 2, "read " + stream.read + " of " + body.length);
+        assertTrue(stream.closed);
+    }
+
+    @Test
+    void page_skipsOtherPropertiesOfTheDownstreamResponse() {
+        byte[] body = "{\"total\":{\"a\":[1]},\"collection\":[{\"userId\":1}]}".getBytes(StandardCharsets.UTF_8);
+
+        CursorPage<UserDto> page = cursorPaginator.page(() -> response(200, new ByteArrayInputStream(body), body.length),
+                UserDto.class, UserDto::getUserId, 3, null);
+
+        assertEquals(List.of(1), ids(page));
+        assertNull(page.getNext());
+    }
+
+    @Test
+    void page_propagatesDownstreamErrors() {
+        assertThrows(FeignException.class, () -> cursorPaginator.page(
+                () -> response(503, new ByteArrayInputStream(new byte[0]), 0), UserDto.class, UserDto::getUserId, 3, null));
+    }
+
+    @Test
+    void page_rejectsInvalidArguments() {
+        assertThrows(IllegalStateException.class, () -> cursorPaginator.page(users, UserDto::getUserId, 0, null));
+        assertThrows(IllegalStateException.class, () -> cursorPaginator.page(users, UserDto::getUserId, 101, null));
+        assertThrows(IllegalStateException.class, () -> cursorPaginator.page(users, UserDto::getUserId, 4, "not-a-cursor"));
+    }
+
+    private static Response response(int status, InputStream body, int length) {
+        return Response.builder()
+                .status(status)
+                .reason("status " + status)
+                .headers(Collections.emptyMap())
+                .request(Request.create(HttpMethod.GET, "http://user-service/api/users", Map.of(), null, StandardCharsets.UTF_8, null))
+                .body(body, length)
+                .build();
+    }
+
+    private static final class CountingInputStream extends FilterInputStream {
+
+        private int read;
+        private boolean closed;
+
+        private CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            read += Math.max(n, 0);
+            return n;
+        }
+
+        @Override
+        public void close() throws IOException {
+            closed = true;
+            super.close();
+        }
+
+    }
+
+}
@@ -0,0 +1,87 @@
+package com.selimhorri.app.ratelimit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.selimhorri.app.ratelimit.model.RateLimitProbe;
+
+class TokenBucketTest {
+
+    private RateLimitProperties.Limit limit;
+
+    @BeforeEach
+    void setUp() {
+        limit = new RateLimitProperties.Limit();
+        limit.setCapacity(3);
+        limit.setRefillTokens(1);
+        limit.setRefillPeriod(Duration.ofSeconds(1));
+    }
+
+    @Test
+    void tryConsume_ShouldAllowBurstUpToCapacity() {
+        // Given
+        TokenBucket bucket = new TokenBucket(limit, 0L);
+
+        // When & Then
+        assertEquals(2, bucket.tryConsume(0L).getRemaining());
+        assertEquals(1, bucket.tryConsume(0L).getRemaining());
+        assertEquals(0, bucket.tryConsume(0L).getRemaining());
+        assertFalse(bucket.tryConsume(0L).isConsumed());
+    }
+
+    @Test
+    void tryConsume_ShouldReportRetryDelay_WhenRejected() {
+        // Given
+        TokenBucket bucket = new TokenBucket(limit, 0L);
+        for (int i = 0; i < 3; i++)
+            bucket.tryConsume(0L);
+
+        // When
+        RateLimitProbe probe = bucket.tryConsume(0L);
+
+        // Then
+        assertFalse(probe.isConsumed());
+        assertEquals(TimeUnit.SECONDS.toNanos(1), probe.getNanosToRetry());
+        assertEquals(TimeUnit.SECONDS.toNanos(3), probe.getNanosToReset());
+    }
+
+    @Test
+    void tryConsume_ShouldRefillOverTime() {
+        // Given
+        TokenBucket bucket = new TokenBucket(limit, 0L);
+        for (int i = 0; i < 3; i++)
+            bucket.tryConsume(0L);
+
+        // When
+        RateLimitProbe probe = bucket.tryConsume(TimeUnit.SECONDS.toNanos(1));
+
+        // Then
+        assertTrue(probe.isConsumed());
+        assertEquals(0, probe.getRemaining());
+    }
+
+    @Test
+    void tryConsume_ShouldNotAccumulateBeyondCapacity() {
+        // Given
+        TokenBucket bucket = new TokenBucket(limit, 0L);
+
+        // When
+        RateLimitProbe probe = bucket.tryConsume(TimeUnit.HOURS.toNanos(1));
+
+        // Then
+        assertTrue(probe.isConsumed());
+        assertEquals(2, probe.getRemaining());
+    }
+
+    @Test
+    void constructor_ShouldRejectNonPositiveCapacity() {
+        limit.setCapacity(0);
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(limit, 0L));
+    }
+
+}
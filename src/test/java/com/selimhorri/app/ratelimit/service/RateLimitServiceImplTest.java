@@ -0,0 +1,66 @@
+package com.selimhorri.app.ratelimit.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.selimhorri.app.ratelimit.RateLimitProperties;
+import com.selimhorri.app.ratelimit.service.impl.RateLimitServiceImpl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class RateLimitServiceImplTest {
+
+    private RateLimitServiceImpl rateLimitService;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.getDefaultLimit().setCapacity(5);
+        properties.getDefaultLimit().setRefillTokens(1);
+        properties.getDefaultLimit().setRefillPeriod(Duration.ofHours(1));
+
+        RateLimitProperties.RouteGroup orders = new RateLimitProperties.RouteGroup();
+        orders.setPatterns(List.of("/api/orders/**"));
+        orders.getLimit().setCapacity(1);
+        orders.getLimit().setRefillTokens(1);
+        orders.getLimit().setRefillPeriod(Duration.ofHours(1));
+        properties.getGroups().put("orders", orders);
+
+        rateLimitService = new RateLimitServiceImpl(properties);
+        meterRegistry = new SimpleMeterRegistry();
+        rateLimitService.bindTo(meterRegistry);
+    }
+
+    @Test
+    void tryConsume_ShouldApplyRouteGroupLimit() {
+        assertTrue(rateLimitService.tryConsume("user:1", "/api/orders/1").isConsumed());
+        assertFalse(rateLimitService.tryConsume("user:1", "/api/orders").isConsumed());
+        assertEquals(4, rateLimitService.tryConsume("user:1", "/api/products").getRemaining());
+    }
+
+    @Test
+    void tryConsume_ShouldKeepSeparateBucketsPerClient() {
+        assertTrue(rateLimitService.tryConsume("user:1", "/api/orders").isConsumed());
+        assertTrue(rateLimitService.tryConsume("user:2", "/api/orders").isConsumed());
+        assertTrue(rateLimitService.tryConsume("ip:10.0.0.1", "/api/orders").isConsumed());
+    }
+
+    @Test
+    void tryConsume_ShouldCountRejectionsPerGroup() {
+        rateLimitService.tryConsume("user:1", "/api/orders");
+        rateLimitService.tryConsume("user:1", "/api/orders");
+        rateLimitService.tryConsume("user:1", "/api/orders");
+
+        assertEquals(2.0, meterRegistry.get("gateway.ratelimit.rejected")
+                .tag("group", "orders").functionCounter().count());
+        assertEquals(0.0, meterRegistry.get("gateway.ratelimit.rejected")
+                .tag("group", "default").functionCounter().count());
+    }
+
+}
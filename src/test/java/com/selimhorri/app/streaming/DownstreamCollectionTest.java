@@ -0,0 +1,92 @@
+package com.selimhorri.app.streaming;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.selimhorri.app.business.user.model.UserDto;
+
+import feign.FeignException;
+import feign.Request;
+import feign.Request.HttpMethod;
+import feign.Response;
+
+class DownstreamCollectionTest {
+
+    private static final String LISTING = "{\"total\":4,\"collection\":[{\"userId\":1},{\"userId\":2},{\"userId\":3},{\"userId\":4}]}";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private static Response downstream(int status, InputStream body, int length) {
+        return Response.builder()
+                .status(status)
+                .reason("status " + status)
+                .headers(Collections.emptyMap())
+                .request(Request.create(HttpMethod.GET, "http://user-service/api/users", Map.of(), null, StandardCharsets.UTF_8, null))
+                .body(body, length)
+                .build();
+    }
+
+    private static List<Integer> ids(List<UserDto> users) {
+        return users.stream().map(UserDto::getUserId).collect(Collectors.toList());
+    }
+
+    @Test
+    void filter_keepsMatchingElements() {
+        byte[] body = LISTING.getBytes(StandardCharsets.UTF_8);
+
+        List<UserDto> even = DownstreamCollection.filter(downstream(200, new ByteArrayInputStream(body), body.length),
+                objectMapper, UserDto.class, userDto -> userDto.getUserId() % 2 == 0, Integer.MAX_VALUE);
+
+        assertEquals(List.of(2, 4), ids(even));
+    }
+
+    @Test
+    void filter_stopsReadingOnceTheLimitIsReached() {
+        byte[] body = LISTING.getBytes(StandardCharsets.UTF_8);
+        ClosingInputStream in = new ClosingInputStream(new ByteArrayInputStream(body));
+
+        List<UserDto> first = DownstreamCollection.filter(downstream(200, in, body.length), objectMapper,
+                UserDto.class, userDto -> userDto.getUserId() > 1, 1);
+
+        assertEquals(List.of(2), ids(first));
+        assertTrue(in.closed);
+    }
+
+    @Test
+    void filter_throwsOnErrorStatuses() {
+        byte[] body = "{}".getBytes(StandardCharsets.UTF_8);
+
+        assertThrows(FeignException.class, () -> DownstreamCollection.filter(
+                downstream(503, new ByteArrayInputStream(body), body.length), objectMapper, UserDto.class,
+                userDto -> true, 1));
+    }
+
+    private static final class ClosingInputStream extends FilterInputStream {
+
+        private boolean closed;
+
+        private ClosingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public void close() throws IOException {
+            closed = true;
+            super.close();
+        }
+
+    }
+
+}
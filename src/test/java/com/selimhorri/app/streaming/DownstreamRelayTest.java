@@ -0,0 +1,139 @@
+package com.selimhorri.app.streaming;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import feign.Request;
+import feign.Request.HttpMethod;
+import feign.Response;
+
+class DownstreamRelayTest {
+
+    private static final byte[] BODY = "{\"collection\":[{\"orderId\":1}]}".getBytes(StandardCharsets.UTF_8);
+
+    private static Response downstream(int status, Map<String, Collection<String>> headers, byte[] body) {
+        return Response.builder()
+                .status(status)
+                .headers(headers)
+                .request(Request.create(HttpMethod.GET, "/api/shippings", Collections.emptyMap(), null, StandardCharsets.UTF_8, null))
+                .body(body)
+                .build();
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] drain(ResponseEntity<RelayedBody> entity, BufferPool bufferPool) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        entity.getBody().writeTo(out, bufferPool);
+        return out.toByteArray();
+    }
+
+    @Test
+    void relayCopiesStatusContentTypeAndBytes() throws IOException {
+        Map<String, Collection<String>> headers = Collections.singletonMap("content-type", Collections.singletonList("application/json;charset=UTF-8"));
+        ResponseEntity<RelayedBody> entity = new DownstreamRelay(true).relay(new MockHttpServletRequest(), downstream(202, headers, BODY));
+        BufferPool bufferPool = new BufferPool(1, 4);
+
+        assertEquals(HttpStatus.ACCEPTED, entity.getStatusCode());
+        assertTrue(MediaType.APPLICATION_JSON.isCompatibleWith(entity.getHeaders().getContentType()));
+        assertEquals(BODY.length, entity.getHeaders().getContentLength());
+        assertArrayEquals(BODY, drain(entity, bufferPool));
+        assertEquals(1, bufferPool.available());
+    }
+
+    @Test
+    void relayKeepsContentEncodingWhenConfigured() throws IOException {
+        byte[] compressed = gzip(BODY);
+        Map<String, Collection<String>> headers = new HashMap<>();
+        headers.put(HttpHeaders.CONTENT_ENCODING, Collections.singletonList("gzip"));
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, "deflate, gzip;q=0.5");
+        ResponseEntity<RelayedBody> entity = new DownstreamRelay(true).relay(request, downstream(200, headers, compressed));
+
+        assertEquals("gzip", entity.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(HttpHeaders.ACCEPT_ENCODING, entity.getHeaders().getFirst(HttpHeaders.VARY));
+        assertArrayEquals(compressed, drain(entity, new BufferPool(1, 64)));
+    }
+
+    @Test
+    void relayInflatesGzipTheClientDoesNotAccept() throws IOException {
+        Map<String, Collection<String>> headers = new HashMap<>();
+        headers.put(HttpHeaders.CONTENT_ENCODING, Collections.singletonList("gzip"));
+        headers.put(HttpHeaders.ETAG, Collections.singletonList("\"abc\""));
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, "*, gzip;q=0");
+        ResponseEntity<RelayedBody> entity = new DownstreamRelay(true).relay(request, downstream(200, headers, gzip(BODY)));
+
+        assertNull(entity.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals("W/\"abc\"", entity.getHeaders().getETag());
+        assertArrayEquals(BODY, drain(entity, new BufferPool(1, 64)));
+    }
+
+    @Test
+    void relayRefusesCodingsNeitherSideCanDecode() {
+        Map<String, Collection<String>> headers = new HashMap<>();
+        headers.put(HttpHeaders.CONTENT_ENCODING, Collections.singletonList("br"));
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip");
+
+        ResponseEntity<RelayedBody> entity = new DownstreamRelay(true).relay(request, downstream(200, headers, BODY));
+
+        assertEquals(HttpStatus.BAD_GATEWAY, entity.getStatusCode());
+        assertNull(entity.getBody());
+    }
+
+    @Test
+    void relayPassesTheDownstreamEtagOnAndAnswersIfNoneMatch() throws IOException {
+        Map<String, Collection<String>> headers = new HashMap<>();
+        headers.put(HttpHeaders.ETAG, Collections.singletonList("\"abc\""));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/shippings");
+
+        ResponseEntity<RelayedBody> entity = new DownstreamRelay(true).relay(request, downstream(200, headers, BODY));
+        assertEquals("\"abc\"", entity.getHeaders().getETag());
+        assertArrayEquals(BODY, drain(entity, new BufferPool(1, 64)));
+
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "W/\"abc\"");
+        ResponseEntity<RelayedBody> notModified = new DownstreamRelay(true).relay(request, downstream(200, headers, BODY));
+        assertEquals(HttpStatus.NOT_MODIFIED, notModified.getStatusCode());
+        assertEquals("\"abc\"", notModified.getHeaders().getETag());
+        assertNull(notModified.getBody());
+    }
+
+    @Test
+    void relayInflatesGzipWhenContentEncodingIsDropped() throws IOException {
+        Map<String, Collection<String>> headers = new HashMap<>();
+        headers.put(HttpHeaders.CONTENT_ENCODING, Collections.singletonList("gzip"));
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip");
+        ResponseEntity<RelayedBody> entity = new DownstreamRelay(false).relay(request, downstream(200, headers, gzip(BODY)));
+
+        assertNull(entity.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(-1, entity.getHeaders().getContentLength());
+        assertArrayEquals(BODY, drain(entity, new BufferPool(1, 64)));
+    }
+
+}
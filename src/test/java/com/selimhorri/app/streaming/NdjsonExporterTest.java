@@ -0,0 +1,79 @@
+package com.selimhorri.app.streaming;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.selimhorri.app.business.user.model.UserDto;
+import com.selimhorri.app.config.jackson.FieldSelectionModule;
+
+import feign.FeignException;
+import feign.Request;
+import feign.Request.HttpMethod;
+import feign.Response;
+
+class NdjsonExporterTest {
+
+    private NdjsonExporter ndjsonExporter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    void setUp() {
+        ndjsonExporter = new NdjsonExporter(new ObjectMapper().registerModule(new FieldSelectionModule()), 2);
+        request = new MockHttpServletRequest("GET", "/api/users");
+        response = new MockHttpServletResponse();
+    }
+
+    private static Response downstream(int status, String json) {
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        return Response.builder()
+                .status(status)
+                .reason("status " + status)
+                .headers(Collections.emptyMap())
+                .request(Request.create(HttpMethod.GET, "http://user-service/api/users", Map.of(), null, StandardCharsets.UTF_8, null))
+                .body(new ByteArrayInputStream(body), body.length)
+                .build();
+    }
+
+    @Test
+    void export_writesOneLinePerElementWithoutBuffering() throws Exception {
+        ndjsonExporter.export(() -> downstream(200,
+                "{\"collection\":[{\"userId\":1,\"firstName\":\"a\"},{\"userId\":2,\"firstName\":\"b\"},{\"userId\":3,\"firstName\":\"c\"}]}"),
+                UserDto.class, request, response);
+
+        String[] lines = response.getContentAsString().split("\n");
+        assertEquals(NdjsonExporter.APPLICATION_NDJSON_VALUE, response.getContentType().split(";")[0]);
+        assertEquals(3, lines.length);
+        assertTrue(response.getContentAsString().endsWith("\n"));
+        assertEquals(3, new ObjectMapper().readTree(lines[2]).get("userId").asInt());
+    }
+
+    @Test
+    void export_honoursFieldSelection() throws Exception {
+        request.setParameter("fields", "userId");
+
+        ndjsonExporter.export(() -> downstream(200, "{\"collection\":[{\"userId\":1,\"firstName\":\"a\"}]}"),
+                UserDto.class, request, response);
+
+        assertEquals("{\"userId\":1}\n", response.getContentAsString());
+    }
+
+    @Test
+    void export_failsBeforeWritingWhenDownstreamFails() {
+        assertThrows(FeignException.class, () -> ndjsonExporter.export(() -> downstream(500, ""),
+                UserDto.class, request, response));
+        assertFalse(response.isCommitted());
+        assertEquals(0, response.getContentLength());
+    }
+
+}